@@ -51,6 +51,15 @@ public class RandomProvider extends AbstractDataSourceLoader<double[][], RandomB
         super(LOGGER, SOURCE, TsAsyncMode.None);
     }
 
+    @Override
+    protected int weigh(double[][] data) {
+        int w = 1;
+        for (double[] o : data) {
+            w += 1 + o.length;
+        }
+        return w;
+    }
+
     @Override
     protected double[][] loadFromBean(RandomBean bean) throws Exception {
         // 1. create a random engine based on arima
@@ -93,6 +93,15 @@ public class TswProvider extends AbstractFileLoader<TswSource, TswBean> {
         throw new IllegalArgumentException("Not supported yet.");
     }
 
+    @Override
+    protected int weigh(TswSource data) {
+        int w = 1;
+        for (TswSeries o : data.items) {
+            w += weightOf(o.data);
+        }
+        return w;
+    }
+
     @Override
     protected TswSource loadFromBean(TswBean bean) throws Exception {
         return TswFactory.getDefault().load(getRealFile(bean.getFile()).toPath());
@@ -0,0 +1,576 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tss.tsproviders.common.txt;
+
+import au.com.bytecode.opencsv.CSVParser;
+import ec.tss.tsproviders.utils.DataFormat;
+import ec.tss.tsproviders.utils.IParser;
+import ec.tss.tsproviders.utils.ObsGathering;
+import ec.tss.tsproviders.utils.OptionalTsData;
+import ec.tss.tsproviders.utils.Parsers;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import javax.annotation.Nullable;
+
+/**
+ * Fast path of the TxtLoader for (large) files. The file is memory-mapped and
+ * split at line boundaries into chunks that are parsed concurrently; the
+ * observations of each chunk are gathered column by column in primitive arrays
+ * and the series are built afterwards, in the order of the rows. Plain decimal
+ * numbers are parsed without any allocation, the other cells go through the
+ * parsers of the DataFormat, so that the result is the same as the one of the
+ * CSVReader-based loader.
+ * <br>
+ * The files that can't be handled that way (multi-byte charsets, quoted values
+ * spanning several lines, undecodable content...) are rejected (null result)
+ * and must be read by the usual loader.
+ */
+final class TxtFastLoader {
+
+    /**
+     * Smallest file for which the fast path is used
+     */
+    static final long MIN_FILE_SIZE = 1 << 20;
+    static final int DEFAULT_CHUNK_SIZE = 8 << 20;
+
+    private TxtFastLoader() {
+        // static class
+    }
+
+    /**
+     * Loads a file
+     *
+     * @param realFile The file
+     * @param bean The description of the content
+     * @param chunkSize The (approximate) number of bytes of each chunk
+     * @return The content of the file or null if the file can't be read by the
+     * fast path
+     * @throws IOException
+     */
+    @Nullable
+    static TxtSource tryLoad(File realFile, TxtBean bean, int chunkSize) throws IOException {
+        if (!isAsciiCompatible(bean.charset)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(realFile.toPath(), StandardOpenOption.READ)) {
+            return new Loader(channel, bean, chunkSize).load();
+        } catch (UnsupportedContentException | CharacterCodingException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Charsets where the bytes 0-127 always represent the corresponding ASCII
+     * character (and are never part of a multi-byte sequence)
+     *
+     * @param charset
+     * @return
+     */
+    static boolean isAsciiCompatible(Charset charset) {
+        if (charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII)
+                || charset.equals(StandardCharsets.ISO_8859_1)) {
+            return true;
+        }
+        String name = charset.name();
+        return name.startsWith("ISO-8859-") || name.startsWith("windows-125");
+    }
+
+    private static final class Loader {
+
+        private final FileChannel channel;
+        private final TxtBean bean;
+        private final int chunkSize;
+        private final long size;
+        private final byte separator, quote;
+
+        Loader(FileChannel channel, TxtBean bean, int chunkSize) throws IOException {
+            this.channel = channel;
+            this.bean = bean;
+            this.chunkSize = chunkSize;
+            this.size = channel.size();
+            this.separator = (byte) TxtLoader.toChar(bean.delimiter);
+            this.quote = (byte) TxtLoader.toChar(bean.textQualifier);
+        }
+
+        TxtSource load() throws IOException {
+            long pos = 0;
+            for (int i = 0; i < bean.skipLines && pos < size; ++i) {
+                pos = nextLine(pos);
+            }
+            if (pos >= size) {
+                // no row; left to the usual loader
+                return null;
+            }
+            long next = nextLine(pos);
+            String[] first = new ChunkParser(map(pos, next), 0).tokens();
+            boolean header = bean.isHeaders();
+            String[] titles = header ? first : TxtLoader.generateTitles(first.length);
+
+            List<Long> bounds = new ArrayList<>();
+            bounds.add(header ? next : pos);
+            long last = bounds.get(0);
+            while (last + chunkSize < size) {
+                last = nextNewLine(last + chunkSize);
+                if (last >= size) {
+                    break;
+                }
+                bounds.add(last);
+            }
+            bounds.add(size);
+
+            List<Callable<Chunk>> tasks = new ArrayList<>();
+            for (int i = 1; i < bounds.size(); ++i) {
+                long start = bounds.get(i - 1), end = bounds.get(i);
+                int capacity = 16 + (int) ((end - start) / Math.max(1, next - pos));
+                tasks.add(() -> new ChunkParser(map(start, end), titles.length).parse(capacity));
+            }
+            List<Chunk> chunks = invokeAll(tasks);
+
+            int nbrRows = header ? 1 : 0, nbrUselessRows = 0;
+            for (Chunk chunk : chunks) {
+                nbrRows += chunk.rows;
+                nbrUselessRows += chunk.uselessRows;
+            }
+
+            ObsGathering gathering = TxtLoader.gathering(bean);
+            List<Callable<TxtSeries>> builders = new ArrayList<>();
+            for (int i = 1; i < titles.length; ++i) {
+                int col = i - 1;
+                builders.add(() -> {
+                    OptionalTsData.Builder2<Date> builder = OptionalTsData.builderByDate(new GregorianCalendar(), gathering);
+                    Date period = new Date();
+                    for (Chunk chunk : chunks) {
+                        chunk.fill(col, period, builder);
+                    }
+                    return new TxtSeries(col, titles[col + 1], builder.build());
+                });
+            }
+            return new TxtSource(nbrRows, nbrUselessRows, invokeAll(builders));
+        }
+
+        private ByteBuffer map(long start, long end) throws IOException {
+            if (end - start > Integer.MAX_VALUE) {
+                throw UnsupportedContentException.INSTANCE;
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        }
+
+        /**
+         * Position of the line that follows the line starting at the given
+         * position. The line terminators are the ones of BufferedReader
+         * (\n, \r or \r\n).
+         */
+        private long nextLine(long pos) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(8192);
+            boolean cr = false;
+            int n;
+            while ((n = channel.read(buffer, pos)) > 0) {
+                for (int i = 0; i < n; ++i) {
+                    byte b = buffer.get(i);
+                    if (cr) {
+                        return b == '\n' ? pos + i + 1 : pos + i;
+                    } else if (b == '\n') {
+                        return pos + i + 1;
+                    } else if (b == '\r') {
+                        cr = true;
+                    }
+                }
+                pos += n;
+                buffer.clear();
+            }
+            return size;
+        }
+
+        /**
+         * Position that follows the first \n found from the given position.
+         * It is always the beginning of a line.
+         */
+        private long nextNewLine(long pos) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(8192);
+            int n;
+            while ((n = channel.read(buffer, pos)) > 0) {
+                for (int i = 0; i < n; ++i) {
+                    if (buffer.get(i) == '\n') {
+                        return pos + i + 1;
+                    }
+                }
+                pos += n;
+                buffer.clear();
+            }
+            return size;
+        }
+
+        private final class ChunkParser {
+
+            private final ByteBuffer buffer;
+            private final int ncols;
+            private final CharsetDecoder decoder = bean.charset.newDecoder();
+            private final IParser<Date> dateParser;
+            private final Parsers.Parser<Number> numberParser;
+            private final char minus, point;
+            private byte[] scratch = new byte[64];
+
+            ChunkParser(ByteBuffer buffer, int ncols) {
+                this.buffer = buffer;
+                this.ncols = ncols;
+                DataFormat format = bean.getDataFormat();
+                this.dateParser = TxtLoader.dateParser(format);
+                this.numberParser = format.numberParser();
+                char[] symbols = decimalSymbols(format);
+                this.minus = symbols[0];
+                this.point = symbols[1];
+            }
+
+            /**
+             * Tokens of the first line of the buffer
+             */
+            String[] tokens() throws IOException {
+                int end = lineEnd(0);
+                if (isSpecial(0, end)) {
+                    return parseLine(0, end);
+                }
+                List<String> tokens = new ArrayList<>();
+                int start = 0;
+                for (int i = 0; i < end; ++i) {
+                    if (buffer.get(i) == separator) {
+                        tokens.add(decode(start, i));
+                        start = i + 1;
+                    }
+                }
+                tokens.add(decode(start, end));
+                return tokens.toArray(new String[tokens.size()]);
+            }
+
+            Chunk parse(int capacity) throws IOException {
+                Chunk chunk = new Chunk(ncols - 1, capacity);
+                int len = buffer.limit();
+                int pos = 0;
+                while (pos < len) {
+                    int end = lineEnd(pos);
+                    if (isSpecial(pos, end)) {
+                        parseTokens(chunk, parseLine(pos, end));
+                    } else {
+                        parseFields(chunk, pos, end);
+                    }
+                    ++chunk.rows;
+                    pos = end;
+                    if (pos < len) {
+                        pos += buffer.get(pos) == '\r' && pos + 1 < len && buffer.get(pos + 1) == '\n' ? 2 : 1;
+                    }
+                }
+                return chunk;
+            }
+
+            private int lineEnd(int pos) {
+                int len = buffer.limit();
+                while (pos < len) {
+                    byte b = buffer.get(pos);
+                    if (b == '\n' || b == '\r') {
+                        break;
+                    }
+                    ++pos;
+                }
+                return pos;
+            }
+
+            private boolean isSpecial(int start, int end) {
+                for (int i = start; i < end; ++i) {
+                    byte b = buffer.get(i);
+                    if (b == quote || b == CSVParser.DEFAULT_ESCAPE_CHARACTER) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            /**
+             * Lines with quotes or escape characters are handled by the
+             * CSVParser (with the settings of the CSVReader)
+             */
+            private String[] parseLine(int start, int end) throws IOException {
+                CSVParser parser = new CSVParser((char) separator, (char) quote);
+                String[] tokens = parser.parseLineMulti(decode(start, end));
+                if (parser.isPending()) {
+                    throw UnsupportedContentException.INSTANCE;
+                }
+                return tokens;
+            }
+
+            private void parseTokens(Chunk chunk, String[] tokens) {
+                Date period = tokens.length > 0 ? dateParser.parse(tokens[0]) : null;
+                if (period == null) {
+                    ++chunk.uselessRows;
+                    return;
+                }
+                int row = chunk.addRow(period.getTime());
+                int max = Math.min(ncols, tokens.length);
+                for (int i = 1; i < max; ++i) {
+                    Number value = numberParser.parse(tokens[i]);
+                    chunk.set(i - 1, row, value != null ? value.doubleValue() : Double.NaN, value == null);
+                }
+                chunk.widths[row] = Math.max(0, max - 1);
+            }
+
+            private void parseFields(Chunk chunk, int start, int end) throws IOException {
+                int pos = fieldEnd(start, end);
+                Date period = dateParser.parse(decode(start, pos));
+                if (period == null) {
+                    ++chunk.uselessRows;
+                    return;
+                }
+                int row = chunk.addRow(period.getTime());
+                int col = 1;
+                while (pos < end && col < ncols) {
+                    int fstart = pos + 1;
+                    pos = fieldEnd(fstart, end);
+                    double value = parseDecimal(fstart, pos);
+                    if (Double.isNaN(value)) {
+                        Number n = numberParser.parse(decode(fstart, pos));
+                        chunk.set(col - 1, row, n != null ? n.doubleValue() : Double.NaN, n == null);
+                    } else {
+                        chunk.set(col - 1, row, value, false);
+                    }
+                    ++col;
+                }
+                chunk.widths[row] = col - 1;
+            }
+
+            private int fieldEnd(int pos, int end) {
+                while (pos < end && buffer.get(pos) != separator) {
+                    ++pos;
+                }
+                return pos;
+            }
+
+            /**
+             * Parses numbers like -?[0-9]+(\.[0-9]+)? (using the symbols of
+             * the DecimalFormat), which can be computed exactly from a long
+             * mantissa and a power of ten.
+             *
+             * @return The number or NaN if the field must be handled by the
+             * number parser
+             */
+            private double parseDecimal(int start, int end) {
+                if (point == 0) {
+                    return Double.NaN;
+                }
+                int i = start;
+                boolean negative = i < end && buffer.get(i) == minus;
+                if (negative) {
+                    ++i;
+                }
+                long m = 0;
+                int ndigits = 0, k = 0;
+                for (; i < end; ++i) {
+                    int c = buffer.get(i) - '0';
+                    if (c < 0 || c > 9) {
+                        break;
+                    }
+                    m = 10 * m + c;
+                    if (m > MAX_MANTISSA) {
+                        return Double.NaN;
+                    }
+                    ++ndigits;
+                }
+                if (ndigits == 0) {
+                    return Double.NaN;
+                }
+                if (i < end) {
+                    if (buffer.get(i++) != point) {
+                        return Double.NaN;
+                    }
+                    for (; i < end; ++i) {
+                        int c = buffer.get(i) - '0';
+                        if (c < 0 || c > 9) {
+                            return Double.NaN;
+                        }
+                        m = 10 * m + c;
+                        if (m > MAX_MANTISSA) {
+                            return Double.NaN;
+                        }
+                        ++k;
+                    }
+                    if (k == 0 || k >= POW10.length) {
+                        return Double.NaN;
+                    }
+                }
+                double value = k == 0 ? m : m / POW10[k];
+                return negative ? -value : value;
+            }
+
+            private String decode(int start, int end) throws CharacterCodingException {
+                int n = end - start;
+                if (scratch.length < n) {
+                    scratch = new byte[Math.max(n, 2 * scratch.length)];
+                }
+                boolean ascii = true;
+                for (int i = 0; i < n; ++i) {
+                    byte b = buffer.get(start + i);
+                    scratch[i] = b;
+                    ascii &= b >= 0;
+                }
+                if (ascii) {
+                    return new String(scratch, 0, n, StandardCharsets.ISO_8859_1);
+                } else {
+                    return decoder.decode(ByteBuffer.wrap(scratch, 0, n)).toString();
+                }
+            }
+        }
+
+        private <T> List<T> invokeAll(List<Callable<T>> tasks) throws IOException {
+            List<T> result = new ArrayList<>(tasks.size());
+            try {
+                for (Future<T> future : ForkJoinPool.commonPool().invokeAll(tasks)) {
+                    result.add(future.get());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException(ex);
+            } catch (ExecutionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else {
+                    throw new IOException(cause);
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Observations of a chunk. The values are stored by column; for each row
+     * with a valid period, only the first "widths[row]" columns are defined.
+     */
+    private static final class Chunk {
+
+        int rows, uselessRows, n;
+        long[] periods;
+        int[] widths;
+        final double[][] values;
+        final BitSet[] missings;
+
+        Chunk(int ncols, int capacity) {
+            periods = new long[capacity];
+            widths = new int[capacity];
+            values = new double[ncols][capacity];
+            missings = new BitSet[ncols];
+        }
+
+        int addRow(long period) {
+            if (n == periods.length) {
+                int capacity = 2 * n;
+                periods = Arrays.copyOf(periods, capacity);
+                widths = Arrays.copyOf(widths, capacity);
+                for (int i = 0; i < values.length; ++i) {
+                    values[i] = Arrays.copyOf(values[i], capacity);
+                }
+            }
+            periods[n] = period;
+            return n++;
+        }
+
+        void set(int col, int row, double value, boolean missing) {
+            values[col][row] = value;
+            if (missing) {
+                if (missings[col] == null) {
+                    missings[col] = new BitSet();
+                }
+                missings[col].set(row);
+            }
+        }
+
+        void fill(int col, Date period, OptionalTsData.Builder2<Date> builder) {
+            double[] cvalues = values[col];
+            BitSet cmissings = missings[col];
+            for (int row = 0; row < n; ++row) {
+                if (col < widths[row]) {
+                    period.setTime(periods[row]);
+                    if (cmissings != null && cmissings.get(row)) {
+                        builder.add(period, (Number) null);
+                    } else {
+                        builder.add(period, cvalues[row]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Minus sign and decimal separator of the number format, if it parses
+     * plain decimal numbers in the usual way (no prefix/suffix, no multiplier)
+     * and if they are ASCII characters; {0, 0} otherwise.
+     */
+    private static char[] decimalSymbols(DataFormat format) {
+        char[] none = {0, 0};
+        NumberFormat nf;
+        try {
+            nf = format.newNumberFormat();
+        } catch (IllegalArgumentException ex) {
+            return none;
+        }
+        if (!(nf instanceof DecimalFormat)) {
+            return none;
+        }
+        DecimalFormat df = (DecimalFormat) nf;
+        char minus = df.getDecimalFormatSymbols().getMinusSign();
+        char point = df.getDecimalFormatSymbols().getDecimalSeparator();
+        if (!df.getPositivePrefix().isEmpty() || !df.getPositiveSuffix().isEmpty()
+                || !df.getNegativePrefix().equals(String.valueOf(minus)) || !df.getNegativeSuffix().isEmpty()
+                || df.getMultiplier() != 1 || df.isParseIntegerOnly() || df.isParseBigDecimal()
+                || minus >= 128 || point >= 128 || Character.isDigit(minus) || Character.isDigit(point) || minus == point) {
+            return none;
+        }
+        return new char[]{minus, point};
+    }
+
+    // 2^53: the mantissas are represented exactly
+    private static final long MAX_MANTISSA = 1L << 53;
+    // exact powers of ten
+    private static final double[] POW10 = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    private static final class UnsupportedContentException extends RuntimeException {
+
+        static final UnsupportedContentException INSTANCE = new UnsupportedContentException();
+
+        private UnsupportedContentException() {
+            super(null, null, false, false);
+        }
+    }
+}
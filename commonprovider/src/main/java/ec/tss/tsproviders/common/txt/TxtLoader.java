@@ -49,6 +49,12 @@ final class TxtLoader {
     }
 
     public static TxtSource load(File realFile, TxtBean bean) throws IOException {
+        if (realFile.length() >= TxtFastLoader.MIN_FILE_SIZE) {
+            TxtSource result = TxtFastLoader.tryLoad(realFile, bean, TxtFastLoader.DEFAULT_CHUNK_SIZE);
+            if (result != null) {
+                return result;
+            }
+        }
         try (Reader reader = Files.newBufferedReader(realFile.toPath(), bean.charset)) {
             return load(reader, bean);
         }
@@ -62,13 +68,20 @@ final class TxtLoader {
 
     private static TxtSource load(Reader reader, TxtBean bean) throws IOException {
         try (CSVReader csvReader = new CSVReader(reader, toChar(bean.delimiter), toChar(bean.textQualifier), bean.skipLines)) {
-            ObsGathering gathering = bean.cleanMissing
-                    ? ObsGathering.excludingMissingValues(bean.frequency, bean.aggregationType)
-                    : ObsGathering.includingMissingValues(bean.frequency, bean.aggregationType);
-            return load(csvReader, bean.getDataFormat(), gathering, bean.isHeaders());
+            return load(csvReader, bean.getDataFormat(), gathering(bean), bean.isHeaders());
         }
     }
 
+    static ObsGathering gathering(TxtBean bean) {
+        return bean.cleanMissing
+                ? ObsGathering.excludingMissingValues(bean.frequency, bean.aggregationType)
+                : ObsGathering.includingMissingValues(bean.frequency, bean.aggregationType);
+    }
+
+    static IParser<Date> dateParser(DataFormat obsFormat) {
+        return obsFormat.dateParser().orElse(FALLBACK_PARSER.get());
+    }
+
     static TxtSource load(CSVReader reader, DataFormat obsFormat, ObsGathering obsGathering, boolean header) throws IOException {
         return load(asCheckedIterator(reader), obsFormat, obsGathering, header);
     }
@@ -77,7 +90,7 @@ final class TxtLoader {
         int nbrRows = 0;
         int nbrUselessRows = 0;
         String[] titles = new String[0];
-        IParser<Date> dateParser = obsFormat.dateParser().orElse(FALLBACK_PARSER.get());
+        IParser<Date> dateParser = dateParser(obsFormat);
         Parsers.Parser<Number> numberParser = obsFormat.numberParser();
         GregorianCalendar cal = new GregorianCalendar();
         List<OptionalTsData.Builder2<Date>> dataCollectors = new ArrayList<>();
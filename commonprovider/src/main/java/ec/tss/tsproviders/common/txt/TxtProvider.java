@@ -81,6 +81,15 @@ public class TxtProvider extends AbstractFileLoader<TxtSource, TxtBean> {
         }
     }
 
+    @Override
+    protected int weigh(TxtSource data) {
+        int w = 1;
+        for (TxtSeries o : data.items) {
+            w += weightOf(o.data);
+        }
+        return w;
+    }
+
     @Override
     protected TxtSource loadFromBean(TxtBean bean) throws Exception {
         File realFile = getRealFile(bean.getFile());
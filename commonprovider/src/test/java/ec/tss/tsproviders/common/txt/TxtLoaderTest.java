@@ -21,12 +21,17 @@ import ec.tstoolkit.timeseries.TsAggregationType;
 import ec.tstoolkit.timeseries.simplets.TsData;
 import ec.tstoolkit.timeseries.simplets.TsFrequency;
 import ec.tstoolkit.timeseries.simplets.TsPeriod;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Locale;
 import static org.junit.Assert.*;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 /**
  *
@@ -40,8 +45,45 @@ public class TxtLoaderTest {
             return TxtLoader.load(stream, bean);
         }
     }
+
+    File copyResource(String name) throws IOException {
+        File result = temp.newFile();
+        try (InputStream stream = TxtLoaderTest.class.getResourceAsStream(name)) {
+            Files.copy(stream, result.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        return result;
+    }
+
+    File newFile(String content) throws IOException {
+        File result = temp.newFile();
+        Files.write(result.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return result;
+    }
+
+    static void assertFastLoad(File file, TxtBean bean) throws IOException {
+        TxtSource expected;
+        try (InputStream stream = Files.newInputStream(file.toPath())) {
+            expected = TxtLoader.load(stream, bean);
+        }
+        for (int chunkSize : new int[]{1, 7, 64, 1 << 20}) {
+            TxtSource source = TxtFastLoader.tryLoad(file, bean, chunkSize);
+            assertNotNull(source);
+            assertEquals(expected.readLines, source.readLines);
+            assertEquals(expected.invalidLines, source.invalidLines);
+            assertEquals(expected.items.size(), source.items.size());
+            for (int i = 0; i < expected.items.size(); ++i) {
+                TxtSeries s0 = expected.items.get(i), s1 = source.items.get(i);
+                assertEquals(s0.index, s1.index);
+                assertEquals(s0.name, s1.name);
+                assertEquals(s0.data, s1.data);
+            }
+        }
+    }
     //</editor-fold>
 
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
     @Test
     public void testDefaultBean() throws IOException {
         TxtBean bean = new TxtBean();
@@ -146,4 +188,53 @@ public class TxtLoaderTest {
         assertEquals(97, data7.get(0), 0);
         assertEquals(96.4, data7.get(1), 0);
     }
+
+    @Test
+    public void testFastLoader() throws IOException {
+        TxtBean bean = new TxtBean();
+        assertFastLoad(copyResource("/Insee1.txt"), bean);
+        bean.setFrequency(TsFrequency.Yearly);
+        bean.setAggregationType(TsAggregationType.First);
+        assertFastLoad(copyResource("/Insee1.txt"), bean);
+
+        bean = new TxtBean();
+        bean.setCharset(StandardCharsets.UTF_8);
+        bean.setDataFormat(new DataFormat(Locale.GERMAN, "yyyy-MM", null));
+        bean.setDelimiter(TxtBean.Delimiter.SEMICOLON);
+        bean.setHeaders(false);
+        bean.setSkipLines(5);
+        assertFastLoad(copyResource("/bbk_SU0503.csv"), bean);
+    }
+
+    @Test
+    public void testFastLoaderQuirks() throws IOException {
+        String content = "skipped\r\n"
+                + "date,\"s\u00e9rie 1\",s2,s3\r\n"
+                + "2010-01-01,1.5,-0,12345678901234567890\r\n"
+                + "2010-02-01,,-2.25,0.1\r"
+                + "\r\n"
+                + "bad,1,2,3\n"
+                + "2010-03-01,\"3,5\",x,1.\n"
+                + "2010-04-01,4\n"
+                + "2010-05-01,5,6,7,8,9\n"
+                + "2010-06-01,0.000000000000000000000001,-007.50,+1\n"
+                + "2010-07-01,1e3,NaN,\\2";
+        File file = newFile(content);
+        TxtBean bean = new TxtBean();
+        bean.setCharset(StandardCharsets.UTF_8);
+        bean.setDataFormat(new DataFormat(Locale.ROOT, "yyyy-MM-dd", null));
+        bean.setDelimiter(TxtBean.Delimiter.COMMA);
+        bean.setSkipLines(1);
+        bean.setFrequency(TsFrequency.Monthly);
+        assertFastLoad(file, bean);
+        bean.cleanMissing = true;
+        assertFastLoad(file, bean);
+        bean.setDataFormat(new DataFormat(Locale.FRENCH, "yyyy-MM-dd", null));
+        assertFastLoad(file, bean);
+
+        // quoted values on several lines are left to the usual loader
+        assertNull(TxtFastLoader.tryLoad(newFile("date,s1\n2010-01-01,\"1\n2\"\n"), bean, 64));
+        // so are the files without rows
+        assertNull(TxtFastLoader.tryLoad(newFile(""), bean, 64));
+    }
 }
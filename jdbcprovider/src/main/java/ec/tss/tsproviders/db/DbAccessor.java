@@ -92,6 +92,32 @@ public abstract class DbAccessor<BEAN extends DbBean> {
     @Nonnull
     abstract protected DbSeries getSeriesWithData(@Nonnull DbSetId ref) throws Exception;
 
+    /**
+     * Gets several series with their data. The implementations should retrieve
+     * them in as few queries as possible.
+     *
+     * @param dimValues the dimension values of each series
+     * @return the series, in the same order as the requests
+     * @throws Exception
+     */
+    @Nonnull
+    public final List<DbSeries> getSeriesWithData(@Nonnull List<String[]> dimValues) throws Exception {
+        List<DbSetId> refs = new ArrayList<>(dimValues.size());
+        for (String[] o : dimValues) {
+            refs.add(check(getRoot().child(o), DbSetId.SERIES_CONSTRAINT));
+        }
+        return getSeriesWithData(refs);
+    }
+
+    @Nonnull
+    protected List<DbSeries> getSeriesWithData(@Nonnull Collection<DbSetId> refs) throws Exception {
+        List<DbSeries> result = new ArrayList<>(refs.size());
+        for (DbSetId ref : refs) {
+            result.add(getSeriesWithData(ref));
+        }
+        return result;
+    }
+
     @Nonnull
     public final List<String> getChildren(String... dimValues) throws Exception {
         return getChildren(check(getRoot().child(dimValues), DbSetId.COLLECTION_CONSTRAINT));
@@ -179,6 +205,23 @@ public abstract class DbAccessor<BEAN extends DbBean> {
         @Nonnull
         abstract protected Callable<DbSeries> getSeriesWithDataQuery(@Nonnull DbSetId ref);
 
+        @Override
+        protected List<DbSeries> getSeriesWithData(Collection<DbSetId> refs) throws Exception {
+            return getSeriesWithDataQuery(refs).call();
+        }
+
+        /**
+         * Returns a callable that creates several series with their data. By
+         * default, the series are retrieved one by one.
+         *
+         * @param refs non-null objects that identify series.
+         * @return
+         */
+        @Nonnull
+        protected Callable<List<DbSeries>> getSeriesWithDataQuery(@Nonnull Collection<DbSetId> refs) {
+            return () -> super.getSeriesWithData(refs);
+        }
+
         @Override
         protected List<String> getChildren(DbSetId ref) throws Exception {
             return getChildrenQuery(ref).call();
@@ -228,6 +271,11 @@ public abstract class DbAccessor<BEAN extends DbBean> {
             return getDelegate().getSeriesWithData(ref);
         }
 
+        @Override
+        protected List<DbSeries> getSeriesWithData(Collection<DbSetId> refs) throws Exception {
+            return getDelegate().getSeriesWithData(refs);
+        }
+
         @Override
         protected List<String> getChildren(DbSetId ref) throws Exception {
             return getDelegate().getChildren(ref);
@@ -313,5 +361,36 @@ public abstract class DbAccessor<BEAN extends DbBean> {
             }
             return getDelegate().getSeriesWithData(ref);
         }
+
+        @Override
+        protected List<DbSeries> getSeriesWithData(Collection<DbSetId> refs) throws Exception {
+            if (!isCacheEnabled()) {
+                return getDelegate().getSeriesWithData(refs);
+            }
+            // series whose ancestor is cached are taken from the cache; the
+            // other ones are retrieved together
+            DbSeries[] result = new DbSeries[refs.size()];
+            List<DbSetId> missing = new ArrayList<>();
+            List<Integer> missingPos = new ArrayList<>();
+            int i = 0;
+            for (DbSetId ref : refs) {
+                Optional<DbSetId> ancestor = ref.isSeries() ? getAncestorForCache(ref) : Optional.<DbSetId>absent();
+                List<DbSeries> cached = ancestor.isPresent() ? cache.getIfPresent(ancestor.get()) : null;
+                if (cached != null) {
+                    result[i] = DbSeries.findById(cached, ref);
+                } else {
+                    missing.add(ref);
+                    missingPos.add(i);
+                }
+                i++;
+            }
+            if (!missing.isEmpty()) {
+                List<DbSeries> loaded = getDelegate().getSeriesWithData(missing);
+                for (int j = 0; j < loaded.size(); j++) {
+                    result[missingPos.get(j)] = loaded.get(j);
+                }
+            }
+            return Arrays.asList(result);
+        }
     }
 }
@@ -29,9 +29,12 @@ import ec.tss.tsproviders.utils.OptionalTsData;
 import ec.tstoolkit.timeseries.simplets.TsFrequency;
 import ec.tstoolkit.utilities.Arrays2;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import javax.annotation.Nonnull;
 import org.slf4j.Logger;
 
@@ -43,6 +46,7 @@ import org.slf4j.Logger;
 public abstract class DbProvider<BEAN extends DbBean> extends AbstractDataSourceLoader<DbAccessor<BEAN>, BEAN> {
 
     private static final IParam<DataSet, Dims> DIM_MAP = new DimsParam();
+    private static final int TS_BATCH_SIZE = 100;
 
     public DbProvider(Logger logger, String providerName, TsAsyncMode asyncMode) {
         super(logger, providerName, asyncMode);
@@ -170,6 +174,56 @@ public abstract class DbProvider<BEAN extends DbBean> extends AbstractDataSource
         }
     }
 
+    @Override
+    protected int getTsBatchSize() {
+        return TS_BATCH_SIZE;
+    }
+
+    /**
+     * The data of the series that belong to the same data source are
+     * retrieved together (see DbAccessor.getSeriesWithData(List)).
+     *
+     * @param infos
+     */
+    @Override
+    protected void process(List<TsInformation> infos) {
+        Map<DataSource, List<TsInformation>> requests = new LinkedHashMap<>();
+        for (TsInformation info : infos) {
+            DataSet dataSet = toDataSet(info.moniker);
+            if (info.type.intValue() >= TsInformationType.Data.intValue() && support.checkQuietly(dataSet, DataSet.Kind.SERIES)) {
+                requests.computeIfAbsent(dataSet.getDataSource(), o -> new ArrayList<>()).add(info);
+            } else {
+                process(info);
+            }
+        }
+        for (Map.Entry<DataSource, List<TsInformation>> o : requests.entrySet()) {
+            if (o.getValue().size() == 1) {
+                process(o.getValue().get(0));
+            } else {
+                fillSeries(o.getValue(), o.getKey());
+            }
+        }
+    }
+
+    private void fillSeries(@Nonnull List<TsInformation> infos, @Nonnull DataSource dataSource) {
+        List<String[]> dimValues = new ArrayList<>(infos.size());
+        for (TsInformation info : infos) {
+            info.type = TsInformationType.All;
+            dimValues.add(DIM_MAP.get(toDataSet(info.moniker)).dimValues);
+        }
+        try {
+            List<DbSeries> series = getAccessor(dataSource).getSeriesWithData(dimValues);
+            for (int i = 0; i < infos.size(); i++) {
+                support.fillSeries(infos.get(i), series.get(i).getData(), true);
+            }
+        } catch (Exception ex) {
+            IOException error = new IOException("Cannot retrieve DataSet data", ex);
+            for (TsInformation info : infos) {
+                support.fillSeries(info, error);
+            }
+        }
+    }
+
     @Nonnull
     private List<TsInformation> getAll(@Nonnull DataSource dataSource, @Nonnull List<DbSetId> list, @Nonnull TsInformationType type) {
         if (list.isEmpty()) {
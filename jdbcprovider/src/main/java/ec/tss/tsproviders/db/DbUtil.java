@@ -75,10 +75,52 @@ public final class DbUtil {
     @Nonnull
     public static <T extends Exception> List<DbSeries> getAllSeriesWithData(@Nonnull AllSeriesWithDataCursor<T> cursor, @Nonnull DbSetId ref, @Nonnull TsFrequency frequency, @Nonnull TsAggregationType aggregationType) throws T {
         ImmutableList.Builder<DbSeries> result = ImmutableList.builder();
-        ObsGathering gathering = ObsGathering.includingMissingValues(frequency, aggregationType);
-        OptionalTsData.Builder2<Date> data = OptionalTsData.builderByDate(new GregorianCalendar(), gathering, ObsCharacteristics.ORDERED);
-        boolean t0 = cursor.next();
-        while (t0) {
+        AllSeriesWithDataReader<T> reader = new AllSeriesWithDataReader<>(cursor, ref, frequency, aggregationType);
+        while (reader.next()) {
+            result.add(new DbSeries(reader.getId(), reader.getData()));
+        }
+        return result.build();
+    }
+
+    /**
+     * Streaming version of getAllSeriesWithData: the series are read one by
+     * one, a series being completed as soon as its dimension values change.
+     * The rows must be sorted by dimension values and by period.
+     *
+     * @param <T>
+     */
+    public static final class AllSeriesWithDataReader<T extends Exception> {
+
+        private final AllSeriesWithDataCursor<T> cursor;
+        private final DbSetId ref;
+        private final OptionalTsData.Builder2<Date> data;
+        private boolean started, hasRow;
+        private DbSetId id;
+        private OptionalTsData current;
+
+        public AllSeriesWithDataReader(@Nonnull AllSeriesWithDataCursor<T> cursor, @Nonnull DbSetId ref, @Nonnull TsFrequency frequency, @Nonnull TsAggregationType aggregationType) {
+            this.cursor = cursor;
+            this.ref = ref;
+            ObsGathering gathering = ObsGathering.includingMissingValues(frequency, aggregationType);
+            this.data = OptionalTsData.builderByDate(new GregorianCalendar(), gathering, ObsCharacteristics.ORDERED);
+        }
+
+        /**
+         * Reads the next series
+         *
+         * @return false if there is no more series
+         * @throws T
+         */
+        public boolean next() throws T {
+            if (!started) {
+                started = true;
+                hasRow = cursor.next();
+            }
+            if (!hasRow) {
+                id = null;
+                current = null;
+                return false;
+            }
             String[] dimValues = cursor.dimValues;
             boolean t1 = true;
             while (t1) {
@@ -87,16 +129,47 @@ public final class DbUtil {
                 boolean t2 = true;
                 while (t2) {
                     value = cursor.value;
-                    t0 = cursor.next();
-                    t1 = t0 && Arrays.equals(dimValues, cursor.dimValues);
+                    hasRow = cursor.next();
+                    t1 = hasRow && Arrays.equals(dimValues, cursor.dimValues);
                     t2 = t1 && Objects.equal(period, cursor.period);
                 }
                 data.add(period, value);
             }
-            result.add(new DbSeries(ref.child(dimValues), data.build()));
+            id = ref.child(dimValues);
+            current = data.build();
             data.clear();
+            return true;
+        }
+
+        /**
+         * Identifier of the current series
+         *
+         * @return
+         * @throws IllegalStateException if next() hasn't been called or has
+         * returned false
+         */
+        @Nonnull
+        public DbSetId getId() throws IllegalStateException {
+            if (id == null) {
+                throw new IllegalStateException();
+            }
+            return id;
+        }
+
+        /**
+         * Data of the current series
+         *
+         * @return
+         * @throws IllegalStateException if next() hasn't been called or has
+         * returned false
+         */
+        @Nonnull
+        public OptionalTsData getData() throws IllegalStateException {
+            if (current == null) {
+                throw new IllegalStateException();
+            }
+            return current;
         }
-        return result.build();
     }
 
     public static abstract class SeriesWithDataCursor<T extends Exception> implements Cursor<T> {
@@ -16,13 +16,17 @@
  */
 package ec.tss.tsproviders.jdbc;
 
+import com.google.common.collect.ImmutableList;
+import ec.tss.tsproviders.cursor.TsCursor;
 import ec.tss.tsproviders.db.DbAccessor;
 import ec.tss.tsproviders.db.DbSeries;
 import ec.tss.tsproviders.db.DbSetId;
 import ec.tss.tsproviders.db.DbUtil;
+import ec.tss.tsproviders.utils.OptionalTsData;
 import ec.tstoolkit.utilities.GuavaCaches;
 import ec.util.jdbc.JdbcTable;
 import ec.util.jdbc.SqlIdentifierQuoter;
+import java.io.IOException;
 import java.sql.*;
 import java.time.Duration;
 import java.util.*;
@@ -158,45 +162,116 @@ public class JdbcAccessor<BEAN extends JdbcBean> extends DbAccessor.Commander<BE
 
     @Override
     protected Callable<List<DbSeries>> getAllSeriesWithDataQuery(DbSetId ref) {
-        return new JdbcQuery<List<DbSeries>>(ref) {
+        return new AllSeriesWithDataQuery(ref);
+    }
+
+    /**
+     * Streaming version of getAllSeriesWithData. The rows are read from the
+     * database as the cursor moves (by blocks of the fetch size of the bean)
+     * and a series is emitted as soon as its dimension values change, so that
+     * the memory used by the cursor is bounded by the largest series. The
+     * cursor holds a connection until it is closed.
+     *
+     * @param dimValues
+     * @return A cursor that must be closed
+     * @throws IOException
+     */
+    @Nonnull
+    public TsCursor<DbSetId> getAllSeriesWithDataCursor(String... dimValues) throws IOException {
+        DbSetId ref = check(getRoot().child(dimValues), DbSetId.COLLECTION_CONSTRAINT);
+        try {
+            return new AllSeriesWithDataQuery(ref).open();
+        } catch (SQLException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    private DbUtil.AllSeriesWithDataReader<SQLException> newAllSeriesWithDataReader(final ResultSet rs, DbSetId ref) throws SQLException {
+        // Beware that some jdbc drivers require to get the columns values 
+        // in the order of the query and only once.
+        // So, call the following methods once per row and in this order.
+        ResultSetMetaData metaData = rs.getMetaData();
+        final ResultSetFunc<String[]> toDimValues = getDimValuesFunc(metaData, 1, ref.getDepth());
+        final ResultSetFunc<java.util.Date> toPeriod = getPeriodFunc(metaData, ref.getDepth() + 1);
+        final ResultSetFunc<Number> toValue = getValueFunc(metaData, ref.getDepth() + 2);
+
+        DbUtil.AllSeriesWithDataCursor<SQLException> cursor = new DbUtil.AllSeriesWithDataCursor<SQLException>() {
             @Override
-            protected String getQueryString(DatabaseMetaData metaData) throws SQLException {
-                JdbcBean dbBean = getDbBean();
-                return SelectBuilder.from(dbBean.getTableName())
-                        .select(ref.selectColumns()).select(dbBean.getPeriodColumn(), dbBean.getValueColumn())
-                        .filter(ref.filterColumns())
-                        .orderBy(ref.selectColumns()).orderBy(dbBean.getPeriodColumn(), dbBean.getVersionColumn())
-                        .withQuoter(SqlIdentifierQuoter.create(metaData))
-                        .build();
+            public boolean next() throws SQLException {
+                boolean result = rs.next();
+                if (result) {
+                    dimValues = toDimValues.apply(rs);
+                    period = toPeriod.apply(rs);
+                    value = period != null ? toValue.apply(rs) : null;
+                }
+                return result;
             }
+        };
 
-            @Override
-            protected List<DbSeries> process(final ResultSet rs) throws SQLException {
-                // Beware that some jdbc drivers require to get the columns values 
-                // in the order of the query and only once.
-                // So, call the following methods once per row and in this order.
-                ResultSetMetaData metaData = rs.getMetaData();
-                final ResultSetFunc<String[]> toDimValues = getDimValuesFunc(metaData, 1, ref.getDepth());
-                final ResultSetFunc<java.util.Date> toPeriod = getPeriodFunc(metaData, ref.getDepth() + 1);
-                final ResultSetFunc<Number> toValue = getValueFunc(metaData, ref.getDepth() + 2);
+        JdbcBean dbBean = getDbBean();
+        return new DbUtil.AllSeriesWithDataReader<>(cursor, ref, dbBean.getFrequency(), dbBean.getAggregationType());
+    }
 
-                DbUtil.AllSeriesWithDataCursor<SQLException> cursor = new DbUtil.AllSeriesWithDataCursor<SQLException>() {
-                    @Override
-                    public boolean next() throws SQLException {
-                        boolean result = rs.next();
-                        if (result) {
-                            dimValues = toDimValues.apply(rs);
-                            period = toPeriod.apply(rs);
-                            value = period != null ? toValue.apply(rs) : null;
-                        }
-                        return result;
-                    }
-                };
+    private final class AllSeriesWithDataQuery extends JdbcQuery<List<DbSeries>> {
 
-                JdbcBean dbBean = getDbBean();
-                return DbUtil.getAllSeriesWithData(cursor, ref, dbBean.getFrequency(), dbBean.getAggregationType());
+        private AllSeriesWithDataQuery(DbSetId ref) {
+            super(ref);
+        }
+
+        @Override
+        protected String getQueryString(DatabaseMetaData metaData) throws SQLException {
+            JdbcBean dbBean = getDbBean();
+            return SelectBuilder.from(dbBean.getTableName())
+                    .select(ref.selectColumns()).select(dbBean.getPeriodColumn(), dbBean.getValueColumn())
+                    .filter(ref.filterColumns())
+                    .orderBy(ref.selectColumns()).orderBy(dbBean.getPeriodColumn(), dbBean.getVersionColumn())
+                    .withQuoter(SqlIdentifierQuoter.create(metaData))
+                    .build();
+        }
+
+        @Override
+        protected List<DbSeries> process(final ResultSet rs) throws SQLException {
+            ImmutableList.Builder<DbSeries> result = ImmutableList.builder();
+            DbUtil.AllSeriesWithDataReader<SQLException> reader = newAllSeriesWithDataReader(rs, ref);
+            while (reader.next()) {
+                result.add(new DbSeries(reader.getId(), reader.getData()));
             }
-        };
+            return result.build();
+        }
+
+        private TsCursor<DbSetId> open() throws SQLException {
+            Connection conn = supplier.getConnection(getDbBean());
+            boolean autoCommit = false;
+            try {
+                // some drivers (postgresql...) only use the fetch size outside auto-commit mode
+                autoCommit = getDbBean().getFetchSize() > 0 && conn.getAutoCommit();
+                if (autoCommit) {
+                    conn.setAutoCommit(false);
+                }
+                String queryString = getQueryString(conn.getMetaData());
+                logger.debug(queryString);
+                PreparedStatement cmd = prepareStatement(conn, queryString);
+                try {
+                    setParameters(cmd);
+                    ResultSet rs = cmd.executeQuery();
+                    return new ResultSetCursor(newAllSeriesWithDataReader(rs, ref), rs, cmd, conn, autoCommit);
+                } catch (SQLException ex) {
+                    cmd.close();
+                    throw ex;
+                }
+            } catch (SQLException ex) {
+                try {
+                    if (autoCommit) {
+                        conn.setAutoCommit(true);
+                    }
+                } catch (SQLException other) {
+                    ex.addSuppressed(other);
+                } finally {
+                    conn.close();
+                }
+                throw ex;
+            }
+        }
     }
 
     @Override
@@ -240,6 +315,136 @@ public class JdbcAccessor<BEAN extends JdbcBean> extends DbAccessor.Commander<BE
         };
     }
 
+    @Override
+    protected Callable<List<DbSeries>> getSeriesWithDataQuery(Collection<DbSetId> refs) {
+        return getRoot().getMaxLevel() > 0 ? new SeriesWithDataBulkQuery(refs, null) : super.getSeriesWithDataQuery(refs);
+    }
+
+    /**
+     * Gets several series with their data, restricted to the periods that
+     * follow the given date. The filter on the periods is done by the
+     * database; it requires a period column of a temporal type.
+     *
+     * @param dimValues the dimension values of each series
+     * @param from the first period (inclusive); null for all the periods
+     * @return the series, in the same order as the requests
+     * @throws Exception
+     */
+    @Nonnull
+    public List<DbSeries> getSeriesWithData(@Nonnull List<String[]> dimValues, @Nullable java.util.Date from) throws Exception {
+        if (from == null) {
+            return getSeriesWithData(dimValues);
+        }
+        List<DbSetId> refs = new ArrayList<>(dimValues.size());
+        for (String[] o : dimValues) {
+            refs.add(check(getRoot().child(o), DbSetId.SERIES_CONSTRAINT));
+        }
+        return new SeriesWithDataBulkQuery(refs, from).call();
+    }
+
+    /**
+     * Retrieves several series by blocks of BLOCK_SIZE series. All the blocks
+     * have the same size (the last one is padded with its last series) so
+     * that a single prepared statement is used for all the blocks.
+     */
+    private final class SeriesWithDataBulkQuery extends JdbcQuery<List<DbSeries>> {
+
+        private static final int BLOCK_SIZE = 100;
+
+        private final Collection<DbSetId> requested;
+        private final List<DbSetId> refs;
+        private final java.util.Date from;
+        private final int blockSize;
+        private List<DbSetId> block;
+
+        private SeriesWithDataBulkQuery(Collection<DbSetId> refs, java.util.Date from) {
+            super(getRoot());
+            this.requested = refs;
+            this.refs = new ArrayList<>(new LinkedHashSet<>(refs));
+            this.from = from;
+            this.blockSize = Math.min(BLOCK_SIZE, this.refs.size());
+            this.block = Collections.emptyList();
+        }
+
+        @Override
+        protected String getQueryString(DatabaseMetaData metaData) throws SQLException {
+            JdbcBean dbBean = getDbBean();
+            SelectBuilder result = SelectBuilder.from(dbBean.getTableName())
+                    .select(ref.selectColumns()).select(dbBean.getPeriodColumn(), dbBean.getValueColumn())
+                    .filterAnyOf(blockSize, ref.selectColumns());
+            if (from != null) {
+                result.filterFrom(dbBean.getPeriodColumn());
+            }
+            return result
+                    .orderBy(ref.selectColumns()).orderBy(dbBean.getPeriodColumn(), dbBean.getVersionColumn())
+                    .withQuoter(SqlIdentifierQuoter.create(metaData))
+                    .build();
+        }
+
+        @Override
+        protected void setParameters(PreparedStatement statement) throws SQLException {
+            int index = 1;
+            for (int i = 0; i < blockSize; i++) {
+                DbSetId o = block.get(Math.min(i, block.size() - 1));
+                for (int j = 0; j < o.getLevel(); j++) {
+                    statement.setString(index++, o.getValue(j));
+                }
+            }
+            if (from != null) {
+                statement.setTimestamp(index, new Timestamp(from.getTime()));
+            }
+        }
+
+        @Override
+        protected List<DbSeries> process(ResultSet rs) throws SQLException {
+            List<DbSeries> result = new ArrayList<>();
+            DbUtil.AllSeriesWithDataReader<SQLException> reader = newAllSeriesWithDataReader(rs, ref);
+            while (reader.next()) {
+                result.add(new DbSeries(reader.getId(), reader.getData()));
+            }
+            return result;
+        }
+
+        @Override
+        public List<DbSeries> call() throws SQLException {
+            if (refs.isEmpty()) {
+                return Collections.emptyList();
+            }
+            Map<DbSetId, DbSeries> found = new HashMap<>();
+            JdbcBean dbBean = getDbBean();
+            synchronized (dbBean) {
+                try (Connection conn = supplier.getConnection(dbBean)) {
+                    String queryString = getQueryString(conn.getMetaData());
+                    logger.debug(queryString);
+                    try (PreparedStatement cmd = prepareStatement(conn, queryString)) {
+                        for (int i = 0; i < refs.size(); i += blockSize) {
+                            block = refs.subList(i, Math.min(i + blockSize, refs.size()));
+                            setParameters(cmd);
+                            try (ResultSet rs = cmd.executeQuery()) {
+                                for (DbSeries o : process(rs)) {
+                                    found.put(o.getId(), o);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+            List<DbSeries> result = new ArrayList<>(requested.size());
+            for (DbSetId o : requested) {
+                DbSeries series = found.get(o);
+                result.add(series != null ? series : DbUtil.getSeriesWithData(NO_DATA, o, dbBean.getFrequency(), dbBean.getAggregationType()));
+            }
+            return result;
+        }
+    }
+
+    private static final DbUtil.SeriesWithDataCursor<SQLException> NO_DATA = new DbUtil.SeriesWithDataCursor<SQLException>() {
+        @Override
+        public boolean next() throws SQLException {
+            return false;
+        }
+    };
+
     @Override
     protected Callable<List<String>> getChildrenQuery(DbSetId ref) {
         return new JdbcQuery<List<String>>(ref) {
@@ -328,6 +533,25 @@ public class JdbcAccessor<BEAN extends JdbcBean> extends DbAccessor.Commander<BE
         @Nullable
         abstract protected T process(@Nonnull ResultSet rs) throws SQLException;
 
+        /**
+         * Creates a forward-only, read-only statement that uses the fetch size
+         * of the bean
+         *
+         * @param conn
+         * @param queryString
+         * @return
+         * @throws SQLException
+         */
+        @Nonnull
+        protected PreparedStatement prepareStatement(@Nonnull Connection conn, @Nonnull String queryString) throws SQLException {
+            PreparedStatement result = conn.prepareStatement(queryString, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            int fetchSize = getDbBean().getFetchSize();
+            if (fetchSize > 0) {
+                result.setFetchSize(fetchSize);
+            }
+            return result;
+        }
+
         @Override
         public T call() throws SQLException {
             JdbcBean dbBean = getDbBean();
@@ -335,7 +559,7 @@ public class JdbcAccessor<BEAN extends JdbcBean> extends DbAccessor.Commander<BE
                 try (Connection conn = supplier.getConnection(dbBean)) {
                     String queryString = getQueryString(conn.getMetaData());
                     logger.debug(queryString);
-                    try (PreparedStatement cmd = conn.prepareStatement(queryString)) {
+                    try (PreparedStatement cmd = prepareStatement(conn, queryString)) {
                         setParameters(cmd);
                         try (ResultSet rs = cmd.executeQuery()) {
                             return process(rs);
@@ -345,4 +569,84 @@ public class JdbcAccessor<BEAN extends JdbcBean> extends DbAccessor.Commander<BE
             }
         }
     }
+
+    private static final class ResultSetCursor implements TsCursor<DbSetId> {
+
+        private final DbUtil.AllSeriesWithDataReader<SQLException> reader;
+        private final ResultSet rs;
+        private final PreparedStatement cmd;
+        private final Connection conn;
+        private final boolean autoCommit;
+        private boolean closed;
+
+        private ResultSetCursor(DbUtil.AllSeriesWithDataReader<SQLException> reader, ResultSet rs, PreparedStatement cmd, Connection conn, boolean autoCommit) {
+            this.reader = reader;
+            this.rs = rs;
+            this.cmd = cmd;
+            this.conn = conn;
+            this.autoCommit = autoCommit;
+        }
+
+        private void checkState() throws IllegalStateException {
+            if (closed) {
+                throw new IllegalStateException("Closed");
+            }
+        }
+
+        @Override
+        public boolean isClosed() throws IOException {
+            return closed;
+        }
+
+        @Override
+        public Map<String, String> getMetaData() throws IOException, IllegalStateException {
+            checkState();
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public boolean nextSeries() throws IOException, IllegalStateException {
+            checkState();
+            try {
+                return reader.next();
+            } catch (SQLException ex) {
+                throw new IOException(ex);
+            }
+        }
+
+        @Override
+        public DbSetId getSeriesId() throws IOException, IllegalStateException {
+            checkState();
+            return reader.getId();
+        }
+
+        @Override
+        public Map<String, String> getSeriesMetaData() throws IOException, IllegalStateException {
+            checkState();
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public OptionalTsData getSeriesData() throws IOException, IllegalStateException {
+            checkState();
+            return reader.getData();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try (Connection c = conn; PreparedStatement s = cmd; ResultSet r = rs) {
+                if (autoCommit) {
+                    // read-only: nothing to commit
+                    c.rollback();
+                    c.setAutoCommit(true);
+                }
+            } catch (SQLException ex) {
+                throw new IOException(ex);
+            }
+        }
+    }
 }
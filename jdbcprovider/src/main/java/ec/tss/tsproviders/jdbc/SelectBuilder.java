@@ -42,6 +42,9 @@ class SelectBuilder implements IBuilder<String> {
     private final List<String> select;
     private final List<String> filter;
     private final List<String> order;
+    private final List<String> anyOf;
+    private int anyOfCount;
+    private String lowerBound;
     private boolean distinct;
     private SqlIdentifierQuoter identifierQuoter;
 
@@ -50,6 +53,9 @@ class SelectBuilder implements IBuilder<String> {
         this.select = new ArrayList<>();
         this.filter = new ArrayList<>();
         this.order = new ArrayList<>();
+        this.anyOf = new ArrayList<>();
+        this.anyOfCount = 0;
+        this.lowerBound = null;
         this.distinct = false;
         this.identifierQuoter = null;
     }
@@ -80,6 +86,33 @@ class SelectBuilder implements IBuilder<String> {
         return addIfNotNullOrEmpty(this.filter, filter);
     }
 
+    /**
+     * Adds a filter that accepts several combinations of values of the given
+     * columns: (c1=? AND c2=?...) OR (c1=? AND c2=?...) OR ... The parameters
+     * follow those of the simple filters (by combination).
+     *
+     * @param count the number of combinations
+     * @param columns the columns
+     * @return
+     */
+    @Nonnull
+    SelectBuilder filterAnyOf(int count, @Nonnull String... columns) {
+        this.anyOfCount = count;
+        return addIfNotNullOrEmpty(this.anyOf, columns);
+    }
+
+    /**
+     * Adds a filter column>=?. The parameter is the last one.
+     *
+     * @param column
+     * @return
+     */
+    @Nonnull
+    SelectBuilder filterFrom(@Nonnull String column) {
+        this.lowerBound = Strings.emptyToNull(column);
+        return this;
+    }
+
     @Nonnull
     SelectBuilder orderBy(@Nonnull String... order) {
         return addIfNotNullOrEmpty(this.order, order);
@@ -106,13 +139,32 @@ class SelectBuilder implements IBuilder<String> {
         // FROM
         result.append(" FROM ").append(toQuotedIdentifier.apply(table));
         // WHERE
-        if (!filter.isEmpty()) {
-            result.append(" WHERE ");
-            Iterator<String> iter = filter.stream().map(toQuotedIdentifier).iterator();
-            result.append(iter.next()).append("=?");
-            while (iter.hasNext()) {
-                result.append(" AND ").append(iter.next()).append("=?");
+        List<String> where = new ArrayList<>();
+        filter.stream().map(toQuotedIdentifier).forEach(o -> where.add(o + "=?"));
+        if (!anyOf.isEmpty() && anyOfCount > 0) {
+            StringBuilder tmp = new StringBuilder();
+            tmp.append('(');
+            for (int i = 0; i < anyOfCount; ++i) {
+                if (i > 0) {
+                    tmp.append(" OR ");
+                }
+                tmp.append('(');
+                Iterator<String> iter = anyOf.stream().map(toQuotedIdentifier).iterator();
+                tmp.append(iter.next()).append("=?");
+                while (iter.hasNext()) {
+                    tmp.append(" AND ").append(iter.next()).append("=?");
+                }
+                tmp.append(')');
             }
+            tmp.append(')');
+            where.add(tmp.toString());
+        }
+        if (lowerBound != null) {
+            where.add(toQuotedIdentifier.apply(lowerBound) + ">=?");
+        }
+        if (!where.isEmpty()) {
+            result.append(" WHERE ");
+            Joiner.on(" AND ").appendTo(result, where);
         }
         // ORDER BY
         if (!order.isEmpty()) {
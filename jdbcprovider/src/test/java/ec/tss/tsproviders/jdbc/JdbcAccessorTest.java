@@ -16,10 +16,15 @@
  */
 package ec.tss.tsproviders.jdbc;
 
+import ec.tss.tsproviders.cursor.TsCursor;
 import ec.tss.tsproviders.db.DbAccessor;
 import ec.tss.tsproviders.db.DbSeries;
 import ec.tss.tsproviders.db.DbSetId;
 import static ec.tss.tsproviders.jdbc.JdbcSamples.mydbConnectionSupplier;
+import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
 import java.util.List;
 import static org.junit.Assert.*;
 import org.junit.BeforeClass;
@@ -127,6 +132,35 @@ public class JdbcAccessorTest {
         A2.getAllSeriesWithData("Industry", "Belgium");
     }
 
+    @Test
+    public void testGetAllSeriesWithDataCursor_Val0Dim2() throws Exception {
+        JdbcBean bean = mydbTwoDimsBean();
+        bean.setFetchSize(2);
+        JdbcAccessor accessor = new JdbcAccessor(NOP_LOGGER, bean, mydbConnectionSupplier());
+        List<DbSeries> expected = A2.getAllSeriesWithData();
+        try (TsCursor<DbSetId> cursor = accessor.getAllSeriesWithDataCursor()) {
+            for (DbSeries o : expected) {
+                assertTrue(cursor.nextSeries());
+                assertEquals(o.getId(), cursor.getSeriesId());
+                assertEquals(o.getData(), cursor.getSeriesData());
+            }
+            assertFalse(cursor.nextSeries());
+        }
+    }
+
+    @Test
+    public void testGetAllSeriesWithDataCursor_Val1Dim2() throws Exception {
+        try (TsCursor<DbSetId> cursor = A2.getAllSeriesWithDataCursor("Industry")) {
+            assertTrue(cursor.nextSeries());
+            assertEquals(A2.getRoot().child("Industry", "Belgium"), cursor.getSeriesId());
+            assertArrayEquals(D2[0], cursor.getSeriesData().get().internalStorage(), 0);
+            assertTrue(cursor.nextSeries());
+            assertEquals(A2.getRoot().child("Industry", "Europe"), cursor.getSeriesId());
+            assertArrayEquals(D2[1], cursor.getSeriesData().get().internalStorage(), 0);
+            assertFalse(cursor.nextSeries());
+        }
+    }
+
     @Test
     public void testSeriesWithData_Val0Dim0() throws Exception {
         DbSeries data = A0.getSeriesWithData();
@@ -151,6 +185,44 @@ public class JdbcAccessorTest {
         assertArrayEquals(D2[0], data.getData().get().internalStorage(), 0);
     }
 
+    @Test
+    public void testSeriesWithData_Bulk() throws Exception {
+        List<String[]> dimValues = new ArrayList<>();
+        dimValues.add(new String[]{"Other", "Europe"});
+        dimValues.add(new String[]{"Industry", "Belgium"});
+        dimValues.add(new String[]{"Industry", "Missing"});
+        dimValues.add(new String[]{"Other", "Europe"});
+        List<DbSeries> data = A2.getSeriesWithData(dimValues);
+        assertEquals(dimValues.size(), data.size());
+        for (int i = 0; i < dimValues.size(); ++i) {
+            assertEquals(A2.getSeriesWithData(dimValues.get(i)), data.get(i));
+        }
+        assertFalse(data.get(2).getData().isPresent());
+
+        dimValues.remove(2);
+        data.remove(2);
+        assertEquals(data, A2.memoize().getSeriesWithData(dimValues));
+        assertTrue(A2.getSeriesWithData(new ArrayList<>()).isEmpty());
+    }
+
+    @Test
+    public void testSeriesWithData_BulkFrom() throws Exception {
+        JdbcBean bean = mydbTwoDimsBean();
+        bean.setFrequency(TsFrequency.Monthly);
+        JdbcAccessor accessor = new JdbcAccessor(NOP_LOGGER, bean, mydbConnectionSupplier());
+        List<String[]> dimValues = new ArrayList<>();
+        dimValues.add(new String[]{"Industry", "Belgium"});
+        dimValues.add(new String[]{"Other", "Europe"});
+        java.util.Date from = new GregorianCalendar(2012, Calendar.FEBRUARY, 1).getTime();
+        List<DbSeries> data = accessor.getSeriesWithData(dimValues, from);
+        assertEquals(2, data.size());
+        assertEquals(A2.getRoot().child("Industry", "Belgium"), data.get(0).getId());
+        assertArrayEquals(new double[]{D2[0][1]}, data.get(0).getData().get().internalStorage(), 0);
+        assertEquals(A2.getRoot().child("Other", "Europe"), data.get(1).getId());
+        assertArrayEquals(new double[]{D2[3][1]}, data.get(1).getData().get().internalStorage(), 0);
+        assertEquals(accessor.getSeriesWithData(dimValues), accessor.getSeriesWithData(dimValues, null));
+    }
+
     @Test
     public void testCache() throws Exception {
         JdbcBean b2c1 = mydbTwoDimsBean();
@@ -174,4 +246,23 @@ public class JdbcAccessorTest {
         assertEquals(a2c1_first, a2c2_first);
         assertNotSame(a2c1_first, a2c2_first);
     }
+
+    @Test
+    public void testCache_Bulk() throws Exception {
+        JdbcBean b2c1 = mydbTwoDimsBean();
+        b2c1.setCacheDepth(1);
+        DbAccessor a2c1 = new JdbcAccessor(NOP_LOGGER, b2c1, mydbConnectionSupplier()).memoize();
+        DbSeries cached = a2c1.getSeriesWithData("Industry", "Belgium");
+
+        List<String[]> dimValues = new ArrayList<>();
+        dimValues.add(new String[]{"Other", "Europe"});
+        dimValues.add(new String[]{"Industry", "Belgium"});
+        dimValues.add(new String[]{"Other", "Belgium"});
+        List<DbSeries> data = a2c1.getSeriesWithData(dimValues);
+        assertEquals(dimValues.size(), data.size());
+        for (int i = 0; i < dimValues.size(); ++i) {
+            assertEquals(A2.getSeriesWithData(dimValues.get(i)), data.get(i));
+        }
+        assertSame(cached, data.get(1));
+    }
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package ec.jmh;
+
+import ec.tstoolkit.arima.estimation.AnsleyFilter;
+import ec.tstoolkit.arima.estimation.ArmaKF;
+import ec.tstoolkit.arima.estimation.ConcentratedLikelihoodEstimation;
+import ec.tstoolkit.arima.estimation.KalmanFilter;
+import ec.tstoolkit.arima.estimation.RegArimaEstimation;
+import ec.tstoolkit.arima.estimation.RegArimaModel;
+import ec.tstoolkit.data.DataBlock;
+import ec.tstoolkit.eco.ConcentratedLikelihood;
+import ec.tstoolkit.maths.realfunctions.ProxyMinimizer;
+import ec.tstoolkit.maths.realfunctions.minpack.LevenbergMarquardtMinimizer;
+import ec.tstoolkit.sarima.SarimaModel;
+import ec.tstoolkit.sarima.SarimaSpecification;
+import ec.tstoolkit.sarima.estimation.GlsSarimaMonitor;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Likelihood evaluation and estimation of (Reg)Arima models
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ArimaBenchmark {
+
+    private SarimaModel arma;
+    private DataBlock stationary;
+    private RegArimaModel<SarimaModel> airline;
+
+    @Setup(Level.Trial)
+    public void setup(SeriesState state) {
+        TsData log = state.series.log();
+        // stationary model (1, 0, 1)(0, 0, 1) on the differenced series
+        SarimaSpecification sspec = new SarimaSpecification(state.frequency);
+        sspec.setP(1);
+        sspec.setQ(1);
+        sspec.setBQ(1);
+        arma = new SarimaModel(sspec);
+        arma.setPhi(1, -.2);
+        arma.setTheta(1, -.5);
+        arma.setBTheta(1, -.6);
+        stationary = new DataBlock(log.delta(1).delta(state.frequency).internalStorage());
+
+        SarimaSpecification aspec = new SarimaSpecification(state.frequency);
+        aspec.airline();
+        SarimaModel model = new SarimaModel(aspec);
+        model.setTheta(1, -.6);
+        model.setBTheta(1, -.6);
+        airline = new RegArimaModel<>(model, new DataBlock(log.internalStorage()));
+    }
+
+    @Benchmark
+    public DataBlock armaKFFastFilter() {
+        return new ArmaKF(arma).fastFilter(stationary);
+    }
+
+    @Benchmark
+    public double armaKFFastProcessing() {
+        return new ArmaKF(arma).fastProcessing(stationary, 3);
+    }
+
+    @Benchmark
+    public ConcentratedLikelihood kalmanFilterLikelihood() {
+        ConcentratedLikelihoodEstimation cll = new ConcentratedLikelihoodEstimation(new KalmanFilter(false));
+        cll.estimate(airline);
+        return cll.getLikelihood();
+    }
+
+    @Benchmark
+    public ConcentratedLikelihood ansleyFilterLikelihood() {
+        ConcentratedLikelihoodEstimation cll = new ConcentratedLikelihoodEstimation(new AnsleyFilter());
+        cll.estimate(airline);
+        return cll.getLikelihood();
+    }
+
+    @Benchmark
+    public RegArimaEstimation<SarimaModel> levenbergMarquardt() {
+        GlsSarimaMonitor monitor = new GlsSarimaMonitor();
+        monitor.setMinimizer(new ProxyMinimizer(new LevenbergMarquardtMinimizer()));
+        return monitor.optimize(airline);
+    }
+}
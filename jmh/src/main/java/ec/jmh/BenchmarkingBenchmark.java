@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package ec.jmh;
+
+import ec.benchmarking.denton.DentonMethod;
+import ec.benchmarking.simplets.TsCholette;
+import ec.tstoolkit.data.DataBlock;
+import ec.tstoolkit.timeseries.TsAggregationType;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarking of long monthly series (length = years x 12) on yearly
+ * totals, with the Denton method and with the Cholette method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BenchmarkingBenchmark {
+
+    @Param({"100", "1000"})
+    public int years;
+
+    private TsData s, y;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        int n = years * 12;
+        double[] x = new double[n];
+        for (int i = 0; i < n; ++i) {
+            x[i] = 100 + 10 * Math.sin(i * Math.PI / 6) + 0.01 * i + Math.cos(i * 0.37);
+        }
+        s = new TsData(TsFrequency.Monthly, 1000, 0, x, false);
+        y = s.changeFrequency(TsFrequency.Yearly, TsAggregationType.Sum, true);
+        for (int i = 0; i < y.getLength(); ++i) {
+            y.set(i, y.get(i) * (1 + 0.001 * (i % 7)));
+        }
+    }
+
+    @Benchmark
+    public double[] denton() {
+        DentonMethod denton = new DentonMethod();
+        return denton.process(new DataBlock(s.internalStorage()), new DataBlock(y.internalStorage()));
+    }
+
+    @Benchmark
+    public TsData cholette() {
+        TsCholette cholette = new TsCholette();
+        cholette.setLambda(1);
+        return cholette.process(s, y);
+    }
+}
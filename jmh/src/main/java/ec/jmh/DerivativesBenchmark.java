@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package ec.jmh;
+
+import ec.tstoolkit.arima.estimation.ArmaFunction;
+import ec.tstoolkit.arima.estimation.RegArimaModel;
+import ec.tstoolkit.data.DataBlock;
+import ec.tstoolkit.maths.matrices.Matrix;
+import ec.tstoolkit.maths.realfunctions.IFunctionInstance;
+import ec.tstoolkit.maths.realfunctions.ISsqFunctionInstance;
+import ec.tstoolkit.maths.realfunctions.NumericalDerivatives;
+import ec.tstoolkit.maths.realfunctions.SsqNumericalDerivatives;
+import ec.tstoolkit.sarima.SarimaModel;
+import ec.tstoolkit.sarima.SarimaSpecification;
+import ec.tstoolkit.sarima.estimation.SarimaMapping;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Numerical derivatives of the likelihood of Sarima models, computed in the
+ * calling thread or on the shared executor (see DerivativesExecutor)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DerivativesBenchmark {
+
+    /**
+     * Airline model (2 parameters) or (3,1,1)(1,1,1) model (6 parameters)
+     */
+    @Param({"false", "true"})
+    public boolean large;
+
+    @Param({"false", "true"})
+    public boolean mt;
+
+    private ArmaFunction<SarimaModel> fn;
+    private ISsqFunctionInstance point;
+
+    @Setup(Level.Trial)
+    public void setup(SeriesState state) {
+        SarimaSpecification spec = new SarimaSpecification(state.frequency);
+        spec.airline();
+        if (large) {
+            spec.setP(3);
+            spec.setBP(1);
+        }
+        SarimaModel model = new SarimaModel(spec);
+        model.setTheta(1, -.6);
+        model.setBTheta(1, -.6);
+        if (large) {
+            model.setPhi(1, -.3);
+            model.setPhi(2, .1);
+            model.setBPhi(1, -.2);
+        }
+        RegArimaModel<SarimaModel> regarima = new RegArimaModel<>(model, new DataBlock(state.series.log().internalStorage()));
+        fn = new ArmaFunction<>(regarima.getDModel(), regarima.getArima().getNonStationaryARCount(),
+                regarima.getMissings(), new SarimaMapping(spec, false));
+        fn.mt = mt;
+        point = fn.ssqEvaluate(model.getParameters());
+    }
+
+    @Benchmark
+    public Matrix ssqJacobian() {
+        SsqNumericalDerivatives d = new SsqNumericalDerivatives(fn, point, false, mt);
+        int n = point.getParameters().getLength();
+        Matrix jac = new Matrix(point.getE().length, n);
+        d.getJacobian(jac.all());
+        return jac;
+    }
+
+    @Benchmark
+    public double[] gradient() {
+        return new NumericalDerivatives(fn, (IFunctionInstance) point, true, mt).getGradient();
+    }
+
+    @Benchmark
+    public Matrix hessian() {
+        return new NumericalDerivatives(fn, (IFunctionInstance) point, true, mt).getHessian();
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package ec.jmh;
+
+import ec.tstoolkit.data.DataBlock;
+import ec.tstoolkit.maths.matrices.Householder;
+import ec.tstoolkit.maths.matrices.Matrix;
+import ec.tstoolkit.maths.matrices.SymmetricMatrix;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Basic kernels on DataBlock and Matrix. The matrices have the shape of
+ * typical regression problems (rows = observations, columns = regressors).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MatrixBenchmark {
+
+    @Param({"120", "360"})
+    public int rows;
+
+    @Param({"10", "100"})
+    public int columns;
+
+    private Matrix X, S;
+    private DataBlock x, y;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        X = new Matrix(rows, columns);
+        X.randomize(0);
+        S = SymmetricMatrix.XtX(X);
+        x = new DataBlock(rows);
+        x.randomize(1);
+        y = new DataBlock(rows);
+        y.randomize(2);
+    }
+
+    @Benchmark
+    public double dataBlockDot() {
+        return x.dot(y);
+    }
+
+    @Benchmark
+    public double dataBlockSsq() {
+        return x.ssq();
+    }
+
+    @Benchmark
+    public DataBlock dataBlockAddAY() {
+        DataBlock z = y.deepClone();
+        z.addAY(.5, x);
+        return z;
+    }
+
+    @Benchmark
+    public Matrix times() {
+        return X.times(S);
+    }
+
+    @Benchmark
+    public Matrix xtx() {
+        return SymmetricMatrix.XtX(X);
+    }
+
+    @Benchmark
+    public Matrix cholesky() {
+        Matrix L = S.clone();
+        SymmetricMatrix.lcholesky(L);
+        return L;
+    }
+
+    @Benchmark
+    public DataBlock householderLeastSquares() {
+        Householder qr = new Householder(true);
+        qr.decompose(X);
+        DataBlock b = new DataBlock(columns);
+        qr.leastSquares(y, b, null);
+        return b;
+    }
+}
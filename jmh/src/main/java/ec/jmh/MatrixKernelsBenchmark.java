@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package ec.jmh;
+
+import ec.tstoolkit.maths.matrices.Matrix;
+import ec.tstoolkit.maths.matrices.MatrixKernels;
+import ec.tstoolkit.maths.matrices.SymmetricMatrix;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Level-3 kernels (product, X'X, Cholesky) on large matrices, with the
+ * reference loops (blocked = false) and with the blocked kernels. X is a
+ * (2 x size) x size matrix.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MatrixKernelsBenchmark {
+
+    @Param({"100", "300", "600"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean blocked;
+
+    private long threshold;
+    private Matrix X, S;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        X = new Matrix(2 * size, size);
+        X.randomize(0);
+        S = SymmetricMatrix.XtX(X);
+        threshold = MatrixKernels.getBlockingThreshold();
+        if (!blocked) {
+            MatrixKernels.setBlockingThreshold(Long.MAX_VALUE);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MatrixKernels.setBlockingThreshold(threshold);
+    }
+
+    @Benchmark
+    public Matrix times() {
+        return X.times(S);
+    }
+
+    @Benchmark
+    public Matrix xtx() {
+        return SymmetricMatrix.XtX(X);
+    }
+
+    @Benchmark
+    public Matrix cholesky() {
+        Matrix L = S.clone();
+        SymmetricMatrix.lcholesky(L);
+        return L;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package ec.jmh;
+
+import ec.benchmarking.simplets.TsMultiBenchmarking;
+import ec.benchmarking.simplets.TsMultiBenchmarking.ContemporaneousConstraintDescriptor;
+import ec.benchmarking.simplets.TsMultiBenchmarking.TemporalConstraintDescriptor;
+import ec.tstoolkit.timeseries.TsAggregationType;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reconciliation of a set of independent 2 x 2 tables (7 monthly series, 3
+ * contemporaneous constraints and 1 yearly constraint by table), in a single
+ * model (blocks = false) or table by table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MultiBenchmarkingBenchmark {
+
+    @Param({"5", "20"})
+    public int tables;
+
+    @Param({"false", "true"})
+    public boolean blocks;
+
+    private TsData[] data;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        data = new TsData[7 * tables];
+        for (int i = 0; i < data.length; ++i) {
+            data[i] = new TsData(TsFrequency.Monthly, 1980, 0, 120);
+            data[i].randomAirline();
+            data[i] = data[i].plus(1000);
+        }
+    }
+
+    @Benchmark
+    public TsMultiBenchmarking process() {
+        TsMultiBenchmarking mb = new TsMultiBenchmarking();
+        mb.setRho(.9);
+        mb.setLambda(1);
+        mb.setBlockDecomposition(blocks);
+        String[] names = new String[]{"s11", "s12", "s21", "s22", "s_1", "s_2", "s2_"};
+        for (int t = 0, k = 0; t < tables; ++t) {
+            for (String name : names) {
+                mb.addInput(name + "_" + t, data[k++]);
+            }
+            TsData y = data[k - 4].changeFrequency(TsFrequency.Yearly, TsAggregationType.Sum, true);
+            mb.addInput("S22_" + t, y.times(1.01));
+            mb.addTemporalConstraint(TemporalConstraintDescriptor.parse("S22_" + t + "=sum(s22_" + t + ")"));
+            mb.addContemporaneousConstraint(ContemporaneousConstraintDescriptor.parse("s_1_" + t + "=s11_" + t + "+s21_" + t));
+            mb.addContemporaneousConstraint(ContemporaneousConstraintDescriptor.parse("s_2_" + t + "=s12_" + t + "+s22_" + t));
+            mb.addContemporaneousConstraint(ContemporaneousConstraintDescriptor.parse("s2__" + t + "=s21_" + t + "+s22_" + t));
+        }
+        mb.process();
+        return mb;
+    }
+}
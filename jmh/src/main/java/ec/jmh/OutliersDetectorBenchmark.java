@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package ec.jmh;
+
+import ec.tstoolkit.arima.ArimaModelBuilder;
+import ec.tstoolkit.modelling.arima.ModelDescription;
+import ec.tstoolkit.modelling.arima.ModelEstimation;
+import ec.tstoolkit.modelling.arima.ModellingContext;
+import ec.tstoolkit.modelling.arima.RegArimaEstimator;
+import ec.tstoolkit.modelling.arima.tramo.OutliersDetector;
+import ec.tstoolkit.random.XorshiftRNG;
+import ec.tstoolkit.sarima.SarimaModel;
+import ec.tstoolkit.sarima.SarimaModelBuilder;
+import ec.tstoolkit.sarima.estimation.SarimaMapping;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Outliers detection (all the types) on a 30-years monthly airline series,
+ * with the sequential and the parallel scanning of the candidate positions
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class OutliersDetectorBenchmark {
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private SarimaModel air;
+    private TsData series;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        air = new SarimaModelBuilder().createAirlineModel(12, -.6, -.8);
+        ArimaModelBuilder rnd = new ArimaModelBuilder();
+        rnd.setRandomNumberGenerator(new XorshiftRNG(1234));
+        double[] data = rnd.generate(air, 360);
+        Random rg = new Random(1234);
+        for (int i = 0; i < 5; ++i) {
+            data[rg.nextInt(data.length)] += 10;
+        }
+        series = new TsData(TsFrequency.Monthly, 1985, 0, data, false);
+    }
+
+    private ModellingContext context() {
+        ModelDescription desc = new ModelDescription(series, null);
+        desc.setAirline(true);
+        ModelEstimation est = new ModelEstimation(desc.buildRegArima());
+        est.compute(new RegArimaEstimator(new SarimaMapping(air.getSpecification(), true)), 2);
+        ModellingContext context = new ModellingContext();
+        context.description = desc;
+        context.estimation = est;
+        return context;
+    }
+
+    @Benchmark
+    public ModellingContext tramo() {
+        OutliersDetector outliers = new OutliersDetector();
+        outliers.setAll();
+        outliers.setParallel(parallel);
+        ModellingContext context = context();
+        outliers.process(context);
+        return context;
+    }
+
+    @Benchmark
+    public ModellingContext x13() {
+        ec.tstoolkit.modelling.arima.x13.OutliersDetector outliers = new ec.tstoolkit.modelling.arima.x13.OutliersDetector();
+        outliers.setAll();
+        outliers.setParallel(parallel);
+        ModellingContext context = context();
+        outliers.process(context);
+        return context;
+    }
+}
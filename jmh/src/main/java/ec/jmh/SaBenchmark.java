@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package ec.jmh;
+
+import ec.satoolkit.algorithm.implementation.X13ProcessingFactory;
+import ec.satoolkit.seats.SeatsKernel;
+import ec.satoolkit.seats.SeatsResults;
+import ec.satoolkit.seats.SeatsSpecification;
+import ec.satoolkit.seats.SeatsToolkit;
+import ec.satoolkit.x11.X11Kernel;
+import ec.satoolkit.x11.X11Results;
+import ec.satoolkit.x11.X11Specification;
+import ec.satoolkit.x11.X11Toolkit;
+import ec.satoolkit.x13.X13Specification;
+import ec.tstoolkit.algorithm.CompositeResults;
+import ec.tstoolkit.modelling.DefaultTransformationType;
+import ec.tstoolkit.modelling.arima.IPreprocessor;
+import ec.tstoolkit.modelling.arima.PreprocessingModel;
+import ec.tstoolkit.modelling.arima.tramo.TramoSpecification;
+import ec.tstoolkit.modelling.arima.x13.RegArimaSpecification;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Complete seasonal adjustment pipelines and their main steps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SaBenchmark {
+
+    private IPreprocessor tramo, regarima;
+    private X11Toolkit x11;
+    private SeatsSpecification seats;
+    private TsData lin;
+
+    @Setup(Level.Trial)
+    public void setup(SeriesState state) {
+        tramo = TramoSpecification.TRfull.build();
+        regarima = RegArimaSpecification.RG5.build();
+        x11 = X11Toolkit.create(new X11Specification());
+        // the Seats decomposition is applied on the linearized series of Tramo
+        PreprocessingModel model = tramo.process(state.series, null);
+        seats = new SeatsSpecification();
+        seats.setArima(model.description.getArimaComponent().clone());
+        seats.setLog(model.description.getTransformation() == DefaultTransformationType.Log);
+        lin = model.linearizedSeries();
+    }
+
+    @Benchmark
+    public PreprocessingModel tramo(SeriesState state) {
+        return tramo.process(state.series, null);
+    }
+
+    @Benchmark
+    public PreprocessingModel regarima(SeriesState state) {
+        return regarima.process(state.series, null);
+    }
+
+    @Benchmark
+    public X11Results x11Kernel(SeriesState state) {
+        X11Kernel kernel = new X11Kernel();
+        kernel.setToolkit(x11);
+        return kernel.process(state.series);
+    }
+
+    @Benchmark
+    public CompositeResults x13(SeriesState state) {
+        return X13ProcessingFactory.process(state.series, X13Specification.RSA5);
+    }
+
+    @Benchmark
+    public SeatsResults seatsKernel() {
+        SeatsKernel kernel = new SeatsKernel();
+        kernel.setToolkit(SeatsToolkit.create(seats));
+        return kernel.process(lin);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package ec.jmh;
+
+import ec.tss.tsproviders.sdmx.engine.CunningPlanFactory;
+import ec.tss.tsproviders.sdmx.engine.SdmxCursor;
+import ec.tss.tsproviders.sdmx.engine.StreamingFactory;
+import ec.tss.tsproviders.sdmx.model.SdmxSource;
+import ec.tss.tsproviders.utils.OptionalTsData;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loading of generated SDMX-ML files with the DOM factories and with the
+ * streaming (StAX) engine. Run with "-prof gc" to compare the allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SdmxBenchmark {
+
+    @Param({"generic", "compact"})
+    public String format;
+
+    @Param({"100", "1000"})
+    public int series;
+
+    private static final int OBS = 240;
+
+    private File file;
+    private String lastId;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = File.createTempFile("sdmx", ".xml");
+        try (Writer w = new BufferedWriter(Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8))) {
+            if ("generic".equals(format)) {
+                writeGeneric(w, series);
+            } else {
+                writeCompact(w, series);
+            }
+        }
+        try (SdmxCursor cursor = SdmxCursor.open(file)) {
+            while (cursor.nextSeries()) {
+                lastId = cursor.getSeriesId();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public SdmxSource dom() throws Exception {
+        return new CunningPlanFactory().create(file);
+    }
+
+    @Benchmark
+    public SdmxSource streaming() throws Exception {
+        return new StreamingFactory().create(file);
+    }
+
+    /**
+     * Extracts the data of the last series only
+     *
+     * @return
+     * @throws IOException
+     */
+    @Benchmark
+    public OptionalTsData streamingSingleSeries() throws IOException {
+        try (SdmxCursor cursor = SdmxCursor.open(file)) {
+            while (cursor.nextSeries()) {
+                if (lastId.equals(cursor.getSeriesId())) {
+                    return cursor.getSeriesData();
+                }
+            }
+            return null;
+        }
+    }
+
+    private static void writeGeneric(Writer w, int n) throws IOException {
+        w.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        w.write("<GenericData xmlns=\"http://www.SDMX.org/resources/SDMXML/schemas/v2_0/message\" xmlns:generic=\"http://www.SDMX.org/resources/SDMXML/schemas/v2_0/generic\">\n");
+        w.write("<DataSet>\n<generic:KeyFamilyRef>BENCH</generic:KeyFamilyRef>\n");
+        for (int i = 0; i < n; ++i) {
+            w.write("<generic:Series>\n<generic:SeriesKey>\n");
+            w.write("<generic:Value concept=\"FREQ\" value=\"M\"/>\n");
+            w.write("<generic:Value concept=\"ITEM\" value=\"S" + i + "\"/>\n");
+            w.write("</generic:SeriesKey>\n<generic:Attributes>\n");
+            w.write("<generic:Value concept=\"TIME_FORMAT\" value=\"P1M\"/>\n");
+            w.write("</generic:Attributes>\n");
+            for (int j = 0; j < OBS; ++j) {
+                w.write("<generic:Obs><generic:Time>" + period(j) + "</generic:Time><generic:ObsValue value=\"" + value(i, j) + "\"/>");
+                w.write("<generic:Attributes><generic:Value concept=\"OBS_STATUS\" value=\"A\"/></generic:Attributes></generic:Obs>\n");
+            }
+            w.write("</generic:Series>\n");
+        }
+        w.write("</DataSet>\n</GenericData>\n");
+    }
+
+    private static void writeCompact(Writer w, int n) throws IOException {
+        w.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        w.write("<CompactData xmlns=\"http://www.SDMX.org/resources/SDMXML/schemas/v2_0/message\" xmlns:bench=\"urn:bench:compact\">\n");
+        w.write("<bench:DataSet>\n");
+        for (int i = 0; i < n; ++i) {
+            w.write("<bench:Series FREQ=\"M\" TIME_FORMAT=\"P1M\" ITEM=\"S" + i + "\">\n");
+            for (int j = 0; j < OBS; ++j) {
+                w.write("<bench:Obs TIME_PERIOD=\"" + period(j) + "\" OBS_VALUE=\"" + value(i, j) + "\" OBS_STATUS=\"A\"/>\n");
+            }
+            w.write("</bench:Series>\n");
+        }
+        w.write("</bench:DataSet>\n</CompactData>\n");
+    }
+
+    private static String period(int j) {
+        return String.format(Locale.ROOT, "%d-%02d", 1990 + j / 12, j % 12 + 1);
+    }
+
+    private static String value(int i, int j) {
+        return String.format(Locale.ROOT, "%.2f", 100 + i + Math.sin(j));
+    }
+}
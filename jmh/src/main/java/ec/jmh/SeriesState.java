@@ -0,0 +1,45 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package ec.jmh;
+
+import data.Data;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Reference series, parameterized by frequency and length (in years)
+ */
+@State(Scope.Benchmark)
+public class SeriesState {
+
+    @Param({"4", "12"})
+    public int frequency;
+
+    @Param({"8", "16", "24"})
+    public int years;
+
+    public TsData series;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        series = Data.production(frequency, years);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package ec.jmh;
+
+import ec.tstoolkit.timeseries.TsAggregationType;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Usual operations on time series
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TsDataBenchmark {
+
+    @Benchmark
+    public TsData plus(SeriesState state) {
+        return state.series.plus(state.series);
+    }
+
+    @Benchmark
+    public TsData times(SeriesState state) {
+        return state.series.times(state.series);
+    }
+
+    @Benchmark
+    public TsData log(SeriesState state) {
+        return state.series.log();
+    }
+
+    @Benchmark
+    public TsData delta(SeriesState state) {
+        return state.series.delta(state.frequency);
+    }
+
+    @Benchmark
+    public TsData lagged(SeriesState state) {
+        return TsData.subtract(state.series, state.series.lead(1));
+    }
+
+    @Benchmark
+    public TsData yearly(SeriesState state) {
+        return state.series.changeFrequency(TsFrequency.Yearly, TsAggregationType.Sum, true);
+    }
+
+    @Benchmark
+    public double sum(SeriesState state) {
+        return state.series.computeRecursively(0, (x, y) -> x + y);
+    }
+}
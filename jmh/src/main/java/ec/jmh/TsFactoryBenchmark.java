@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package ec.jmh;
+
+import data.Data;
+import ec.tss.Ts;
+import ec.tss.TsFactory;
+import ec.tss.TsInformation;
+import ec.tss.TsInformationType;
+import ec.tss.TsMoniker;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Contention on the registries of the TsFactory. The scaling is obtained by
+ * comparing the throughput for different numbers of threads (-t 1, -t 4,
+ * -t 16...)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@Threads(16)
+public class TsFactoryBenchmark {
+
+    private static final String SOURCE = "jmh";
+
+    @Param({"1000", "100000"})
+    public int count;
+
+    private TsMoniker[] monikers;
+    // strong references on the registered series
+    private Ts[] series;
+
+    @Setup
+    public void setup() {
+        TsFactory.instance.useSynchronousNotifications(false);
+        monikers = new TsMoniker[count];
+        series = new Ts[count];
+        for (int i = 0; i < count; ++i) {
+            monikers[i] = new TsMoniker(SOURCE, Integer.toString(i));
+            series[i] = TsFactory.instance.createTs("s" + i, monikers[i], null, Data.P);
+        }
+    }
+
+    private TsMoniker next() {
+        return monikers[ThreadLocalRandom.current().nextInt(count)];
+    }
+
+    @Benchmark
+    public Ts createTs() {
+        return TsFactory.instance.createTs("s", null, Data.P);
+    }
+
+    @Benchmark
+    public Ts createExistingTs() {
+        return TsFactory.instance.createTs("s", next(), null, Data.P);
+    }
+
+    @Benchmark
+    public Ts getTs() {
+        return TsFactory.instance.getTs(next());
+    }
+
+    @Benchmark
+    public boolean isTsAlive() {
+        return TsFactory.instance.isTsAlive(next());
+    }
+
+    @Benchmark
+    public Ts update() {
+        TsMoniker moniker = next();
+        TsInformation info = new TsInformation("s", moniker, TsInformationType.Data);
+        info.data = Data.P;
+        TsFactory.instance.update(info);
+        return TsFactory.instance.getTs(moniker);
+    }
+}
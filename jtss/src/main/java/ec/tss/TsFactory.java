@@ -22,9 +22,8 @@ import ec.tstoolkit.design.InterfaceLoader;
 import ec.tstoolkit.design.NewObject;
 import ec.tstoolkit.design.Singleton;
 import ec.tstoolkit.timeseries.simplets.TsData;
-import java.lang.ref.WeakReference;
 import java.util.*;
-import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.LockSupport;
 import java.util.stream.Collector;
 import javax.annotation.Nonnull;
@@ -136,9 +135,9 @@ public class TsFactory {
         cur.start();
         instance = cur;
     }
-    private final HashMap<String, ITsProvider> m_providers = new HashMap<>();
-    private final HashMap<TsMoniker, WeakReference<TsCollection>> m_collections = new HashMap<>();
-    private final HashMap<TsMoniker, WeakReference<Ts.Master>> m_ts = new HashMap<>();
+    private final ConcurrentHashMap<String, ITsProvider> m_providers = new ConcurrentHashMap<>();
+    private final TsRegistry<TsCollection> m_collections = new TsRegistry<>();
+    private final TsRegistry<Ts.Master> m_ts = new TsRegistry<>();
     private boolean m_close;
     private final long m_threadID;
     private boolean m_useSynchronousNotifications = true;
@@ -155,11 +154,7 @@ public class TsFactory {
      * @return
      */
     public final boolean add(ITsProvider provider) {
-        if (m_providers.containsKey(provider.getSource())) {
-            return false;
-        }
-        m_providers.put(provider.getSource(), provider);
-        return true;
+        return m_providers.putIfAbsent(provider.getSource(), provider) == null;
     }
 
     public final boolean addAll(Iterable<? extends ITsProvider> list) {
@@ -189,32 +184,11 @@ public class TsFactory {
     }
 
     private void cleanTS() {
-        synchronized (m_ts) {
-            HashMap<TsMoniker, WeakReference<Ts.Master>> tmp = new HashMap<>();
-            int n = 0;
-            for (Entry<TsMoniker, WeakReference<Ts.Master>> r : m_ts.entrySet()) {
-                if (r.getValue().get() != null) {
-                    tmp.put(r.getKey(), r.getValue());
-                } else {
-                    ++n;
-                }
-            }
-            m_ts.clear();
-            m_ts.putAll(tmp);
-        }
+        m_ts.expunge();
     }
 
     private void cleanTSCollection() {
-        synchronized (m_collections) {
-            HashMap<TsMoniker, WeakReference<TsCollection>> tmp = new HashMap<>();
-            m_collections.forEach((k, v) -> {
-                if (v.get() != null) {
-                    tmp.put(k, v);
-                }
-            });
-            m_collections.clear();
-            m_collections.putAll(tmp);
-        }
+        m_collections.expunge();
     }
 
     /**
@@ -254,25 +228,22 @@ public class TsFactory {
     @Nonnull
     @NewObject
     public Ts createTs(@Nullable String name) {
-        synchronized (m_ts) {
-            Ts.Master ts = new Ts.Master(name);
-            m_ts.put(ts.getMoniker(), new WeakReference<>(ts));
-            return ts;
-        }
+        // anonymous moniker: no concurrent access
+        Ts.Master ts = new Ts.Master(name);
+        m_ts.put(ts.getMoniker(), ts);
+        return ts;
     }
 
     Ts createTs(TsInformation info) {
-        synchronized (m_ts) {
-            Ts.Master ts = null;
-            WeakReference<Ts.Master> wref = m_ts.get(info.moniker);
-            if (wref != null) {
-                ts = wref.get();
-            }
+        synchronized (m_ts.lock(info.moniker)) {
+            Ts.Master ts = m_ts.get(info.moniker);
             if (ts == null) {
                 ts = new Ts.Master(info.name, info.moniker);
+                ts.update(info);
+                m_ts.put(ts.getMoniker(), ts);
+            } else {
+                ts.update(info);
             }
-            ts.update(info);
-            m_ts.put(ts.getMoniker(), new WeakReference<>(ts));
             return ts;
         }
     }
@@ -303,28 +274,17 @@ public class TsFactory {
      */
     @Nonnull
     public Ts createTs(@Nullable String name, @Nullable TsMoniker moniker, @Nullable MetaData md, @Nullable TsData d) {
-        synchronized (m_ts) {
-            WeakReference<Ts.Master> wref = null;
-            if (moniker != null) {
-                wref = m_ts.get(moniker);
-            }
-            if (wref != null) {
-                Ts.Master ts = wref.get();
-                if (ts != null) {
-                    return ts.rename(name);
-                } else {
-                    ts = new Ts.Master(name, moniker, md, d);
-                    m_ts.put(moniker, new WeakReference<>(ts));
-                    return ts;
-                }
-            } else {
-                if (moniker == null) {
-                    moniker = new TsMoniker();
-                }
-                Ts.Master ts = new Ts.Master(name, moniker, md, d);
-                m_ts.put(ts.getMoniker(), new WeakReference<>(ts));
-                return ts;
+        if (moniker == null) {
+            moniker = new TsMoniker();
+        }
+        synchronized (m_ts.lock(moniker)) {
+            Ts.Master ts = m_ts.get(moniker);
+            if (ts != null) {
+                return ts.rename(name);
             }
+            ts = new Ts.Master(name, moniker, md, d);
+            m_ts.put(moniker, ts);
+            return ts;
         }
     }
 
@@ -339,8 +299,8 @@ public class TsFactory {
      */
     @Nonnull
     public Ts createTs(@Nullable String name, @Nonnull TsMoniker moniker, @Nonnull TsInformationType type) {
-        synchronized (m_ts) {
-            Ts.Master result = (Ts.Master) getTs(moniker);
+        synchronized (m_ts.lock(moniker)) {
+            Ts.Master result = m_ts.get(moniker);
             if (result == null) {
                 result = new Ts.Master(name, moniker);
                 if (type != TsInformationType.None) {
@@ -348,7 +308,7 @@ public class TsFactory {
                     fill(info);
                     result.update(info);
                 }
-                m_ts.put(moniker, new WeakReference<>(result));
+                m_ts.put(moniker, result);
             } else {
                 result.load(type);
             }
@@ -391,12 +351,10 @@ public class TsFactory {
     @Nonnull
     @NewObject
     public TsCollection createTsCollection(@Nullable String name) {
-        synchronized (m_collections) {
-            TsCollection coll = new TsCollection(name);
-            m_collections.put(coll.getMoniker(),
-                    new WeakReference<>(coll));
-            return coll;
-        }
+        // anonymous moniker: no concurrent access
+        TsCollection coll = new TsCollection(name);
+        m_collections.put(coll.getMoniker(), coll);
+        return coll;
     }
 
     /**
@@ -412,28 +370,18 @@ public class TsFactory {
     @Nonnull
     public TsCollection createTsCollection(@Nullable String name, @Nullable TsMoniker moniker, @Nullable MetaData md,
             @Nullable Iterable<Ts> ts) {
-        synchronized (m_collections) {
-            if (moniker == null) {
-                TsCollection c = new TsCollection(name, new TsMoniker(), md, ts);
-                m_collections.put(c.getMoniker(), new WeakReference<>(c));
-                return c;
-            } else {
-                WeakReference<TsCollection> wref = m_collections.get(moniker);
-                if (wref != null) {
-                    TsCollection c = wref.get();
-                    if (c != null) {
-                        return c;
-                    } else {
-                        c = new TsCollection(name, moniker, md, ts);
-                        m_collections.put(c.getMoniker(), new WeakReference<>(c));
-                        return c;
-                    }
-                } else {
-                    TsCollection c = new TsCollection(name, moniker, md, ts);
-                    m_collections.put(c.getMoniker(), new WeakReference<>(c));
-                    return c;
-                }
+        if (moniker == null) {
+            TsCollection c = new TsCollection(name, new TsMoniker(), md, ts);
+            m_collections.put(c.getMoniker(), c);
+            return c;
+        }
+        synchronized (m_collections.lock(moniker)) {
+            TsCollection c = m_collections.get(moniker);
+            if (c == null) {
+                c = new TsCollection(name, moniker, md, ts);
+                m_collections.put(c.getMoniker(), c);
             }
+            return c;
         }
     }
 
@@ -450,14 +398,14 @@ public class TsFactory {
     public TsCollection createTsCollection(@Nullable String name, @Nonnull TsMoniker moniker,
             @Nonnull TsInformationType type) {
         // Search collection
-        synchronized (m_collections) {
-            TsCollection result = getTsCollection(moniker);
+        synchronized (m_collections.lock(moniker)) {
+            TsCollection result = m_collections.get(moniker);
             if (result == null) {
                 result = new TsCollection(name, moniker);
                 TsCollectionInformation info = new TsCollectionInformation(moniker, type);
                 fill(info);
                 // add collection
-                m_collections.put(moniker, new WeakReference<>(result));
+                m_collections.put(moniker, result);
                 // set data
                 List<Ts> updated = result.update(info);
                 for (Ts s : updated) {
@@ -535,19 +483,7 @@ public class TsFactory {
      */
     @Nullable
     public Ts getTs(@Nullable TsMoniker moniker) {
-        synchronized (m_ts) {
-            WeakReference<Ts.Master> wref = m_ts.get(moniker);
-            if (wref != null) {
-                Ts ts = wref.get();
-                if (ts == null) {
-                    m_ts.remove(moniker);
-                }
-                // cleanTS();
-                return ts;
-            } else {
-                return null;
-            }
-        }
+        return m_ts.get(moniker);
     }
 
     /**
@@ -559,19 +495,7 @@ public class TsFactory {
      */
     @Nullable
     public TsCollection getTsCollection(@Nullable TsMoniker moniker) {
-        synchronized (m_collections) {
-            WeakReference<TsCollection> wref = m_collections.get(moniker);
-            if (wref != null) {
-                TsCollection collection = wref.get();
-                if (collection == null) {
-                    m_collections.remove(moniker);
-                }
-                // cleanTSCollection();
-                return collection;
-            } else {
-                return null;
-            }
-        }
+        return m_collections.get(moniker);
     }
 
     /**
@@ -592,13 +516,7 @@ public class TsFactory {
         if (m_close) {
             return false;
         }
-        synchronized (m_ts) {
-            WeakReference<Ts.Master> wref = m_ts.get(moniker);
-            if (wref == null) {
-                return false;
-            }
-            return wref.get() != null;
-        }
+        return m_ts.isAlive(moniker);
     }
 
     /**
@@ -611,13 +529,7 @@ public class TsFactory {
         if (m_close) {
             return false;
         }
-        synchronized (m_collections) {
-            WeakReference<TsCollection> wref = m_collections.get(moniker);
-            if (wref == null) {
-                return false;
-            }
-            return wref.get() != null;
-        }
+        return m_collections.isAlive(moniker);
     }
 
     /**
@@ -760,7 +672,7 @@ public class TsFactory {
         if (provider == null) {
             return false;
         }
-        synchronized (m_ts) {
+        synchronized (m_ts.lock(s.getMoniker())) {
             return provider.getAsyncMode() == TsAsyncMode.None
                     ? doLoad(s.getMaster(), type)
                     : provider.queryTs(s.getMoniker(), type);
@@ -790,7 +702,7 @@ public class TsFactory {
             }
             return true;
         }
-        synchronized (m_collections) {
+        synchronized (m_collections.lock(c.getMoniker())) {
             return provider.getAsyncMode() == TsAsyncMode.None
                     ? doLoad(c, type)
                     : provider.queryTsCollection(c.getMoniker(), type);
@@ -825,10 +737,9 @@ public class TsFactory {
      * @param name
      */
     public void remove(String name) {
-        if (m_providers.containsKey(name)) {
-            ITsProvider provider = m_providers.get(name);
+        ITsProvider provider = m_providers.remove(name);
+        if (provider != null) {
             provider.dispose();
-            m_providers.remove(name);
         }
     }
 
@@ -857,7 +768,7 @@ public class TsFactory {
      * @param info
      */
     public void update(@Nonnull TsCollectionInformation info) {
-        synchronized (m_collections) {
+        synchronized (m_collections.lock(info.moniker)) {
             TsCollection c = getTsCollection(info.moniker);
             if (c != null) {
                 List<Ts> updated = c.update(info);
@@ -880,8 +791,8 @@ public class TsFactory {
      * @param info
      */
     public void update(@Nonnull TsInformation info) {
-        synchronized (m_ts) {
-            Ts.Master s = (Ts.Master) getTs(info.moniker);
+        synchronized (m_ts.lock(info.moniker)) {
+            Ts.Master s = m_ts.get(info.moniker);
             if (s == null) // the series has been destroyed
             {
                 return;
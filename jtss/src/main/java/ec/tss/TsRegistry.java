@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package ec.tss;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
+
+/**
+ * Registry of weakly referenced objects (series or collections), identified by
+ * their monikers. Lookups don't lock; the compound operations (get or create,
+ * load...) are serialized by moniker, on a fixed set of lock stripes. The
+ * entries of the objects that have been garbage collected are removed through
+ * a reference queue, without scanning the whole registry.
+ *
+ * @param <T>
+ */
+final class TsRegistry<T> {
+
+    private static final int STRIPES = 64;
+
+    private static final class Ref<T> extends WeakReference<T> {
+
+        private final TsMoniker key;
+
+        Ref(TsMoniker key, T referent, ReferenceQueue<? super T> queue) {
+            super(referent, queue);
+            this.key = key;
+        }
+    }
+
+    private final ConcurrentHashMap<TsMoniker, Ref<T>> map_ = new ConcurrentHashMap<>();
+    private final ReferenceQueue<T> queue_ = new ReferenceQueue<>();
+    private final Object[] locks_ = new Object[STRIPES];
+
+    TsRegistry() {
+        for (int i = 0; i < STRIPES; ++i) {
+            locks_[i] = new Object();
+        }
+    }
+
+    /**
+     * The lock that serializes the compound operations on a given moniker
+     *
+     * @param moniker
+     * @return
+     */
+    Object lock(@Nullable TsMoniker moniker) {
+        if (moniker == null) {
+            return locks_[0];
+        }
+        int h = moniker.hashCode();
+        h ^= (h >>> 16);
+        return locks_[h & (STRIPES - 1)];
+    }
+
+    @Nullable
+    T get(@Nullable TsMoniker moniker) {
+        if (moniker == null) {
+            return null;
+        }
+        Ref<T> ref = map_.get(moniker);
+        if (ref == null) {
+            return null;
+        }
+        T t = ref.get();
+        if (t == null) {
+            map_.remove(moniker, ref);
+        }
+        return t;
+    }
+
+    void put(TsMoniker moniker, T t) {
+        expunge();
+        map_.put(moniker, new Ref<>(moniker, t, queue_));
+    }
+
+    boolean isAlive(@Nullable TsMoniker moniker) {
+        return get(moniker) != null;
+    }
+
+    int size() {
+        return map_.size();
+    }
+
+    /**
+     * Removes the entries of the collected objects
+     *
+     * @return The number of removed entries
+     */
+    @SuppressWarnings("unchecked")
+    int expunge() {
+        int n = 0;
+        Ref<T> ref;
+        while ((ref = (Ref<T>) queue_.poll()) != null) {
+            if (map_.remove(ref.key, ref)) {
+                ++n;
+            }
+        }
+        return n;
+    }
+}
@@ -20,6 +20,7 @@ import ec.tss.TsMoniker;
 import ec.tss.sa.output.BasicConfiguration;
 import ec.tss.tsproviders.utils.MultiLineNameUtil;
 import ec.tstoolkit.Parameter;
+import ec.tstoolkit.algorithm.CompositeResults;
 import ec.tstoolkit.algorithm.IProcResults;
 import ec.tstoolkit.algorithm.ProcDiagnostic;
 import ec.tstoolkit.information.Information;
@@ -91,14 +92,14 @@ public class CsvInformationFormatter {
         private static final String[] SEMPTY = new String[0];
 
         int length;
-        String[] items;
+        String[] items = SEMPTY;
         Object[] results = EMPTY;
 
         boolean isHomogeneous() {
             if (results.length <= 1) {
                 return true;
             }
-            Class c = null;
+            Class<?> c = null;
             for (int i = 0; i < results.length; ++i) {
                 if (results[i] != null) {
                     if (c == null) {
@@ -149,6 +150,15 @@ public class CsvInformationFormatter {
         }
 
         void fill(final String id, IProcResults record, boolean shortname) {
+            fill(id, record, shortname, null);
+        }
+
+        static String itemId(final String id) {
+            int l = id.indexOf(':');
+            return l >= 0 ? id.substring(0, l) : id;
+        }
+
+        void fill(final String id, IProcResults record, boolean shortname, CompositeResults.Accessor<Object> accessor) {
             // we search for a pre-specified length
             int l = id.indexOf(':');
             String sid = id;
@@ -183,7 +193,8 @@ public class CsvInformationFormatter {
                     }
                 }
             } else {
-                results = new Object[]{record.getData(sid, Object.class)};
+                results = new Object[]{accessor != null
+                    ? accessor.getData((CompositeResults) record) : record.getData(sid, Object.class)};
                 items = new String[]{shortId(sid, shortname)};
                 if (length == 0 && results[0] != null) {
                     updateLength();
@@ -274,7 +285,7 @@ public class CsvInformationFormatter {
             int cur = 0;
             for (MatrixItem[] item : items) {
                 if (rowheaders != null) {
-                    String rh = rowheaders.get(cur);
+                    String rh = rowheaders.get(cur++);
                     if (rh != null) {
                         writeHeader(writer, rh);
                     }
@@ -358,20 +369,75 @@ public class CsvInformationFormatter {
 
     public void formatResults(Writer writer, List<NamedObject<IProcResults>> records, List<String> names, boolean shortname) {
         // STEP 1: we retrieve all information for all records/names
-        List<MatrixItem[]> items = new ArrayList<>();
-        LinkedHashSet<String> dic = new LinkedHashSet<>();
-        List<String> rowheaders = new ArrayList<>();
-        records.forEach(record -> {
+        ResultsMatrix matrix = new ResultsMatrix(names, shortname);
+        records.forEach(record -> matrix.add(record.name, record.object));
+        matrix.write(writer);
+    }
+
+    /**
+     * Creates an incremental version of formatResults.
+     *
+     * @param names The requested items
+     * @param shortname
+     * @return
+     */
+    public ResultsMatrix newResultsMatrix(List<String> names, boolean shortname) {
+        return new ResultsMatrix(names, shortname);
+    }
+
+    /**
+     * Matrix of results that is filled record by record. Only the requested
+     * items of a record are retained when it is added, so that the records
+     * themselves (and all their other information) can be released before
+     * the matrix is written.
+     */
+    public final class ResultsMatrix {
+
+        private final List<String> names;
+        private final boolean shortname;
+        private final List<MatrixItem[]> items = new ArrayList<>();
+        private final List<String> rowheaders = new ArrayList<>();
+        // identifiers compiled on the first composite results
+        private List<CompositeResults.Accessor<Object>> accessors;
+
+        private ResultsMatrix(List<String> names, boolean shortname) {
+            this.names = new ArrayList<>(names);
+            this.shortname = shortname;
+        }
+
+        public void add(String name, IProcResults record) {
+            if (accessors == null && record instanceof CompositeResults) {
+                accessors = new ArrayList<>(names.size());
+                for (String item : names) {
+                    String sid = MatrixItem.itemId(item);
+                    accessors.add(InformationSet.hasWildCards(sid) ? null
+                            : ((CompositeResults) record).compile(sid, Object.class));
+                }
+            }
             MatrixItem[] m = new MatrixItem[names.size()];
             for (int i = 0; i < m.length; ++i) {
                 m[i] = new MatrixItem();
-                m[i].fill(names.get(i), record.object, shortname);
-                m[i].fillDictionary(dic);
+                if (record != null) {
+                    m[i].fill(names.get(i), record, shortname,
+                            record instanceof CompositeResults ? accessors.get(i) : null);
+                }
             }
             items.add(m);
-            rowheaders.add(record.name);
-        });
-        format(writer, items, names.size(), rowheaders);
+            rowheaders.add(name);
+        }
+
+        public int getRowsCount() {
+            return items.size();
+        }
+
+        /**
+         * Writes the matrix in a single pass (the writer is closed)
+         *
+         * @param writer
+         */
+        public void write(Writer writer) {
+            format(writer, items, names.size(), rowheaders);
+        }
     }
 
     private String format(Object obj, int item) {
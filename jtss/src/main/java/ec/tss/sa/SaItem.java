@@ -29,6 +29,7 @@ import ec.tss.sa.documents.SaDocument;
 import ec.tstoolkit.MetaData;
 import ec.tstoolkit.algorithm.AlgorithmDescriptor;
 import ec.tstoolkit.algorithm.CompositeResults;
+import ec.tstoolkit.algorithm.IProcResults;
 import ec.tstoolkit.algorithm.ProcDiagnostic;
 import ec.tstoolkit.algorithm.ProcQuality;
 import ec.tstoolkit.information.InformationSet;
@@ -49,7 +50,7 @@ public class SaItem {
     public static final String DOMAIN_SPEC = "domainspec", ESTIMATION_SPEC = "estimationspec", POINT_SPEC = "pointspec",
             TS = "ts", QUALITY = "quality", PRIORITY = "priority", POLICY = "policy", METADATA = "metadata", NAME = "name", COMMENT = "comment";
     public static final String DIAGNOSTICS = "diagnostics";
-    private static final String DIAGNOSTICS_INTERNAL = "__diagnostics";
+    private static final String DIAGNOSTICS_INTERNAL = "__diagnostics", COMPACT = "compact";
 
     public static enum Status {
 
@@ -74,6 +75,7 @@ public class SaItem {
     private ISaSpecification pspec_, espec_, dspec_;
     private boolean cacheResults_ = true;
     private volatile CompositeResults rslts_;
+    private volatile SaResultsStore.Ref stored_;
     private EstimationPolicyType estimation_ = EstimationPolicyType.None;
     private Status status_ = Status.Unprocessed;
     private int priority_ = -1;
@@ -96,6 +98,7 @@ public class SaItem {
             n.priority_ = priority_;
             n.quality_ = quality_;
             n.rslts_ = rslts_;
+            n.stored_ = stored_; // shared, see compress(store)
             n.status_ = status_;
             n.ts_ = ts_;
             n.warnings_ = warnings_;
@@ -342,6 +345,57 @@ public class SaItem {
         rslts_ = null;
     }
 
+    /**
+     * Releases the results, after having put a compact copy of them in the
+     * given store. The copy is used by getCompactResults, as long as it is
+     * kept by the store. The copy belongs to this item and to its copies
+     * (makeCopy): the first one that gets new results releases it, and the
+     * other ones then process their series again when needed.
+     *
+     * @param store
+     */
+    public void compress(SaResultsStore store) {
+        synchronized (id_) {
+            if (rslts_ != null) {
+                releaseStored();
+                stored_ = store.put(rslts_);
+                rslts_ = null;
+            }
+        }
+    }
+
+    /**
+     * Gets the results that can be used for outputs: the actual results if
+     * they are available, their compact copy (see compress(store)) if it has
+     * been kept, or the results of a new processing otherwise. The compact
+     * copy only contains the series and the simple values of the results,
+     * under their exact identifiers.
+     *
+     * @return
+     */
+    public IProcResults getCompactResults() {
+        CompositeResults rslts = rslts_;
+        if (rslts != null) {
+            return rslts;
+        }
+        SaResultsStore.Ref stored = stored_;
+        if (stored != null) {
+            IProcResults compact = stored.get();
+            if (compact != null) {
+                return compact;
+            }
+            stored_ = null;
+        }
+        return process();
+    }
+
+    private void releaseStored() {
+        if (stored_ != null) {
+            stored_.release();
+            stored_ = null;
+        }
+    }
+
     private void update() {
         if (rslts_ != null && rslts_.get(GenericSaProcessingFactory.DECOMPOSITION) != null) {
             status_ = Status.Valid;
@@ -387,6 +441,7 @@ public class SaItem {
         CompositeResults rslts = SaManager.instance.process(getActiveSpecification(), ts_.getTsData());
         synchronized (id_) {
             rslts_ = rslts;
+            releaseStored();
             update();
             if (!cacheResults_) {
                 rslts_ = null;
@@ -433,10 +488,33 @@ public class SaItem {
     }
 
     public SaDocument<ISaSpecification> toDocument() {
+        return toDocument(process());
+    }
+
+    /**
+     * Creates a document for the outputs that only use the series and the
+     * simple values of the results (see SaProcessing.output). The document is
+     * filled with getCompactResults, so that the results compressed in a store
+     * are not estimated again. The other parts of the results (models,
+     * decompositions...) may be missing in such a document.
+     *
+     * @return The document or null if the item cannot be handled
+     */
+    public SaDocument<ISaSpecification> toOutputDocument() {
+        IProcResults rslts = getCompactResults();
+        if (rslts == null || rslts instanceof CompositeResults) {
+            return toDocument((CompositeResults) rslts);
+        }
+        CompositeResults compact = new CompositeResults();
+        compact.put(COMPACT, rslts, null);
+        return toDocument(compact);
+    }
+
+    private SaDocument<ISaSpecification> toDocument(CompositeResults rslts) {
         ISaSpecification xspec = getEstimationSpecification();
         ISaProcessingFactory processor = (ISaProcessingFactory) SaManager.instance.find(xspec);
         SaDocument<ISaSpecification> doc = processor.createDocument();
-        if (doc.unsafeFill(getTs(), xspec, process())) {
+        if (doc.unsafeFill(getTs(), xspec, rslts)) {
             if (!MetaData.isNullOrEmpty(metaData_)) {
                 doc.getMetaData().copy(metaData_);
             } else {
@@ -451,6 +529,7 @@ public class SaItem {
     public void unsafeFill(CompositeResults rslts) {
         synchronized (id_) {
             rslts_ = rslts;
+            releaseStored();
             update();
             if (!cacheResults_) {
                 rslts_ = null;
@@ -20,10 +20,12 @@ import com.google.common.collect.ForwardingList;
 import ec.satoolkit.ISaSpecification;
 import ec.tss.Ts;
 import ec.tss.TsStatus;
+import ec.tss.sa.documents.SaDocument;
 import ec.tstoolkit.IDocumented;
 import ec.tstoolkit.MetaData;
 import ec.tstoolkit.algorithm.AlgorithmDescriptor;
 import ec.tstoolkit.algorithm.CompositeResults;
+import ec.tstoolkit.algorithm.IOutput;
 import ec.tstoolkit.information.Information;
 import ec.tstoolkit.information.InformationSet;
 import ec.tstoolkit.information.InformationSetHelper;
@@ -264,6 +266,27 @@ public final class SaProcessing extends ForwardingList<SaItem> implements IDocum
         }
     }
 
+    /**
+     * Refreshes (if need be) and processes all the items of this processing.
+     * The items are processed by decreasing priority, using at most
+     * parallelism concurrent workers of the shared pool of
+     * SaProcessingMonitor.
+     *
+     * @param policy The refresh policy. None means that the current items are
+     * processed as they are.
+     * @param parallelism The maximum number of items processed concurrently
+     * @return True if all the items have been handled
+     */
+    public boolean processAll(EstimationPolicyType policy, int parallelism) {
+        if (policy != EstimationPolicyType.None) {
+            refresh(policy, false);
+        }
+        SaProcessingMonitor monitor = new SaProcessingMonitor();
+        monitor.setProcessing(this);
+        monitor.setParallelism(parallelism);
+        return monitor.process();
+    }
+
     @Deprecated
     public int search(SaItem item) {
         return indexOf(item);
@@ -494,4 +517,34 @@ public final class SaProcessing extends ForwardingList<SaItem> implements IDocum
         return reports;
     }
 
+    /**
+     * Generates the given outputs for the processed items. The documents are
+     * created by SaItem.toOutputDocument: the items whose results have been
+     * compressed in a store are not estimated again, as long as their compact
+     * copy is kept. The outputs should only use the series and the simple
+     * values of the results.
+     *
+     * @param outputs The outputs
+     * @param context The context of the outputs (see ISaOutputFactory)
+     * @throws Exception
+     */
+    public void output(List<IOutput<SaDocument<ISaSpecification>>> outputs, Object context) throws Exception {
+        for (IOutput<SaDocument<ISaSpecification>> output : outputs) {
+            output.start(context);
+        }
+        for (SaItem item : items_) {
+            if (item.isProcessed()) {
+                SaDocument<ISaSpecification> doc = item.toOutputDocument();
+                if (doc != null && doc.getResults() != null) {
+                    for (IOutput<SaDocument<ISaSpecification>> output : outputs) {
+                        output.process(doc);
+                    }
+                }
+            }
+        }
+        for (IOutput<SaDocument<ISaSpecification>> output : outputs) {
+            output.end(context);
+        }
+    }
+
 }
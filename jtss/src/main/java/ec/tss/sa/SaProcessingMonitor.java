@@ -18,17 +18,48 @@
 
 package ec.tss.sa;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.swing.event.EventListenerList;
 
 /**
+ * Batch processing of the items of a SaProcessing. The items are processed
+ * by order of decreasing priority, on a bounded number of workers taken from
+ * a shared (long-lived) fork-join pool. Each item is processed exactly as in
+ * the sequential case (SaItem.process()), so that the results don't depend on
+ * the parallelism.
+ * Listeners are notified from the worker threads.
  *
  * @author Kristof Bayens
  */
 public class SaProcessingMonitor {
+
+    private static final class PoolHolder {
+
+        private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * The shared pool used by all the monitors
+     *
+     * @return
+     */
+    public static ForkJoinPool getSharedPool() {
+        return PoolHolder.POOL;
+    }
+
     private SaProcessing processing_;
     private SaItem[] items_;
-    private boolean closing_, stop_;
-    private Thread hRun_;
+    private volatile boolean closing_, stop_;
+    private volatile Thread hRun_;
+    private int parallelism_ = Runtime.getRuntime().availableProcessors();
+    private final AtomicInteger processed_ = new AtomicInteger();
 
     protected EventListenerList list = new EventListenerList();
 
@@ -41,7 +72,7 @@ public class SaProcessingMonitor {
     }
 
     public SaProcessingMonitor() {
-        
+
     }
 
     public SaProcessing getProcessing() {
@@ -53,22 +84,189 @@ public class SaProcessingMonitor {
         processing_ = value;
     }
 
+    /**
+     * Maximum number of items processed concurrently
+     *
+     * @return
+     */
+    public int getParallelism() {
+        return parallelism_;
+    }
+
+    public void setParallelism(int value) {
+        if (value < 1) {
+            throw new IllegalArgumentException("parallelism");
+        }
+        parallelism_ = value;
+    }
+
+    /**
+     * Number of items processed (or skipped) in the current/last run
+     *
+     * @return
+     */
+    public int getProcessedCount() {
+        return processed_.get();
+    }
+
+    /**
+     * Number of items handled by the current/last run
+     *
+     * @return
+     */
+    public int getItemsCount() {
+        SaItem[] items = items_;
+        return items == null ? 0 : items.length;
+    }
+
     public boolean isRunning() {
         return hRun_ != null;
     }
 
-    public void start() {
+    public boolean isStopped() {
+        return stop_;
+    }
 
+    /**
+     * Starts the processing in a background thread
+     */
+    public synchronized void start() {
+        if (hRun_ != null || processing_ == null || closing_) {
+            return;
+        }
+        stop_ = false;
+        Thread thread = new Thread(() -> {
+            try {
+                processItems();
+            } finally {
+                hRun_ = null;
+            }
+        }, processing_.getDocumentId());
+        thread.setDaemon(true);
+        hRun_ = thread;
+        thread.start();
     }
 
+    /**
+     * Cancels the current processing. The items that are being processed are
+     * completed; the other ones are left unprocessed. This method doesn't
+     * wait for the end of the processing (see awaitTermination).
+     */
     public void stop() {
+        stop_ = true;
+    }
 
+    /**
+     * Waits for the end of the processing started in the background thread
+     *
+     * @param timeout The maximum time to wait
+     * @param unit The unit of the timeout
+     * @return True if the background processing is finished (or if there is
+     * none), false if the timeout elapsed before
+     * @throws InterruptedException
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        Thread thread = hRun_;
+        if (thread == null) {
+            return true;
+        }
+        if (thread == Thread.currentThread()) {
+            return false;
+        }
+        long millis = unit.toMillis(timeout);
+        if (millis > 0) {
+            thread.join(millis);
+        }
+        return !thread.isAlive();
     }
 
     public void close() {
         closing_ = true;
-        if (hRun_ != null && hRun_.isAlive()) {
-            hRun_.interrupt();
+        stop_ = true;
+        Thread thread = hRun_;
+        if (thread != null && thread.isAlive()) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Processes all the items of the current processing in the calling thread
+     * (which waits for the workers).
+     *
+     * @return True if all the items have been handled, false if the
+     * processing has been cancelled
+     */
+    public boolean process() {
+        if (processing_ == null) {
+            return false;
+        }
+        stop_ = false;
+        return processItems();
+    }
+
+    private boolean processItems() {
+        // the processing may be changed (see setProcessing) before the end of this run
+        SaProcessing processing = processing_;
+        processed_.set(0);
+        SaItem[] items = processing.toArray();
+        // stable sort: items with the same priority keep their order
+        Arrays.sort(items, Comparator.comparingInt(SaItem::getPriority).reversed());
+        items_ = items;
+        int nworkers = Math.min(parallelism_, items.length);
+        if (nworkers <= 1) {
+            for (int i = 0; i < items.length && !stop_; ++i) {
+                processItem(items[i]);
+            }
+        } else {
+            AtomicInteger next = new AtomicInteger();
+            Runnable worker = () -> {
+                int i;
+                while (!stop_ && (i = next.getAndIncrement()) < items.length) {
+                    processItem(items[i]);
+                }
+            };
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(nworkers);
+            for (int i = 0; i < nworkers; ++i) {
+                tasks.add(getSharedPool().submit(worker));
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+        }
+        boolean completed = !stop_;
+        fireCompleted(processing);
+        return completed;
+    }
+
+    private void processItem(SaItem item) {
+        try {
+            item.process();
+        } catch (RuntimeException err) {
+            item.setStatus(SaItem.Status.Invalid);
+        }
+        processed_.incrementAndGet();
+        fireProcessed(item);
+    }
+
+    private void fireProcessed(SaItem item) {
+        SaEventListener[] listeners = list.getListeners(SaEventListener.class);
+        if (listeners.length == 0) {
+            return;
+        }
+        SaItemEvent evt = new SaItemEvent(item);
+        for (SaEventListener listener : listeners) {
+            listener.Processed(evt);
+        }
+    }
+
+    private void fireCompleted(SaProcessing processing) {
+        SaEventListener[] listeners = list.getListeners(SaEventListener.class);
+        if (listeners.length == 0) {
+            return;
+        }
+        SaProcessingEvent evt = new SaProcessingEvent(processing);
+        for (SaEventListener listener : listeners) {
+            listener.Completed(evt);
         }
     }
 }
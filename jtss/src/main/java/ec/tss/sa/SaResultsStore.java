@@ -0,0 +1,340 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tss.sa;
+
+import ec.tstoolkit.algorithm.IProcResults;
+import ec.tstoolkit.algorithm.ProcessingInformation;
+import ec.tstoolkit.information.InformationSet;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import ec.tstoolkit.timeseries.simplets.TsPeriod;
+import ec.tstoolkit.utilities.WildCards;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bounded store of compact copies of processing results. Only the series
+ * (TsData) and the simple values (numbers, booleans, strings, arrays of
+ * doubles) of the results are kept, in a binary form (one byte array by
+ * copy). The least recently used copies are discarded when the capacity of the
+ * store is reached.
+ */
+public final class SaResultsStore {
+
+    private static final byte TSDATA = 1, DOUBLE = 2, INTEGER = 3, LONG = 4, BOOLEAN = 5, STRING = 6, DOUBLES = 7;
+
+    private final long capacity;
+    private final List<String> items;
+    private final LinkedHashMap<Ref, byte[]> entries = new LinkedHashMap<>(16, .75f, true);
+    private long size;
+
+    /**
+     * Creates a store that keeps all the items of the dictionary of the
+     * results
+     *
+     * @param capacity Maximum number of bytes
+     */
+    public SaResultsStore(long capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * Creates a store that only keeps the given items (which may contain
+     * wildcards)
+     *
+     * @param capacity Maximum number of bytes
+     * @param items The items that are kept. All the items of the dictionary
+     * of the results if null
+     */
+    public SaResultsStore(long capacity, List<String> items) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity");
+        }
+        this.capacity = capacity;
+        this.items = items;
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Number of bytes used by the store (the total length of the byte arrays)
+     *
+     * @return
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    public synchronized int getCount() {
+        return entries.size();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        size = 0;
+    }
+
+    /**
+     * Stores a compact copy of the given results
+     *
+     * @param rslts
+     * @return The reference to the copy or null if it is too large for this
+     * store
+     */
+    public Ref put(IProcResults rslts) {
+        byte[] bytes = encode(rslts);
+        if (bytes.length > capacity) {
+            return null;
+        }
+        Ref ref = new Ref(this);
+        synchronized (this) {
+            Iterator<byte[]> iter = entries.values().iterator();
+            while (size + bytes.length > capacity && iter.hasNext()) {
+                size -= iter.next().length;
+                iter.remove();
+            }
+            entries.put(ref, bytes);
+            size += bytes.length;
+        }
+        return ref;
+    }
+
+    private IProcResults get(Ref ref) {
+        byte[] bytes;
+        synchronized (this) {
+            bytes = entries.get(ref);
+        }
+        return bytes == null ? null : decode(ByteBuffer.wrap(bytes));
+    }
+
+    private synchronized void remove(Ref ref) {
+        byte[] bytes = entries.remove(ref);
+        if (bytes != null) {
+            size -= bytes.length;
+        }
+    }
+
+    private Map<String, Object> select(IProcResults rslts) {
+        if (items == null) {
+            Map<String, Object> all = new LinkedHashMap<>();
+            for (String item : rslts.getDictionary().keySet()) {
+                all.put(item, rslts.getData(item, Object.class));
+            }
+            return all;
+        } else {
+            Map<String, Object> all = new LinkedHashMap<>();
+            Set<String> ids = null;
+            for (String item : items) {
+                if (InformationSet.hasWildCards(item)) {
+                    // searchAll doesn't give the full identifiers
+                    if (ids == null) {
+                        ids = rslts.getDictionary().keySet();
+                    }
+                    WildCards wc = new WildCards(item);
+                    for (String id : ids) {
+                        if (wc.match(id)) {
+                            all.put(id, rslts.getData(id, Object.class));
+                        }
+                    }
+                } else {
+                    all.put(item, rslts.getData(item, Object.class));
+                }
+            }
+            return all;
+        }
+    }
+
+    private byte[] encode(IProcResults rslts) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            for (Map.Entry<String, Object> entry : select(rslts).entrySet()) {
+                Object obj = entry.getValue();
+                if (obj instanceof TsData) {
+                    TsData s = (TsData) obj;
+                    TsPeriod start = s.getStart();
+                    writeKey(out, entry.getKey(), TSDATA);
+                    out.writeInt(start.getFrequency().intValue());
+                    out.writeInt(start.getYear());
+                    out.writeInt(start.getPosition());
+                    writeDoubles(out, s.internalStorage());
+                } else if (obj instanceof Double) {
+                    writeKey(out, entry.getKey(), DOUBLE);
+                    out.writeDouble((Double) obj);
+                } else if (obj instanceof Integer) {
+                    writeKey(out, entry.getKey(), INTEGER);
+                    out.writeInt((Integer) obj);
+                } else if (obj instanceof Long) {
+                    writeKey(out, entry.getKey(), LONG);
+                    out.writeLong((Long) obj);
+                } else if (obj instanceof Boolean) {
+                    writeKey(out, entry.getKey(), BOOLEAN);
+                    out.writeBoolean((Boolean) obj);
+                } else if (obj instanceof String) {
+                    writeKey(out, entry.getKey(), STRING);
+                    writeString(out, (String) obj);
+                } else if (obj instanceof double[]) {
+                    writeKey(out, entry.getKey(), DOUBLES);
+                    writeDoubles(out, (double[]) obj);
+                }
+            }
+        } catch (IOException ex) {
+            // not possible with a byte array
+            throw new IllegalStateException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeKey(DataOutputStream out, String key, byte type) throws IOException {
+        out.writeByte(type);
+        writeString(out, key);
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        out.writeInt(s.length());
+        out.writeChars(s);
+    }
+
+    private static void writeDoubles(DataOutputStream out, double[] data) throws IOException {
+        out.writeInt(data.length);
+        for (int i = 0; i < data.length; ++i) {
+            out.writeDouble(data[i]);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        char[] c = new char[buffer.getInt()];
+        for (int i = 0; i < c.length; ++i) {
+            c[i] = buffer.getChar();
+        }
+        return new String(c);
+    }
+
+    private static double[] readDoubles(ByteBuffer buffer) {
+        double[] data = new double[buffer.getInt()];
+        buffer.asDoubleBuffer().get(data);
+        buffer.position(buffer.position() + data.length * Double.BYTES);
+        return data;
+    }
+
+    private static IProcResults decode(ByteBuffer buffer) {
+        LinkedHashMap<String, Object> data = new LinkedHashMap<>();
+        while (buffer.hasRemaining()) {
+            byte type = buffer.get();
+            String key = readString(buffer);
+            switch (type) {
+                case TSDATA:
+                    TsFrequency freq = TsFrequency.valueOf(buffer.getInt());
+                    int year = buffer.getInt(), pos = buffer.getInt();
+                    data.put(key, new TsData(freq, year, pos, readDoubles(buffer), false));
+                    break;
+                case DOUBLE:
+                    data.put(key, buffer.getDouble());
+                    break;
+                case INTEGER:
+                    data.put(key, buffer.getInt());
+                    break;
+                case LONG:
+                    data.put(key, buffer.getLong());
+                    break;
+                case BOOLEAN:
+                    data.put(key, buffer.get() != 0);
+                    break;
+                case STRING:
+                    data.put(key, readString(buffer));
+                    break;
+                case DOUBLES:
+                    data.put(key, readDoubles(buffer));
+                    break;
+                default:
+                    throw new IllegalStateException("Invalid type " + type);
+            }
+        }
+        return new CompactResults(data);
+    }
+
+    /**
+     * Reference to a copy of results
+     */
+    public static final class Ref {
+
+        private final SaResultsStore store;
+
+        private Ref(SaResultsStore store) {
+            this.store = store;
+        }
+
+        /**
+         * Rebuilds the (compact) results
+         *
+         * @return The results or null if they have been discarded
+         */
+        public IProcResults get() {
+            return store.get(this);
+        }
+
+        public void release() {
+            store.remove(this);
+        }
+    }
+
+    /**
+     * Results rebuilt from their compact copy. The identifiers must be the
+     * exact ones of the original dictionary (or the items of the store).
+     */
+    private static final class CompactResults implements IProcResults {
+
+        private final Map<String, Object> data;
+
+        private CompactResults(Map<String, Object> data) {
+            this.data = data;
+        }
+
+        @Override
+        public boolean contains(String id) {
+            return data.containsKey(id);
+        }
+
+        @Override
+        @SuppressWarnings("rawtypes") // imposed by IProcResults
+        public Map<String, Class> getDictionary() {
+            Map<String, Class> dic = new LinkedHashMap<>();
+            data.forEach((k, v) -> dic.put(k, v.getClass()));
+            return dic;
+        }
+
+        @Override
+        public <T> T getData(String id, Class<T> tclass) {
+            Object obj = data.get(id);
+            return tclass.isInstance(obj) ? tclass.cast(obj) : null;
+        }
+
+        @Override
+        public List<ProcessingInformation> getProcessingInformation() {
+            return Collections.emptyList();
+        }
+    }
+}
@@ -20,15 +20,13 @@ import ec.satoolkit.ISaSpecification;
 import ec.tss.formatters.CsvInformationFormatter;
 import ec.tss.sa.documents.SaDocument;
 import ec.tstoolkit.algorithm.IOutput;
-import ec.tstoolkit.algorithm.IProcResults;
-import ec.tstoolkit.utilities.NamedObject;
 import ec.tstoolkit.utilities.Paths;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  *
@@ -36,8 +34,10 @@ import java.util.List;
  */
 public class CsvMatrixOutput implements IOutput<SaDocument<ISaSpecification>> {
 
+    private static final int BUFFER_SIZE = 1 << 16;
+
     CsvMatrixOutputConfiguration config_;
-    List<NamedObject<IProcResults>> infos_;
+    CsvInformationFormatter.ResultsMatrix matrix_;
     private File folder_;
     private boolean fullName;
 
@@ -58,24 +58,31 @@ public class CsvMatrixOutput implements IOutput<SaDocument<ISaSpecification>> {
 
     @Override
     public void start(Object context) {
-        infos_ = new ArrayList<>();
+        CsvInformationFormatter fmt = new CsvInformationFormatter();
+        fmt.setFullName(fullName);
+        matrix_ = fmt.newResultsMatrix(config_.getItems(), true);
         folder_ = BasicConfiguration.folderFromContext(config_.getFolder(), context);
     }
 
     @Override
     public void end(Object context) throws Exception {
-        CsvInformationFormatter fmt = new CsvInformationFormatter();
-        fmt.setFullName(fullName);
         String file = Paths.concatenate(folder_.getAbsolutePath(), config_.getFileName());
         file = Paths.changeExtension(file, "csv");
-        FileOutputStream matrix = new FileOutputStream(file);
-        OutputStreamWriter writer = new OutputStreamWriter(matrix, StandardCharsets.ISO_8859_1);
-        fmt.formatResults(writer, infos_, config_.getItems(), true);
-        infos_ = null;
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.ISO_8859_1), BUFFER_SIZE)) {
+            matrix_.write(writer);
+        } finally {
+            matrix_ = null;
+        }
     }
 
+    /**
+     * Only the requested items of the document are retained; its results can
+     * be released as soon as this method returns.
+     *
+     * @param document
+     */
     @Override
     public void process(SaDocument<ISaSpecification> document) {
-        infos_.add(new NamedObject<>(document.getTs().getName(), document.getResults()));
+        matrix_.add(document.getTs().getName(), document.getResults());
     }
 }
@@ -17,9 +17,8 @@
 package ec.tss.sa.output;
 
 import ec.tss.tsproviders.utils.MultiLineNameUtil;
+import ec.tstoolkit.timeseries.simplets.TsAlignedData;
 import ec.tstoolkit.timeseries.simplets.TsData;
-import ec.tstoolkit.timeseries.simplets.TsDataTable;
-import ec.tstoolkit.timeseries.simplets.TsDataTableInfo;
 import ec.tstoolkit.timeseries.simplets.TsDomain;
 import ec.tstoolkit.timeseries.simplets.TsPeriod;
 import java.io.IOException;
@@ -70,16 +69,15 @@ public class TsCollectionCsvFormatter {
             return writeList(coll, names, writer);
         }
 
-        TsDataTable table = new TsDataTable();
-        for (TsData s : coll) {
-            table.insert(-1, s);
-        }
+        // missing and empty cells are NaN
+        TsAlignedData table = TsAlignedData.union(coll);
         if (table.isEmpty()) {
             return false;
         }
         TsDomain domain = table.getDomain();
         int ndata = domain.getLength();
         int nseries = table.getSeriesCount();
+        TsPeriod period = domain.getStart();
 
         if (layout_ == CsvLayout.VTable) {
             writer.write(comma);
@@ -92,20 +90,21 @@ public class TsCollectionCsvFormatter {
                 }
             }
 
-            for (int j = 0; j < ndata; ++j) {
-                writer.write(domain.get(j).lastday().toString());
+            for (int j = 0; j < ndata; ++j, period.move(1)) {
+                writer.write(period.lastday().toString());
                 for (int i = 0; i < nseries; ++i) {
                     writer.write(comma);
-                    if (table.getDataInfo(j, i) == TsDataTableInfo.Valid) {
-                        write(fmt.format(table.getData(j, i)), writer);
+                    double val = table.getData(j, i);
+                    if (Double.isFinite(val)) {
+                        write(fmt.format(val), writer);
                     }
                 }
                 writer.write(newLine);
             }
         } else {
             writer.write(comma);
-            for (int i = 0; i < ndata; ++i) {
-                writer.write(domain.get(i).lastday().toString());
+            for (int i = 0; i < ndata; ++i, period.move(1)) {
+                writer.write(period.lastday().toString());
                 if (i != ndata - 1) {
                     writer.write(comma);
                 } else {
@@ -117,8 +116,9 @@ public class TsCollectionCsvFormatter {
                 write(names.get(j), writer);
                 for (int i = 0; i < ndata; ++i) {
                     writer.write(comma);
-                    if (table.getDataInfo(i, j) == TsDataTableInfo.Valid) {
-                        write(fmt.format(table.getData(i, j)), writer);
+                    double val = table.getData(i, j);
+                    if (Double.isFinite(val)) {
+                        write(fmt.format(val), writer);
                     }
                 }
                 writer.write(newLine);
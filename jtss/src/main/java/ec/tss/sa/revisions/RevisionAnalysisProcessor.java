@@ -36,6 +36,7 @@ import ec.tstoolkit.timeseries.simplets.TsData;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 /**
  *
@@ -49,6 +50,7 @@ public class RevisionAnalysisProcessor implements IProcessingFactory<RevisionAna
     public static final AlgorithmDescriptor DESCRIPTOR = new AlgorithmDescriptor(FAMILY, "Revision Analysis", null);
 
     private final Map<String, Class> dictionary = new HashMap<>();
+    private volatile ExecutorService executor;
 
     public static final RevisionAnalysisProcessor instance = new RevisionAnalysisProcessor();
 
@@ -63,6 +65,21 @@ public class RevisionAnalysisProcessor implements IProcessingFactory<RevisionAna
         }
     }
 
+    /**
+     * Executor used to process the different series concurrently. The
+     * executor is not shut down by the processor.
+     *
+     * @param executor The executor. Null to use the default executor of the
+     * parallel processing nodes
+     */
+    public void setExecutor(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
     @Override
     public void dispose() {
     }
@@ -82,6 +99,11 @@ public class RevisionAnalysisProcessor implements IProcessingFactory<RevisionAna
         synchronized (dictionary) {
             final Map<String, Class> localdictionary = new HashMap<>();
             localdictionary.putAll(dictionary);
+            final Map<String, Class<?>> retained = new HashMap<>();
+            for (String item : localdictionary.keySet()) {
+                retained.put(item, localdictionary.get(item));
+            }
+            final ExecutorService localexecutor = executor;
             SequentialProcessing<TsCollection> all = new SequentialProcessing<>();
             IProcessingNode<TsCollection> saStep = new IProcessingNode<TsCollection>() {
 
@@ -102,7 +124,7 @@ public class RevisionAnalysisProcessor implements IProcessingFactory<RevisionAna
                         return IProcessing.Status.Invalid;
                     }
 
-                    ParallelProcessingNode<TsCollection> cmps = new ParallelProcessingNode<>(BATCH, null);
+                    ParallelProcessingNode<TsCollection> cmps = new ParallelProcessingNode<>(BATCH, null, localexecutor);
                     for (int i = 0; i < input.getCount(); ++i) {
                         cmps.add(createNode(spec, i));
                     }
@@ -125,6 +147,8 @@ public class RevisionAnalysisProcessor implements IProcessingFactory<RevisionAna
                         public IProcessing.Status process(TsCollection input, Map<String, IProcResults> results) {
                             Ts ts = input.get(pos);
                             SingleRevisionAnalysisProcessor proc = new SingleRevisionAnalysisProcessor(spec, ts.getTsData());
+                            // only the vintages of the requested outputs are kept in memory
+                            proc.setRetainedItems(retained);
                             if (!proc.process()) {
                                 return IProcessing.Status.Invalid;
                             }
@@ -23,7 +23,9 @@ import ec.tss.sa.EstimationPolicyType;
 import ec.tss.sa.SaItem;
 import ec.tss.sa.SaManager;
 import ec.tstoolkit.algorithm.CompositeResults;
+import ec.tstoolkit.algorithm.IProcResults;
 import ec.tstoolkit.information.InformationSet;
+import ec.tstoolkit.information.ProxyResults;
 import ec.tstoolkit.timeseries.Day;
 import ec.tstoolkit.timeseries.simplets.TsData;
 import ec.tstoolkit.timeseries.simplets.TsDomain;
@@ -45,7 +47,8 @@ public class SingleRevisionAnalysisProcessor {
     private final TsDomain refDomain_;
     private InformationSet rslts_;
     private CompositeResults ref0_, ref1_;
-    private final List<CompositeResults> details_ = new ArrayList<>();
+    private final List<IProcResults> details_ = new ArrayList<>();
+    private Map<String, Class<?>> retained_;
 
     public SingleRevisionAnalysisProcessor(RevisionAnalysisSpec spec, TsData s) {
         spec_ = spec;
@@ -61,6 +64,35 @@ public class SingleRevisionAnalysisProcessor {
         return rslts_;
     }
 
+    /**
+     * Restricts the outputs kept for the successive vintages. By default, the
+     * complete results are kept.
+     *
+     * @param dic The retained outputs (name -&gt; class). Null to keep the
+     * complete results
+     */
+    public void setRetainedItems(Map<String, Class<?>> dic) {
+        retained_ = dic;
+    }
+
+    public Map<String, Class<?>> getRetainedItems() {
+        return retained_;
+    }
+
+    private IProcResults retain(CompositeResults rslts) {
+        if (retained_ == null || rslts == null) {
+            return rslts;
+        }
+        InformationSet info = new InformationSet();
+        for (Map.Entry<String, Class<?>> item : retained_.entrySet()) {
+            Object v = rslts.getData(item.getKey(), item.getValue());
+            if (v != null) {
+                info.add(InformationSet.split(item.getKey()), v);
+            }
+        }
+        return new ProxyResults(info, null);
+    }
+
     public boolean process() {
         rslts_ = null;
         details_.clear();
@@ -73,7 +105,7 @@ public class SingleRevisionAnalysisProcessor {
         int i;
         if (spec_.isOutOfSample()) {
             if (spec_.isTargetFinal()) {
-                details_.add(cur.process());
+                details_.add(retain(cur.process()));
             }
             i = 1;
             dom = dom.extend(0, 1);
@@ -94,12 +126,12 @@ public class SingleRevisionAnalysisProcessor {
             }
             ISaSpecification espec = SaManager.instance.createSpecification(cur, dom.drop(0, freq), policy, true);
             cur = cur.newSpecification(tmp, espec, policy);
-            details_.add(cur.process());
+            details_.add(retain(cur.process()));
             ++i;
             dom = dom.extend(0, 1);
         }
         if (!spec_.isOutOfSample() && !spec_.isTargetFinal()) {
-            details_.add(ref1_);
+            details_.add(retain(ref1_));
         }
         return true;
     }
@@ -145,7 +177,7 @@ public class SingleRevisionAnalysisProcessor {
 
     public <T> List<T> items(String name, Class<T> tclass) {
         List<T> rslt = new ArrayList<>();
-        for (CompositeResults r : details_) {
+        for (IProcResults r : details_) {
             rslt.add(r.getData(name, tclass));
         }
         return rslt;
@@ -154,14 +186,14 @@ public class SingleRevisionAnalysisProcessor {
     public InformationSet search(Map<String, Class> dic) {
         InformationSet rslt = new InformationSet();
         for (String name : dic.keySet()) {
-            Class cl = dic.get(name);
+            Class<?> cl = dic.get(name);
             String[] deepname = InformationSet.split(name);
             Object ref0 = ref0_.getData(name, cl);
             if (ref0 != null) {
                 rslt.subSet(REF0).add(deepname, ref0);
             }
             int i = 0;
-            for (CompositeResults x : details_) {
+            for (IProcResults x : details_) {
                 Object v = x.getData(name, cl);
                 if (v != null) {
                     rslt.subSet(VER + (i)).add(deepname, v);
@@ -18,6 +18,7 @@ package ec.tss.tsproviders.utils;
 
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
 import ec.tss.TsAsyncMode;
 import ec.tss.TsCollectionInformation;
@@ -27,9 +28,12 @@ import ec.tss.TsMoniker;
 import ec.tss.tsproviders.*;
 import ec.tstoolkit.MetaData;
 import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.utilities.LastModifiedFileLoadingCache;
+import java.io.File;
 import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.slf4j.Logger;
@@ -41,11 +45,13 @@ import org.slf4j.Logger;
  */
 public abstract class AbstractDataSourceProvider<DATA> extends AbstractTsProvider implements IDataSourceProvider {
 
+    protected final DataSourceCachePolicy cachePolicy;
     protected final LoadingCache<DataSource, DATA> cache;
     protected final DataSourceSupport support;
 
     public AbstractDataSourceProvider(Logger logger, String providerName, TsAsyncMode asyncMode) {
         super(logger, providerName, asyncMode);
+        this.cachePolicy = createCachePolicy();
         this.cache = createCache();
         this.support = DataSourceSupport.create(providerName, logger);
     }
@@ -53,18 +59,96 @@ public abstract class AbstractDataSourceProvider<DATA> extends AbstractTsProvide
     @Nonnull
     protected abstract DATA loadFromDataSource(@Nonnull DataSource key) throws Exception;
 
+    /**
+     * Creates the policy of the cache. By default, the policy is defined by
+     * the system properties of this provider.
+     *
+     * @return
+     */
     @Nonnull
+    protected DataSourceCachePolicy createCachePolicy() {
+        return DataSourceCachePolicy.fromSystemProperties(providerName);
+    }
+
+    @Nonnull
+    @SuppressWarnings("unchecked")
     protected CacheBuilder<Object, Object> createCacheBuilder() {
-        return CacheBuilder.newBuilder().softValues();
+        return cachePolicy.newCacheBuilder((k, v) -> weigh((DATA) v));
+    }
+
+    /**
+     * Estimates the weight of some data in the cache, which should be the
+     * number of observations they hold
+     *
+     * @param data
+     * @return A positive number (1 by default)
+     */
+    @Nonnegative
+    protected int weigh(@Nonnull DATA data) {
+        return 1;
+    }
+
+    /**
+     * Estimated weight of an optional series: its number of observations, plus
+     * one for the series itself
+     *
+     * @param data
+     * @return
+     */
+    protected static int weightOf(@Nonnull OptionalTsData data) {
+        return data.isPresent() ? 1 + data.get().getLength() : 1;
+    }
+
+    /**
+     * Gets the file that contains the data of a data source. Used to reload
+     * the data when the file has been modified.
+     *
+     * @param dataSource
+     * @return The file or null if the data source is not related to a file
+     */
+    @Nullable
+    protected File getSourceFile(@Nonnull DataSource dataSource) {
+        return null;
     }
 
     private LoadingCache<DataSource, DATA> createCache() {
-        return createCacheBuilder().build(new CacheLoader<DataSource, DATA>() {
+        CacheLoader<DataSource, DATA> loader = new CacheLoader<DataSource, DATA>() {
             @Override
             public DATA load(DataSource key) throws Exception {
                 return loadFromDataSource(key);
             }
-        });
+        };
+        return cachePolicy.isCheckLastModified()
+                ? LastModifiedFileLoadingCache.build(createCacheBuilder(), loader, this::getSourceFile)
+                : createCacheBuilder().build(loader);
+    }
+
+    @Nonnull
+    public DataSourceCachePolicy getCachePolicy() {
+        return cachePolicy;
+    }
+
+    /**
+     * Statistics of the cache (hits, misses, loading times, evictions)
+     *
+     * @return
+     */
+    @Nonnull
+    public CacheStats getCacheStats() {
+        return cache.stats();
+    }
+
+    /**
+     * Estimated weight of the cache (number of observations)
+     *
+     * @return
+     */
+    public long getCacheWeight() {
+        long w = 0;
+        for (DATA data : cache.asMap().values()) {
+            w += weigh(data);
+        }
+        return w;
     }
 
     @Override
@@ -60,4 +60,13 @@ public abstract class AbstractFileLoader<DATA, BEAN extends IFileBean> extends A
     protected File getRealFile(File file) throws FileNotFoundException {
         return DataSourceSupport.getRealFile(paths, file);
     }
+
+    @Override
+    protected File getSourceFile(DataSource dataSource) {
+        try {
+            return getRealFile(decodeBean(dataSource).getFile());
+        } catch (FileNotFoundException | IllegalArgumentException ex) {
+            return null;
+        }
+    }
 }
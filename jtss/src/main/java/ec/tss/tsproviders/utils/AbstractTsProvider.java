@@ -23,6 +23,8 @@ import ec.tss.TsFactory;
 import ec.tss.TsInformation;
 import ec.tss.TsInformationType;
 import ec.tss.TsMoniker;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.LockSupport;
 import org.slf4j.Logger;
@@ -137,6 +139,29 @@ public abstract class AbstractTsProvider implements ITsProvider {
 
     abstract protected boolean process(TsInformation info);
 
+    /**
+     * Processes several series requests. By default, the requests are
+     * processed one by one; providers that can retrieve several series in a
+     * single query should override this method (and getTsBatchSize).
+     *
+     * @param infos The requests
+     */
+    protected void process(List<TsInformation> infos) {
+        for (TsInformation info : infos) {
+            process(info);
+        }
+    }
+
+    /**
+     * Maximum number of pending series requests that are handled together by
+     * the asynchronous requests handler (see process(List)).
+     *
+     * @return A strictly positive number (1 by default)
+     */
+    protected int getTsBatchSize() {
+        return 1;
+    }
+
 //    protected class RequestsHandler extends AbstractExecutionThreadService {
 //
 //        @Override
@@ -193,13 +218,23 @@ public abstract class AbstractTsProvider implements ITsProvider {
                     TsFactory.instance.update(crequest);
                 }
                 // step 2. process ts
-                TsInformation srequest = asyncRequests.nextTs();
-                if (srequest != null && TsFactory.instance.isTsAlive(srequest.moniker)) {
-                    process(srequest);
+                List<TsInformation> srequests = asyncRequests.nextTs(getTsBatchSize());
+                List<TsInformation> alive = new ArrayList<>(srequests.size());
+                for (TsInformation srequest : srequests) {
+                    if (TsFactory.instance.isTsAlive(srequest.moniker)) {
+                        alive.add(srequest);
+                    }
+                }
+                if (alive.size() == 1) {
+                    process(alive.get(0));
+                } else if (!alive.isEmpty()) {
+                    process(alive);
+                }
+                for (TsInformation srequest : alive) {
                     TsFactory.instance.update(srequest);
                 }
                 // step 3. sleep if queues are empty
-                if (srequest == null && crequest == null) {
+                if (srequests.isEmpty() && crequest == null) {
                     LockSupport.park();
                 }
             }
@@ -21,17 +21,26 @@ import ec.tss.TsCollectionInformation;
 import ec.tss.TsInformation;
 import ec.tss.TsInformationType;
 import ec.tss.TsMoniker;
-import java.util.Deque;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
+ * Pending requests of a provider. The requests are indexed by moniker (a new
+ * request on a pending moniker is merged with the existing one) and are
+ * handled in FIFO order. Each instance is expected to hold the requests of a
+ * single provider.
  *
  * @author Philippe Charles
  */
 public class AsyncRequests {
 
-    private final Deque<TsInformation> m_srequests = new LinkedList<>();
-    private final Deque<TsCollectionInformation> m_crequests = new LinkedList<>();
+    private final Map<TsMoniker, TsInformation> m_srequests = new LinkedHashMap<>();
+    private final Map<TsMoniker, TsCollectionInformation> m_crequests = new LinkedHashMap<>();
+    private long m_scount, m_ccount, m_smerged, m_cmerged;
+    private int m_smax, m_cmax;
 
     public void clear() {
         synchronized (m_crequests) {
@@ -41,29 +50,31 @@ public class AsyncRequests {
             m_srequests.clear();
         }
     }
-    
-    public boolean isEmpty(){
-        return m_crequests.isEmpty() && m_srequests.isEmpty();
+
+    public boolean isEmpty() {
+        return getTsCollectionCount() == 0 && getTsCount() == 0;
     }
 
     public void addTsCollection(TsMoniker moniker, TsInformationType type) {
         synchronized (m_crequests) {
-            for (TsCollectionInformation o : m_crequests) {
-                if (o.moniker.equals(moniker)) {
-                    o.type = type.union(o.type);
-                    return;
-                }
+            m_ccount++;
+            TsCollectionInformation o = m_crequests.get(moniker);
+            if (o != null) {
+                o.type = type.union(o.type);
+                m_cmerged++;
+                return;
             }
-            m_crequests.addLast(new TsCollectionInformation(moniker, type));
+            m_crequests.put(moniker, new TsCollectionInformation(moniker, type));
+            m_cmax = Math.max(m_cmax, m_crequests.size());
         }
     }
 
     public boolean removeTsCollection(TsMoniker moniker, TsInformationType type) {
         synchronized (m_crequests) {
-            for (TsCollectionInformation o : m_crequests) {
-                if (o.moniker.equals(moniker)) {
-                    return type.encompass(o.type) ? m_crequests.remove(o) : false;
-                }
+            TsCollectionInformation o = m_crequests.get(moniker);
+            if (o != null && type.encompass(o.type)) {
+                m_crequests.remove(moniker);
+                return true;
             }
             return false;
         }
@@ -71,35 +82,49 @@ public class AsyncRequests {
 
     public TsCollectionInformation nextTsCollection() {
         synchronized (m_crequests) {
-            return m_crequests.pollFirst();
+            return poll(m_crequests);
+        }
+    }
+
+    /**
+     * Removes at most maxCount collection requests, in FIFO order.
+     *
+     * @param maxCount
+     * @return The removed requests (possibly empty)
+     */
+    public List<TsCollectionInformation> nextTsCollections(int maxCount) {
+        synchronized (m_crequests) {
+            return drain(m_crequests, maxCount);
         }
     }
 
     public void addTs(TsMoniker moniker, TsInformationType type) {
         synchronized (m_srequests) {
-            for (TsInformation o : m_srequests) {
-                if (o.moniker.equals(moniker)) {
-                    o.type = type.union(o.type);
-                    return;
-                }
+            m_scount++;
+            TsInformation o = m_srequests.get(moniker);
+            if (o != null) {
+                o.type = type.union(o.type);
+                m_smerged++;
+                return;
             }
-            m_srequests.addLast(new TsInformation(null, moniker, type));
+            m_srequests.put(moniker, new TsInformation(null, moniker, type));
+            m_smax = Math.max(m_smax, m_srequests.size());
         }
     }
 
     /**
      * Requests whose information is encompassed by the given type are removed.
      *
-     * @param id
+     * @param moniker
      * @param type
      * @return
      */
     public boolean removeTs(TsMoniker moniker, TsInformationType type) {
         synchronized (m_srequests) {
-            for (TsInformation o : m_srequests) {
-                if (o.moniker.equals(moniker)) {
-                    return type.encompass(o.type) ? m_srequests.remove(o) : false;
-                }
+            TsInformation o = m_srequests.get(moniker);
+            if (o != null && type.encompass(o.type)) {
+                m_srequests.remove(moniker);
+                return true;
             }
             return false;
         }
@@ -107,7 +132,142 @@ public class AsyncRequests {
 
     public TsInformation nextTs() {
         synchronized (m_srequests) {
-            return m_srequests.pollFirst();
+            return poll(m_srequests);
+        }
+    }
+
+    /**
+     * Removes at most maxCount series requests, in FIFO order.
+     *
+     * @param maxCount
+     * @return The removed requests (possibly empty)
+     */
+    public List<TsInformation> nextTs(int maxCount) {
+        synchronized (m_srequests) {
+            return drain(m_srequests, maxCount);
+        }
+    }
+
+    /**
+     * Number of pending series requests
+     *
+     * @return
+     */
+    public int getTsCount() {
+        synchronized (m_srequests) {
+            return m_srequests.size();
+        }
+    }
+
+    /**
+     * Number of pending collection requests
+     *
+     * @return
+     */
+    public int getTsCollectionCount() {
+        synchronized (m_crequests) {
+            return m_crequests.size();
+        }
+    }
+
+    /**
+     * Statistics on the series requests
+     *
+     * @return
+     */
+    public Stats getTsStats() {
+        synchronized (m_srequests) {
+            return new Stats(m_srequests.size(), m_smax, m_scount, m_smerged);
+        }
+    }
+
+    /**
+     * Statistics on the collection requests
+     *
+     * @return
+     */
+    public Stats getTsCollectionStats() {
+        synchronized (m_crequests) {
+            return new Stats(m_crequests.size(), m_cmax, m_ccount, m_cmerged);
+        }
+    }
+
+    private static <T> T poll(Map<TsMoniker, T> requests) {
+        Iterator<T> iter = requests.values().iterator();
+        if (!iter.hasNext()) {
+            return null;
+        }
+        T result = iter.next();
+        iter.remove();
+        return result;
+    }
+
+    private static <T> List<T> drain(Map<TsMoniker, T> requests, int maxCount) {
+        List<T> result = new ArrayList<>(Math.min(maxCount, requests.size()));
+        Iterator<T> iter = requests.values().iterator();
+        while (result.size() < maxCount && iter.hasNext()) {
+            result.add(iter.next());
+            iter.remove();
+        }
+        return result;
+    }
+
+    /**
+     * Queue-depth metrics of a kind of requests.
+     */
+    public static final class Stats {
+
+        private final int pendingCount;
+        private final int maxPendingCount;
+        private final long requestCount;
+        private final long mergedCount;
+
+        private Stats(int pendingCount, int maxPendingCount, long requestCount, long mergedCount) {
+            this.pendingCount = pendingCount;
+            this.maxPendingCount = maxPendingCount;
+            this.requestCount = requestCount;
+            this.mergedCount = mergedCount;
+        }
+
+        /**
+         * Current number of pending requests
+         *
+         * @return
+         */
+        public int getPendingCount() {
+            return pendingCount;
+        }
+
+        /**
+         * Highest number of pending requests
+         *
+         * @return
+         */
+        public int getMaxPendingCount() {
+            return maxPendingCount;
+        }
+
+        /**
+         * Number of calls to add (including the merged ones)
+         *
+         * @return
+         */
+        public long getRequestCount() {
+            return requestCount;
+        }
+
+        /**
+         * Number of requests merged with a pending request
+         *
+         * @return
+         */
+        public long getMergedCount() {
+            return mergedCount;
+        }
+
+        @Override
+        public String toString() {
+            return "pending=" + pendingCount + ", maxPending=" + maxPendingCount + ", requests=" + requestCount + ", merged=" + mergedCount;
         }
     }
 }
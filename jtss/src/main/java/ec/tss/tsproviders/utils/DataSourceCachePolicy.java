@@ -0,0 +1,199 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package ec.tss.tsproviders.utils;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+import ec.tstoolkit.design.IBuilder;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * Policy of the cache of a data source provider. The weight of an entry is an
+ * estimate of the number of observations it holds (see
+ * AbstractDataSourceProvider.weigh).
+ * <br>The default policy of a provider can be changed by means of the system
+ * properties "demetra.cache.[providerName].maximumWeight",
+ * ".expireAfterAccess" (in seconds), ".softValues" and ".checkLastModified".
+ */
+public final class DataSourceCachePolicy {
+
+    /**
+     * Soft values, without any other constraint
+     */
+    public static final DataSourceCachePolicy DEFAULT = builder().build();
+
+    private static final String PREFIX = "demetra.cache.";
+
+    @Nonnull
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates the policy of a provider from the system properties
+     *
+     * @param providerName The name of the provider
+     * @return The default policy modified by the system properties (if any)
+     */
+    @Nonnull
+    public static DataSourceCachePolicy fromSystemProperties(@Nonnull String providerName) {
+        String prefix = PREFIX + providerName + ".";
+        Builder builder = builder();
+        Long maxWeight = Long.getLong(prefix + "maximumWeight");
+        if (maxWeight != null) {
+            builder.maximumWeight(maxWeight);
+        }
+        Long expire = Long.getLong(prefix + "expireAfterAccess");
+        if (expire != null) {
+            builder.expireAfterAccess(expire, TimeUnit.SECONDS);
+        }
+        String soft = System.getProperty(prefix + "softValues");
+        if (soft != null) {
+            builder.softValues(Boolean.parseBoolean(soft));
+        }
+        return builder.checkLastModified(Boolean.getBoolean(prefix + "checkLastModified")).build();
+    }
+
+    private final long maximumWeight;
+    private final long expireAfterAccess;
+    private final boolean softValues;
+    private final boolean checkLastModified;
+
+    private DataSourceCachePolicy(Builder builder) {
+        this.maximumWeight = builder.maximumWeight;
+        this.expireAfterAccess = builder.expireAfterAccess;
+        this.softValues = builder.softValues;
+        this.checkLastModified = builder.checkLastModified;
+    }
+
+    /**
+     * Maximum total weight (number of observations) of the cache. Negative if
+     * unbounded. As in guava, the bound is enforced by segments of the cache,
+     * so that a very heavy entry can be evicted before the total is reached.
+     *
+     * @return
+     */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * Time (in nanoseconds) after which an entry that has not been accessed
+     * is removed. Negative if unused.
+     *
+     * @return
+     */
+    public long getExpireAfterAccess() {
+        return expireAfterAccess;
+    }
+
+    public boolean isSoftValues() {
+        return softValues;
+    }
+
+    /**
+     * True if the entries related to a file must be reloaded when the file
+     * has been modified
+     *
+     * @return
+     */
+    public boolean isCheckLastModified() {
+        return checkLastModified;
+    }
+
+    /**
+     * Creates a cache builder that follows this policy. The statistics of the
+     * cache are always recorded.
+     *
+     * @param weigher The weigher, used only if the cache is bounded
+     * @return
+     */
+    @Nonnull
+    public CacheBuilder<Object, Object> newCacheBuilder(@Nonnull Weigher<Object, Object> weigher) {
+        CacheBuilder<Object, Object> result = CacheBuilder.newBuilder().recordStats();
+        if (softValues) {
+            result.softValues();
+        }
+        if (maximumWeight >= 0) {
+            result.maximumWeight(maximumWeight).weigher(weigher);
+        }
+        if (expireAfterAccess >= 0) {
+            result.expireAfterAccess(expireAfterAccess, TimeUnit.NANOSECONDS);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "maximumWeight=" + maximumWeight + ", expireAfterAccess=" + expireAfterAccess
+                + "ns, softValues=" + softValues + ", checkLastModified=" + checkLastModified;
+    }
+
+    public static final class Builder implements IBuilder<DataSourceCachePolicy> {
+
+        private long maximumWeight = -1;
+        private long expireAfterAccess = -1;
+        private boolean softValues = true;
+        private boolean checkLastModified = false;
+
+        private Builder() {
+        }
+
+        @Nonnull
+        public Builder maximumWeight(@Nonnegative long weight) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("weight");
+            }
+            this.maximumWeight = weight;
+            return this;
+        }
+
+        @Nonnull
+        public Builder unbounded() {
+            this.maximumWeight = -1;
+            return this;
+        }
+
+        @Nonnull
+        public Builder expireAfterAccess(@Nonnegative long duration, @Nonnull TimeUnit unit) {
+            if (duration < 0) {
+                throw new IllegalArgumentException("duration");
+            }
+            this.expireAfterAccess = unit.toNanos(duration);
+            return this;
+        }
+
+        @Nonnull
+        public Builder softValues(boolean softValues) {
+            this.softValues = softValues;
+            return this;
+        }
+
+        @Nonnull
+        public Builder checkLastModified(boolean check) {
+            this.checkLastModified = check;
+            return this;
+        }
+
+        @Override
+        public DataSourceCachePolicy build() {
+            return new DataSourceCachePolicy(this);
+        }
+    }
+}
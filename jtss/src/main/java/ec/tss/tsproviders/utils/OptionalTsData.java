@@ -241,6 +241,23 @@ public abstract class OptionalTsData {
         @Nonnull
         Builder2<T> add(@Nullable T date, @Nullable Number value);
 
+        /**
+         * Adds an observation by using a date. It is equivalent to
+         * <code>add(date, Double.valueOf(value))</code>.
+         * <p>
+         * The default implementation boxes the value; the builders created by
+         * this class override it to avoid boxing.
+         *
+         * @param date an optional date
+         * @param value a value
+         * @return this builder
+         * @since 2.2.0
+         */
+        @Nonnull
+        default Builder2<T> add(@Nullable T date, double value) {
+            return add(date, Double.valueOf(value));
+        }
+
         /**
          * Adds an observation by using a date.
          *
@@ -420,6 +437,11 @@ public abstract class OptionalTsData {
             return this;
         }
 
+        @Override
+        public Builder2<T> add(T date, double value) {
+            return this;
+        }
+
         @Override
         public OptionalTsData build() {
             return INVALID_AGGREGATION;
@@ -462,6 +484,14 @@ public abstract class OptionalTsData {
             return this;
         }
 
+        @Override
+        public Builder2<T> add(T date, double value) {
+            if (date != null) {
+                obs.add(periodFunc.applyAsLong(date), value);
+            }
+            return this;
+        }
+
         @Override
         public OptionalTsData build() {
             return maker.apply(obs);
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tss;
+
+import data.Data;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class TsFactoryTest {
+
+    public TsFactoryTest() {
+    }
+
+    @Test
+    public void testConcurrentCreate() throws Exception {
+        int n = 100, nthreads = 16;
+        TsMoniker[] monikers = new TsMoniker[n];
+        for (int i = 0; i < n; ++i) {
+            monikers[i] = new TsMoniker("TsFactoryTest", "s" + i);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(nthreads);
+        try {
+            List<Future<Ts[]>> futures = new ArrayList<>();
+            for (int j = 0; j < nthreads; ++j) {
+                futures.add(executor.submit(() -> {
+                    Ts[] s = new Ts[n];
+                    for (int i = 0; i < n; ++i) {
+                        s[i] = TsFactory.instance.createTs("s" + i, monikers[i], null, Data.P);
+                    }
+                    return s;
+                }));
+            }
+            Ts[] first = futures.get(0).get();
+            for (Future<Ts[]> future : futures) {
+                Ts[] cur = future.get();
+                for (int i = 0; i < n; ++i) {
+                    assertSame(first[i].getMaster(), cur[i].getMaster());
+                    assertSame(first[i].getMaster(), TsFactory.instance.getTs(monikers[i]));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testRegistryCleanup() throws InterruptedException {
+        TsRegistry<Object> registry = new TsRegistry<>();
+        TsMoniker alive = new TsMoniker("TsFactoryTest", "alive");
+        Object obj = new Object();
+        registry.put(alive, obj);
+        for (int i = 0; i < 1000; ++i) {
+            registry.put(new TsMoniker("TsFactoryTest", "dead" + i), new Object());
+        }
+        for (int i = 0; i < 10 && registry.size() > 1; ++i) {
+            System.gc();
+            Thread.sleep(10);
+            registry.expunge();
+        }
+        assertSame(obj, registry.get(alive));
+        assertTrue(registry.isAlive(alive));
+        assertNull(registry.get(null));
+        assertEquals(1, registry.size());
+    }
+}
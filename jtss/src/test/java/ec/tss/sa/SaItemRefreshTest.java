@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tss.sa;
+
+import data.Data;
+import ec.satoolkit.ISaSpecification;
+import ec.satoolkit.tramoseats.TramoSeatsSpecification;
+import ec.tss.Ts;
+import ec.tss.TsFactory;
+import ec.tss.sa.processors.TramoSeatsProcessor;
+import ec.tstoolkit.algorithm.CompositeResults;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.ucarima.WienerKolmogorovCache;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class SaItemRefreshTest {
+
+    static {
+        SaManager.instance.add(new TramoSeatsProcessor());
+    }
+
+    @Test
+    public void testFixedParametersRefresh() {
+        TsData s = Data.P;
+        SaItem item = new SaItem(TramoSeatsSpecification.RSAfull, TsFactory.instance.createTs("s", null, s.drop(0, 2)));
+        item.process();
+        ISaSpecification fspec = SaManager.instance.createSpecification(item, null, EstimationPolicyType.FixedParameters, false);
+        Ts ts = TsFactory.instance.createTs("s", null, s);
+
+        int capacity = WienerKolmogorovCache.instance.getCapacity();
+        try {
+            // incremental: the estimators of the previous (shorter) run are re-used
+            WienerKolmogorovCache.instance.setCapacity(256);
+            WienerKolmogorovCache.instance.clear();
+            item.newSpecification(fspec, EstimationPolicyType.FixedParameters).process();
+            int n = WienerKolmogorovCache.instance.size();
+            CompositeResults incremental = item.newSpecification(ts, fspec, EstimationPolicyType.FixedParameters).process();
+            assertEquals(n, WienerKolmogorovCache.instance.size());
+            assertEquals(s.getDomain(), incremental.getData("sa", TsData.class).getDomain());
+
+            // full reprocessing
+            WienerKolmogorovCache.instance.setCapacity(0);
+            CompositeResults full = item.newSpecification(ts, fspec, EstimationPolicyType.FixedParameters).process();
+
+            for (String key : new String[]{"sa", "t", "s", "i", "sa_f", "t_f", "s_f",
+                "decomposition.sa_lin_e", "decomposition.t_lin_e", "decomposition.sa_lin_ef", "decomposition.t_lin_ef"}) {
+                TsData expected = full.getData(key, TsData.class);
+                assertNotNull(key, expected);
+                assertEquals(key, expected, incremental.getData(key, TsData.class));
+            }
+        } finally {
+            WienerKolmogorovCache.instance.setCapacity(capacity);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tss.sa;
+
+import data.Data;
+import ec.satoolkit.tramoseats.TramoSeatsSpecification;
+import ec.satoolkit.x13.X13Specification;
+import ec.tss.TsFactory;
+import ec.tss.sa.processors.TramoSeatsProcessor;
+import ec.tss.sa.processors.X13Processor;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class SaProcessingMonitorTest {
+
+    static {
+        SaManager.instance.add(new TramoSeatsProcessor());
+        SaManager.instance.add(new X13Processor());
+    }
+
+    public SaProcessingMonitorTest() {
+    }
+
+    private static SaProcessing create() {
+        SaProcessing processing = new SaProcessing();
+        TsData[] data = new TsData[]{Data.P, Data.X, Data.M1, Data.M2, Data.M3};
+        for (int i = 0; i < data.length; ++i) {
+            processing.add(new SaItem(TramoSeatsSpecification.RSAfull, TsFactory.instance.createTs("ts" + i, null, data[i])));
+            processing.add(new SaItem(X13Specification.RSA4, TsFactory.instance.createTs("x13" + i, null, data[i])));
+        }
+        return processing;
+    }
+
+    @Test
+    public void testParallelIsSequential() {
+        SaProcessing p1 = create(), p4 = create();
+        assertTrue(p1.processAll(EstimationPolicyType.None, 1));
+        assertTrue(p4.processAll(EstimationPolicyType.None, 4));
+        assertTrue(p1.isProcessed());
+        assertTrue(p4.isProcessed());
+        for (int i = 0; i < p1.size(); ++i) {
+            TsData sa1 = p1.get(i).process().getData("sa", TsData.class);
+            TsData sa4 = p4.get(i).process().getData("sa", TsData.class);
+            assertEquals(sa1, sa4);
+        }
+    }
+
+    @Test
+    public void testPriorityAndEvents() {
+        SaProcessing processing = create();
+        for (int i = 0; i < processing.size(); ++i) {
+            processing.get(i).setPriority(i);
+        }
+        SaProcessingMonitor monitor = new SaProcessingMonitor();
+        monitor.setProcessing(processing);
+        monitor.setParallelism(1);
+        List<Integer> priorities = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger completed = new AtomicInteger();
+        monitor.addSaEventListener(new SaEventListener() {
+            @Override
+            public void Processed(SaItemEvent evt) {
+                priorities.add(((SaItem) evt.getSource()).getPriority());
+            }
+
+            @Override
+            public void Completed(SaProcessingEvent evt) {
+                completed.incrementAndGet();
+            }
+        });
+        assertTrue(monitor.process());
+        assertEquals(processing.size(), monitor.getProcessedCount());
+        assertEquals(1, completed.get());
+        for (int i = 1; i < priorities.size(); ++i) {
+            assertTrue(priorities.get(i - 1) >= priorities.get(i));
+        }
+    }
+
+    @Test
+    public void testCancel() {
+        SaProcessing processing = create();
+        SaProcessingMonitor monitor = new SaProcessingMonitor();
+        monitor.setProcessing(processing);
+        monitor.setParallelism(2);
+        monitor.addSaEventListener(new SaEventListener() {
+            @Override
+            public void Processed(SaItemEvent evt) {
+                monitor.stop();
+            }
+
+            @Override
+            public void Completed(SaProcessingEvent evt) {
+            }
+        });
+        assertTrue(!monitor.process());
+        assertTrue(monitor.getProcessedCount() <= 2);
+        assertTrue(processing.getProcessedCount() < processing.size());
+    }
+
+    @Test
+    public void testBackgroundStop() throws InterruptedException {
+        SaProcessing processing = create();
+        SaProcessingMonitor monitor = new SaProcessingMonitor();
+        monitor.setProcessing(processing);
+        monitor.setParallelism(1);
+        CountDownLatch first = new CountDownLatch(1);
+        monitor.addSaEventListener(new SaEventListener() {
+            @Override
+            public void Processed(SaItemEvent evt) {
+                first.countDown();
+            }
+
+            @Override
+            public void Completed(SaProcessingEvent evt) {
+            }
+        });
+        monitor.start();
+        assertTrue(first.await(1, TimeUnit.MINUTES));
+        // stop doesn't wait for the end of the current item
+        monitor.stop();
+        assertTrue(monitor.isStopped());
+        assertTrue(monitor.awaitTermination(1, TimeUnit.MINUTES));
+        assertFalse(monitor.isRunning());
+        assertTrue(processing.getProcessedCount() < processing.size());
+    }
+}
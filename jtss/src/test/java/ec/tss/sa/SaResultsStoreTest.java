@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tss.sa;
+
+import data.Data;
+import ec.satoolkit.ISaSpecification;
+import ec.satoolkit.tramoseats.TramoSeatsSpecification;
+import ec.tss.TsFactory;
+import ec.tss.sa.documents.SaDocument;
+import ec.tss.sa.processors.TramoSeatsProcessor;
+import ec.tstoolkit.algorithm.CompositeResults;
+import ec.tstoolkit.algorithm.IProcResults;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import java.util.Arrays;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class SaResultsStoreTest {
+
+    static {
+        SaManager.instance.add(new TramoSeatsProcessor());
+    }
+
+    private static SaItem item(TsData data) {
+        return new SaItem(TramoSeatsSpecification.RSA5, TsFactory.instance.createTs("s", null, data));
+    }
+
+    @Test
+    public void testCompress() {
+        SaItem item = item(Data.X);
+        CompositeResults rslts = item.process();
+        SaResultsStore store = new SaResultsStore(1 << 24);
+        item.compress(store);
+        assertEquals(1, store.getCount());
+        assertTrue(store.getSize() > 0);
+
+        IProcResults compact = item.getCompactResults();
+        assertFalse(compact instanceof CompositeResults);
+        for (String key : new String[]{"sa", "s", "decomposition.sa_lin", "likelihood.aic", "arima.p", "span.n"}) {
+            Object expected = rslts.getData(key, Object.class);
+            assertNotNull(key, expected);
+            assertEquals(key, expected, compact.getData(key, Object.class));
+        }
+        assertEquals(SaItem.Status.Valid, item.getStatus());
+    }
+
+    @Test
+    public void testItems() {
+        SaItem item = item(Data.X);
+        CompositeResults rslts = item.process();
+        SaResultsStore store = new SaResultsStore(1 << 24, Arrays.asList("sa", "decomposition.*"));
+        item.compress(store);
+        IProcResults compact = item.getCompactResults();
+        assertEquals(rslts.getData("sa", TsData.class), compact.getData("sa", TsData.class));
+        assertEquals(rslts.getData("decomposition.s_cmp", TsData.class), compact.getData("decomposition.s_cmp", TsData.class));
+        assertFalse(compact.contains("likelihood.aic"));
+    }
+
+    @Test
+    public void testEviction() {
+        SaItem item1 = item(Data.X), item2 = item(Data.P);
+        item1.process();
+        item2.process();
+        SaResultsStore store = new SaResultsStore(1 << 20, Arrays.asList("sa", "t"));
+        item1.compress(store);
+        long size1 = store.getSize();
+        item2.compress(store);
+        long size2 = store.getSize() - size1;
+        SaResultsStore small = new SaResultsStore(Math.max(size1, size2) + Math.min(size1, size2) / 2, Arrays.asList("sa", "t"));
+        item1.process();
+        item2.process();
+        item1.compress(small);
+        item2.compress(small);
+        assertEquals(1, small.getCount());
+        // the first copy has been discarded: the series is processed again
+        assertTrue(item1.getCompactResults() instanceof CompositeResults);
+        assertFalse(item2.getCompactResults() instanceof CompositeResults);
+    }
+
+    @Test
+    public void testRelease() {
+        SaItem item = item(Data.X);
+        item.process();
+        SaResultsStore store = new SaResultsStore(1 << 24, Arrays.asList("sa", "t"));
+        item.compress(store);
+        assertEquals(1, store.getCount());
+        item.process();
+        assertEquals(0, store.getCount());
+        assertEquals(0, store.getSize());
+    }
+
+    @Test
+    public void testOutputDocument() {
+        SaItem item = item(Data.X);
+        CompositeResults rslts = item.process();
+        SaResultsStore store = new SaResultsStore(1 << 24, Arrays.asList("sa", "t"));
+        item.compress(store);
+        SaDocument<ISaSpecification> doc = item.toOutputDocument();
+        assertEquals(rslts.getData("sa", TsData.class), doc.getResults().getData("sa", TsData.class));
+        assertEquals(rslts.getData("t", TsData.class), doc.getResults().getData("t", TsData.class));
+        // the series has not been processed again
+        assertFalse(item.getCompactResults() instanceof CompositeResults);
+        assertEquals(1, store.getCount());
+    }
+}
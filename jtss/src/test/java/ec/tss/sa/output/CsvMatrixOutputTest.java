@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tss.sa.output;
+
+import data.Data;
+import ec.satoolkit.ISaSpecification;
+import ec.satoolkit.tramoseats.TramoSeatsSpecification;
+import ec.tss.TsFactory;
+import ec.tss.formatters.CsvInformationFormatter;
+import ec.tss.sa.SaItem;
+import ec.tss.sa.SaManager;
+import ec.tss.sa.documents.SaDocument;
+import ec.tss.sa.processors.TramoSeatsProcessor;
+import ec.tstoolkit.algorithm.IProcResults;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.utilities.NamedObject;
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CsvMatrixOutputTest {
+
+    static {
+        SaManager.instance.add(new TramoSeatsProcessor());
+    }
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testStreaming() throws Exception {
+        List<String> items = Arrays.asList("span.n", "arima", "likelihood.aic", "residuals.lb", "m-statistics.*");
+        CsvMatrixOutputConfiguration config = new CsvMatrixOutputConfiguration();
+        config.setFolder(folder.getRoot());
+        config.setFileName("matrix");
+        config.setItems(items);
+
+        CsvMatrixOutput output = new CsvMatrixOutput(config);
+        output.start(null);
+        List<NamedObject<IProcResults>> records = new ArrayList<>();
+        TsData[] data = {Data.P, Data.X, Data.M1};
+        for (int i = 0; i < data.length; ++i) {
+            SaItem item = new SaItem(TramoSeatsSpecification.RSA5, TsFactory.instance.createTs("s" + i, null, data[i]));
+            SaDocument<ISaSpecification> doc = item.toDocument();
+            output.process(doc);
+            records.add(new NamedObject<>(doc.getTs().getName(), doc.getResults()));
+        }
+        output.end(null);
+
+        List<String> lines = Files.readAllLines(new File(folder.getRoot(), "matrix.csv").toPath(), StandardCharsets.ISO_8859_1);
+        assertEquals(data.length + 1, lines.size());
+        for (int i = 0; i < data.length; ++i) {
+            assertTrue(lines.get(i + 1).startsWith("s" + i));
+        }
+
+        CsvInformationFormatter fmt = new CsvInformationFormatter();
+        StringWriter expected = new StringWriter();
+        fmt.formatResults(expected, records, items, true);
+        assertEquals(expected.toString(), String.join(System.lineSeparator(), lines) + System.lineSeparator());
+    }
+}
@@ -8,9 +8,12 @@ package ec.tss.sa.revisions;
 import data.Data;
 import ec.tss.sa.SaManager;
 import ec.tss.sa.processors.TramoSeatsProcessor;
+import ec.tstoolkit.information.InformationSet;
 import ec.tstoolkit.timeseries.simplets.TsData;
 import ec.tstoolkit.timeseries.simplets.TsDataTable;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
@@ -40,4 +43,25 @@ public class SingleRevisionAnalysisProcessorTest {
         System.out.println(table);
     }
 
+    @Test
+    public void testRetainedItems() {
+        RevisionAnalysisSpec spec = new RevisionAnalysisSpec();
+        spec.setAnalysisLength(1);
+        Map<String, Class<?>> dic = new HashMap<>();
+        dic.put("sa", TsData.class);
+        dic.put("residuals.ser", Double.class);
+        SingleRevisionAnalysisProcessor full = new SingleRevisionAnalysisProcessor(spec, Data.P);
+        SingleRevisionAnalysisProcessor compact = new SingleRevisionAnalysisProcessor(spec, Data.P);
+        compact.setRetainedItems(dic);
+        assertTrue(full.process());
+        assertTrue(compact.process());
+        assertEquals(full.items("sa", TsData.class), compact.items("sa", TsData.class));
+        assertEquals(full.items("residuals.ser", Double.class), compact.items("residuals.ser", Double.class));
+        Map<String, Class> rdic = new HashMap<>(dic);
+        InformationSet fi = full.search(rdic), ci = compact.search(rdic);
+        for (int i = 0; i < full.items("sa", TsData.class).size(); ++i) {
+            String id = InformationSet.item(SingleRevisionAnalysisProcessor.VER + i, "sa");
+            assertEquals(fi.search(id, TsData.class), ci.search(id, TsData.class));
+        }
+    }
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ * 
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * 
+ * http://ec.europa.eu/idabc/eupl
+ * 
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package ec.tss.tsproviders.utils;
+
+import ec.tss.TsInformation;
+import ec.tss.TsInformationType;
+import ec.tss.TsMoniker;
+import java.util.List;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class AsyncRequestsTest {
+
+    private static TsMoniker moniker(int i) {
+        return TsMoniker.create("test", Integer.toString(i));
+    }
+
+    @Test
+    public void testCoalescing() {
+        AsyncRequests requests = new AsyncRequests();
+        requests.addTs(moniker(1), TsInformationType.MetaData);
+        requests.addTs(moniker(2), TsInformationType.Data);
+        requests.addTs(moniker(1), TsInformationType.Data);
+        assertEquals(2, requests.getTsCount());
+
+        AsyncRequests.Stats stats = requests.getTsStats();
+        assertEquals(2, stats.getPendingCount());
+        assertEquals(3, stats.getRequestCount());
+        assertEquals(1, stats.getMergedCount());
+
+        TsInformation first = requests.nextTs();
+        assertEquals(moniker(1), first.moniker);
+        assertEquals(TsInformationType.All, first.type);
+        assertEquals(moniker(2), requests.nextTs().moniker);
+        assertNull(requests.nextTs());
+        assertTrue(requests.isEmpty());
+    }
+
+    @Test
+    public void testRemove() {
+        AsyncRequests requests = new AsyncRequests();
+        requests.addTs(moniker(1), TsInformationType.All);
+        assertFalse(requests.removeTs(moniker(1), TsInformationType.Data));
+        assertFalse(requests.removeTs(moniker(2), TsInformationType.All));
+        assertTrue(requests.removeTs(moniker(1), TsInformationType.All));
+        assertTrue(requests.isEmpty());
+
+        requests.addTsCollection(moniker(1), TsInformationType.Definition);
+        assertTrue(requests.removeTsCollection(moniker(1), TsInformationType.All));
+        assertEquals(0, requests.getTsCollectionCount());
+    }
+
+    @Test
+    public void testDrain() {
+        AsyncRequests requests = new AsyncRequests();
+        for (int i = 0; i < 10000; ++i) {
+            requests.addTs(moniker(i), TsInformationType.Data);
+        }
+        assertEquals(10000, requests.getTsStats().getMaxPendingCount());
+        List<TsInformation> batch = requests.nextTs(100);
+        assertEquals(100, batch.size());
+        for (int i = 0; i < batch.size(); ++i) {
+            assertEquals(moniker(i), batch.get(i).moniker);
+        }
+        assertEquals(9900, requests.nextTs(Integer.MAX_VALUE).size());
+        assertTrue(requests.nextTs(10).isEmpty());
+        assertTrue(requests.nextTsCollections(10).isEmpty());
+    }
+}
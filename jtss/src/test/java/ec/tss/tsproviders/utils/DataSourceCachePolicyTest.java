@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ * 
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * 
+ * http://ec.europa.eu/idabc/eupl
+ * 
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package ec.tss.tsproviders.utils;
+
+import com.google.common.cache.Cache;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class DataSourceCachePolicyTest {
+
+    @Test
+    public void testDefault() {
+        DataSourceCachePolicy policy = DataSourceCachePolicy.fromSystemProperties("DataSourceCachePolicyTest");
+        assertTrue(policy.isSoftValues());
+        assertFalse(policy.isCheckLastModified());
+        assertTrue(policy.getMaximumWeight() < 0);
+        assertTrue(policy.getExpireAfterAccess() < 0);
+    }
+
+    @Test
+    public void testSystemProperties() {
+        System.setProperty("demetra.cache.test.maximumWeight", "100");
+        System.setProperty("demetra.cache.test.expireAfterAccess", "60");
+        System.setProperty("demetra.cache.test.softValues", "false");
+        System.setProperty("demetra.cache.test.checkLastModified", "true");
+        try {
+            DataSourceCachePolicy policy = DataSourceCachePolicy.fromSystemProperties("test");
+            assertEquals(100, policy.getMaximumWeight());
+            assertEquals(TimeUnit.SECONDS.toNanos(60), policy.getExpireAfterAccess());
+            assertFalse(policy.isSoftValues());
+            assertTrue(policy.isCheckLastModified());
+        } finally {
+            System.clearProperty("demetra.cache.test.maximumWeight");
+            System.clearProperty("demetra.cache.test.expireAfterAccess");
+            System.clearProperty("demetra.cache.test.softValues");
+            System.clearProperty("demetra.cache.test.checkLastModified");
+        }
+    }
+
+    @Test
+    public void testWeight() {
+        DataSourceCachePolicy policy = DataSourceCachePolicy.builder()
+                .softValues(false)
+                .maximumWeight(100)
+                .build();
+        Cache<String, double[]> cache = policy.newCacheBuilder((k, v) -> ((double[]) v).length).build();
+        cache.put("a", new double[10]);
+        cache.put("b", new double[1000]);
+        // too heavy
+        assertNull(cache.getIfPresent("b"));
+        assertEquals(10, cache.getIfPresent("a").length);
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+        assertEquals(1, cache.stats().evictionCount());
+    }
+}
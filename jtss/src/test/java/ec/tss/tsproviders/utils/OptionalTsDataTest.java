@@ -115,6 +115,25 @@ public class OptionalTsDataTest {
         testBuilderAbsent(factory);
     }
 
+    @Test
+    public void testBuilderAddDouble() {
+        double[] values = {1, NaN, 3.5, -0.0, NaN, 6};
+        for (ObsGathering gathering : new ObsGathering[]{
+            ObsGathering.includingMissingValues(Monthly, None),
+            ObsGathering.excludingMissingValues(Monthly, None),
+            ObsGathering.includingMissingValues(Quarterly, Sum),
+            ObsGathering.excludingMissingValues(Undefined, None)}) {
+            Builder2<LocalDate> boxed = builderByLocalDate(gathering), primitive = builderByLocalDate(gathering);
+            for (int i = 0; i < values.length; ++i) {
+                LocalDate date = LocalDate.of(2010, i + 1, 1);
+                boxed.add(date, Double.valueOf(values[i]));
+                primitive.add(date, values[i]);
+            }
+            primitive.add(null, 7);
+            assertThat(primitive.build()).isEqualTo(boxed.build());
+        }
+    }
+
     @Test
     public void testBuilderByLocalDate() {
         CustomFactory<LocalDate> factory = new CustomFactory<LocalDate>() {
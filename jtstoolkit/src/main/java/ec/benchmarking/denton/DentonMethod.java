@@ -16,14 +16,11 @@
  */
 package ec.benchmarking.denton;
 
+import ec.benchmarking.BenchmarkingException;
 import ec.tstoolkit.data.DataBlock;
-import ec.tstoolkit.data.DataBlockIterator;
 import ec.tstoolkit.data.IReadDataBlock;
 import ec.tstoolkit.design.Development;
-import ec.tstoolkit.maths.matrices.Householder;
-import ec.tstoolkit.maths.matrices.Matrix;
-import ec.tstoolkit.maths.matrices.SubMatrix;
-import ec.tstoolkit.maths.matrices.SymmetricMatrix;
+import ec.tstoolkit.maths.matrices.BandedLU;
 import ec.tstoolkit.maths.polynomials.Polynomial;
 import ec.tstoolkit.maths.polynomials.UnitRoots;
 import ec.tstoolkit.timeseries.TsAggregationType;
@@ -39,57 +36,111 @@ public class DentonMethod {
     public int diff_ = 1, conv_ = 12, offset_ = 0;
     public TsAggregationType type_ = TsAggregationType.Sum;
 
-    private void J(SubMatrix M) {
-        int j = offset_;
-        DataBlockIterator rows = M.rows();
-        DataBlock data = rows.getData();
-        do {
-            switch (type_) {
-                case Sum:
-                case Average:
-                    data.range(j, j + conv_).set(1);
-                    break;
-                case First:
-                    data.set(j, 1);
-                    break;
-                case Last:
-                    data.set(j + conv_ - 1, 1);
-                    break;
-            }
-            j += conv_;
-        } while (rows.next());
+    // first and last elements of the high-frequency series used by the
+    // k-th aggregation constraint
+    private int jfirst(int k) {
+        int j = offset_ + k * conv_;
+        return type_ == TsAggregationType.Last ? j + conv_ - 1 : j;
+    }
+
+    private int jlast(int k) {
+        int j = offset_ + k * conv_;
+        return type_ == TsAggregationType.First ? j : j + conv_ - 1;
     }
 
-    private Matrix D(DataBlock x) {
+    /**
+     * Solves min ||D(u-t)||^2 subject to J u = y, where D is the (weighted)
+     * differencing matrix and J the aggregation matrix, through the KKT
+     * system [D'D J'; J 0] [u; l] = [D'D t; y].
+     * The system is banded when each Lagrange multiplier is put just after the
+     * last element of its aggregation period, so that it is solved in O(n)
+     * operations (instead of O(n^3) for the dense system).
+     *
+     * @param x The series used in the weights of D (multiplicative case)
+     * @param t The target of the solution. May be null (t = 0)
+     * @param y The aggregation constraints
+     * @return u
+     */
+    private double[] solve(DataBlock x, DataBlock t, double[] y) {
         Polynomial pd = UnitRoots.D(1, diff_);
         int d = pd.getDegree();
-        int n = x.getLength();
-        if (mul_) {
-            x = x.deepClone();
-            x.inv();
+        int n = x.getLength(), ny = y.length;
+        if (ny > 0 && (offset_ < 0 || jlast(ny - 1) >= n)) {
+            throw new BenchmarkingException("Incompatible high and low frequency series");
+        }
+        // positions of the unknowns in the band system
+        int[] pos = new int[n + ny];
+        for (int i = 0, k = 0, cur = 0; i < n; ++i) {
+            pos[i] = cur++;
+            while (k < ny && offset_ + (k + 1) * conv_ - 1 == i) {
+                pos[n + k++] = cur++;
+            }
+        }
+        int w = 0;
+        for (int i = 0; i < n; ++i) {
+            w = Math.max(w, pos[Math.min(i + d, n - 1)] - pos[i]);
+        }
+        for (int k = 0; k < ny; ++k) {
+            int pk = pos[n + k];
+            w = Math.max(w, Math.abs(pk - pos[jfirst(k)]));
+            w = Math.max(w, Math.abs(pk - pos[jlast(k)]));
         }
 
-        if (mod_) {
-            Matrix D = new Matrix(n - d, n);
-            for (int i = 0; i <= d; ++i) {
-                if (mul_) {
-                    D.subDiagonal(i).setAY(pd.get(d - i), x.drop(i, d - i));
-                } else {
-                    D.subDiagonal(i).set(pd.get(d - i));
+        double[] s = new double[n];
+        for (int i = 0; i < n; ++i) {
+            s[i] = mul_ ? 1 / x.get(i) : 1;
+        }
+        BandedLU A = new BandedLU(n + ny, w, w);
+        double[] b = new double[n + ny];
+        // D'D and D'D t, row by row
+        double[] row = new double[d + 1];
+        int nrows = mod_ ? n - d : n;
+        for (int r = 0; r < nrows; ++r) {
+            int c0, c1;
+            if (mod_) {
+                c0 = r;
+                c1 = r + d;
+                for (int c = c0; c <= c1; ++c) {
+                    row[c - c0] = pd.get(d - c + c0) * s[c];
+                }
+            } else {
+                c0 = Math.max(0, r - d);
+                c1 = r;
+                for (int c = c0; c <= c1; ++c) {
+                    row[c - c0] = pd.get(r - c) * s[c];
+                }
+            }
+            double dt = 0;
+            for (int a = c0; a <= c1; ++a) {
+                double ra = row[a - c0];
+                if (t != null) {
+                    dt += ra * t.get(a);
+                }
+                for (int c = c0; c <= c1; ++c) {
+                    A.add(pos[a], pos[c], ra * row[c - c0]);
                 }
             }
-            return D;
-        } else {
-            Matrix D = new Matrix(n, n);
-            for (int i = 0; i <= d; ++i) {
-                if (mul_) {
-                    D.subDiagonal(-i).setAY(pd.get(i), x.drop(0, i));
-                } else {
-                    D.subDiagonal(-i).set(pd.get(i));
+            if (dt != 0) {
+                for (int a = c0; a <= c1; ++a) {
+                    b[pos[a]] += row[a - c0] * dt;
                 }
             }
-            return D;
         }
+        // J and J'
+        for (int k = 0; k < ny; ++k) {
+            int pk = pos[n + k];
+            for (int j = jfirst(k), jl = jlast(k); j <= jl; ++j) {
+                A.set(pk, pos[j], 1);
+                A.set(pos[j], pk, 1);
+            }
+            b[pk] = y[k];
+        }
+        A.solve(b);
+        double[] u = new double[n];
+        for (int i = 0; i < n; ++i) {
+            u[i] = b[pos[i]];
+        }
+        return u;
     }
 
     /**
@@ -106,36 +157,12 @@ public class DentonMethod {
         if (type_ == TsAggregationType.Average) {
             y.mul(conv_);
         }
-        int n = x.getLength();
-        int ny = y.getLength();
 
         double xm = x.sum() / x.getLength();
         x.mul(1 / xm);
+        y.mul(1 / xm);
 
-        Matrix D = D(x);
-
-        Matrix A = new Matrix(n + ny, n + ny);
-
-        SymmetricMatrix.XtX(D.subMatrix(), A.subMatrix(0, n, 0, n));
-        J(A.subMatrix(n, n + ny, 0, n));
-        Matrix B = A.clone();
-        J(A.subMatrix(0, n, n, n + ny).transpose());
-        B.diagonal().drop(n, 0).set(1);
-
-        DataBlock q = new DataBlock(n + ny);
-        DataBlock q0 = q.range(0, n);
-        q0.copy(x);
-        DataBlock q1 = q.range(n, n + ny);
-        q1.product(A.subMatrix(n, n + ny, 0, n).rows(), q0);
-        q1.chs();
-        q1.addAY(1.0 / xm, y);
-
-        DataBlock z = new DataBlock(n + ny);
-        z.product(B.rows(), q);
-        Householder qr = new Householder(true);
-        qr.decompose(A);
-        qr.solve(z, q);
-        DataBlock rslt = q.range(0, n).deepClone();
+        DataBlock rslt = new DataBlock(solve(x, x, y.getData()));
         rslt.mul(xm);
         return rslt.getData();
     }
@@ -148,28 +175,8 @@ public class DentonMethod {
         if (type_ == TsAggregationType.Average) {
             y.mul(conv_);
         }
-        if (mul_) {
-            x.set(1);
-        }
-        Matrix D = D(x);
-        Matrix A = new Matrix(n + ny, n + ny);
-
-        SymmetricMatrix.XtX(D.subMatrix(), A.subMatrix(0, n, 0, n));
-        J(A.subMatrix(n, n + ny, 0, n));
-        Matrix B = A.clone();
-        J(A.subMatrix(0, n, n, n + ny).transpose());
-        B.diagonal().drop(n, 0).set(1);
-
-        DataBlock q = new DataBlock(n + ny);
-        DataBlock q1 = q.range(n, n + ny);
-        q1.copy(y);
-        DataBlock z = new DataBlock(n + ny);
-        z.product(B.rows(), q);
-        Householder qr = new Householder(true);
-        qr.decompose(A);
-        qr.solve(z, q);
-        DataBlock rslt = q.range(0, n).deepClone();
-        return rslt.getData();
+        x.set(1);
+        return solve(x, null, y.getData());
     }
 
     public boolean isMultiplicative() {
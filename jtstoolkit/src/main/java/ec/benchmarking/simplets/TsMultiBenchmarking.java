@@ -30,6 +30,7 @@ import ec.tstoolkit.utilities.WeightedItem;
 import ec.tstoolkit.utilities.WildCards;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.function.Consumer;
 
 /**
  * Multi-variate benchmarking by means of an generalization of the Cholette's
@@ -324,6 +325,7 @@ public class TsMultiBenchmarking {
     private TsDomain idomain_;
     private TsFrequency tfreq_ = TsFrequency.Undefined;
     private final HashMap<String, TsData> bench_=new HashMap();
+    private boolean blocks_ = true;
 
     public boolean addInput(String name, TsData s) {
         if (inputs.containsKey(name)) {
@@ -389,6 +391,20 @@ public class TsMultiBenchmarking {
         lambda_ = lambda;
     }
 
+    public boolean isBlockDecomposition() {
+        return blocks_;
+    }
+
+    /**
+     * Independent groups of series (not linked by contemporaneous constraints)
+     * are benchmarked separately (default) or in a single model
+     *
+     * @param blocks
+     */
+    public void setBlockDecomposition(boolean blocks) {
+        blocks_ = blocks;
+    }
+
     public boolean contains(String s) {
         return inputs.containsKey(s);
     }
@@ -470,37 +486,46 @@ public class TsMultiBenchmarking {
         int lfreq = tfreq_.intValue();
         int c = hfreq / lfreq;
 
+        TsData[] y = new TsData[rcnt.size()];
+        solveBlocks(block -> computeBlock(block, c, y));
+        return y;
+    }
+
+    private void computeBlock(Block block, int c, TsData[] y) {
+        double[][] bweights = block.weights(weights);
+        List<Constraint> bcs = block.constraints(cs);
         IMultivariateSsf ssf;
         if (rho_ < 1) {
-            MultivariateSsfCholette cssf = new MultivariateSsfCholette(c, rho_, weights);
-            cssf.setConstraints(cs);
+            MultivariateSsfCholette cssf = new MultivariateSsfCholette(c, rho_, bweights);
+            cssf.setConstraints(bcs);
             ssf = cssf;
         } else {
-            MultivariateSsfDenton cssf = new MultivariateSsfDenton(c, weights);
-            cssf.setConstraints(cs);
+            MultivariateSsfDenton cssf = new MultivariateSsfDenton(c, bweights);
+            cssf.setConstraints(bcs);
             ssf = cssf;
         }
 
         // build the observations
-        ec.tstoolkit.ssf.multivariate.FullM2uMap map = new ec.tstoolkit.ssf.multivariate.FullM2uMap(rcnt.size() + cs.size());
+        int nvars = block.vars.length, ncnts = block.cnts.length;
+        ec.tstoolkit.ssf.multivariate.FullM2uMap map = new ec.tstoolkit.ssf.multivariate.FullM2uMap(nvars + ncnts);
         ec.tstoolkit.ssf.multivariate.M2uSsfAdapter adapter
                 = new ec.tstoolkit.ssf.multivariate.M2uSsfAdapter(ssf, map);
         int len = idomain_.getLength();
-        int nvars = rcnt.size(), ncnts = cs.size();
         Matrix M = new Matrix(nvars + ncnts, len);
         M.set(Double.NaN);
 
         // fill the matrix: first rows with temporal constraints
         for (int i = 0; i < nvars; ++i) {
-            if (tConstraints.containsKey(rcnt.get(i))) {
-                TsData a = tcntData.get(rcnt.get(i));
+            String name = rcnt.get(block.vars[i]);
+            if (tConstraints.containsKey(name)) {
+                TsData a = tcntData.get(name);
                 DataBlock b = M.row(i).extract(c - 1, a.getLength(), c);
                 b.copy(a);
             }
         }
         for (int i = 0; i < ncnts; ++i) {
             DataBlock row = M.row(i + nvars);
-            row.copyFrom(lcntData[i], 0);
+            row.copyFrom(lcntData[block.cnts[i]], 0);
             // avoid redundancy with temporal constraints. It is no longer a problem !!
             /*if (hasTemporalConstraint(cConstraints.get(i))) {
                 DataBlock b = row.extract(c - 1, len / c, c);
@@ -532,19 +557,137 @@ public class TsMultiBenchmarking {
         }
 
         int neq = nvars + ncnts;
-        TsData[] y = new TsData[rcnt.size()];
-        for (int i = 0; i < y.length; ++i) {
-            TsData s = getInput(rcnt.get(i));
+        for (int i = 0; i < nvars; ++i) {
+            int k = block.vars[i];
+            TsData s = getInput(rcnt.get(k));
             TsDataBlock sc = TsDataBlock.select(s, idomain_);
-            y[i] = new TsData(idomain_);
+            TsData yk = new TsData(idomain_);
             double[] t = states.component(2 * i + 1);
             for (int j = 0; j < s.getLength(); ++j) {
-                y[i].set(j, sc.data.get(j) + t[j * neq] * weights[i][j]);
+                yk.set(j, sc.data.get(j) + t[j * neq] * bweights[i][j]);
             }
+            y[k] = yk;
+        }
+    }
+
+    /**
+     * Splits the endogenous series in independent groups: two series belong
+     * to the same group if they are linked (directly or not) by contemporaneous
+     * constraints. The state space models of the different groups don't share
+     * any state, disturbance or observation, so that they can be handled
+     * separately (in parallel), with the same results as the joint model and
+     * a much lower cost for large tables (the cost of the Kalman filter grows
+     * with the square or the cube of the number of series).
+     *
+     * @return The groups, ordered by their first series
+     */
+    private List<Block> blocks() {
+        int n = rcnt.size();
+        if (!blocks_) {
+            Block all = new Block(n, cs.size());
+            for (int i = 0; i < n; ++i) {
+                all.vars[i] = i;
+            }
+            for (int i = 0; i < cs.size(); ++i) {
+                all.cnts[i] = i;
+            }
+            return Collections.singletonList(all);
+        }
+        int[] root = new int[n];
+        for (int i = 0; i < n; ++i) {
+            root[i] = i;
+        }
+        for (Constraint cnt : cs) {
+            int r0 = root(root, cnt.index[0]);
+            for (int j = 1; j < cnt.index.length; ++j) {
+                int rj = root(root, cnt.index[j]);
+                if (rj < r0) {
+                    root[r0] = rj;
+                    r0 = rj;
+                } else if (rj > r0) {
+                    root[rj] = r0;
+                }
+            }
+        }
+        int[] nvars = new int[n], ncnts = new int[n];
+        for (int i = 0; i < n; ++i) {
+            ++nvars[root(root, i)];
+        }
+        for (Constraint cnt : cs) {
+            ++ncnts[root(root, cnt.index[0])];
+        }
+        List<Block> blocks = new ArrayList<>();
+        Block[] rblocks = new Block[n];
+        for (int i = 0; i < n; ++i) {
+            if (root[i] == i) {
+                rblocks[i] = new Block(nvars[i], ncnts[i]);
+                blocks.add(rblocks[i]);
+            }
+        }
+        for (int i = 0; i < n; ++i) {
+            Block b = rblocks[root(root, i)];
+            b.vars[b.nv++] = i;
+        }
+        for (int i = 0; i < cs.size(); ++i) {
+            Block b = rblocks[root(root, cs.get(i).index[0])];
+            b.cnts[b.nc++] = i;
+        }
+        return blocks;
+    }
+
+    private static int root(int[] root, int i) {
+        while (root[i] != i) {
+            root[i] = root[root[i]];
+            i = root[i];
+        }
+        return i;
+    }
+
+    private void solveBlocks(Consumer<Block> solver) {
+        List<Block> blocks = blocks();
+        if (blocks.size() == 1) {
+            solver.accept(blocks.get(0));
+        } else {
+            blocks.parallelStream().forEach(solver);
+        }
+    }
+
+    /**
+     * Endogenous series (indexes in rcnt) and contemporaneous constraints
+     * (indexes in cs) of an independent group.
+     */
+    private static final class Block {
+
+        final int[] vars, cnts;
+        int nv, nc;
+
+        Block(int nvars, int ncnts) {
+            vars = new int[nvars];
+            cnts = new int[ncnts];
+        }
+
+        double[][] weights(double[][] w) {
+            double[][] bw = new double[vars.length][];
+            for (int i = 0; i < vars.length; ++i) {
+                bw[i] = w[vars[i]];
+            }
+            return bw;
+        }
+
+        List<Constraint> constraints(List<Constraint> cs) {
+            List<Constraint> bcs = new ArrayList<>(cnts.length);
+            for (int i = 0; i < cnts.length; ++i) {
+                Constraint cur = cs.get(cnts[i]);
+                HashMap<Integer, Double> cnt = new HashMap<>();
+                for (int j = 0; j < cur.index.length; ++j) {
+                    cnt.put(Arrays.binarySearch(vars, cur.index[j]), cur.weights[j]);
+                }
+                bcs.add(new Constraint(cnt));
+            }
+            return bcs;
         }
-        return y;
     }
-    
+
     private void clear(){
         if (bench_.isEmpty())
             return;
@@ -747,22 +890,35 @@ public class TsMultiBenchmarking {
         buildWeights();
         buildContemporaneousConstraints();
 
+        TsData[] y = new TsData[rcnt.size()];
+        solveBlocks(block -> computeMultivariateBlock(block, y));
+        return y;
+    }
+
+    private void computeMultivariateBlock(Block block, TsData[] y) {
+        double[][] bweights = block.weights(weights);
+        List<Constraint> bcs = block.constraints(cs);
         IMultivariateSsf ssf;
         if (rho_ < 1) {
-            ContemporaneousSsfCholette cssf = new ContemporaneousSsfCholette(rho_, weights);
-            cssf.setConstraints(cs);
+            ContemporaneousSsfCholette cssf = new ContemporaneousSsfCholette(rho_, bweights);
+            cssf.setConstraints(bcs);
             ssf = cssf;
         } else {
-            ContemporaneousSsfDenton cssf = new ContemporaneousSsfDenton(weights);
-            cssf.setConstraints(cs);
+            ContemporaneousSsfDenton cssf = new ContemporaneousSsfDenton(bweights);
+            cssf.setConstraints(bcs);
             ssf = cssf;
         }
 
         // build the observations
-        ec.tstoolkit.ssf.multivariate.FullM2uMap map = new ec.tstoolkit.ssf.multivariate.FullM2uMap(cs.size());
+        int neq = block.cnts.length;
+        double[][] bdata = new double[neq][];
+        for (int i = 0; i < neq; ++i) {
+            bdata[i] = lcntData[block.cnts[i]];
+        }
+        ec.tstoolkit.ssf.multivariate.FullM2uMap map = new ec.tstoolkit.ssf.multivariate.FullM2uMap(neq);
         ec.tstoolkit.ssf.multivariate.M2uSsfAdapter adapter
                 = new ec.tstoolkit.ssf.multivariate.M2uSsfAdapter(ssf, map);
-        ec.tstoolkit.ssf.multivariate.M2uData data = new ec.tstoolkit.ssf.multivariate.M2uData(lcntData, null);
+        ec.tstoolkit.ssf.multivariate.M2uData data = new ec.tstoolkit.ssf.multivariate.M2uData(bdata, null);
         ec.tstoolkit.ssf.DisturbanceSmoother dsmoother = new ec.tstoolkit.ssf.DisturbanceSmoother();
         dsmoother.setSsf(adapter);
         SmoothingResults states;
@@ -787,18 +943,16 @@ public class TsMultiBenchmarking {
 //            smoother.process(data, states);
         }
 
-        int neq = cs.size();
-        TsData[] y = new TsData[rcnt.size()];
-        for (int i = 0; i < y.length; ++i) {
-            TsData s = getInput(rcnt.get(i));
-            y[i] = new TsData(s.getDomain());
+        for (int i = 0; i < block.vars.length; ++i) {
+            int k = block.vars[i];
+            TsData s = getInput(rcnt.get(k));
+            TsData yk = new TsData(s.getDomain());
             double[] t = states.component(i);
             for (int j = 0; j < s.getLength(); ++j) {
-                y[i].set(j, t[j * neq] * weights[i][j]);
+                yk.set(j, t[j * neq] * bweights[i][j]);
             }
-            y[i] = TsData.add(y[i], s);
+            y[k] = TsData.add(yk, s);
         }
-        return y;
     }
 
     private double[] calcWeights(double[] x) {
@@ -29,6 +29,8 @@ import ec.tstoolkit.maths.polynomials.Polynomial;
 import ec.tstoolkit.timeseries.simplets.TsData;
 import ec.tstoolkit.timeseries.simplets.TsDomain;
 import ec.tstoolkit.ucarima.UcarimaModel;
+import ec.tstoolkit.ucarima.WienerKolmogorovCache;
+import ec.tstoolkit.ucarima.WienerKolmogorovEstimators;
 import ec.tstoolkit.ucarima.estimation.BurmanEstimatesC;
 import ec.tstoolkit.utilities.Ref;
 import java.util.ArrayList;
@@ -63,10 +65,12 @@ public class WienerKolmogorovEstimator implements IComponentsEstimator {
 
         // check the ucarima model. 
         // ucm=checkModel(ucm);
+        // the estimators of a model used in a previous run (fixed parameters) are re-used
+        WienerKolmogorovEstimators wk = WienerKolmogorovCache.instance.estimators(ucmc);
         if (model.isMeanCorrection()) {
-            burman.setUcarimaModelWithMean(ucmc);
+            burman.setEstimatorsWithMean(wk);
         } else {
-            burman.setUcarimaModel(ucmc);
+            burman.setEstimators(wk);
         }
         burman.setData(s);
         burman.setSer(model.getSer());
@@ -23,6 +23,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 
 /**
  *
@@ -186,6 +187,104 @@ public class CompositeResults implements IProcResults {
         return all;
     }
 
+    /**
+     * Resolves an identifier against the structure (names and prefixes of the
+     * nodes) of these results. The accessor can be used on any composite
+     * results; it gives the same results as getData(id, tclass), but the
+     * identifier is split only once. Results with another structure are
+     * handled by getData.
+     *
+     * @param <T>
+     * @param id
+     * @param tclass
+     * @return
+     */
+    public <T> Accessor<T> compile(String id, Class<T> tclass) {
+        int n = nodes.size();
+        String[] names = new String[n], prefixes = new String[n], ids = new String[n];
+        int i = 0;
+        for (Entry<String, Node> entry : nodes.entrySet()) {
+            Node node = entry.getValue();
+            names[i] = entry.getKey();
+            prefixes[i] = node.prefix;
+            if (node.prefix == null) {
+                ids[i] = id;
+            } else if (InformationSet.isPrefix(id, node.prefix)) {
+                ids[i] = InformationSet.removePrefix(id);
+            }
+            ++i;
+        }
+        return new Accessor<>(id, tclass, names, prefixes, ids);
+    }
+
+    /**
+     * Pre-compiled identifier (see compile)
+     *
+     * @param <T>
+     */
+    public static final class Accessor<T> {
+
+        private final String id;
+        private final Class<T> tclass;
+        private final String[] names, prefixes;
+        // identifier in each node (null if the prefix doesn't match)
+        private final String[] ids;
+
+        private Accessor(String id, Class<T> tclass, String[] names, String[] prefixes, String[] ids) {
+            this.id = id;
+            this.tclass = tclass;
+            this.names = names;
+            this.prefixes = prefixes;
+            this.ids = ids;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public Class<T> getTargetClass() {
+            return tclass;
+        }
+
+        public T getData(CompositeResults rslts) {
+            if (!matches(rslts)) {
+                return rslts.getData(id, tclass);
+            }
+            IProcResults[] results = new IProcResults[names.length];
+            int i = 0;
+            for (Node node : rslts.nodes.values()) {
+                results[i] = node.results;
+                String cid = ids[i];
+                if (results[i] != null && cid != null && results[i].contains(cid)) {
+                    return results[i].getData(cid, tclass);
+                }
+                ++i;
+            }
+            // less strict strategy (see getData): the full identifier is 
+            // used in the nodes whose prefix doesn't match
+            for (i = 0; i < results.length; ++i) {
+                if (results[i] != null && ids[i] == null && results[i].contains(id)) {
+                    return results[i].getData(id, tclass);
+                }
+            }
+            return null;
+        }
+
+        private boolean matches(CompositeResults rslts) {
+            if (rslts.nodes.size() != names.length) {
+                return false;
+            }
+            int i = 0;
+            for (Entry<String, Node> entry : rslts.nodes.entrySet()) {
+                if (!names[i].equals(entry.getKey()) || !Objects.equals(prefixes[i], entry.getValue().prefix)) {
+                    return false;
+                }
+                ++i;
+            }
+            return true;
+        }
+    }
+
     public static <T> T searchData(Map<String, IProcResults> results, String id, Class<T> tclass) {
         for (Entry<String, IProcResults> entry : results.entrySet()) {
             if (entry.getValue() != null && entry.getValue().contains(id)) {
@@ -19,6 +19,7 @@ package ec.tstoolkit.algorithm;
 import ec.tstoolkit.algorithm.IProcessing.Status;
 import ec.tstoolkit.information.InformationSet;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,35 +28,120 @@ import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
+ * Processing node that executes its children concurrently. The children are
+ * dispatched on a long-lived executor: the one given to the node, or else the
+ * one of the active processing context, or else a shared fork-join pool.
+ * The children are executed inline (in the calling thread) when there is only
+ * one child or when the node is called from an already parallel processing.
  *
  * @author Jean Palate
  */
 public class ParallelProcessingNode<I> implements IProcessingNode<I> {
 
-    private final int NBR_EXECUTORS = Runtime.getRuntime().availableProcessors();
+    private static final ThreadLocal<Boolean> PARALLEL = new ThreadLocal<>();
+
+    private static final class PoolHolder {
+
+        private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors(),
+                CustomThreadFactory.INSTANCE, null, false);
+    }
+
+    /**
+     * The executor shared by all the parallel nodes (when no other executor
+     * is specified)
+     *
+     * @return
+     */
+    public static ExecutorService getSharedExecutor() {
+        return PoolHolder.POOL;
+    }
+
     private final String name, prefix;
+    private ExecutorService executor_;
+    private final Map<String, Long> timings_ = new ConcurrentHashMap<>();
+    private volatile long elapsed_;
 
     public ParallelProcessingNode(final String name, final String prefix) {
         this.name = name;
         this.prefix = prefix;
     }
+
+    public ParallelProcessingNode(final String name, final String prefix, final ExecutorService executor) {
+        this.name = name;
+        this.prefix = prefix;
+        this.executor_ = executor;
+    }
     private ArrayList<IProcessingNode<I>> nodes_ = new ArrayList<>();
 
     public void add(IProcessingNode<I> node) {
         nodes_.add(node);
     }
 
+    public ExecutorService getExecutor() {
+        return executor_;
+    }
+
+    /**
+     * Sets the executor used by this node. The executor is not shut down by
+     * the node.
+     *
+     * @param executor The executor. Null to use the executor of the active
+     * processing context or the shared executor.
+     */
+    public void setExecutor(ExecutorService executor) {
+        executor_ = executor;
+    }
+
+    /**
+     * Execution times (in nanoseconds) of the children during the last call
+     * to process
+     *
+     * @return A map child name -> execution time
+     */
+    public Map<String, Long> getTimings() {
+        return Collections.unmodifiableMap(timings_);
+    }
+
+    /**
+     * Total execution time (in nanoseconds) of the last call to process
+     *
+     * @return
+     */
+    public long getElapsedTime() {
+        return elapsed_;
+    }
+
+    private ExecutorService executor() {
+        if (executor_ != null) {
+            return executor_;
+        }
+        ExecutorService executor = ProcessingContext.getActiveContext().getExecutor();
+        return executor != null ? executor : getSharedExecutor();
+    }
+
+    private boolean isInline() {
+        return nodes_.size() <= 1 || PARALLEL.get() != null || ForkJoinTask.inForkJoinPool();
+    }
+
     private List<Callable<IProcessing.Status>> createTasks(final I input, final Map<String, IProcResults> map, final Map<String, String> errors) {
         ArrayList<Callable<IProcessing.Status>> result = new ArrayList<>();
         for (final IProcessingNode<I> o : nodes_) {
             result.add(new Callable<IProcessing.Status>() {
                 @Override
                 public IProcessing.Status call() throws Exception {
+                    Boolean parallel = PARALLEL.get();
+                    PARALLEL.set(Boolean.TRUE);
+                    long t0 = System.nanoTime();
                     try {
                         return o.process(input, map);
                     } catch (Exception err) {
                         errors.put(o.getName(), err.getMessage());
                         return IProcessing.Status.Invalid;
+                    } finally {
+                        timings_.put(o.getName(), System.nanoTime() - t0);
+                        if (parallel == null) {
+                            PARALLEL.remove();
+                        }
                     }
                 }
             });
@@ -76,20 +162,31 @@ public class ParallelProcessingNode<I> implements IProcessingNode<I> {
 
     @Override
     public Status process(I input, Map<String, IProcResults> results) {
+        long t0 = System.nanoTime();
+        timings_.clear();
         CompositeResults cresults = new CompositeResults();
         final ConcurrentHashMap<String, IProcResults> map = new ConcurrentHashMap<>();
-        ExecutorService executorService = Executors.newFixedThreadPool(NBR_EXECUTORS, CustomThreadFactory.INSTANCE);
 
         Map<String, String> errors=new ConcurrentHashMap<>();
         List<Callable<IProcessing.Status>> tasks = createTasks(input, map, errors);
         try {
-            executorService.invokeAll(tasks);
+            if (isInline()) {
+                for (Callable<IProcessing.Status> task : tasks) {
+                    task.call();
+                }
+            } else {
+                executor().invokeAll(tasks);
+            }
         } catch (InterruptedException ex) {
             Thread.currentThread().interrupt();
             return Status.Invalid;
+        } catch (Exception ex) {
+            // the tasks catch their own exceptions
+            throw new IllegalStateException(ex);
+        } finally {
+            elapsed_ = System.nanoTime() - t0;
         }
 
-        executorService.shutdown();
         for (IProcessingNode<I> cur : nodes_) {
 
             String cname = cur.getName();
@@ -105,7 +202,7 @@ public class ParallelProcessingNode<I> implements IProcessingNode<I> {
         return Status.Valid;
     }
 
-    private enum CustomThreadFactory implements ThreadFactory {
+    private enum CustomThreadFactory implements ThreadFactory, ForkJoinPool.ForkJoinWorkerThreadFactory {
 
         INSTANCE;
         //
@@ -126,5 +223,14 @@ public class ParallelProcessingNode<I> implements IProcessingNode<I> {
             t.setPriority(Thread.MIN_PRIORITY);
             return t;
         }
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            t.setName(namePrefix + threadNumber.getAndIncrement());
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        }
     }
 }
@@ -30,6 +30,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  *
@@ -41,12 +42,33 @@ public class ProcessingContext implements IModifiable {
 
     private final HashMap<Class, NameManager> map_ = new HashMap<>();
     private final static ProcessingContext[] def_ = new ProcessingContext[]{new ProcessingContext()};
+    private volatile ExecutorService executor_;
 
     public ProcessingContext() {
         map_.put(TsVariables.class, new NameManager(TsVariables.class, "Variables_", new DefaultNameValidator(".")));
         map_.put(IGregorianCalendarProvider.class, new GregorianCalendarManager());
     }
 
+    /**
+     * Executor used by the parallel processing nodes
+     *
+     * @return The executor or null if the shared executor should be used
+     */
+    public ExecutorService getExecutor() {
+        return executor_;
+    }
+
+    /**
+     * Sets the executor used by the parallel processing nodes. The executor
+     * should be long-lived; it is never shut down by the processing.
+     *
+     * @param executor The executor. Null to use the shared executor of
+     * ParallelProcessingNode
+     */
+    public void setExecutor(ExecutorService executor) {
+        executor_ = executor;
+    }
+
     public GregorianCalendarManager getGregorianCalendars() {
         return (GregorianCalendarManager) map_.get(IGregorianCalendarProvider.class);
     }
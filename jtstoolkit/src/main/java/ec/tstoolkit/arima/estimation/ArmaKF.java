@@ -51,7 +51,7 @@ public class ArmaKF {
      */
     public static int fnCalls;
     private IArimaModel arma_;
-    private Polynomial phi_;
+    private Polynomial phi_, theta_;
     private int dim_;
     private double h0_;
     private double[] c0_;
@@ -67,6 +67,44 @@ public class ArmaKF {
         initmodel(arma, 0);
     }
 
+    /**
+     * Buffers used by the fast filter. A workspace can be reused for
+     * different models and for different series, so that repeated calls to
+     * the fast filter don't allocate new arrays. A workspace is not
+     * thread-safe; local() provides a workspace specific to the current
+     * thread.
+     */
+    public static final class Workspace {
+
+        private static final ThreadLocal<Workspace> LOCAL = ThreadLocal.withInitial(Workspace::new);
+
+        /**
+         * The workspace of the current thread
+         *
+         * @return
+         */
+        public static Workspace local() {
+            return LOCAL.get();
+        }
+
+        private double[] c = new double[0], l = c, a = c, yl = c;
+
+        private void prepare(final int dim, final int n) {
+            if (c.length < dim) {
+                c = new double[dim];
+                l = new double[dim];
+                a = new double[dim];
+            } else {
+                for (int i = 0; i < dim; ++i) {
+                    a[i] = 0;
+                }
+            }
+            if (yl.length < n) {
+                yl = new double[n];
+            }
+        }
+    }
+
     /**
      * Fast processing. The exact filter is used on the Max(p, q) first
      * data. Fast iteration is used on the following data.
@@ -75,26 +113,48 @@ public class ArmaKF {
      * @return
      */
     public DataBlock fastFilter(final IReadDataBlock y) {
-        double[] C = c0_.clone();
+        double[] yl = new double[y.getLength()];
+        fastFilter(y, yl, Workspace.local());
+        return new DataBlock(yl);
+    }
+
+    /**
+     * Same as fastFilter(y), using the buffers of a given workspace.
+     * @param y The data
+     * @param ws The workspace
+     * @return The filtered data. The returned block is a view on the 
+     * buffer of the workspace; it is only valid till the next use of the
+     * workspace.
+     */
+    public DataBlock fastFilter(final IReadDataBlock y, final Workspace ws) {
+        int n = y.getLength();
+        ws.prepare(dim_, n);
+        fastFilter(y, ws.yl, ws);
+        return new DataBlock(ws.yl, 0, n, 1);
+    }
+
+    private void fastFilter(final IReadDataBlock y, final double[] yl, final Workspace ws) {
+        ws.prepare(dim_, 0);
+        double[] C = ws.c, L = ws.l, a = ws.a;
         double h = h0_;
 
         double var = arma_.getInnovationVariance();
         if (var != 1) {
             h /= var;
-            for (int i = 0; i < C.length; ++i) {
-                C[i] /= var;
+            for (int i = 0; i < dim_; ++i) {
+                C[i] = c0_[i] / var;
             }
+        } else {
+            System.arraycopy(c0_, 0, C, 0, dim_);
         }
 
-        double[] L = C.clone();
+        System.arraycopy(C, 0, L, 0, dim_);
 
-        double[] a = new double[dim_];
         int n = y.getLength();
-        double[] yl = new double[n];
         // iteration
         int ilast = dim_ - 1;
 
-        Polynomial theta = arma_.getMA().getPolynomial();
+        Polynomial theta = theta_;
         int np = phi_.getDegree(), nq = theta.getDegree();
         int im = np > nq ? np : nq;
 
@@ -149,8 +209,6 @@ public class ArmaKF {
             }
             yl[i] = x;
         }
-
-        return new DataBlock(yl);
     }
 
     /**
@@ -162,9 +220,27 @@ public class ArmaKF {
      * @return BIC statistics
      */
     public double fastProcessing(final IReadDataBlock y, int nparams) {
-        DataBlock yl = fastFilter(y);
-        int n = yl.getLength();
-        double ssqerr = yl.ssq();
+        return fastProcessing(y, nparams, Workspace.local());
+    }
+
+    /**
+     * Same as fastProcessing(y, nparams), using the buffers of a given
+     * workspace. No allocation is done when the workspace is large enough.
+     * 
+     * @param y
+     * @param nparams
+     * @param ws
+     * @return BIC statistics
+     */
+    public double fastProcessing(final IReadDataBlock y, int nparams, final Workspace ws) {
+        int n = y.getLength();
+        ws.prepare(dim_, n);
+        double[] yl = ws.yl;
+        fastFilter(y, yl, ws);
+        double ssqerr = 0;
+        for (int i = 0; i < n; ++i) {
+            ssqerr += yl[i] * yl[i];
+        }
         // BIC from residuals ...
         return Math.log(ssqerr / n) + nparams * Math.log(n) / n;
     }
@@ -175,6 +251,7 @@ public class ArmaKF {
         }
         this.arma_ = arma;
         phi_ = this.arma_.getAR().getPolynomial();
+        theta_ = this.arma_.getMA().getPolynomial();
         if (statedim == 0) {
             statedim = Math.max(phi_.getDegree(), this.arma_.getMA().getLength());
         }
@@ -19,6 +19,7 @@ package ec.tstoolkit.data;
 import ec.tstoolkit.design.NewObject;
 import ec.tstoolkit.dstats.Normal;
 import ec.tstoolkit.dstats.TestType;
+import ec.tstoolkit.maths.FastFourierTransform;
 import ec.tstoolkit.stats.StatisticalTest;
 
 /**
@@ -158,11 +159,11 @@ public class BlackmanTukeySpectrum {
         for (int i = 0; i < winLen_; i++) {
             cwnd[i] *= cov_[i];
         }
+        // s(i) = cwnd(0) + 2 * sum(cwnd(j) * cos(2*pi*i*j/winLen)), j in [1, winLen[
+        //      = 2 * re(dft(cwnd)(i)) - cwnd(0)
+        double[] dft = FastFourierTransform.realTransform(cwnd);
         for (int i = 0; i < nspect_; i++) {
-            double s = cwnd[0];
-            for (int j = 1; j < winLen_; j++) {
-                s += 2 * cwnd[j] * Math.cos(Math.PI * 2.0 * i * j / winLen_);
-            }
+            double s = 2 * dft[2 * i] - cwnd[0];
             if (s < 0) {
                 s = 0;
             }
@@ -18,6 +18,7 @@ package ec.tstoolkit.data;
 
 import ec.tstoolkit.BaseException;
 import ec.tstoolkit.design.Development;
+import ec.tstoolkit.maths.FastFourierTransform;
 import ec.tstoolkit.utilities.IntList;
 
 /**
@@ -139,43 +140,28 @@ public class Periodogram {
         // a(j) = (1/sqrt(T))
         int T = m_data.length, T1 = (1 + T) / 2, T2 = 1 + T / 2;
         m_p = new double[T2];
-        double l = 2 * Math.PI / T;
-        double cosl = Math.cos(l), sinl = Math.sin(l);
-        double cos = 1, sin = 0; // current cos and sin...
-
         // the mean has been removed
         if (m_mean) {
             m_p[0] = 0;
         } else {
             m_p[0] = m_sy * m_sy / m_sy2;
         }
-        double a = 0, b = 0;
-        for (int i = 1; i < T1; ++i) {
-            // compute next cos, sin
-            double ctmp = cos, stmp = sin;
-            sin = cosl * stmp + sinl * ctmp;
-            cos = -sinl * stmp + cosl * ctmp;
-
-            a = 0;
-            b = 0;
-            double c = 1, s = 0;
-            for (int j = 0; j < T; ++j) {
-                // compute next c, s ...
-                ctmp = c;
-                stmp = s;
-                s = cos * stmp + sin * ctmp;
-                c = -sin * stmp + cos * ctmp;
-                if (!Double.isNaN(m_data[j])) {
-                    a += c * m_data[j];
-                    b += s * m_data[j];
-                }
+        // Fourier coefficients of the data (missing values are ignored)
+        double[] x = new double[T];
+        for (int j = 0; j < T; ++j) {
+            if (!Double.isNaN(m_data[j])) {
+                x[j] = m_data[j];
             }
+        }
+        double[] dft = FastFourierTransform.realTransform(x);
+        for (int i = 1; i < T1; ++i) {
+            double a = dft[2 * i], b = dft[2 * i + 1];
             m_p[i] = 2 * (a * a + b * b) / m_sy2;
         }
 
         if (T1 != T2) // T even
         {
-            a = 0;
+            double a = 0;
             for (int i = 0; i < T; ++i) {
                 if (!Double.isNaN(m_data[i])) {
                     if (i % 2 == 0) {
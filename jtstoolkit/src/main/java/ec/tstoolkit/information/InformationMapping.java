@@ -27,6 +27,7 @@ import ec.tstoolkit.utilities.WildCards;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.ServiceLoader;
@@ -144,8 +145,13 @@ public class InformationMapping<S> {
 
     private final LinkedHashMap<String, TFunction<S, ?>> map = new LinkedHashMap<>();
     private final LinkedHashMap<String, TListFunction<S, ?>> lmap = new LinkedHashMap<>();
+    // compiled identifiers, by target class (cleared when the mapping changes)
+    private final HashMap<Class<?>, HashMap<String, Function<? super S, ?>>> compiled = new HashMap<>();
     private final Class<S> sourceClass;
 
+    private static final Function<Object, Object> NONE = source -> null;
+    private static final int MAX_COMPILED = 4096;
+
     public InformationMapping(Class<S> sourceClass) {
         this.sourceClass = sourceClass;
     }
@@ -201,36 +207,42 @@ public class InformationMapping<S> {
     public <T> void set(String name, Class<T> tclass, Function<S, T> extractor) {
         synchronized (this) {
             map.put(name, new TFunction(tclass, extractor));
+            compiled.clear();
         }
     }
 
     public <T> void set(String name, Function<S, TsData> extractor) {
         synchronized (this) {
             map.put(name, new TFunction(TsData.class, extractor));
+            compiled.clear();
         }
     }
 
     public <T> void setList(String prefix, int start, int end, Class<T> tclass, BiFunction<S, Integer, T> extractor) {
         synchronized (this) {
             lmap.put(prefix, new TListFunction(tclass, start, end, extractor));
+            compiled.clear();
         }
     }
 
     public <T> void setList(String prefix, int start, int end, BiFunction<S, Integer, TsData> extractor) {
         synchronized (this) {
             lmap.put(prefix, new TListFunction(TsData.class, start, end, extractor));
+            compiled.clear();
         }
     }
 
     public <T> void set(String prefix, int defparam, Class<T> tclass, BiFunction<S, Integer, T> extractor) {
         synchronized (this) {
             lmap.put(prefix, new TListFunction(tclass, defparam, defparam, extractor));
+            compiled.clear();
         }
     }
 
     public <T> void set(String prefix, int defparam, BiFunction<S, Integer, TsData> extractor) {
         synchronized (this) {
             lmap.put(prefix, new TListFunction(TsData.class, defparam, defparam, extractor));
+            compiled.clear();
         }
     }
 
@@ -300,23 +312,58 @@ public class InformationMapping<S> {
     }
 
     public <T> T getData(S source, String id, Class<T> tclass) {
+        Function<? super S, ?> fn;
+        synchronized (this) {
+            HashMap<String, Function<? super S, ?>> cur = compiled.get(tclass);
+            if (cur == null) {
+                cur = new HashMap<>();
+                compiled.put(tclass, cur);
+            }
+            fn = cur.get(id);
+            if (fn == null) {
+                fn = compile(id, tclass);
+                if (fn == null) {
+                    fn = NONE;
+                }
+                if (cur.size() < MAX_COMPILED) {
+                    cur.put(id, fn);
+                }
+            }
+        }
+        @SuppressWarnings("unchecked")
+        T rslt = (T) fn.apply(source);
+        return rslt;
+    }
+
+    /**
+     * Resolves an identifier once and for all. The returned function gives
+     * the same results as getData(source, id, tclass), without any further
+     * lookup or parsing of the identifier. It reflects the content of the
+     * mapping at the time of the call.
+     *
+     * @param <T>
+     * @param id
+     * @param tclass
+     * @return The extractor, or null if the identifier is not handled by this
+     * mapping (getData would always return null)
+     */
+    public <T> Function<S, T> compile(String id, Class<T> tclass) {
         synchronized (this) {
             TFunction<S, ?> fn = map.get(id);
             if (fn != null) {
                 if (!tclass.isAssignableFrom(fn.targetClass)) {
                     return null;
                 } else {
-                    return (T) fn.extractor.apply(source);
+                    return (Function<S, T>) fn.extractor;
                 }
             }
             for (Entry<String, TListFunction<S, ?>> x : lmap.entrySet()) {
                 TListFunction<S, ?> value = x.getValue();
                 if (tclass.isAssignableFrom(value.targetClass)) {
                     int idx = listItem(x.getKey(), id);
-                    if (value.start == value.end) {
-                        return (T) value.extractor.apply(source, idx);
-                    } else if (idx >= value.start && idx < value.end) {
-                        return (T) value.extractor.apply(source, idx);
+                    if (value.start == value.end || (idx >= value.start && idx < value.end)) {
+                        BiFunction<S, Integer, ?> extractor = value.extractor;
+                        return source -> (T) extractor.apply(source, idx);
                     }
                 }
             }
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.maths;
+
+import ec.tstoolkit.design.Development;
+
+/**
+ * Fast Fourier transforms on primitive arrays.
+ * <br>
+ * The complex data are stored in interleaved arrays (re(0), im(0), re(1),
+ * im(1)...). The forward transform is defined by
+ * X(k) = sum(x(j)*exp(-2*i*pi*j*k/n)), j in [0, n[; the backward transform
+ * uses exp(+2*i*pi*j*k/n) and is scaled by 1/n.
+ * Powers of 2 are handled by an iterative radix-2 algorithm; the other
+ * lengths use the algorithm of Bluestein (chirp z-transform), so that the
+ * cost is always in O(n log n).
+ *
+ * @since 2.2.0
+ */
+@Development(status = Development.Status.Alpha)
+public final class FastFourierTransform {
+
+    private FastFourierTransform() {
+        // static class
+    }
+
+    /**
+     * Forward transform (in place) of complex data
+     *
+     * @param data Interleaved complex data. The length of the array must be
+     * even
+     */
+    public static void transform(final double[] data) {
+        transform(data, false);
+    }
+
+    /**
+     * Backward transform (in place) of complex data, scaled by 1/n
+     *
+     * @param data Interleaved complex data. The length of the array must be
+     * even
+     */
+    public static void backTransform(final double[] data) {
+        transform(data, true);
+        int n = data.length / 2;
+        if (n > 0) {
+            double v = 1.0 / n;
+            for (int i = 0; i < data.length; ++i) {
+                data[i] *= v;
+            }
+        }
+    }
+
+    /**
+     * Forward transform of real data. As the transform of real data is
+     * hermitian (X(n-k) = conj(X(k))), only the first n/2+1 coefficients are
+     * returned.
+     *
+     * @param x The real data
+     * @return The coefficients X(0)...X(n/2), as interleaved complex data
+     * (the length of the array is 2*(n/2+1))
+     */
+    public static double[] realTransform(final double[] x) {
+        int n = x.length;
+        int nh = n / 2;
+        double[] rslt = new double[2 * (nh + 1)];
+        if (n == 0) {
+            return new double[0];
+        }
+        if (n % 2 != 0 || n < 4) {
+            double[] c = new double[2 * n];
+            for (int i = 0; i < n; ++i) {
+                c[2 * i] = x[i];
+            }
+            transform(c, false);
+            System.arraycopy(c, 0, rslt, 0, rslt.length);
+            return rslt;
+        }
+        // n even: transform of z(j) = x(2j) + i*x(2j+1), of length n/2
+        double[] z = x.clone();
+        transform(z, false);
+        // X(k) = E(k) + exp(-2*i*pi*k/n) * O(k), with
+        // E(k) = (Z(k) + conj(Z(nh-k)))/2, O(k) = -i*(Z(k) - conj(Z(nh-k)))/2
+        double theta = 2 * Math.PI / n;
+        for (int k = 0; k <= nh; ++k) {
+            int k0 = k % nh, k1 = (nh - k) % nh;
+            double zr = z[2 * k0], zi = z[2 * k0 + 1];
+            double cr = z[2 * k1], ci = -z[2 * k1 + 1];
+            double er = (zr + cr) / 2, ei = (zi + ci) / 2;
+            double or = (zi - ci) / 2, oi = -(zr - cr) / 2;
+            double wr = Math.cos(theta * k), wi = -Math.sin(theta * k);
+            rslt[2 * k] = er + wr * or - wi * oi;
+            rslt[2 * k + 1] = ei + wr * oi + wi * or;
+        }
+        return rslt;
+    }
+
+    private static void transform(final double[] data, final boolean back) {
+        int n = data.length / 2;
+        if (n <= 1) {
+            return;
+        }
+        if ((n & (n - 1)) == 0) {
+            radix2(data, n, back);
+        } else {
+            bluestein(data, n, back);
+        }
+    }
+
+    /**
+     * Iterative radix-2 (Cooley-Tukey) transform, without scaling
+     */
+    private static void radix2(final double[] data, final int n, final boolean back) {
+        // bit reversal
+        for (int i = 0, j = 0; i < n; ++i) {
+            if (j > i) {
+                double tr = data[2 * j], ti = data[2 * j + 1];
+                data[2 * j] = data[2 * i];
+                data[2 * j + 1] = data[2 * i + 1];
+                data[2 * i] = tr;
+                data[2 * i + 1] = ti;
+            }
+            int q = n >> 1;
+            while (q >= 1 && j >= q) {
+                j -= q;
+                q >>= 1;
+            }
+            j += q;
+        }
+        // twiddle factors: exp(-+2*i*pi*k/n), k in [0, n/2[
+        int nh = n / 2;
+        double[] cos = new double[nh], sin = new double[nh];
+        double theta = 2 * Math.PI / n;
+        for (int k = 0; k < nh; ++k) {
+            cos[k] = Math.cos(theta * k);
+            sin[k] = back ? Math.sin(theta * k) : -Math.sin(theta * k);
+        }
+        // Danielson-Lanczos
+        for (int m = 1, step = nh; m < n; m <<= 1, step >>= 1) {
+            int tm = m << 1;
+            for (int k = 0; k < n; k += tm) {
+                for (int j = 0, t = 0; j < m; ++j, t += step) {
+                    int p = 2 * (k + j), q = p + 2 * m;
+                    double wr = cos[t], wi = sin[t];
+                    double xr = data[q], xi = data[q + 1];
+                    double tr = wr * xr - wi * xi, ti = wr * xi + wi * xr;
+                    double ur = data[p], ui = data[p + 1];
+                    data[p] = ur + tr;
+                    data[p + 1] = ui + ti;
+                    data[q] = ur - tr;
+                    data[q + 1] = ui - ti;
+                }
+            }
+        }
+    }
+
+    /**
+     * Bluestein's algorithm (arbitrary n), without scaling. The transform is
+     * expressed as a convolution, computed by radix-2 transforms of length
+     * m &ge; 2n-1.
+     */
+    private static void bluestein(final double[] data, final int n, final boolean back) {
+        int m = Integer.highestOneBit(2 * n - 1);
+        if (m < 2 * n - 1) {
+            m <<= 1;
+        }
+        // chirp: w(k) = exp(-+i*pi*k^2/n) (k^2 taken modulo 2n for accuracy)
+        double[] wr = new double[n], wi = new double[n];
+        long n2 = 2L * n;
+        for (int k = 0; k < n; ++k) {
+            double a = Math.PI * (((long) k * k) % n2) / n;
+            wr[k] = Math.cos(a);
+            wi[k] = back ? Math.sin(a) : -Math.sin(a);
+        }
+        double[] a = new double[2 * m], b = new double[2 * m];
+        for (int k = 0; k < n; ++k) {
+            double xr = data[2 * k], xi = data[2 * k + 1];
+            a[2 * k] = xr * wr[k] - xi * wi[k];
+            a[2 * k + 1] = xr * wi[k] + xi * wr[k];
+        }
+        b[0] = wr[0];
+        b[1] = -wi[0];
+        for (int k = 1; k < n; ++k) {
+            b[2 * k] = b[2 * (m - k)] = wr[k];
+            b[2 * k + 1] = b[2 * (m - k) + 1] = -wi[k];
+        }
+        radix2(a, m, false);
+        radix2(b, m, false);
+        for (int k = 0; k < m; ++k) {
+            double ar = a[2 * k], ai = a[2 * k + 1], br = b[2 * k], bi = b[2 * k + 1];
+            a[2 * k] = ar * br - ai * bi;
+            a[2 * k + 1] = ar * bi + ai * br;
+        }
+        radix2(a, m, true);
+        double v = 1.0 / m;
+        for (int k = 0; k < n; ++k) {
+            double cr = a[2 * k] * v, ci = a[2 * k + 1] * v;
+            data[2 * k] = cr * wr[k] - ci * wi[k];
+            data[2 * k + 1] = cr * wi[k] + ci * wr[k];
+        }
+    }
+}
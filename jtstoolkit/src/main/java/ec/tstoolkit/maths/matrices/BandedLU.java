@@ -0,0 +1,205 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.maths.matrices;
+
+import ec.tstoolkit.design.Development;
+
+/**
+ * LU decomposition with partial pivoting of a band matrix (kl sub-diagonals,
+ * ku super-diagonals), following the Lapack routines dgbtf2/dgbtrs.
+ * <br>
+ * The matrix is stored by columns, in a (2 * kl + ku + 1) x n array; the
+ * first kl rows receive the fill-in generated by the row interchanges, so
+ * that U has kl + ku super-diagonals. The decomposition needs O(n * kl * (kl +
+ * ku)) operations and O(n * (2 * kl + ku)) memory. Band matrices with
+ * symmetric indefinite structures (for instance the KKT systems of
+ * constrained least squares problems) can be handled without any
+ * pre-conditioning.
+ *
+ * @since 2.2.0
+ */
+@Development(status = Development.Status.Alpha)
+public class BandedLU {
+
+    private final int n, kl, ku, kv, ld;
+    private final double[] ab;
+    private int[] piv;
+
+    /**
+     * Creates a new (zero) band matrix
+     *
+     * @param n The dimension of the (square) matrix
+     * @param kl The number of sub-diagonals
+     * @param ku The number of super-diagonals
+     */
+    public BandedLU(int n, int kl, int ku) {
+        if (n < 0 || kl < 0 || ku < 0) {
+            throw new MatrixException(MatrixException.IncompatibleDimensions);
+        }
+        this.n = n;
+        this.kl = kl;
+        this.ku = ku;
+        kv = kl + ku;
+        ld = 2 * kl + ku + 1;
+        ab = new double[ld * n];
+    }
+
+    public int getDim() {
+        return n;
+    }
+
+    public int getLowerBandwidth() {
+        return kl;
+    }
+
+    public int getUpperBandwidth() {
+        return ku;
+    }
+
+    public boolean isDecomposed() {
+        return piv != null;
+    }
+
+    private int idx(int i, int j) {
+        if (i < 0 || j < 0 || i >= n || j >= n || i - j > kl || j - i > ku) {
+            throw new IndexOutOfBoundsException("(" + i + ", " + j + ") is outside the band");
+        }
+        return kv + i - j + j * ld;
+    }
+
+    public double get(int i, int j) {
+        if (piv != null) {
+            throw new MatrixException("The band matrix is already decomposed");
+        }
+        if (i - j > kl || j - i > ku) {
+            return 0;
+        }
+        return ab[idx(i, j)];
+    }
+
+    public void set(int i, int j, double value) {
+        if (piv != null) {
+            throw new MatrixException("The band matrix is already decomposed");
+        }
+        ab[idx(i, j)] = value;
+    }
+
+    public void add(int i, int j, double value) {
+        if (piv != null) {
+            throw new MatrixException("The band matrix is already decomposed");
+        }
+        ab[idx(i, j)] += value;
+    }
+
+    /**
+     * Computes the LU decomposition in place. The matrix can't be modified
+     * afterwards.
+     *
+     * @throws MatrixException if the matrix is singular
+     */
+    public void decompose() {
+        if (piv != null) {
+            return;
+        }
+        int[] p = new int[n];
+        // last column of U touched by the previous interchanges
+        int ju = 0;
+        for (int j = 0; j < n; ++j) {
+            int km = Math.min(kl, n - 1 - j);
+            int cj = kv + j * ld;
+            // pivot
+            int jp = 0;
+            double pmax = Math.abs(ab[cj]);
+            for (int t = 1; t <= km; ++t) {
+                double cur = Math.abs(ab[cj + t]);
+                if (cur > pmax) {
+                    jp = t;
+                    pmax = cur;
+                }
+            }
+            p[j] = j + jp;
+            if (pmax == 0) {
+                throw new MatrixException(MatrixException.Singular);
+            }
+            ju = Math.max(ju, Math.min(j + ku + jp, n - 1));
+            if (jp != 0) {
+                // interchange the rows j and j+jp in the columns j to ju
+                for (int c = j, cc = cj; c <= ju; ++c, cc += ld - 1) {
+                    double tmp = ab[cc];
+                    ab[cc] = ab[cc + jp];
+                    ab[cc + jp] = tmp;
+                }
+            }
+            if (km > 0) {
+                double pivot = 1 / ab[cj];
+                for (int t = 1; t <= km; ++t) {
+                    ab[cj + t] *= pivot;
+                }
+                // rank-one update of the trailing band
+                for (int c = j + 1, cc = cj + ld - 1; c <= ju; ++c, cc += ld - 1) {
+                    double ajc = ab[cc];
+                    if (ajc != 0) {
+                        for (int t = 1; t <= km; ++t) {
+                            ab[cc + t] -= ab[cj + t] * ajc;
+                        }
+                    }
+                }
+            }
+        }
+        piv = p;
+    }
+
+    /**
+     * Solves A x = b in place (the matrix is decomposed if necessary)
+     *
+     * @param b On entry, the right-hand side. On exit, the solution
+     */
+    public void solve(double[] b) {
+        if (b.length != n) {
+            throw new MatrixException(MatrixException.IncompatibleDimensions);
+        }
+        decompose();
+        // L
+        if (kl > 0) {
+            for (int j = 0; j < n - 1; ++j) {
+                int lm = Math.min(kl, n - 1 - j);
+                int l = piv[j];
+                double bj = b[l];
+                if (l != j) {
+                    b[l] = b[j];
+                    b[j] = bj;
+                }
+                if (bj != 0) {
+                    for (int t = 1, cj = kv + j * ld + 1; t <= lm; ++t, ++cj) {
+                        b[j + t] -= ab[cj] * bj;
+                    }
+                }
+            }
+        }
+        // U
+        for (int j = n - 1; j >= 0; --j) {
+            int cj = kv + j * ld;
+            double bj = b[j] / ab[cj];
+            b[j] = bj;
+            if (bj != 0) {
+                for (int i = j - 1, ci = cj - 1; i >= 0 && i >= j - kv; --i, --ci) {
+                    b[i] -= ab[ci] * bj;
+                }
+            }
+        }
+    }
+}
@@ -1006,6 +1006,10 @@ public class Matrix implements Cloneable {
 
         int nr = nrows_, nc = Y.ncols_, nk = ncols_;
         Matrix s = new Matrix(nr, nc);
+        if (MatrixKernels.isBlocked(nr, nc, nk)) {
+            MatrixKernels.product(all(), Y.all(), s.all(), MatrixKernels.ZERO);
+            return s;
+        }
         double[] tmp = new double[nk];
         for (int i = 0; i < nr; ++i) {
             for (int j = 0, k = i; j < nk; ++j, k += nr) {
@@ -0,0 +1,384 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.maths.matrices;
+
+import ec.tstoolkit.design.Development;
+import java.util.stream.IntStream;
+
+/**
+ * Cache-blocked kernels for the level-3 operations (products of matrices,
+ * X'X / XX', Cholesky decomposition) of large matrices. They are used by
+ * Matrix, SubMatrix and SymmetricMatrix above a given size; the smaller
+ * problems are handled by the usual loops.
+ * <br>
+ * The right operand is packed by panels of NB columns, the left operand by
+ * blocks of 4 rows, and the results are computed by tiles of 4 x 4 elements.
+ * The Cholesky decomposition is left-looking, by panels of columns; the
+ * updates of a panel are done by stripes of rows, so that the columns of the
+ * factor they use stay in the cache.
+ * Each element is still computed as a single sum, in the natural order of its
+ * terms (the k dimension is never split), so that the results are identical to
+ * the ones of the simple loops. For the same reason, the multi-threaded
+ * version (above the parallel threshold) splits the rows of the result
+ * between the workers.
+ *
+ * @since 2.2.0
+ */
+@Development(status = Development.Status.Alpha)
+public final class MatrixKernels {
+
+    private MatrixKernels() {
+        // static class
+    }
+
+    // size of the register tiles
+    private static final int MR = 4, NR = 4;
+    // number of columns in the packed panels of the right operand
+    private static final int NB = 128;
+    // number of columns in the panels of the Cholesky decomposition
+    private static final int NB_CHOLESKY = 64;
+    // number of rows in the stripes of the Cholesky updates
+    private static final int RB_CHOLESKY = 128;
+
+    // c = a * b (sum initialized with 0)
+    static final int ZERO = 0;
+    // c = a * b (sum initialized with the first term)
+    static final int FIRST = 1;
+
+    private static volatile long blockingThreshold = 32 * 32 * 32;
+    private static volatile long parallelThreshold = 1 << 22;
+
+    /**
+     * Minimal number of multiplications of a product (m x n x k) for using
+     * the blocked kernels.
+     *
+     * @return
+     */
+    public static long getBlockingThreshold() {
+        return blockingThreshold;
+    }
+
+    /**
+     * Sets the minimal number of multiplications of a product for using the
+     * blocked kernels. Long.MAX_VALUE disables them.
+     *
+     * @param value
+     */
+    public static void setBlockingThreshold(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("threshold");
+        }
+        blockingThreshold = value;
+    }
+
+    /**
+     * Minimal number of multiplications of a product for using several
+     * threads (taken from the common fork-join pool).
+     *
+     * @return
+     */
+    public static long getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Sets the minimal number of multiplications of a product for using
+     * several threads. Long.MAX_VALUE disables the multi-threading.
+     *
+     * @param value
+     */
+    public static void setParallelThreshold(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("threshold");
+        }
+        parallelThreshold = value;
+    }
+
+    static boolean isBlocked(int m, int n, int k) {
+        return m >= 8 && n >= 8 && k > 0 && (long) m * n * k >= blockingThreshold;
+    }
+
+    static boolean isBlocked(int n) {
+        return n >= 2 * NB_CHOLESKY && (long) n * n * n / 3 >= blockingThreshold;
+    }
+
+    /**
+     * Computes c = a * b
+     *
+     * @param a m x k sub-matrix
+     * @param b k x n sub-matrix
+     * @param c m x n sub-matrix
+     * @param mode
+     */
+    static void product(SubMatrix a, SubMatrix b, SubMatrix c, int mode) {
+        run(a, b, c, mode, false);
+    }
+
+    /**
+     * Same as product, restricted to the lower triangle (i &ge; j) of c. The
+     * other cells of c are not modified.
+     *
+     * @param a m x k sub-matrix
+     * @param b k x n sub-matrix
+     * @param c m x n sub-matrix
+     * @param mode
+     */
+    static void lowerProduct(SubMatrix a, SubMatrix b, SubMatrix c, int mode) {
+        run(a, b, c, mode, true);
+    }
+
+    /**
+     * Blocked (left-looking) version of SymmetricMatrix.lcholesky. The
+     * results are the same.
+     *
+     * @param m On entry, the given matrix. On exit, the Cholesky factor
+     */
+    static void lcholesky(final Matrix m) {
+        double[] data = m.data_;
+        int n = m.nrows_;
+        for (int c0 = 0; c0 < n; c0 += NB_CHOLESKY) {
+            int c1 = Math.min(n, c0 + NB_CHOLESKY);
+            if (c0 > 0) {
+                // L(c0:n, c0:c1) -= L(c0:n, 0:c0) * L(c0:c1, 0:c0)'
+                int fc0 = c0, fc1 = c1;
+                int nstripes = (n - c0 + RB_CHOLESKY - 1) / RB_CHOLESKY;
+                long work = (long) (n - c0) * (c1 - c0) * c0;
+                if (nstripes > 1 && work >= parallelThreshold && Runtime.getRuntime().availableProcessors() > 1) {
+                    IntStream.range(0, nstripes).parallel()
+                            .forEach(s -> update(data, n, fc0, fc1, fc0 + s * RB_CHOLESKY, Math.min(n, fc0 + (s + 1) * RB_CHOLESKY)));
+                } else {
+                    for (int r0 = c0; r0 < n; r0 += RB_CHOLESKY) {
+                        update(data, n, c0, c1, r0, Math.min(n, r0 + RB_CHOLESKY));
+                    }
+                }
+            }
+            // factorization of the panel, using its own columns only
+            for (int i = c0, idiag = c0 * (n + 1); i < c1; ++i, idiag += n + 1) {
+                double aii = data[idiag];
+                for (int j = i + c0 * n; j < idiag; j += n) {
+                    double x = data[j];
+                    aii -= x * x;
+                }
+                if (aii <= 0) {
+                    throw new MatrixException(MatrixException.CholeskyFailed);
+                }
+                aii = Math.sqrt(aii);
+                data[idiag] = aii;
+
+                int ymax = (i + 1) * n;
+                for (int jx = i + c0 * n; jx < idiag; jx += n) {
+                    double temp = data[jx];
+                    if (temp != 0) {
+                        for (int ia = jx + 1, iy = idiag + 1; iy < ymax; ++ia, ++iy) {
+                            data[iy] -= temp * data[ia];
+                        }
+                    }
+                }
+                for (int iy = idiag + 1; iy < ymax; ++iy) {
+                    data[iy] /= aii;
+                }
+            }
+        }
+        m.toLower();
+    }
+
+    /**
+     * Updates the rows r0:r1 of the columns c0:c1 (lower part only) with the
+     * previous columns of the factor, which are taken by blocks. For a given
+     * element, the terms are subtracted in the same order as in the simple
+     * algorithm.
+     */
+    private static void update(double[] data, int n, int c0, int c1, int r0, int r1) {
+        for (int j0 = 0; j0 < c0; j0 += NB_CHOLESKY) {
+            int j1 = Math.min(c0, j0 + NB_CHOLESKY);
+            for (int i = c0, imax = Math.min(c1, r1); i < imax; ++i) {
+                int ystart = i * n + Math.max(r0, i), yend = i * n + r1;
+                for (int j = j0; j < j1; ++j) {
+                    double temp = data[i + j * n];
+                    if (temp != 0) {
+                        for (int iy = ystart, ix = ystart - (i - j) * n; iy < yend; ++iy, ++ix) {
+                            data[iy] -= temp * data[ix];
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static void run(SubMatrix a, SubMatrix b, SubMatrix c, int mode, boolean lower) {
+        int nthreads = Runtime.getRuntime().availableProcessors();
+        long work = (long) c.m_nrows * c.m_ncols * a.m_ncols;
+        run(a, b, c, mode, lower, nthreads > 1 && work >= parallelThreshold ? nthreads : 1);
+    }
+
+    static void run(SubMatrix a, SubMatrix b, SubMatrix c, int mode, boolean lower, int nthreads) {
+        int m = c.m_nrows, k = a.m_ncols;
+        if (mode == FIRST && k == 0) {
+            mode = ZERO;
+        }
+        int nstripes = Math.min(nthreads, m / (4 * MR));
+        if (nstripes <= 1) {
+            stripe(a, b, c, mode, lower, 0, m);
+        } else {
+            // stripes of rows (multiple of MR)
+            int h = ((m + nstripes - 1) / nstripes + MR - 1) / MR * MR;
+            int fmode = mode;
+            IntStream.range(0, (m + h - 1) / h).parallel()
+                    .forEach(s -> stripe(a, b, c, fmode, lower, s * h, Math.min(m, (s + 1) * h)));
+        }
+    }
+
+    private static void stripe(SubMatrix a, SubMatrix b, SubMatrix c, int mode, boolean lower, int i0, int i1) {
+        int k = a.m_ncols;
+        int jmax = lower ? Math.min(c.m_ncols, i1) : c.m_ncols;
+        if (jmax <= 0 || i1 <= i0) {
+            return;
+        }
+        double[] ap = new double[MR * k];
+        double[] bp = new double[(Math.min(jmax, NB) + NR - 1) / NR * NR * k];
+        for (int j0 = 0; j0 < jmax; j0 += NB) {
+            int j1 = Math.min(jmax, j0 + NB);
+            packColumns(b, k, j0, j1, bp);
+            for (int i = i0; i < i1; i += MR) {
+                int ie = Math.min(i1, i + MR);
+                if (lower && j0 > ie - 1) {
+                    continue;
+                }
+                packRows(a, k, i, ie, ap);
+                for (int j = j0, boff = 0; j < j1; j += NR, boff += NR * k) {
+                    if (lower && j > ie - 1) {
+                        break;
+                    }
+                    tile(ap, bp, boff, k, c, i, ie - i, j, Math.min(j1, j + NR) - j, mode, lower);
+                }
+            }
+        }
+    }
+
+    /**
+     * ap[kk*MR+r] = a(i+r, kk) (0 outside a)
+     */
+    private static void packRows(SubMatrix a, int k, int i, int ie, double[] ap) {
+        double[] data = a.m_data;
+        for (int r = 0; r < MR; ++r) {
+            if (i + r < ie) {
+                for (int kk = 0, pos = a.m_start + (i + r) * a.m_row_inc; kk < k; ++kk, pos += a.m_col_inc) {
+                    ap[kk * MR + r] = data[pos];
+                }
+            } else {
+                for (int kk = 0; kk < k; ++kk) {
+                    ap[kk * MR + r] = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * bp[q*NR*k + kk*NR + s] = b(kk, j0 + q*NR + s) (0 outside b)
+     */
+    private static void packColumns(SubMatrix b, int k, int j0, int j1, double[] bp) {
+        double[] data = b.m_data;
+        for (int j = j0, off = 0; j < j1; j += NR, off += NR * k) {
+            for (int s = 0; s < NR; ++s) {
+                if (j + s < j1) {
+                    for (int kk = 0, pos = b.m_start + (j + s) * b.m_col_inc; kk < k; ++kk, pos += b.m_row_inc) {
+                        bp[off + kk * NR + s] = data[pos];
+                    }
+                } else {
+                    for (int kk = 0; kk < k; ++kk) {
+                        bp[off + kk * NR + s] = 0;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the tile c(i:i+ni, j:j+nj) from the packed operands
+     */
+    private static void tile(double[] ap, double[] bp, int boff, int k, SubMatrix c,
+            int i, int ni, int j, int nj, int mode, boolean lower) {
+        double c00, c01, c02, c03, c10, c11, c12, c13, c20, c21, c22, c23, c30, c31, c32, c33;
+        int kk = 0;
+        if (mode == FIRST) {
+            double a0 = ap[0], a1 = ap[1], a2 = ap[2], a3 = ap[3];
+            double b0 = bp[boff], b1 = bp[boff + 1], b2 = bp[boff + 2], b3 = bp[boff + 3];
+            c00 = b0 * a0;
+            c01 = b1 * a0;
+            c02 = b2 * a0;
+            c03 = b3 * a0;
+            c10 = b0 * a1;
+            c11 = b1 * a1;
+            c12 = b2 * a1;
+            c13 = b3 * a1;
+            c20 = b0 * a2;
+            c21 = b1 * a2;
+            c22 = b2 * a2;
+            c23 = b3 * a2;
+            c30 = b0 * a3;
+            c31 = b1 * a3;
+            c32 = b2 * a3;
+            c33 = b3 * a3;
+            kk = 1;
+        } else {
+            c00 = c01 = c02 = c03 = c10 = c11 = c12 = c13 = 0;
+            c20 = c21 = c22 = c23 = c30 = c31 = c32 = c33 = 0;
+        }
+        for (int pa = kk * MR, pb = boff + kk * NR; kk < k; ++kk, pa += MR, pb += NR) {
+            double a0 = ap[pa], a1 = ap[pa + 1], a2 = ap[pa + 2], a3 = ap[pa + 3];
+            double b0 = bp[pb], b1 = bp[pb + 1], b2 = bp[pb + 2], b3 = bp[pb + 3];
+            c00 += b0 * a0;
+            c01 += b1 * a0;
+            c02 += b2 * a0;
+            c03 += b3 * a0;
+            c10 += b0 * a1;
+            c11 += b1 * a1;
+            c12 += b2 * a1;
+            c13 += b3 * a1;
+            c20 += b0 * a2;
+            c21 += b1 * a2;
+            c22 += b2 * a2;
+            c23 += b3 * a2;
+            c30 += b0 * a3;
+            c31 += b1 * a3;
+            c32 += b2 * a3;
+            c33 += b3 * a3;
+        }
+        set(c, i, j, ni, nj, lower, 0, 0, c00);
+        set(c, i, j, ni, nj, lower, 0, 1, c01);
+        set(c, i, j, ni, nj, lower, 0, 2, c02);
+        set(c, i, j, ni, nj, lower, 0, 3, c03);
+        set(c, i, j, ni, nj, lower, 1, 0, c10);
+        set(c, i, j, ni, nj, lower, 1, 1, c11);
+        set(c, i, j, ni, nj, lower, 1, 2, c12);
+        set(c, i, j, ni, nj, lower, 1, 3, c13);
+        set(c, i, j, ni, nj, lower, 2, 0, c20);
+        set(c, i, j, ni, nj, lower, 2, 1, c21);
+        set(c, i, j, ni, nj, lower, 2, 2, c22);
+        set(c, i, j, ni, nj, lower, 2, 3, c23);
+        set(c, i, j, ni, nj, lower, 3, 0, c30);
+        set(c, i, j, ni, nj, lower, 3, 1, c31);
+        set(c, i, j, ni, nj, lower, 3, 2, c32);
+        set(c, i, j, ni, nj, lower, 3, 3, c33);
+    }
+
+    private static void set(SubMatrix c, int i, int j, int ni, int nj, boolean lower, int r, int s, double value) {
+        if (r < ni && s < nj && (!lower || i + r >= j + s)) {
+            c.m_data[c.m_start + (i + r) * c.m_row_inc + (j + s) * c.m_col_inc] = value;
+        }
+    }
+}
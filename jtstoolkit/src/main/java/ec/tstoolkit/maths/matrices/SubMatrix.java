@@ -738,7 +738,10 @@ public class SubMatrix implements Cloneable {
      * @param n
      */
     public void product(final SubMatrix m, final SubMatrix n) {
-        if (m.getColumnsCount() < PROD_THRESHOLD * (m.getRowsCount())) {
+        boolean axpy = m.getColumnsCount() < PROD_THRESHOLD * (m.getRowsCount());
+        if (MatrixKernels.isBlocked(m.getRowsCount(), n.getColumnsCount(), m.getColumnsCount())) {
+            MatrixKernels.product(m, n, this, axpy ? MatrixKernels.FIRST : MatrixKernels.ZERO);
+        } else if (axpy) {
             DataBlockIterator cols = columns();
             DataBlockIterator rcols = n.columns();
             DataBlockIterator lcols = m.columns();
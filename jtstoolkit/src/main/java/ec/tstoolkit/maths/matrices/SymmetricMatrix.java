@@ -199,6 +199,10 @@ public final class SymmetricMatrix {
     public static void lcholesky(final Matrix m) {
         double[] data = m.data_;
         int n = m.nrows_;
+        if (MatrixKernels.isBlocked(n)) {
+            MatrixKernels.lcholesky(m);
+            return;
+        }
         // if (n != m.ncols_)
         // throw new MatrixException(MatrixException.SquareOnly);
 
@@ -878,6 +882,13 @@ public final class SymmetricMatrix {
      */
     public static Matrix XtX(final Matrix x) throws MatrixException {
         int n = x.getColumnsCount();
+        if (MatrixKernels.isBlocked(n, n, x.getRowsCount())) {
+            Matrix o = new Matrix(n, n);
+            SubMatrix sx = x.all();
+            MatrixKernels.lowerProduct(sx.transpose(), sx, o.all(), MatrixKernels.ZERO);
+            fromLower(o);
+            return o;
+        }
         DataBlockIterator rows = x.columns(), cols = x.columns();
         Matrix o = new Matrix(n, n);
         int idx = 0, c = 0;
@@ -902,6 +913,12 @@ public final class SymmetricMatrix {
      * @param m c x c sub-matrix.
      */
     public static void XtX(final SubMatrix x, final SubMatrix m) {
+        int n = x.getColumnsCount();
+        if (MatrixKernels.isBlocked(n, n, x.getRowsCount())) {
+            MatrixKernels.lowerProduct(x.transpose(), x, m, MatrixKernels.ZERO);
+            fromLower(m);
+            return;
+        }
         DataBlockIterator rows = x.columns(), cols = x.columns(), rcols = m
                 .columns();
         int c = 0;
@@ -926,6 +943,13 @@ public final class SymmetricMatrix {
      */
     public static Matrix XXt(final Matrix x) throws MatrixException {
         int n = x.getRowsCount();
+        if (MatrixKernels.isBlocked(n, n, x.getColumnsCount())) {
+            Matrix o = new Matrix(n, n);
+            SubMatrix sx = x.all();
+            MatrixKernels.lowerProduct(sx, sx.transpose(), o.all(), MatrixKernels.ZERO);
+            fromLower(o);
+            return o;
+        }
         DataBlockIterator rows = x.rows(), cols = x.rows();
         Matrix o = new Matrix(n, n);
         int idx = 0, c = 0;
@@ -949,6 +973,12 @@ public final class SymmetricMatrix {
      * @param m r x r sub-matrix.
      */
     public static void XXt(final SubMatrix x, final SubMatrix m) {
+        int n = x.getRowsCount();
+        if (MatrixKernels.isBlocked(n, n, x.getColumnsCount())) {
+            MatrixKernels.lowerProduct(x, x.transpose(), m, MatrixKernels.ZERO);
+            fromLower(m);
+            return;
+        }
         DataBlockIterator rows = x.rows(), cols = x.rows(), rcols = m
                 .columns();
         int c = 0;
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.maths.realfunctions;
+
+import ec.tstoolkit.data.DataBlock;
+import ec.tstoolkit.data.IReadDataBlock;
+import ec.tstoolkit.design.Development;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+
+/**
+ * Long-lived executor used by the numerical derivatives (NumericalDerivatives,
+ * SsqNumericalDerivatives) in multi-threaded mode. By default, the common
+ * fork-join pool is used; another executor can be plugged in.
+ * <br>
+ * The evaluations of the function are done in the calling thread when their
+ * number is below a given threshold, or when only one processor is
+ * available (and no executor has been plugged in). In the other cases, they are submitted to the executor; the
+ * calling thread takes part in the work: it handles the first evaluation and
+ * the ones that have not been started when it is waiting for them.
+ *
+ * @since 2.2.0
+ */
+@Development(status = Development.Status.Alpha)
+public final class DerivativesExecutor {
+
+    private DerivativesExecutor() {
+        // static class
+    }
+
+    private static volatile ExecutorService executor;
+    private static volatile int threshold = 4;
+    // buffers for the perturbed parameters, borrowed by the evaluations
+    private static final ThreadLocal<double[]> BUFFER = new ThreadLocal<>();
+
+    /**
+     * The executor used for the multi-threaded derivatives
+     *
+     * @return The current executor (the common fork-join pool by default)
+     */
+    public static ExecutorService getExecutor() {
+        ExecutorService e = executor;
+        return e == null ? ForkJoinPool.commonPool() : e;
+    }
+
+    /**
+     * Sets the executor used for the multi-threaded derivatives. The executor
+     * is not managed (shut down) by this class.
+     *
+     * @param value The new executor. Null to go back to the common fork-join
+     * pool
+     */
+    public static void setExecutor(ExecutorService value) {
+        executor = value;
+    }
+
+    /**
+     * Minimal number of evaluations of the function for using several threads
+     *
+     * @return
+     */
+    public static int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Sets the minimal number of evaluations of the function for using
+     * several threads. Integer.MAX_VALUE disables the multi-threading.
+     *
+     * @param value
+     */
+    public static void setThreshold(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("threshold");
+        }
+        threshold = value;
+    }
+
+    static boolean isParallel(int n) {
+        return n > 1 && n >= threshold
+                && (executor != null || Runtime.getRuntime().availableProcessors() > 1);
+    }
+
+    /**
+     * Executes the evaluations 0 to n-1, in parallel or not.
+     *
+     * @param n The number of evaluations
+     * @param parallel False to execute them in the calling thread
+     * @param evaluation The evaluations
+     */
+    static void run(int n, boolean parallel, IntConsumer evaluation) {
+        if (!parallel || !isParallel(n)) {
+            for (int i = 0; i < n; ++i) {
+                evaluation.accept(i);
+            }
+            return;
+        }
+        ExecutorService exec = getExecutor();
+        Future<?>[] futures = new Future<?>[n];
+        for (int i = 1; i < n; ++i) {
+            int cur = i;
+            futures[i] = exec.submit(() -> evaluation.accept(cur));
+        }
+        evaluation.accept(0);
+        for (int i = 1; i < n; ++i) {
+            if (futures[i].cancel(false)) {
+                evaluation.accept(i);
+            } else {
+                try {
+                    futures[i].get();
+                } catch (CancellationException | ExecutionException ex) {
+                    throw new FunctionException(ex.getCause() != null ? ex.getCause().getMessage() : ex.getMessage());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new FunctionException("Interrupted");
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets a copy of the given parameters, in a buffer of the current thread.
+     * The buffer must be given back (release) after use.
+     *
+     * @param p
+     * @return
+     */
+    static DataBlock borrow(IReadDataBlock p) {
+        int n = p.getLength();
+        double[] buffer = BUFFER.get();
+        if (buffer == null || buffer.length != n) {
+            buffer = new double[n];
+        } else {
+            BUFFER.set(null);
+        }
+        p.copyTo(buffer, 0);
+        return new DataBlock(buffer);
+    }
+
+    static void release(DataBlock p) {
+        BUFFER.set(p.getData());
+    }
+}
@@ -22,11 +22,6 @@ import ec.tstoolkit.data.DataBlock;
 import ec.tstoolkit.design.Development;
 import ec.tstoolkit.maths.matrices.Matrix;
 import ec.tstoolkit.maths.matrices.SymmetricMatrix;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  *
@@ -35,8 +30,6 @@ import java.util.concurrent.Executors;
 @Development(status = Development.Status.Alpha)
 public class NumericalDerivatives implements IFunctionDerivatives {
 
-    private static final int nThreads = Runtime.getRuntime().availableProcessors();
-
     private double[] m_eps, m_fp, m_fm, m_grad;
 
     private Matrix m_h;
@@ -47,6 +40,8 @@ public class NumericalDerivatives implements IFunctionDerivatives {
 
     private double m_fcur;
 
+    private final boolean m_mt;
+
     private static int g_nsteps = 2;
 
     /**
@@ -63,49 +58,27 @@ public class NumericalDerivatives implements IFunctionDerivatives {
     public NumericalDerivatives(IFunction fn, IFunctionInstance point,
             boolean sym, boolean mt) {
         m_fn = fn;
+        m_mt = mt;
         m_fcur = point.getValue();
         m_pt = point.getParameters();
         int n = m_pt.getLength();
         m_fp = new double[n];
         m_eps = new double[n];
-        if (!mt || n < 2) {
-            if (!sym) {
-                for (int i = 0; i < n; ++i) {
-                    m_eps[i] = m_fn.getDomain().epsilon(m_pt, i);
-                    checkepsilon(i);
-                    m_fp[i] = newval(i, m_eps[i]);
-                }
-            } else {
-                m_fm = new double[n];
-                for (int i = 0; i < n; ++i) {
-                    m_eps[i] = m_fn.getDomain().epsilon(m_pt, i);
-                    checkepsilon(i);
-                    m_fp[i] = newval(i, m_eps[i]);
-                    m_fm[i] = newval(i, -m_eps[i]);
-                }
-            }
-        } else {
-            if (!sym) {
-                for (int i = 0; i < n; ++i) {
-                    m_eps[i] = m_fn.getDomain().epsilon(m_pt, i);
-                    checkepsilon(i);
-                }
+        if (sym) {
+            m_fm = new double[n];
+        }
+        for (int i = 0; i < n; ++i) {
+            m_eps[i] = m_fn.getDomain().epsilon(m_pt, i);
+            checkepsilon(i);
+        }
+        // evaluations in p+eps (and in p-eps)
+        DerivativesExecutor.run(sym ? 2 * n : n, mt, k -> {
+            if (k < n) {
+                m_fp[k] = newval(k, m_eps[k]);
             } else {
-                m_fm = new double[n];
-                for (int i = 0; i < n; ++i) {
-                    m_eps[i] = m_fn.getDomain().epsilon(m_pt, i);
-                    checkepsilon(i);
-                }
+                m_fm[k - n] = newval(k - n, -m_eps[k - n]);
             }
-            List<Callable<Void>> tasks = createTasks(n, sym);
-            ExecutorService executorService = Executors.newFixedThreadPool(nThreads);
-            try {
-                executorService.invokeAll(tasks);
-            } catch (InterruptedException ex) {
-                Thread.currentThread().interrupt();
-            }
-            executorService.shutdown();
-        }
+        });
     }
 
     private void calcgrad() {
@@ -128,6 +101,35 @@ public class NumericalDerivatives implements IFunctionDerivatives {
         for (int i = 0; i < n; ++i) {
             e[i] = Math.sqrt(Math.abs(m_eps[i]));
          }
+        // all the evaluations: 2 for each diagonal element, then 4 for each
+        // element of the lower triangle
+        double[] f = new double[2 * n + 2 * n * (n - 1)];
+        DerivativesExecutor.run(f.length, m_mt, k -> {
+            if (k < 2 * n) {
+                int i = k / 2;
+                f[k] = newval(i, k % 2 == 0 ? e[i] : -e[i]);
+            } else {
+                int l = (k - 2 * n) / 4, i = 1;
+                while (l >= i) {
+                    l -= i++;
+                }
+                double di = e[i] / 2, dj = e[l] / 2;
+                switch ((k - 2 * n) % 4) {
+                    case 0:
+                        f[k] = newval(i, l, di, dj);
+                        break;
+                    case 1:
+                        f[k] = newval(i, l, -di, -dj);
+                        break;
+                    case 2:
+                        f[k] = newval(i, l, di, -dj);
+                        break;
+                    default:
+                        f[k] = newval(i, l, -di, dj);
+                        break;
+                }
+            }
+        });
         m_h = new Matrix(n, n);
         // compute the diagonal
         // df/di(x) = (f(x+ei)-f(x))/ei
@@ -135,7 +137,7 @@ public class NumericalDerivatives implements IFunctionDerivatives {
         DataBlock diag = m_h.diagonal();
         for (int i = 0; i < n; ++i) {
             double di = e[i];
-            double num = newval(i, di) - 2 * m_fcur + newval(i, -di);
+            double num = f[2 * i] - 2 * m_fcur + f[2 * i + 1];
             if (num != 0 && m_eps[i] != 0) {
                 diag.set(i, num / (di*di));
             }
@@ -143,11 +145,10 @@ public class NumericalDerivatives implements IFunctionDerivatives {
         // other elements. 
         // df/di(x) = (f(x+ei)-f(x-ei))/(2ei)
         // d2f/didj(x) = (f(x+ei+ej)-f(x+ei-ej)-f(x-ei+ej)+f(x-ei-ej))/(4*ei*ej)
-        for (int i = 0; i < n; ++i) {
-            for (int j = 0; j < i; ++j) {
+        for (int i = 0, k = 2 * n; i < n; ++i) {
+            for (int j = 0; j < i; ++j, k += 4) {
                 double di = e[i], dj = e[j];
-                double num = newval(i, j, di/2, dj/2) + newval(i, j, -di/2, -dj/2)
-                        - newval(i, j, di/2, -dj/2) - newval(i, j, -di/2, dj/2);
+                double num = f[k] + f[k + 1] - f[k + 2] - f[k + 3];
                 if (num != 0 && di != 0 && dj != 0) {
                     m_h.set(i, j, num / (di * dj));
                 }
@@ -267,66 +268,29 @@ public class NumericalDerivatives implements IFunctionDerivatives {
     }
 
     private double newval(int i, double dx) {
+        DataBlock cur = DerivativesExecutor.borrow(m_pt);
         try {
-            DataBlock cur = new DataBlock(m_pt);
             cur.add(i, dx);
             IFunctionInstance fn = m_fn.evaluate(cur);
             return fn.getValue();
         } catch (Exception err) {
             return m_fcur;
+        } finally {
+            DerivativesExecutor.release(cur);
         }
     }
 
     private double newval(int i, int j, double dxi, double dxj) {
+        DataBlock cur = DerivativesExecutor.borrow(m_pt);
         try {
-            DataBlock cur = new DataBlock(m_pt);
             cur.add(i, dxi);
             cur.add(j, dxj);
             IFunctionInstance fn = m_fn.evaluate(cur);
             return fn.getValue();
         } catch (Exception err) {
             return m_fcur;
+        } finally {
+            DerivativesExecutor.release(cur);
         }
     }
-
-    private List<Callable<Void>> createTasks(int n, boolean sym) {
-        List<Callable<Void>> result = new ArrayList<>();
-        for (int i = 0; i < n; ++i) {
-            result.add(new NewVal(m_fp, i, m_eps[i]));
-        }
-        if (sym) {
-            for (int i = 0; i < n; ++i) {
-                result.add(new NewVal(m_fm, i, -m_eps[i]));
-            }
-        }
-        return result;
-    }
-
-    private class NewVal implements Callable<Void> {
-
-        double[] rslt;
-        int pos;
-        double eps;
-
-        private NewVal(double[] rslt, int pos, double eps) {
-            this.rslt = rslt;
-            this.pos = pos;
-            this.eps = eps;
-
-        }
-
-        @Override
-        public Void call() throws Exception {
-            try {
-                DataBlock cur = new DataBlock(m_pt);
-                cur.add(pos, eps);
-                IFunctionInstance fn = m_fn.evaluate(cur);
-                rslt[pos] = fn.getValue();
-            } catch (Exception err) {
-                rslt[pos] = m_fcur;
-            }
-            return null;
-        }
-
-    }
 }
@@ -22,15 +22,6 @@ import ec.tstoolkit.design.Development;
 import ec.tstoolkit.maths.matrices.Matrix;
 import ec.tstoolkit.maths.matrices.SubMatrix;
 import ec.tstoolkit.maths.matrices.SymmetricMatrix;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.RecursiveAction;
-import java.util.concurrent.TimeUnit;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
 /**
  *
@@ -39,8 +30,6 @@ import java.util.logging.Logger;
 @Development(status = Development.Status.Alpha)
 public class SsqNumericalDerivatives implements ISsqFunctionDerivatives {
 
-    private static final int nThreads = Runtime.getRuntime().availableProcessors();
-
     private double[] m_epsp;
     private double[][] m_ep;
     private double[] m_epsm;
@@ -92,35 +81,21 @@ public class SsqNumericalDerivatives implements ISsqFunctionDerivatives {
             m_em = new double[n][];
         }
         m_de = new double[n][];
-        if (!m_mt || n < 2) {
-            for (int i = 0; i < n; ++i) {
-                m_epsp[i] = m_fn.getDomain().epsilon(m_pt, i);
-                checkepsilon(i);
-                if (m_sym) {
-                    checkmepsilon(i);
-                }
-                m_ep[i] = err(i, m_epsp[i]);
-                if (m_sym) {
-                    m_em[i] = err(i, m_epsm[i]);
-                }
-            }
-        } else {
-            for (int i = 0; i < n; ++i) {
-                m_epsp[i] = m_fn.getDomain().epsilon(m_pt, i);
-                checkepsilon(i);
-                if (m_sym) {
-                    checkmepsilon(i);
-                }
-            }
-            List<Callable<Void>> tasks = createTasks(n, m_sym);
-            ExecutorService executorService = Executors.newFixedThreadPool(nThreads);
-            try {
-                executorService.invokeAll(tasks);
-                executorService.shutdown();
-            } catch (InterruptedException ex) {
-                Thread.currentThread().interrupt();
+        for (int i = 0; i < n; ++i) {
+            m_epsp[i] = m_fn.getDomain().epsilon(m_pt, i);
+            checkepsilon(i);
+            if (m_sym) {
+                checkmepsilon(i);
             }
         }
+        // evaluations in p+eps (and in p-eps)
+        DerivativesExecutor.run(m_sym ? 2 * n : n, m_mt, k -> {
+            if (k < n) {
+                m_ep[k] = err(k, m_epsp[k]);
+            } else {
+                m_em[k - n] = err(k - n, m_epsm[k - n]);
+            }
+        });
         for (int i = 0; i < n; ++i) {
             double[] ep = m_ep[i];
             double gr = 0;
@@ -234,13 +209,15 @@ public class SsqNumericalDerivatives implements ISsqFunctionDerivatives {
     }
 
     private double[] err(int i, double dx) {
+        DataBlock pcur = DerivativesExecutor.borrow(m_pt);
         try {
-            DataBlock pcur=new DataBlock(m_pt);
             pcur.add(i, dx);
             ISsqFunctionInstance fn = m_fn.ssqEvaluate(pcur);
             return fn.getE();
         } catch (Exception err) {
             return m_ecur;
+        } finally {
+            DerivativesExecutor.release(pcur);
         }
     }
 
@@ -286,46 +263,4 @@ public class SsqNumericalDerivatives implements ISsqFunctionDerivatives {
         }
         return m_h;
     }
-
-    private List<Callable<Void>> createTasks(int n, boolean sym) {
-        List<Callable<Void>> result = new ArrayList<>();
-        for (int i = 0; i < n; ++i) {
-            result.add(new Err(m_ep, i, m_epsp[i]));
-        }
-        if (sym) {
-            for (int i = 0; i < n; ++i) {
-                result.add(new Err(m_em, i, m_epsm[i]));
-            }
-        }
-        return result;
-    }
-
-    private class Err implements Callable<Void> {
-
-        double[][] rslt;
-        int pos;
-        double eps;
-
-        private Err(double[][] rslt, int pos, double eps) {
-            this.rslt = rslt;
-            this.pos = pos;
-            this.eps = eps;
-
-        }
-
-        @Override
-        public Void call() throws Exception {
-            try {
-                DataBlock cur = new DataBlock(m_pt);
-                cur.add(pos, eps);
-                ISsqFunctionInstance fn = m_fn.ssqEvaluate(cur);
-                rslt[pos] = fn.getE();
-            } catch (Exception err) {
-                rslt[pos] = m_ecur;
-            }
-            return null;
-        }
-
-    }
-
 }
@@ -49,6 +49,7 @@ public abstract class AbstractSingleOutlierDetector<T extends IArimaModel> {
     private TableOfBoolean m_bT;
 
     private int m_posmax = -1, m_omax = -1;
+    private boolean m_parallel;
 
     /**
      *
@@ -79,6 +80,21 @@ public abstract class AbstractSingleOutlierDetector<T extends IArimaModel> {
         clear(true);
     }
 
+    /**
+     * Indicates that the positions of a long series may be scanned in
+     * parallel (if the implementation supports it). The t-stats, and thus the
+     * selected outlier, don't depend on this option.
+     *
+     * @return
+     */
+    public boolean isParallel() {
+        return m_parallel;
+    }
+
+    public void setParallel(boolean parallel) {
+        m_parallel = parallel;
+    }
+
     /**
      * @return the sdevComputer
      */
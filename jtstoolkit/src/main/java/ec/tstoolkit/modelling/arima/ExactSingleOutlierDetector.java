@@ -30,6 +30,7 @@ import ec.tstoolkit.maths.matrices.Matrix;
 import ec.tstoolkit.modelling.IRobustStandardDeviationComputer;
 import ec.tstoolkit.timeseries.regression.IOutlierVariable;
 import ec.tstoolkit.timeseries.simplets.TsPeriod;
+import java.util.stream.IntStream;
 
 /**
  *
@@ -43,6 +44,8 @@ public class ExactSingleOutlierDetector<T extends IArimaModel> extends AbstractS
     private Matrix m_L, m_X;
     private double[] m_yl, m_b, m_w;
     private int m_n;
+
+    private static final int PARALLEL_THRESHOLD = 240, CHUNK_SIZE = 32;
     
     public ExactSingleOutlierDetector() {
         this(IRobustStandardDeviationComputer.mad());
@@ -156,8 +159,23 @@ public class ExactSingleOutlierDetector<T extends IArimaModel> extends AbstractS
         DataBlock OD = new DataBlock(od);
         getModel().getDifferencingFilter().filter(O, OD);
         
-        DataBlock OL = new DataBlock(od, n, 2 * n - d, 1);
-        for (int i = 0; i < n; ++i) {
+        // only the Ansley filter is known to be read-only once initialized
+        if (isParallel() && n >= PARALLEL_THRESHOLD && m_filter instanceof AnsleyFilter) {
+            int nchunks = (n + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            IntStream.range(0, nchunks).parallel().forEach(i -> {
+                int first = i * CHUNK_SIZE;
+                processOutlier(idx, od, first, Math.min(n, first + CHUNK_SIZE));
+            });
+        } else {
+            processOutlier(idx, od, 0, n);
+        }
+    }
+
+    private void processOutlier(int idx, double[] od, int istart, int iend) {
+        int n = getModel().getY().getLength();
+        int d = getModel().getDifferencingFilter().getDegree();
+        DataBlock OL = new DataBlock(od, n - istart, 2 * n - d - istart, 1);
+        for (int i = istart; i < iend; ++i) {
             if (isDefined(i, idx)) {
 //                double[] ol = new double[n - d];
 //                DataBlock OL = new DataBlock(ol);
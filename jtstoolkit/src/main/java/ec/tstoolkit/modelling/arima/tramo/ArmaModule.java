@@ -207,9 +207,19 @@ public class ArmaModule implements IPreprocessingModule {
          * @param hr
          */
         public HRBic(final HannanRissanen hr) {
+            this(hr, ArmaKF.Workspace.local());
+        }
+
+        /**
+         *
+         * @param hr
+         * @param ws Workspace used by the fast filter (reused between the
+         * candidate models)
+         */
+        public HRBic(final HannanRissanen hr, final ArmaKF.Workspace ws) {
             m_hr = hr;
             ArmaKF fkf = new ArmaKF(hr.getModel());
-            m_bic = fkf.fastProcessing(hr.getData(), hr.getSpec().getParametersCount());
+            m_bic = fkf.fastProcessing(hr.getData(), hr.getSpec().getParametersCount(), ws);
         }
 
         @Override
@@ -448,13 +458,14 @@ public class ArmaModule implements IPreprocessingModule {
     public int sort(final IReadDataBlock data, final SarmaSpecification[] specs) {
         m_hrs = null;
         HRBic[] hrs = new HRBic[specs.length];
+        ArmaKF.Workspace ws = ArmaKF.Workspace.local();
         int n = 0;
         for (int i = 0; i < specs.length; ++i) {
             HannanRissanen hr = new HannanRissanen();
             if (hr.process(data, specs[i])) {
                 SarimaModel m = hr.getModel();
                 if (!m.adjustSpecification() && m.isStable(true)) {
-                    HRBic hrbic = new HRBic(hr);
+                    HRBic hrbic = new HRBic(hr, ws);
                     hrs[n++] = hrbic;
                 }
             }
@@ -584,7 +584,7 @@ public class DifferencingModule extends AbstractTramoModule implements IDifferen
             BackFilter D = getDifferencingFilter();
             res = new DataBlock(data_.getLength() - D.getDegree());
             D.filter(data_, res);
-            res = kf.fastFilter(res);
+            res = kf.fastFilter(res, ArmaKF.Workspace.local());
         }
         double s = res.sum(), s2 = res.ssq();
         int n = res.getLength();
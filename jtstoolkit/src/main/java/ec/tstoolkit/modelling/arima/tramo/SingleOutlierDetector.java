@@ -34,6 +34,7 @@ import ec.tstoolkit.timeseries.simplets.TsPeriod;
 import ec.tstoolkit.utilities.IntList;
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.stream.IntStream;
 
 /**
  *
@@ -54,6 +55,9 @@ public class SingleOutlierDetector {
     private double[] m_el;
     private boolean m_bmad = true;
     private double m_ss;
+    private boolean m_parallel;
+
+    private static final int PARALLEL_THRESHOLD = 240, CHUNK_SIZE = 64;
 
     /**
      *
@@ -353,23 +357,55 @@ public class SingleOutlierDetector {
         }
 
         boolean[] ok = prepare(idx);
+        // the running sums of squares are computed first, in the same order
+        // as in the sequential scan
+        double[] sxxs = new double[n];
         for (int ix = 0; ix < n; ++ix) {
-            double rmse = rmse(n - ix - 1 - d);
             sxx += o[ix] * o[ix];
             if (corr != 0) {
                 sxx -= corr * corr;
             }
-            int kmax = ix + 1;
-            if (kmax > nl) {
-                kmax = nl;
+            if (ix + 1 > nl) {
                 sxx -= o[ix - nl] * o[ix - nl];
                 if (corr != 0) {
                     sxx += corr * corr;
                 }
             }
-            if (!ok[n - 1 - ix]) {
+            sxxs[ix] = sxx;
+        }
+        double[] vals = new double[n], cs = new double[n];
+        if (m_parallel && n >= PARALLEL_THRESHOLD) {
+            int nchunks = (n + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            final double fcorr = corr;
+            IntStream.range(0, nchunks).parallel().forEach(
+                    i -> scan(i * CHUNK_SIZE, Math.min(n, (i + 1) * CHUNK_SIZE), o, fcorr, sxxs, ok, vals, cs));
+        } else {
+            scan(0, n, o, corr, sxxs, ok, vals, cs);
+        }
+        // the maximum is searched in the order of the sequential scan
+        for (int ix = 0; ix < n; ++ix) {
+            double aval = Math.abs(vals[ix]);
+            if (aval > m_tmax) {
+                m_tmax = aval;
+                m_c = cs[ix];
+                m_posmax = n - 1 - ix;
+                m_omax = idx;
+            }
+        }
+    }
+
+    private void scan(int ixstart, int ixend, double[] o, double corr, double[] sxxs, boolean[] ok, double[] vals, double[] cs) {
+        int nl = m_el.length;
+        int d = m_ur.getDegree();
+        int n = nl + d;
+        for (int ix = ixstart; ix < ixend; ++ix) {
+            int pos = n - 1 - ix;
+            if (!ok[pos] || pos < m_lbound || pos >= m_ubound) {
                 continue;
             }
+            double rmse = rmse(n - ix - 1 - d);
+            double sxx = sxxs[ix];
+            int kmax = Math.min(ix + 1, nl);
             double sxy = 0;
             for (int k = 0, ek = nl - 1; k < kmax; ++k, --ek) {
                 sxy += m_el[ek] * o[ix - k];
@@ -381,21 +417,26 @@ public class SingleOutlierDetector {
                 }
                 sxy += cxy * corr;
             }
-            int pos = n - 1 - ix;
-            if (pos >= m_lbound && pos < m_ubound) {
-                double c = sxy / sxx;
-                double val = c * Math.sqrt(sxx) / rmse;
-                double aval = Math.abs(val);
-                if (aval > m_tmax) {
-                    m_tmax = aval;
-                    m_c = c;
-                    m_posmax = n - 1 - ix;
-                    m_omax = idx;
-                }
-            }
+            double c = sxy / sxx;
+            cs[ix] = c;
+            vals[ix] = c * Math.sqrt(sxx) / rmse;
         }
     }
 
+    /**
+     * Indicates that the positions of a long series are scanned in parallel.
+     * The selected outlier doesn't depend on this option.
+     *
+     * @return
+     */
+    public boolean isParallel() {
+        return m_parallel;
+    }
+
+    public void setParallel(boolean parallel) {
+        m_parallel = parallel;
+    }
+
     /**
      *
      * @param i
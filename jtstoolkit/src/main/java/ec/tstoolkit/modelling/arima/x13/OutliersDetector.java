@@ -132,6 +132,20 @@ public class OutliersDetector implements IOutliersDetectionModule {
         span_ = span;
     }
 
+    /**
+     * Scans the candidate outliers of long series in parallel. The detected
+     * outliers don't depend on this option.
+     *
+     * @param parallel
+     */
+    public void setParallel(boolean parallel) {
+        sod_.setParallel(parallel);
+    }
+
+    public boolean isParallel() {
+        return sod_.isParallel();
+    }
+
     public TsPeriodSelector getSpan() {
         return span_;
     }
@@ -197,4 +197,14 @@ public class DayClustering {
         return groups;
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        return this == obj || (obj instanceof DayClustering && Arrays.equals(groups, ((DayClustering) obj).groups));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(groups);
+    }
+
 }
@@ -24,24 +24,42 @@ import ec.tstoolkit.timeseries.simplets.TsDomain;
 import ec.tstoolkit.timeseries.simplets.TsPeriod;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 /**
+ * Revisions of the outputs of a processing, when the time span of the data is
+ * extended. The complete results of the processing are kept in a bounded
+ * (least recently used) cache; the outputs that have been queried are kept
+ * separately, so that they don't have to be recomputed when the complete
+ * results have been dropped.
  *
  * @author Jean Palate
  * @param <T>
  */
 @Development(status = Development.Status.Preliminary)
 public class RevisionHistory<T extends IProcResults> {
-    
+
+    public static final int DEFAULT_CACHE_SIZE = 64;
+
+    private static final Object NONE = new Object(), FAILED = new Object();
 
     private final ITsProcessing<T> m_processing;
 
-    private final HashMap<TsDomain, T> m_cache = new HashMap<>();
+    private final LruCache m_cache = new LruCache();
+
+    private final Map<TsDomain, Map<String, Object>> m_outputs = new ConcurrentHashMap<>();
 
     private final TsDomain m_domainT;
 
+    private final T m_reference;
+
+    private int m_cacheSize = DEFAULT_CACHE_SIZE;
+
     /**
      *
      * @param processing
@@ -51,7 +69,58 @@ public class RevisionHistory<T extends IProcResults> {
             TsDomain domain) {
         m_processing = processing;
         m_domainT = domain;
-        m_cache.put(m_domainT, processing.process(m_domainT));
+        m_reference = processing.process(m_domainT);
+    }
+
+    /**
+     * Maximum number of complete results kept in memory (the results on the
+     * reference domain are always kept)
+     *
+     * @return
+     */
+    public int getCacheSize() {
+        return m_cacheSize;
+    }
+
+    public void setCacheSize(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("cache size");
+        }
+        synchronized (m_cache) {
+            m_cacheSize = value;
+            while (m_cache.size() > value) {
+                m_cache.remove(m_cache.keySet().iterator().next());
+            }
+        }
+    }
+
+    /**
+     * Computes concurrently the results on all the domains starting at the
+     * beginning of the reference domain and ending between the given period
+     * and the end of the reference domain. Only the given outputs are
+     * retained. The processing must be thread-safe.
+     *
+     * @param start The first end period
+     * @param items The outputs that should be retained (name -&gt; class)
+     * @param executor The executor used for the computations
+     */
+    public void precompute(TsPeriod start, Map<String, Class<?>> items, Executor executor) {
+        TsPeriod p0 = m_domainT.getStart();
+        int len = Math.max(1, start.minus(p0) + 1);
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (; len < m_domainT.getLength(); ++len) {
+            TsDomain dom = new TsDomain(p0, len);
+            if (isRetained(dom, items)) {
+                continue;
+            }
+            tasks.add(CompletableFuture.runAsync(() -> {
+                T info = process(dom);
+                for (Map.Entry<String, Class<?>> item : items.entrySet()) {
+                    store(dom, key(item.getKey(), item.getValue()), info == null ? FAILED : info.getData(item.getKey(), item.getValue()));
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[tasks.size()])).join();
     }
 
     /**
@@ -102,23 +171,22 @@ public class RevisionHistory<T extends IProcResults> {
             int lag, int count, DiagnosticInfo mode, DiagnosticTarget target) {
         TsPeriod start = m_domainT.getStart();
         TsDomain domain = new TsDomain(start, period.minus(start) + 1);
-        IProcResults[] ilag = new IProcResults[count];
+        TsData[] ilag = new TsData[count];
         TsDomain ldomain = domain;
         for (int i = 0; i < count; ++i) {
             ldomain = ldomain.extend(0, lag);
-            ilag[i] = tsInfo(ldomain);
+            ilag[i] = data(ldomain, series, TsData.class);
         }
         double[] rslt = new double[count];
         if (target == DiagnosticTarget.Final) {
-            T iT = tsInfo(m_domainT);
-            TsData Tdata = iT != null ? iT.getData(series, TsData.class) : null;
+            TsData Tdata = data(m_domainT, series, TsData.class);
             if (Tdata == null) {
                 return null;
             }
             for (int i = 0; i < count; ++i) {
                 rslt[i] = Double.NaN;
                 if (ilag[i] != null) {
-                    TsData tdata = ilag[i].getData(series, TsData.class);
+                    TsData tdata = ilag[i];
                     if (tdata != null) {
                         int idx = tdata.getLength() - 1;
                         rslt[i]=mode.asFunction().apply(Tdata, tdata, idx);
@@ -137,15 +205,14 @@ public class RevisionHistory<T extends IProcResults> {
                 }
             }
         } else {
-            T it = tsInfo(domain);
-            TsData cdata = it != null ? it.getData(series, TsData.class) : null;
+            TsData cdata = data(domain, series, TsData.class);
             if (cdata == null) {
                 return null;
             }
             for (int i = 0; i < count; ++i) {
                 rslt[i] = Double.NaN;
                 if (ilag[i] != null) {
-                    TsData tdata = ilag[i].getData(series, TsData.class);
+                    TsData tdata = ilag[i];
                     if (tdata != null) {
                         int idx = tdata.getLength() - 1;
                         rslt[i]=mode.asFunction().apply(cdata, tdata, idx);
@@ -173,8 +240,7 @@ public class RevisionHistory<T extends IProcResults> {
      * @return
      */
     public TsData referenceSeries(String series) {
-        T it = tsInfo(m_domainT);
-        return it == null ? null : it.getData(series, TsData.class);
+        return data(m_domainT, series, TsData.class);
     }
 
     /**
@@ -189,15 +255,11 @@ public class RevisionHistory<T extends IProcResults> {
         int len = start.minus(p0) + 1;
         for (int i = 0; i < rslt.getLength(); ++i, ++len) {
             TsDomain rdom = new TsDomain(p0, len);
-            T output = tsInfo(rdom);
-            if (output != null) {
-                Double d = output.getData(item, double.class);
-                if (d != null) {
-                    rslt.set(i, d);
-                } else {
-                    rslt.set(i, Double.NaN);
-                }
-
+            Object d = output(rdom, item, double.class);
+            if (d instanceof Double) {
+                rslt.set(i, (Double) d);
+            } else if (d == NONE) {
+                rslt.set(i, Double.NaN);
             }
         }
         return rslt;
@@ -238,12 +300,9 @@ public class RevisionHistory<T extends IProcResults> {
             for (int i = 0; i <= n; ++i) {
                 try {
                     TsDomain dom = new TsDomain(start, len++);
-                    T output = tsInfo(dom);
-                    if (output != null) {
-                        TsData q = output.getData(item, TsData.class);
-                        if (q != null) {
-                            s.add(q);
-                        }
+                    TsData q = data(dom, item, TsData.class);
+                    if (q != null) {
+                        s.add(q);
                     }
                 } catch (Exception err) {
                 }
@@ -261,11 +320,7 @@ public class RevisionHistory<T extends IProcResults> {
     public TsData series(String series, TsPeriod period) {
         TsPeriod start = m_domainT.getStart();
         TsDomain domain = new TsDomain(start, period.minus(start) + 1);
-        T it = tsInfo(domain);
-        if (it == null) {
-            return null;
-        }
-        return it.getData(series, TsData.class);
+        return data(domain, series, TsData.class);
     }
 
     // / <summary>
@@ -291,12 +346,7 @@ public class RevisionHistory<T extends IProcResults> {
             DiagnosticTsFunction fn) {
         TsPeriod start = m_domainT.getStart();
         TsDomain domain = new TsDomain(start, period.minus(start) + 1);
-        T it = tsInfo(domain);
-        if (it == null) {
-            return Double.NaN;
-        }
-        T iT = tsInfo(m_domainT);
-        TsData tdata = it.getData(series, TsData.class), Tdata = iT.getData(series, TsData.class);
+        TsData tdata = data(domain, series, TsData.class), Tdata = data(m_domainT, series, TsData.class);
         if (tdata == null || Tdata == null) {
             return Double.NaN;
         }
@@ -310,14 +360,91 @@ public class RevisionHistory<T extends IProcResults> {
      * @return
      */
     public T tsInfo(TsDomain domain) {
-        T info = m_cache.get(domain);
-        if (info == null) {
-            info = m_processing.process(domain);
-            m_cache.put(domain, info);
+        if (domain.equals(m_domainT)) {
+            return m_reference;
+        }
+        synchronized (m_cache) {
+            T info = m_cache.get(domain);
+            if (info != null || m_cache.containsKey(domain)) {
+                return info;
+            }
+        }
+        T info = m_processing.process(domain);
+        synchronized (m_cache) {
+            if (m_cacheSize > 0) {
+                m_cache.put(domain, info);
+            }
         }
         return info;
     }
 
+    private T process(TsDomain domain) {
+        try {
+            return m_processing.process(domain);
+        } catch (RuntimeException err) {
+            return null;
+        }
+    }
+
+    private static String key(String item, Class<?> dclass) {
+        return dclass.getName() + ':' + item;
+    }
+
+    private boolean isRetained(TsDomain domain, Map<String, Class<?>> items) {
+        Map<String, Object> outputs = m_outputs.get(domain);
+        if (outputs == null) {
+            return false;
+        }
+        for (Map.Entry<String, Class<?>> item : items.entrySet()) {
+            if (!outputs.containsKey(key(item.getKey(), item.getValue()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void store(TsDomain domain, String key, Object value) {
+        m_outputs.computeIfAbsent(domain, d -> new ConcurrentHashMap<>()).put(key, value == null ? NONE : value);
+    }
+
+    /**
+     * Gets an output on a given domain. The output is retained, even when
+     * the complete results are dropped from the cache.
+     *
+     * @param <D>
+     * @param domain
+     * @param item
+     * @param dclass
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public <D> D data(TsDomain domain, String item, Class<D> dclass) {
+        Object value = output(domain, item, dclass);
+        return value == NONE || value == FAILED ? null : (D) value;
+    }
+
+    private Object output(TsDomain domain, String item, Class<?> dclass) {
+        if (domain.equals(m_domainT)) {
+            if (m_reference == null) {
+                return FAILED;
+            }
+            Object value = m_reference.getData(item, dclass);
+            return value == null ? NONE : value;
+        }
+        String key = key(item, dclass);
+        Map<String, Object> outputs = m_outputs.get(domain);
+        Object value = outputs == null ? null : outputs.get(key);
+        if (value == null) {
+            T info = tsInfo(domain);
+            value = info == null ? FAILED : info.getData(item, dclass);
+            store(domain, key, value);
+            if (value == null) {
+                value = NONE;
+            }
+        }
+        return value;
+    }
+
     // / <summary>
     // / Returns the value of the time series identified by "item" at a given
     // point ("period"),
@@ -344,14 +471,11 @@ public class RevisionHistory<T extends IProcResults> {
         int len = start.minus(p0) + 1;
         for (int i = 0; i < rslt.getLength(); ++i, ++len) {
             TsDomain rdom = new TsDomain(p0, len);
-            T output = tsInfo(rdom);
-            if (output != null) {
-                TsData t = output.getData(item, TsData.class);
-                if (t != null) {
-                    rslt.set(i, t.get(pos));
-                } else {
-                    rslt.set(i, Double.NaN);
-                }
+            Object t = output(rdom, item, TsData.class);
+            if (t instanceof TsData) {
+                rslt.set(i, ((TsData) t).get(pos));
+            } else if (t == NONE) {
+                rslt.set(i, Double.NaN);
             }
         }
         return rslt;
@@ -364,16 +488,27 @@ public class RevisionHistory<T extends IProcResults> {
         int len = start.minus(p0) + 1;
         for (int i = 0; i < rslt.getLength(); ++i, ++len) {
             TsDomain rdom = new TsDomain(p0, len);
-            T output = tsInfo(rdom);
-            if (output != null) {
-                TsData t = output.getData(item, TsData.class);
-                if (t != null) {
-                    rslt.set(i, fn.apply(t, pos));
-                } else {
-                    rslt.set(i, Double.NaN);
-                }
+            Object t = output(rdom, item, TsData.class);
+            if (t instanceof TsData) {
+                rslt.set(i, fn.apply((TsData) t, pos));
+            } else if (t == NONE) {
+                rslt.set(i, Double.NaN);
             }
         }
         return rslt;
     }
+
+    private final class LruCache extends LinkedHashMap<TsDomain, T> {
+
+        private static final long serialVersionUID = 1L;
+
+        LruCache() {
+            super(16, .75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<TsDomain, T> eldest) {
+            return size() > m_cacheSize;
+        }
+    }
 }
@@ -25,7 +25,10 @@ import ec.tstoolkit.timeseries.simplets.TsPeriod;
 import ec.tstoolkit.utilities.Jdk6;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  *
@@ -238,18 +241,8 @@ public class SlidingSpans<I extends IProcResults> {
 	if (m_estimation != null)
 	    return true;
 	ArrayList<Node<I>> rslts = new ArrayList<>();
-	int freq = m_domainT.getFrequency().intValue();
-	int length = m_spanLength * freq;
-	TsPeriod start = m_domainT.getLast().minus(length - 1);
-	if (start.getPosition() != 0) {
-	    length += start.getPosition();
-	    start.move(-start.getPosition());
-	}
-	int idx = 0;
-	while (idx < m_spanCount && start.isNotBefore(m_domainT.getStart()))
+	for (TsDomain cur : spans())
 	    try {
-		++idx;
-		TsDomain cur = new TsDomain(start, length);
 		I info = m_processing.process(cur);
 		if (info == null)
 		    break;
@@ -259,11 +252,68 @@ public class SlidingSpans<I extends IProcResults> {
                     node.domain=cur;
 		    rslts.add(node);
                 }
-		start.move(-m_spanDistance * freq);
 	    } catch (Exception err) {
 		break;
 	    }
+	return setEstimation(rslts);
+    }
+
+    /**
+     * Processes concurrently the different spans. The processing must be
+     * thread-safe. The results are identical to the ones of the sequential
+     * processing (the spans that follow a failed span are discarded).
+     *
+     * @param executor The executor used for the computations
+     * @return
+     */
+    public boolean process(Executor executor) {
+	if (m_estimation != null)
+	    return true;
+	List<TsDomain> spans = spans();
+	List<CompletableFuture<I>> tasks = new ArrayList<>(spans.size());
+	for (TsDomain cur : spans) {
+	    tasks.add(CompletableFuture.supplyAsync(() -> {
+		try {
+		    return m_processing.process(cur);
+		} catch (Exception err) {
+		    return null;
+		}
+	    }, executor));
+	}
+	ArrayList<Node<I>> rslts = new ArrayList<>();
+	for (int i = 0; i < tasks.size(); ++i) {
+	    I info = tasks.get(i).join();
+	    if (info == null)
+		break;
+	    Node<I> node = new Node<>();
+	    node.estimation = info;
+	    node.domain = spans.get(i);
+	    rslts.add(node);
+	}
+	return setEstimation(rslts);
+    }
 
+    /**
+     * The domains of the successive spans, from the most recent one
+     */
+    private List<TsDomain> spans() {
+	List<TsDomain> spans = new ArrayList<>();
+	int freq = m_domainT.getFrequency().intValue();
+	int length = m_spanLength * freq;
+	TsPeriod start = m_domainT.getLast().minus(length - 1);
+	if (start.getPosition() != 0) {
+	    length += start.getPosition();
+	    start.move(-start.getPosition());
+	}
+	while (spans.size() < m_spanCount && start.isNotBefore(m_domainT.getStart())) {
+	    spans.add(new TsDomain(start, length));
+	    start.move(-m_spanDistance * freq);
+	}
+	return spans;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean setEstimation(List<Node<I>> rslts) {
 	if (rslts.size() < m_spanMin)
 	    return false;
 	m_estimation = Jdk6.Collections.toArray(rslts, Node.class);
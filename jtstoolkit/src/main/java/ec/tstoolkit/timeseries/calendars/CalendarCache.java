@@ -0,0 +1,328 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.timeseries.calendars;
+
+import ec.tstoolkit.data.DataBlock;
+import ec.tstoolkit.design.Development;
+import ec.tstoolkit.timeseries.simplets.TsDomain;
+import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * Bounded, thread-safe cache of calendar regressors.
+ * <br>
+ * The regressors are generated once on a span of complete years that contains
+ * the requested domain and any subsequent request inside that span is served
+ * by a copy of the corresponding window. The cached arrays are never exposed.
+ * When a request falls outside the cached span, the span is extended (to the
+ * union of both domains) and regenerated. Calendar regressors only depend on
+ * the period they refer to, so that the windows are identical to a direct
+ * computation on the requested domain.
+ * <br>
+ * The entries generated by calendar providers are keyed by the identity of the
+ * provider. They are dropped each time the definitions of a
+ * GregorianCalendarManager change (chained or composite providers refer to
+ * other calendars by name). Providers modified outside a manager should call
+ * clearCalendars.
+ *
+ * @since 2.2.0
+ */
+@Development(status = Development.Status.Alpha)
+public final class CalendarCache {
+
+    public static final CalendarCache instance = new CalendarCache(64);
+
+    /**
+     * Spans longer than MAX_YEARS are not cached
+     */
+    public static final int MAX_YEARS = 200;
+
+    private static final Object HOLIDAYS = new Object();
+
+    private final LruMap entries = new LruMap();
+    private int capacity;
+    private long generation;
+
+    public CalendarCache(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Cached equivalent of provider.calendarData(dtype, domain, buffer)
+     *
+     * @param provider The calendar provider
+     * @param dtype The type of trading days
+     * @param domain The domain of the regressors
+     * @param buffer The buffer that will contain the regressors
+     */
+    public void calendarData(final IGregorianCalendarProvider provider, final TradingDaysType dtype,
+            final TsDomain domain, final List<DataBlock> buffer) {
+        final int n = provider.count(dtype);
+        if (n == 0) {
+            return;
+        }
+        CacheEntry e = entry(new Key(provider, dtype, domain.getFrequency()), domain, span -> {
+            double[][] data = new double[n][span.getLength()];
+            provider.calendarData(dtype, span, blocks(data));
+            return data;
+        });
+        if (e == null) {
+            provider.calendarData(dtype, domain, buffer);
+        } else {
+            e.copyTo(domain, buffer);
+        }
+    }
+
+    /**
+     * Cached equivalent of provider.holidays(dtype, domain)
+     *
+     * @param provider The calendar provider
+     * @param dtype The type of trading days
+     * @param domain The domain of the regressors
+     * @return A new list of new data blocks (or null)
+     */
+    public List<DataBlock> holidays(final IGregorianCalendarProvider provider, final TradingDaysType dtype,
+            final TsDomain domain) {
+        CacheEntry e = entry(new Key(provider, Arrays.asList(HOLIDAYS, dtype), domain.getFrequency()), domain, span -> {
+            List<DataBlock> h = provider.holidays(dtype, span);
+            if (h == null) {
+                return null;
+            }
+            double[][] data = new double[h.size()][];
+            for (int i = 0; i < data.length; ++i) {
+                data[i] = h.get(i).getData();
+            }
+            return data;
+        });
+        if (e == null) {
+            return provider.holidays(dtype, domain);
+        }
+        if (e.data == null) {
+            return null;
+        }
+        List<DataBlock> rslt = new ArrayList<>(e.data.length);
+        for (int i = 0; i < e.data.length; ++i) {
+            rslt.add(new DataBlock(domain.getLength()));
+        }
+        e.copyTo(domain, rslt);
+        return rslt;
+    }
+
+    /**
+     * Cached computation of regressors that don't depend on a calendar
+     * provider (easter, length of period...)
+     *
+     * @param owner The class that generates the regressors
+     * @param kind Identifies the regressors. Must implement equals/hashCode
+     * @param dim The number of regressors
+     * @param domain The domain of the regressors
+     * @param buffer The buffer that will contain the regressors
+     * @param generator Fills the given regressors on a given domain
+     */
+    public void data(final Class<?> owner, final Object kind, final int dim, final TsDomain domain,
+            final List<DataBlock> buffer, final BiConsumer<TsDomain, List<DataBlock>> generator) {
+        if (dim == 0) {
+            return;
+        }
+        CacheEntry e = entry(new Key(owner, kind, domain.getFrequency()), domain, span -> {
+            double[][] data = new double[dim][span.getLength()];
+            generator.accept(span, blocks(data));
+            return data;
+        });
+        if (e == null) {
+            generator.accept(domain, buffer);
+        } else {
+            e.copyTo(domain, buffer);
+        }
+    }
+
+    /**
+     * Removes all the entries generated by calendar providers
+     */
+    public void clearCalendars() {
+        synchronized (entries) {
+            ++generation;
+            Iterator<Key> iter = entries.keySet().iterator();
+            while (iter.hasNext()) {
+                if (iter.next().source instanceof IGregorianCalendarProvider) {
+                    iter.remove();
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            ++generation;
+            entries.clear();
+        }
+    }
+
+    public int getCapacity() {
+        synchronized (entries) {
+            return capacity;
+        }
+    }
+
+    /**
+     * Changes the maximum number of entries. 0 disables the cache
+     *
+     * @param capacity The new capacity
+     */
+    public void setCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Negative capacity");
+        }
+        synchronized (entries) {
+            this.capacity = capacity;
+            Iterator<Key> iter = entries.keySet().iterator();
+            while (entries.size() > capacity) {
+                iter.next();
+                iter.remove();
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private CacheEntry entry(Key key, TsDomain domain, Generator generator) {
+        if (domain.getFrequency() == TsFrequency.Undefined || domain.isEmpty()) {
+            return null;
+        }
+        CacheEntry e;
+        long gen;
+        synchronized (entries) {
+            if (capacity == 0) {
+                return null;
+            }
+            e = entries.get(key);
+            gen = generation;
+        }
+        if (e != null && e.span.contains(domain)) {
+            return e;
+        }
+        TsDomain span = years(e == null ? domain : domain.union(e.span));
+        if (span.getLength() > MAX_YEARS * span.getFrequency().intValue()) {
+            return null;
+        }
+        // the generation is done outside the lock. Concurrent requests may
+        // generate the same span twice, which is harmless
+        CacheEntry ne = new CacheEntry(span, generator.generate(span));
+        synchronized (entries) {
+            // results computed before an invalidation are not stored
+            if (gen == generation) {
+                entries.put(key, ne);
+            }
+        }
+        return ne;
+    }
+
+    private static TsDomain years(TsDomain domain) {
+        int freq = domain.getFrequency().intValue();
+        int y0 = domain.getStart().getYear(), y1 = domain.getLast().getYear();
+        return new TsDomain(domain.getFrequency(), y0, 0, (y1 - y0 + 1) * freq);
+    }
+
+    private static List<DataBlock> blocks(double[][] data) {
+        List<DataBlock> blocks = new ArrayList<>(data.length);
+        for (int i = 0; i < data.length; ++i) {
+            blocks.add(new DataBlock(data[i]));
+        }
+        return blocks;
+    }
+
+    @FunctionalInterface
+    private static interface Generator {
+
+        double[][] generate(TsDomain span);
+    }
+
+    private static final class CacheEntry {
+
+        final TsDomain span;
+        final double[][] data;
+
+        CacheEntry(TsDomain span, double[][] data) {
+            this.span = span;
+            this.data = data;
+        }
+
+        void copyTo(TsDomain domain, List<DataBlock> buffer) {
+            if (data == null) {
+                return;
+            }
+            int start = domain.getStart().minus(span.getStart());
+            for (int i = 0; i < data.length; ++i) {
+                buffer.get(i).copyFrom(data[i], start);
+            }
+        }
+    }
+
+    private final class LruMap extends LinkedHashMap<Key, CacheEntry> {
+
+        private static final long serialVersionUID = 1L;
+
+        LruMap() {
+            super(16, .75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, CacheEntry> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    private static final class Key {
+
+        final Object source, kind;
+        final TsFrequency freq;
+
+        Key(Object source, Object kind, TsFrequency freq) {
+            this.source = source;
+            this.kind = kind;
+            this.freq = freq;
+        }
+
+        @Override
+        public int hashCode() {
+            return (31 * source.hashCode() + Objects.hashCode(kind)) * 31 + freq.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return freq == other.freq && source.equals(other.source) && Objects.equals(kind, other.kind);
+        }
+    }
+}
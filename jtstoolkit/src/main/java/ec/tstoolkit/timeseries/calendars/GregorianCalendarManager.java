@@ -48,6 +48,45 @@ public class GregorianCalendarManager extends NameManager<IGregorianCalendarProv
             return null;
     }
 
+    @Override
+    public void set(String name, IGregorianCalendarProvider var) {
+        super.set(name, var);
+        CalendarCache.instance.clearCalendars();
+    }
+
+    @Override
+    public boolean remove(String name) {
+        boolean rslt = super.remove(name);
+        if (rslt) {
+            CalendarCache.instance.clearCalendars();
+        }
+        return rslt;
+    }
+
+    @Override
+    public boolean remove(IGregorianCalendarProvider obj) {
+        boolean rslt = super.remove(obj);
+        if (rslt) {
+            CalendarCache.instance.clearCalendars();
+        }
+        return rslt;
+    }
+
+    @Override
+    public boolean rename(String item, String newname) {
+        boolean rslt = super.rename(item, newname);
+        if (rslt) {
+            CalendarCache.instance.clearCalendars();
+        }
+        return rslt;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        CalendarCache.instance.clearCalendars();
+    }
+
     public boolean isEmpty() {
         return getCount() <= 1;
     }
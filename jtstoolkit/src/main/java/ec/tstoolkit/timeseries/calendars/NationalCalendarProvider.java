@@ -245,7 +245,7 @@ public class NationalCalendarProvider extends DefaultGregorianCalendarProvider {
             if (end.isAfter(dend)) {
                 end = dend;
             }
-            if (start.isBefore(end)) {
+            if (!start.isAfter(end)) {
                 for (IDayInfo info : ev.day.getIterable(domain.getFrequency(), start, end)) {
                     Day curday = info.getDay();
                     Double Weight = used.get(curday);
@@ -19,10 +19,13 @@ package ec.tstoolkit.timeseries.regression;
 
 import ec.tstoolkit.data.DataBlock;
 import ec.tstoolkit.design.Development;
+import ec.tstoolkit.timeseries.calendars.CalendarCache;
 import ec.tstoolkit.timeseries.calendars.Utilities;
 import ec.tstoolkit.timeseries.simplets.TsDomain;
 import ec.tstoolkit.timeseries.simplets.TsFrequency;
 import ec.tstoolkit.timeseries.simplets.TsPeriod;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.GregorianCalendar;
 
 /**
@@ -108,9 +111,18 @@ public class EasterVariable extends AbstractSingleTsVariable implements IEasterV
 
     @Override
     public void data(TsPeriod start, DataBlock data) {
+        final int dur = dur_;
+        final Correction type = type_;
+        final boolean e = m_e, m = m_m;
+        CalendarCache.instance.data(EasterVariable.class, Arrays.asList(dur, type, e, m), 1,
+                new TsDomain(start, data.getLength()), Collections.singletonList(data),
+                (domain, buffer) -> compute(dur, type, e, m, domain.getStart(), buffer.get(0)));
+    }
+
+    private static void compute(int duration, Correction correction, boolean withEaster, boolean withMonday, TsPeriod start, DataBlock data) {
         data.set(0);
         int freq = start.getFrequency().intValue();
-        if ((freq != 12 && freq != 4) || dur_ < 1 || dur_ > 25) {
+        if ((freq != 12 && freq != 4) || duration < 1 || duration > 25) {
             return;
         }
         int n = data.getLength();
@@ -127,7 +139,7 @@ public class EasterVariable extends AbstractSingleTsVariable implements IEasterV
             return;
         }
 
-        double dur = dur_;
+        double dur = duration;
 
 
         GregorianCalendar easter = new GregorianCalendar();
@@ -136,9 +148,9 @@ public class EasterVariable extends AbstractSingleTsVariable implements IEasterV
             // DAY_OF_MONTH is 1-based
             int day = easter.get(GregorianCalendar.DAY_OF_MONTH);
             int month = easter.get(GregorianCalendar.MONTH);
-            if (!m_e) {
+            if (!withEaster) {
                 --day;
-            } else if (m_m) {
+            } else if (withMonday) {
                 if (day == 31) {
                     day = 1;
                     ++month;
@@ -149,11 +161,11 @@ public class EasterVariable extends AbstractSingleTsVariable implements IEasterV
 
             // MONTH is 0-based
             double m = 0, a = 0;
-            if (type_ == Correction.Simple) {
+            if (correction == Correction.Simple) {
                 if (month == 2 || day == 0) {
                     m = .5;
                     a = -.5;
-                } else if (day >= dur_) {
+                } else if (day >= duration) {
                     m = -.5;
                     a = .5;
                 } else {
@@ -165,9 +177,9 @@ public class EasterVariable extends AbstractSingleTsVariable implements IEasterV
             // included in the holiday
             {
                 double m_av = 0, a_av = 0;
-                if (type_ == Correction.PreComputed) {
-                    m_av = EMeans_Mar[25 - dur_]; //(21 + dur) / 70.0;
-                    a_av = EMeans_Apr[25 - dur_];//(49 - dur) / 70.0;
+                if (correction == Correction.PreComputed) {
+                    m_av = EMeans_Mar[25 - duration]; //(21 + dur) / 70.0;
+                    a_av = EMeans_Apr[25 - duration];//(49 - dur) / 70.0;
                 } else {
                     /*
                      * Raw estimation of the probability to get Easter at a specific date is defined below:
@@ -209,7 +221,7 @@ public class EasterVariable extends AbstractSingleTsVariable implements IEasterV
                 if (month == 2) {
                     m = 1 - m_av;
                     a = -a_av;
-                } else if (day >= dur_) {
+                } else if (day >= duration) {
                     m = -m_av;
                     a = 1 - a_av;
                 } else {
@@ -17,9 +17,11 @@
 package ec.tstoolkit.timeseries.regression;
 
 import ec.tstoolkit.data.DataBlock;
+import ec.tstoolkit.timeseries.calendars.CalendarCache;
 import ec.tstoolkit.timeseries.calendars.GenericTradingDays;
 import ec.tstoolkit.timeseries.simplets.TsDomain;
 import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -36,7 +38,9 @@ public class GenericTradingDaysVariables implements ITradingDaysVariable {
 
     @Override
     public void data(TsDomain domain, List<DataBlock> data) {
-        td.data(domain, data);
+        CalendarCache.instance.data(GenericTradingDays.class,
+                Arrays.asList(td.getClustering(), td.getContrastGroup(), td.isNormalized()),
+                td.getCount(), domain, data, td::data);
     }
 
     @Override
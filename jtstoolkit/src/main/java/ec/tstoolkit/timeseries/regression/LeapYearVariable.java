@@ -20,11 +20,13 @@ package ec.tstoolkit.timeseries.regression;
 
 import ec.tstoolkit.data.DataBlock;
 import ec.tstoolkit.design.Development;
+import ec.tstoolkit.timeseries.calendars.CalendarCache;
 import ec.tstoolkit.timeseries.calendars.LengthOfPeriodType;
 import ec.tstoolkit.timeseries.calendars.Utilities;
 import ec.tstoolkit.timeseries.simplets.TsDomain;
 import ec.tstoolkit.timeseries.simplets.TsFrequency;
 import ec.tstoolkit.timeseries.simplets.TsPeriod;
+import java.util.Collections;
 
 /**
  *
@@ -49,7 +51,16 @@ public class LeapYearVariable extends AbstractSingleTsVariable implements ILengt
     
      @Override
     public void data(TsPeriod start, DataBlock data) {
-        switch (ltype_) {
+        if (ltype_ == LengthOfPeriodType.None) {
+            return;
+        }
+        final LengthOfPeriodType ltype = ltype_;
+        CalendarCache.instance.data(LeapYearVariable.class, ltype, 1, new TsDomain(start, data.getLength()),
+                Collections.singletonList(data), (domain, buffer) -> compute(ltype, domain.getStart(), buffer.get(0)));
+    }
+
+    private static void compute(LengthOfPeriodType ltype, TsPeriod start, DataBlock data) {
+        switch (ltype) {
             case LeapYear:
                 Utilities.leapYear(start, data);
                 break;
@@ -0,0 +1,417 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.timeseries.simplets;
+
+import ec.tstoolkit.data.DataBlock;
+import ec.tstoolkit.design.Development;
+import ec.tstoolkit.maths.matrices.Matrix;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Collection of series aligned on a common domain (union or intersection of
+ * their domains), computed once. The data are stored by columns in a single
+ * array (the series i occupies the cells [i*n, (i+1)*n[, where n is the
+ * length of the domain), so that the series can be accessed without copies
+ * and the cross-sectional operations (sums, aggregations, ratios) are simple
+ * loops on contiguous data.
+ * <br>
+ * Series with different frequencies are handled as in TsDataTable: they are
+ * expressed in the highest frequency, the observations of the lower
+ * frequencies being put on the last sub-period. The empty cells and the
+ * missing values contain NaN; getDataInfo can be used to distinguish them.
+ *
+ * @since 2.2.0
+ */
+@Development(status = Development.Status.Alpha)
+public final class TsAlignedData {
+
+    /**
+     * Aligns the series on the union of their domains
+     *
+     * @param series The series. Null series are allowed (empty columns)
+     * @return
+     */
+    public static TsAlignedData union(TsData... series) {
+        return new TsAlignedData(series, true);
+    }
+
+    public static TsAlignedData union(Iterable<TsData> series) {
+        return new TsAlignedData(toArray(series), true);
+    }
+
+    /**
+     * Aligns the series on the intersection of their domains
+     *
+     * @param series The series. Null series are allowed (empty columns)
+     * @return
+     */
+    public static TsAlignedData intersection(TsData... series) {
+        return new TsAlignedData(series, false);
+    }
+
+    public static TsAlignedData intersection(Iterable<TsData> series) {
+        return new TsAlignedData(toArray(series), false);
+    }
+
+    private static TsData[] toArray(Iterable<TsData> series) {
+        List<TsData> all = new ArrayList<>();
+        for (TsData s : series) {
+            all.add(s);
+        }
+        return all.toArray(new TsData[all.size()]);
+    }
+
+    private final TsDomain domain_;
+    private final int nrows_, ncols_;
+    private final double[] data_;
+    // the observations of the series i are in the rows first_[i] + k*step_[i],
+    // k in [0, count_[i][
+    private final int[] first_, step_, count_;
+
+    private TsAlignedData(TsData[] series, boolean union) {
+        ncols_ = series.length;
+        first_ = new int[ncols_];
+        step_ = new int[ncols_];
+        count_ = new int[ncols_];
+        // common frequency (see TsDataTable)
+        int freq = 0;
+        for (TsData s : series) {
+            if (s != null) {
+                int cur = s.getFrequency().intValue();
+                if (freq == 0) {
+                    freq = cur;
+                } else if (freq % cur != 0) {
+                    freq = Math.min(12, freq * cur);
+                }
+            }
+        }
+        if (freq == 0) {
+            domain_ = null;
+            nrows_ = 0;
+            data_ = new double[0];
+            return;
+        }
+        // bounds of the series, expressed in the common frequency
+        int[] f = new int[ncols_], l = new int[ncols_];
+        int firstid = 0, lastid = -1;
+        boolean init = false;
+        for (int i = 0; i < ncols_; ++i) {
+            TsData s = series[i];
+            if (s == null) {
+                continue;
+            }
+            int c = freq / s.getFrequency().intValue();
+            int n = s.getLength();
+            step_[i] = c;
+            count_[i] = n;
+            f[i] = (s.getStart().id() + 1) * c - 1;
+            l[i] = f[i] + (n - 1) * c;
+            // as in TsDataTable, an empty series is still part of the union
+            // (its last period is before its first one)
+            if (n == 0 && !union) {
+                lastid = firstid - 1;
+                init = true;
+            } else if (!init) {
+                firstid = f[i];
+                lastid = l[i];
+                init = true;
+            } else if (union) {
+                firstid = Math.min(firstid, f[i]);
+                lastid = Math.max(lastid, l[i]);
+            } else if (lastid >= firstid) {
+                firstid = Math.max(firstid, f[i]);
+                lastid = Math.min(lastid, l[i]);
+            }
+        }
+        nrows_ = Math.max(0, lastid - firstid + 1);
+        domain_ = new TsDomain(new TsPeriod(TsFrequency.valueOf(freq), firstid), nrows_);
+        data_ = new double[nrows_ * ncols_];
+        Arrays.fill(data_, Double.NaN);
+        for (int i = 0; i < ncols_; ++i) {
+            if (series[i] == null || count_[i] == 0 || nrows_ == 0) {
+                count_[i] = 0;
+                continue;
+            }
+            // first observation in the domain
+            int c = step_[i], k0 = 0;
+            if (f[i] < firstid) {
+                k0 = (firstid - f[i] + c - 1) / c;
+            }
+            int k1 = count_[i];
+            if (l[i] > lastid) {
+                k1 -= (l[i] - lastid + c - 1) / c;
+            }
+            if (k1 <= k0) {
+                count_[i] = 0;
+                continue;
+            }
+            first_[i] = f[i] + k0 * c - firstid;
+            count_[i] = k1 - k0;
+            double[] x = series[i].internalStorage();
+            int pos = i * nrows_ + first_[i];
+            if (c == 1) {
+                System.arraycopy(x, k0, data_, pos, k1 - k0);
+            } else {
+                for (int k = k0; k < k1; ++k, pos += c) {
+                    data_[pos] = x[k];
+                }
+            }
+        }
+    }
+
+    /**
+     * The common domain of the series
+     *
+     * @return The domain. Null if there is no series (or only null series)
+     */
+    public TsDomain getDomain() {
+        return domain_;
+    }
+
+    public int getSeriesCount() {
+        return ncols_;
+    }
+
+    public boolean isEmpty() {
+        return nrows_ == 0;
+    }
+
+    /**
+     *
+     * @param periodId The position of the period in the domain
+     * @param seriesId The position of the series
+     * @return
+     */
+    public double getData(final int periodId, final int seriesId) {
+        return data_[seriesId * nrows_ + periodId];
+    }
+
+    /**
+     *
+     * @param periodId The position of the period in the domain
+     * @param seriesId The position of the series
+     * @return
+     */
+    public TsDataTableInfo getDataInfo(final int periodId, final int seriesId) {
+        int k = periodId - first_[seriesId];
+        if (count_[seriesId] == 0 || k < 0 || k % step_[seriesId] != 0 || k / step_[seriesId] >= count_[seriesId]) {
+            return TsDataTableInfo.Empty;
+        }
+        return Double.isFinite(data_[seriesId * nrows_ + periodId]) ? TsDataTableInfo.Valid : TsDataTableInfo.Missing;
+    }
+
+    /**
+     * Gets the data of a series, for the complete domain
+     *
+     * @param seriesId The position of the series
+     * @return A view (r/w) on the internal storage
+     */
+    public DataBlock column(final int seriesId) {
+        if (seriesId < 0 || seriesId >= ncols_) {
+            throw new IndexOutOfBoundsException();
+        }
+        return new DataBlock(data_, seriesId * nrows_, (seriesId + 1) * nrows_, 1);
+    }
+
+    /**
+     * Gets the data of a series, for the complete domain
+     *
+     * @param seriesId The position of the series
+     * @return A view (r/w) on the internal storage
+     */
+    public TsDataBlock block(final int seriesId) {
+        return new TsDataBlock(domain_.getStart(), column(seriesId));
+    }
+
+    /**
+     * Gets the data of all the series for a given period
+     *
+     * @param periodId The position of the period in the domain
+     * @return A view (r/w) on the internal storage
+     */
+    public DataBlock row(final int periodId) {
+        if (periodId < 0 || periodId >= nrows_) {
+            throw new IndexOutOfBoundsException();
+        }
+        return new DataBlock(data_, periodId, periodId + ncols_ * nrows_, nrows_);
+    }
+
+    /**
+     * Gets a series on the common domain
+     *
+     * @param seriesId The position of the series
+     * @return A new series (the empty cells are NaN)
+     */
+    public TsData series(final int seriesId) {
+        return new TsData(domain_.getStart(), column(seriesId));
+    }
+
+    /**
+     * The data of the collection, as a matrix (series in columns)
+     *
+     * @return A view (r/w) on the internal storage
+     */
+    public Matrix matrix() {
+        return new Matrix(data_, nrows_, ncols_);
+    }
+
+    /**
+     * The data of the collection, as a time series matrix
+     *
+     * @return A view (r/w) on the internal storage
+     */
+    public TsMatrix tsMatrix() {
+        return new TsMatrix(domain_.getStart(), matrix(), false);
+    }
+
+    /**
+     * Sum of the series, period by period
+     *
+     * @return A new series. A period is missing as soon as one of the series
+     * is missing or empty
+     */
+    public TsData sum() {
+        return new TsData(domain_.getStart(), accumulate(null, false), false);
+    }
+
+    /**
+     * Sum of the available observations, period by period
+     *
+     * @return A new series. A period is missing when all the series are
+     * missing or empty
+     */
+    public TsData sumOfAvailable() {
+        return new TsData(domain_.getStart(), accumulate(null, true), false);
+    }
+
+    /**
+     * Weighted sum of the series, period by period
+     *
+     * @param weights The weights of the series
+     * @return A new series. A period is missing as soon as one of the series
+     * (with a non-zero weight) is missing or empty
+     */
+    public TsData aggregate(final double[] weights) {
+        if (weights.length != ncols_) {
+            throw new IllegalArgumentException("Incompatible weights");
+        }
+        return new TsData(domain_.getStart(), accumulate(weights, false), false);
+    }
+
+    /**
+     * Average of the available observations, period by period
+     *
+     * @return A new series. A period is missing when all the series are
+     * missing or empty
+     */
+    public TsData average() {
+        double[] sum = accumulate(null, true);
+        int[] n = new int[nrows_];
+        for (int j = 0, pos = 0; j < ncols_; ++j) {
+            for (int i = 0; i < nrows_; ++i, ++pos) {
+                if (Double.isFinite(data_[pos])) {
+                    ++n[i];
+                }
+            }
+        }
+        for (int i = 0; i < nrows_; ++i) {
+            sum[i] /= n[i];
+        }
+        return new TsData(domain_.getStart(), sum, false);
+    }
+
+    /**
+     * Ratio of two series of the collection
+     *
+     * @param num The position of the numerator
+     * @param denom The position of the denominator
+     * @return A new series, defined on the common domain
+     */
+    public TsData ratio(final int num, final int denom) {
+        double[] q = new double[nrows_];
+        column(num).copyTo(q, 0);
+        for (int i = 0, pos = denom * nrows_; i < nrows_; ++i, ++pos) {
+            q[i] /= data_[pos];
+        }
+        return new TsData(domain_.getStart(), q, false);
+    }
+
+    /**
+     * Shares of the series in their sum (each series is divided by the sum
+     * of all the series), period by period
+     *
+     * @return A new aligned collection, with the same structure
+     */
+    public TsAlignedData shares() {
+        double[] total = accumulate(null, false);
+        double[] q = new double[data_.length];
+        for (int j = 0, pos = 0; j < ncols_; ++j) {
+            for (int i = 0; i < nrows_; ++i, ++pos) {
+                q[pos] = data_[pos] / total[i];
+            }
+        }
+        return new TsAlignedData(this, q);
+    }
+
+    private TsAlignedData(TsAlignedData model, double[] data) {
+        domain_ = model.domain_;
+        nrows_ = model.nrows_;
+        ncols_ = model.ncols_;
+        first_ = model.first_;
+        step_ = model.step_;
+        count_ = model.count_;
+        data_ = data;
+    }
+
+    private double[] accumulate(double[] weights, boolean skipMissing) {
+        if (domain_ == null) {
+            throw new IllegalStateException("Empty collection");
+        }
+        double[] acc = new double[nrows_];
+        if (skipMissing) {
+            Arrays.fill(acc, Double.NaN);
+        }
+        for (int j = 0, pos = 0; j < ncols_; ++j) {
+            if (weights == null) {
+                if (skipMissing) {
+                    for (int i = 0; i < nrows_; ++i, ++pos) {
+                        double x = data_[pos];
+                        if (Double.isFinite(x)) {
+                            acc[i] = Double.isNaN(acc[i]) ? x : acc[i] + x;
+                        }
+                    }
+                } else {
+                    for (int i = 0; i < nrows_; ++i, ++pos) {
+                        acc[i] += data_[pos];
+                    }
+                }
+            } else {
+                double w = weights[j];
+                if (w != 0) {
+                    for (int i = 0; i < nrows_; ++i, ++pos) {
+                        acc[i] += w * data_[pos];
+                    }
+                } else {
+                    pos += nrows_;
+                }
+            }
+        }
+        return acc;
+    }
+}
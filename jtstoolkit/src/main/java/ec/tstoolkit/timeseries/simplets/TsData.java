@@ -23,6 +23,7 @@ import ec.tstoolkit.data.ReadDataBlock;
 import ec.tstoolkit.data.Values;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 import ec.tstoolkit.design.NewObject;
 import ec.tstoolkit.design.Unsafe;
 import ec.tstoolkit.timeseries.Day;
@@ -33,12 +34,14 @@ import ec.tstoolkit.random.IRandomNumberGenerator;
 import ec.tstoolkit.random.JdkRNG;
 import ec.tstoolkit.sarima.SarimaModel;
 import ec.tstoolkit.sarima.SarimaModelBuilder;
+import ec.tstoolkit.utilities.IntDoubleConsumer;
 import java.util.Random;
 import java.util.function.DoubleBinaryOperator;
 import java.util.function.DoublePredicate;
 import java.util.function.DoubleSupplier;
 import java.util.function.DoubleUnaryOperator;
 import java.util.function.IntToDoubleFunction;
+import java.util.stream.DoubleStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -58,7 +61,9 @@ public class TsData implements Cloneable, Iterable<TsObservation>, IReadDataBloc
 
         private final double[] m_vals;
         private final TsPeriod m_start;
-        private int m_cur = -1;
+        // current position and position of the next observation (non missing
+        // value), which is searched only once
+        private int m_cur = -1, m_next = -1;
 
         TsIterator(final TsData ts) {
             m_start = ts.start;
@@ -67,34 +72,22 @@ public class TsData implements Cloneable, Iterable<TsObservation>, IReadDataBloc
 
         @Override
         public boolean hasNext() {
-            if (m_cur >= m_vals.length) {
-                return false;
-            }
-            for (int i = m_cur + 1; i < m_vals.length; i++) {
-                if (Double.isFinite(m_vals[i])) {
-                    return true;
+            if (m_next <= m_cur) {
+                m_next = m_cur + 1;
+                while (m_next < m_vals.length && !Double.isFinite(m_vals[m_next])) {
+                    ++m_next;
                 }
             }
-            return false;
+            return m_next < m_vals.length;
         }
 
         @Override
         public TsObservation next() {
-            ++m_cur;
-            searchNext();
-            return new TsObservation(m_start.plus(m_cur), m_vals[m_cur]);
-        }
-
-        // Search the next non Missing value, from the current position
-        // (included !)
-        // be careful to move first m_cur if needed
-        //
-        private void searchNext() {
-            for (; m_cur < m_vals.length; ++m_cur) {
-                if (Double.isFinite(m_vals[m_cur])) {
-                    break;
-                }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
             }
+            m_cur = m_next;
+            return new TsObservation(m_start.plus(m_cur), m_vals[m_cur]);
         }
     }
 
@@ -989,6 +982,57 @@ public class TsData implements Cloneable, Iterable<TsObservation>, IReadDataBloc
         return StreamSupport.stream(spliterator(), false);
     }
 
+    /**
+     * Returns a cursor on the observations (non missing values). The cursor
+     * doesn't create any object while moving.
+     *
+     * @return A new cursor, positioned before the first observation
+     * @since 2.2.0
+     */
+    public TsDataCursor cursor() {
+        return new TsDataCursor(start, vals);
+    }
+
+    /**
+     * Returns the observations (non missing values)
+     *
+     * @return A sequential stream on the finite values of the series
+     * @since 2.2.0
+     */
+    public DoubleStream finiteValues() {
+        return Arrays.stream(vals).filter(Double::isFinite);
+    }
+
+    /**
+     * Visits all the values (missing values included)
+     *
+     * @param fn The visitor. It receives the position of each value (0 for
+     * the first period) and the value itself
+     * @since 2.2.0
+     */
+    public void forEachValue(IntDoubleConsumer fn) {
+        for (int i = 0; i < vals.length; ++i) {
+            fn.accept(i, vals[i]);
+        }
+    }
+
+    /**
+     * Visits the observations (non missing values)
+     *
+     * @param fn The visitor. It receives the id of the period of each
+     * observation (see TsPeriod.id()) and its value
+     * @since 2.2.0
+     */
+    public void forEachObservation(IntDoubleConsumer fn) {
+        int id = start.id();
+        for (int i = 0; i < vals.length; ++i) {
+            double v = vals[i];
+            if (Double.isFinite(v)) {
+                fn.accept(id + i, v);
+            }
+        }
+    }
+
     /**
      * Returns this time series lagged by a given number of period.
      *
@@ -1416,8 +1460,9 @@ public class TsData implements Cloneable, Iterable<TsObservation>, IReadDataBloc
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder();
-        for (TsObservation obs : this) {
-            builder.append(obs.getPeriod()).append('\t').append(obs.getValue());
+        TsDataCursor cursor = cursor();
+        while (cursor.next()) {
+            builder.append(cursor.getPeriod()).append('\t').append(cursor.getValue());
             builder.append(System.lineSeparator());
         }
         return builder.toString();
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.timeseries.simplets;
+
+/**
+ * Forward-only cursor on the observations (non missing values) of a time
+ * series. Contrary to the iterator of TsData, the cursor doesn't create any
+ * object: the period returned by getPeriod() is updated in place at each move.
+ * <br>
+ * Typical use:
+ * <pre>
+ * TsDataCursor cursor = s.cursor();
+ * while (cursor.next()) {
+ *     ... cursor.getPeriod() ... cursor.getValue()
+ * }
+ * </pre>
+ *
+ * @since 2.2.0
+ */
+public final class TsDataCursor {
+
+    private final double[] vals;
+    private final int firstid;
+    private final TsPeriod period;
+    private int cur = -1;
+
+    TsDataCursor(final TsPeriod start, final double[] vals) {
+        this.vals = vals;
+        this.firstid = start.id();
+        // period of the current position (-1)
+        this.period = start.minus(1);
+    }
+
+    /**
+     * Moves the cursor to the next observation
+     *
+     * @return False if there are no more observations
+     */
+    public boolean next() {
+        int n = vals.length;
+        int pos = cur + 1;
+        while (pos < n && !Double.isFinite(vals[pos])) {
+            ++pos;
+        }
+        period.move(pos - cur);
+        cur = pos;
+        return pos < n;
+    }
+
+    /**
+     * Position of the current observation in the time series
+     *
+     * @return
+     */
+    public int getIndex() {
+        return cur;
+    }
+
+    /**
+     * Id of the period of the current observation
+     *
+     * @return
+     * @see TsPeriod#id()
+     */
+    public int getPeriodId() {
+        return firstid + cur;
+    }
+
+    /**
+     * Period of the current observation. The returned object is modified
+     * by the cursor; it should be cloned if it must be kept.
+     *
+     * @return
+     */
+    public TsPeriod getPeriod() {
+        return period;
+    }
+
+    /**
+     * Value of the current observation
+     *
+     * @return
+     */
+    public double getValue() {
+        return vals[cur];
+    }
+
+    /**
+     * Moves the cursor before the first observation
+     */
+    public void reset() {
+        period.move(-1 - cur);
+        cur = -1;
+    }
+}
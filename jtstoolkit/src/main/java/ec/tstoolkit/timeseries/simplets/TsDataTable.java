@@ -97,6 +97,37 @@ public class TsDataTable {
         return m_data.get(seriesId).get(id - m_ids[seriesId]);
     }
 
+    /**
+     * Copies the data of a series for all the periods of the domain of the
+     * table, in one pass. The empty cells and the missing values are set to
+     * NaN; getDataInfo can be used to distinguish them.
+     *
+     * @param seriesId The position of the series
+     * @param buffer The buffer that will contain the data. Its length must be
+     * at least start + getDomain().getLength()
+     * @param start The position of the data of the first period in the buffer
+     * @since 2.2.0
+     */
+    public void copySeries(final int seriesId, final double[] buffer, final int start) {
+        recalc();
+        if ((seriesId < 0) || (seriesId >= m_data.size())) {
+            throw new TsException("Invalid id", "TSTable");
+        }
+        if (m_domain == null) {
+            return;
+        }
+        TsData s = m_data.get(seriesId);
+        int freq = m_freqs[seriesId], first = m_ids[seriesId], n = m_ns[seriesId];
+        for (int i = 0; i < m_domain.getLength(); ++i) {
+            double value = Double.NaN;
+            int id = getid(i + m_firstid, m_curfreq, freq);
+            if (id != Integer.MIN_VALUE && id >= first && id < first + n) {
+                value = s.get(id - first);
+            }
+            buffer[start + i] = value;
+        }
+    }
+
     /**
      *
      * @param periodId
@@ -313,13 +344,18 @@ public class TsDataTable {
             return builder.toString();
         }
         // write each rows
-        for (int j = 0; j < dom.getLength(); ++j) {
+        int nrows = dom.getLength(), ncols = m_data.size();
+        double[] data = new double[nrows * ncols];
+        for (int i = 0; i < ncols; ++i) {
+            copySeries(i, data, i * nrows);
+        }
+        for (int j = 0; j < nrows; ++j) {
             builder.append(System.lineSeparator()).append(dom.get(j));
-            for (int i = 0; i < m_data.size(); ++i) {
-                TsDataTableInfo dataInfo = getDataInfo(j, i);
-                if (dataInfo == TsDataTableInfo.Valid) {
-                    builder.append('\t').append(this.getData(j, i));
-                } else if (dataInfo == TsDataTableInfo.Missing) {
+            for (int i = 0; i < ncols; ++i) {
+                double value = data[i * nrows + j];
+                if (Double.isFinite(value)) {
+                    builder.append('\t').append(value);
+                } else if (getDataInfo(j, i) == TsDataTableInfo.Missing) {
                     builder.append("\t.");
                 } else {
                     builder.append('\t');
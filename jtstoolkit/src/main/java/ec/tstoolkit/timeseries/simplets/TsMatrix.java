@@ -65,22 +65,9 @@ public class TsMatrix implements Cloneable {
      * The time domain of the different series may differ.
      */
     public TsMatrix(TsData... s) {
-        TsDataTable tmp = new TsDataTable();
-        for (int i = 0; i < s.length; ++i) {
-            tmp.insert(-1, s[i]);
-        }
-        TsDomain domain = tmp.getDomain();
-        start_ = domain.getStart();
-        matrix_ = new Matrix(domain.getLength(), s.length);
-        matrix_.set(Double.NaN);
-        for (int i = 0; i < domain.getLength(); ++i) {
-            for (int j = 0; j < s.length; ++j) {
-                TsDataTableInfo dataInfo = tmp.getDataInfo(i, j);
-                if (dataInfo == TsDataTableInfo.Valid) {
-                    matrix_.set(i, j, tmp.getData(i, j));
-                }
-            }
-        }
+        TsAlignedData all = TsAlignedData.union(s);
+        start_ = all.getDomain().getStart();
+        matrix_ = all.matrix();
     }
 
     /**
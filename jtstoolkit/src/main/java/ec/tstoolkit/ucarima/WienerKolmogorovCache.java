@@ -0,0 +1,198 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.ucarima;
+
+import ec.tstoolkit.arima.ArimaModel;
+import ec.tstoolkit.arima.IArimaModel;
+import ec.tstoolkit.design.Development;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, thread-safe cache of Wiener-Kolmogorov estimators, keyed by the
+ * exact content of their ucarima model.
+ * <br>
+ * When the parameters of a model are fixed (for instance when a processing is
+ * refreshed with the Fixed or FixedParameters policies), successive
+ * decompositions of the same series lead to the same ucarima model. The
+ * estimators, the variances of the final errors and of the revisions don't
+ * depend on the data, so that they are computed only once: a longer series
+ * only needs the weights of the additional lags. The results are identical to
+ * the ones obtained with new estimators.
+ *
+ * @since 2.2.0
+ */
+@Development(status = Development.Status.Alpha)
+public final class WienerKolmogorovCache {
+
+    public static final WienerKolmogorovCache instance = new WienerKolmogorovCache(256);
+
+    private final LruMap entries = new LruMap();
+    private int capacity;
+
+    public WienerKolmogorovCache(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Gets the (shared) estimators of a ucarima model.
+     *
+     * @param ucm The ucarima model. It is not modified
+     * @return The estimators of the model. They must not be modified.
+     */
+    public WienerKolmogorovEstimators estimators(final UcarimaModel ucm) {
+        Key key = new Key(ucm);
+        synchronized (entries) {
+            if (capacity == 0) {
+                return new WienerKolmogorovEstimators(ucm);
+            }
+            WienerKolmogorovEstimators wk = entries.get(key);
+            if (wk == null) {
+                wk = new WienerKolmogorovEstimators(copy(ucm));
+                entries.put(key, wk);
+            }
+            return wk;
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int getCapacity() {
+        synchronized (entries) {
+            return capacity;
+        }
+    }
+
+    /**
+     * Changes the maximum number of entries. 0 disables the cache
+     *
+     * @param capacity The new capacity
+     */
+    public void setCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Negative capacity");
+        }
+        synchronized (entries) {
+            this.capacity = capacity;
+            while (entries.size() > capacity) {
+                entries.remove(entries.keySet().iterator().next());
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Independent copy of a ucarima model. The representations of the models
+     * that are used outside the (synchronized) estimators are computed before
+     * the estimators are shared.
+     */
+    private static UcarimaModel copy(final UcarimaModel ucm) {
+        ArimaModel[] cmps = new ArimaModel[ucm.getComponentsCount()];
+        for (int i = 0; i < cmps.length; ++i) {
+            cmps[i] = copy(ucm.getComponent(i));
+        }
+        return new UcarimaModel(copy(ucm.getModel()), cmps);
+    }
+
+    private static ArimaModel copy(final IArimaModel m) {
+        if (m instanceof ArimaModel) {
+            ArimaModel a = (ArimaModel) m;
+            return new ArimaModel(a.getStationaryAR(), a.getNonStationaryAR(), null,
+                    a.getMA(), a.getInnovationVariance(), a.sma());
+        } else {
+            return ArimaModel.create(m);
+        }
+    }
+
+    private final class LruMap extends LinkedHashMap<Key, WienerKolmogorovEstimators> {
+
+        private static final long serialVersionUID = 1L;
+
+        LruMap() {
+            super(16, .75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, WienerKolmogorovEstimators> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    /**
+     * Coefficients of the aggregated model and of the components. Doubles
+     * are compared bit by bit
+     */
+    private static final class Key {
+
+        private final double[][] models;
+        private final int hash;
+
+        Key(UcarimaModel ucm) {
+            int ncmps = ucm.getComponentsCount();
+            models = new double[ncmps + 1][];
+            models[0] = coefficients(ucm.getModel());
+            for (int i = 0; i < ncmps; ++i) {
+                models[i + 1] = coefficients(ucm.getComponent(i));
+            }
+            hash = Arrays.deepHashCode(models);
+        }
+
+        private static double[] coefficients(IArimaModel m) {
+            if (m.isNull()) {
+                return new double[0];
+            }
+            // the symmetric MA of an ArimaModel avoids the factorization of
+            // the components, which is only needed by new estimators
+            boolean sym = m instanceof ArimaModel;
+            double[] sar = m.getStationaryAR().getCoefficients(),
+                    nsar = m.getNonStationaryAR().getCoefficients(),
+                    ma = sym ? ((ArimaModel) m).sma().getCoefficients() : m.getMA().getCoefficients();
+            double[] c = new double[sar.length + nsar.length + ma.length + 4];
+            int pos = 0;
+            c[pos++] = sym ? Double.NaN : m.getInnovationVariance();
+            c[pos++] = sar.length;
+            System.arraycopy(sar, 0, c, pos, sar.length);
+            pos += sar.length;
+            c[pos++] = nsar.length;
+            System.arraycopy(nsar, 0, c, pos, nsar.length);
+            pos += nsar.length;
+            c[pos++] = ma.length;
+            System.arraycopy(ma, 0, c, pos, ma.length);
+            return c;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return this == obj || (obj instanceof Key && Arrays.deepEquals(models, ((Key) obj).models));
+        }
+    }
+}
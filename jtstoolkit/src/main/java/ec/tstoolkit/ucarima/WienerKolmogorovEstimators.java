@@ -26,8 +26,13 @@ import ec.tstoolkit.arima.LinearModel;
 import ec.tstoolkit.arima.StationaryTransformation;
 import ec.tstoolkit.design.Development;
 import ec.tstoolkit.maths.linearfilters.*;
+import java.util.Arrays;
 
 /**
+ * The final estimators, the variances of the final errors and of the
+ * concurrent revisions are computed once. The methods are synchronized, so
+ * that the estimators can be shared between threads (see
+ * WienerKolmogorovCache).
  *
  * @author Jean Palate
  */
@@ -36,6 +41,7 @@ public class WienerKolmogorovEstimators {
 
     private final UcarimaModel m_ucm;
     private WienerKolmogorovEstimator[][] m_final;
+    private double[] m_fvar, m_var0;
 
     /**
      *
@@ -145,7 +151,7 @@ public class WienerKolmogorovEstimators {
      * @return The corresponding Arima model
      * @throws ArimaException
      */
-    public ArimaModel finalErrorModel(final int cmp) throws ArimaException {
+    public synchronized ArimaModel finalErrorModel(final int cmp) throws ArimaException {
         if (m_ucm == null) {
             return null;
         }
@@ -170,7 +176,7 @@ public class WienerKolmogorovEstimators {
      * @throws ArimaException
      * @throws MatrixException
      */
-    public WienerKolmogorovEstimator finalEstimator(final int cmp,
+    public synchronized WienerKolmogorovEstimator finalEstimator(final int cmp,
             final boolean signal) throws ArimaException, MatrixException {
         if (m_ucm == null) {
             return null;
@@ -190,7 +196,7 @@ public class WienerKolmogorovEstimators {
      * @return
      * @throws ArimaException
      */
-    public StationaryTransformation finalStationaryEstimator(final int cmp,
+    public synchronized StationaryTransformation finalStationaryEstimator(final int cmp,
             final boolean signal) throws ArimaException {
         BackFilter ur;
         if (m_ucm == null) {
@@ -248,7 +254,7 @@ public class WienerKolmogorovEstimators {
      * @throws ArimaException
      * @throws MatrixException
      */
-    public LinearModel revisionModel(final int cmp, final int n)
+    public synchronized LinearModel revisionModel(final int cmp, final int n)
             throws ArimaException, MatrixException// , ref double
     // scale)
     {
@@ -263,7 +269,7 @@ public class WienerKolmogorovEstimators {
         return new LinearModel(crf, ln.getInnovationVariance());
     }
 
-    public AutoCovarianceFunction totalErrorAcf(final int cmp, final int n) {
+    public synchronized AutoCovarianceFunction totalErrorAcf(final int cmp, final int n) {
         LinearModel rev = revisionModel(cmp, n);
         ArimaModel fm = finalErrorModel(cmp);
         RationalForeFilter rf = rev.getFilter().getRationalForeFilter();
@@ -274,7 +280,7 @@ public class WienerKolmogorovEstimators {
         return fm.plus(rm).getAutoCovarianceFunction();
     }
 
-    public AutoCovarianceFunction revisionAcf(final int cmp, final int n) {
+    public synchronized AutoCovarianceFunction revisionAcf(final int cmp, final int n) {
         LinearModel rev = revisionModel(cmp, n);
         return rev.getAutoCovarianceFunction();
     }
@@ -293,7 +299,7 @@ public class WienerKolmogorovEstimators {
      * @throws ArimaException
      * @throws MatrixException
      */
-    public double[] revisionVariance(final int cmp, final boolean signal,
+    public synchronized double[] revisionVariance(final int cmp, final boolean signal,
             int start, final int n) throws ArimaException, MatrixException {
         if (m_ucm.getComponent(cmp).isNull()) {
             return null;
@@ -301,8 +307,7 @@ public class WienerKolmogorovEstimators {
         double[] rvar = new double[n];
         // variance of concurrent estimator...
         // double scale=0;
-        double var0 = revisionModel(cmp, 0).getAutoCovarianceFunction().get(0);// , ref
-        // scale).ACGF[0];
+        double var0 = concurrentRevisionVariance(cmp);
         LinearModel lm = finalEstimator(cmp, signal).getModel();
         RationalFilter rf = lm.getFilter();
         double mvar = lm.getInnovationVariance();
@@ -357,7 +362,7 @@ public class WienerKolmogorovEstimators {
      * @throws ArimaException
      * @throws MatrixException
      */
-    public double[] relativeRevisionVariance(final int cmp, final boolean signal,
+    public synchronized double[] relativeRevisionVariance(final int cmp, final boolean signal,
             int start, final int n) throws ArimaException, MatrixException {
         if (m_ucm.getComponent(cmp).isNull()) {
             return null;
@@ -390,20 +395,46 @@ public class WienerKolmogorovEstimators {
      * @throws ArimaException
      * @throws MatrixException
      */
-    public double[] totalErrorVariance(final int cmp, final boolean signal,
+    public synchronized double[] totalErrorVariance(final int cmp, final boolean signal,
             final int start, final int n) throws ArimaException,
             MatrixException {
         if (m_ucm.getComponent(cmp).isNull()) {
             return null;
         }
         double[] tvar = revisionVariance(cmp, signal, start, n);
-        double fvar = finalErrorModel(cmp).getAutoCovarianceFunction().get(0);
+        double fvar = finalErrorVariance(cmp);
         for (int i = 0; i < tvar.length; ++i) {
             tvar[i] += fvar;
         }
         return tvar;
     }
 
+    private double concurrentRevisionVariance(final int cmp) {
+        if (m_var0 == null) {
+            m_var0 = newVariances();
+        }
+        if (Double.isNaN(m_var0[cmp])) {
+            m_var0[cmp] = revisionModel(cmp, 0).getAutoCovarianceFunction().get(0);
+        }
+        return m_var0[cmp];
+    }
+
+    private double finalErrorVariance(final int cmp) {
+        if (m_fvar == null) {
+            m_fvar = newVariances();
+        }
+        if (Double.isNaN(m_fvar[cmp])) {
+            m_fvar[cmp] = finalErrorModel(cmp).getAutoCovarianceFunction().get(0);
+        }
+        return m_fvar[cmp];
+    }
+
+    private double[] newVariances() {
+        double[] v = new double[m_ucm.getComponentsCount()];
+        Arrays.fill(v, Double.NaN);
+        return v;
+    }
+
     /**
      *
      * @param cmp Component of the model
@@ -415,7 +446,7 @@ public class WienerKolmogorovEstimators {
      * revisions), otherwise only the revisions are considered
      * @return The variance of the considered "growth rate"
      */
-    public double variationPrecision(final int cmp,
+    public synchronized double variationPrecision(final int cmp,
             final int start, final int del, boolean all) {
         if (m_ucm.getComponent(cmp).isNull()) {
             return Double.NaN;
@@ -453,7 +484,7 @@ public class WienerKolmogorovEstimators {
      * @param nrevs The number of revisions
      * @return The variance of the considered "growth rate"
      */
-    public double variationRevisionVariance(final int cmp,
+    public synchronized double variationRevisionVariance(final int cmp,
             final int start, final int del, final int nrevs) {
         if (m_ucm.getComponent(cmp).isNull()) {
             return Double.NaN;
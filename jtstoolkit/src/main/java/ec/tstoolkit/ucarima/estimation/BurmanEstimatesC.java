@@ -580,6 +580,19 @@ public class BurmanEstimatesC {
         clearForecasts();
     }
 
+    /**
+     * Same as setUcarimaModelWithMean, with existing estimators
+     *
+     * @param value
+     */
+    public void setEstimatorsWithMean(final WienerKolmogorovEstimators value) {
+        m_wk = value;
+        m_bmean = true;
+        initModel();
+        clearResults();
+        clearForecasts();
+    }
+
     /**
      *
      * @param value
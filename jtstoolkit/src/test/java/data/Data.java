@@ -17,12 +17,14 @@
 package data;
 
 import ec.tstoolkit.arima.ArimaModelBuilder;
+import ec.tstoolkit.random.XorshiftRNG;
 import ec.tstoolkit.sarima.SarimaModel;
 import ec.tstoolkit.sarima.SarimaModelBuilder;
 import ec.tstoolkit.timeseries.simplets.TsData;
 import ec.tstoolkit.timeseries.simplets.TsFrequency;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 /**
  *
@@ -209,4 +211,25 @@ public class Data {
         }
         return Arrays.asList(rnd);
     }
+
+    /**
+     * Generates a monthly random airline series (th=-.6, bth=-.8) with some
+     * additive outliers. The series only depends on the seed.
+     *
+     * @param length Length of the series
+     * @param noutliers Number of additive outliers (of size 10)
+     * @param seed Seed of the random generators
+     * @return
+     */
+    public static TsData rndAirlineWithOutliers(int length, int noutliers, int seed) {
+        SarimaModel airline = new SarimaModelBuilder().createAirlineModel(12, -.6, -.8);
+        ArimaModelBuilder gen = new ArimaModelBuilder();
+        gen.setRandomNumberGenerator(new XorshiftRNG(seed));
+        double[] vals = gen.generate(airline, length);
+        Random rnd = new Random(seed);
+        for (int i = 0; i < noutliers; ++i) {
+            vals[rnd.nextInt(length)] += 10;
+        }
+        return new TsData(TsFrequency.Monthly, 1980, 0, vals, false);
+    }
 }
@@ -17,6 +17,12 @@
 package ec.benchmarking.denton;
 
 import ec.benchmarking.simplets.TsDenton;
+import ec.tstoolkit.data.DataBlock;
+import ec.tstoolkit.maths.matrices.Householder;
+import ec.tstoolkit.maths.matrices.Matrix;
+import ec.tstoolkit.maths.matrices.SymmetricMatrix;
+import ec.tstoolkit.maths.polynomials.Polynomial;
+import ec.tstoolkit.maths.polynomials.UnitRoots;
 import ec.tstoolkit.timeseries.TsAggregationType;
 import ec.tstoolkit.timeseries.simplets.TsData;
 import ec.tstoolkit.timeseries.simplets.TsDataTable;
@@ -78,4 +84,117 @@ public class DentonMethodTest {
 //        System.out.println(table);
     }
 
+    // dense solution of min ||D(u-t)|| s.t. J u = y
+    private static double[] dense(DentonMethod denton, double[] x, double[] y) {
+        int n = x.length, ny = y.length, c = denton.getConversionFactor();
+        double xm = 0;
+        for (int i = 0; i < n; ++i) {
+            xm += x[i];
+        }
+        xm /= n;
+        Polynomial pd = UnitRoots.D(1, denton.getDifferencingOrder());
+        int d = pd.getDegree();
+        int nd = denton.isModifiedDenton() ? n - d : n;
+        Matrix D = new Matrix(nd, n);
+        for (int r = 0; r < nd; ++r) {
+            for (int i = 0; i <= d; ++i) {
+                int col = denton.isModifiedDenton() ? r + i : r - i;
+                double coef = denton.isModifiedDenton() ? pd.get(d - i) : pd.get(i);
+                if (col >= 0) {
+                    D.set(r, col, coef * (denton.isMultiplicative() ? xm / x[col] : 1));
+                }
+            }
+        }
+        Matrix A = new Matrix(n + ny, n + ny);
+        SymmetricMatrix.XtX(D.subMatrix(), A.subMatrix(0, n, 0, n));
+        double[] b = new double[n + ny];
+        DataBlock t = new DataBlock(x);
+        t.mul(1 / xm);
+        DataBlock dt = new DataBlock(nd);
+        dt.product(D.rows(), t);
+        new DataBlock(b, 0, n, 1).product(D.columns(), dt);
+        for (int k = 0; k < ny; ++k) {
+            int j0 = denton.getOffset() + k * c, j1 = j0 + c - 1;
+            switch (denton.getAggregationType()) {
+                case First:
+                    j1 = j0;
+                    break;
+                case Last:
+                    j0 = j1;
+                    break;
+            }
+            for (int j = j0; j <= j1; ++j) {
+                A.set(n + k, j, 1);
+                A.set(j, n + k, 1);
+            }
+            b[n + k] = y[k] / xm * (denton.getAggregationType() == TsAggregationType.Average ? c : 1);
+        }
+        Householder qr = new Householder(true);
+        qr.decompose(A);
+        double[] u = qr.solve(b);
+        double[] rslt = new double[n];
+        for (int i = 0; i < n; ++i) {
+            rslt[i] = u[i] * xm;
+        }
+        return rslt;
+    }
+
+    @Test
+    public void testDenseParity() {
+        double[] x = m.drop(2, 0).internalStorage();
+        TsAggregationType[] types = new TsAggregationType[]{TsAggregationType.Sum,
+            TsAggregationType.Average, TsAggregationType.First, TsAggregationType.Last};
+        for (TsAggregationType type : types) {
+            for (int offset = 0; offset < 3; offset += 2) {
+                TsData low = m.drop(offset + 2, 0).changeFrequency(TsFrequency.Yearly, type, true);
+                double[] yl = low.internalStorage();
+                for (int i = 0; i < yl.length; ++i) {
+                    yl[i] *= 1 + 0.01 * i;
+                }
+                for (int diff = 1; diff <= 3; ++diff) {
+                    for (int k = 0; k < 4; ++k) {
+                        DentonMethod denton = new DentonMethod();
+                        denton.setAggregationType(type);
+                        denton.setOffset(offset);
+                        denton.setDifferencingOrder(diff);
+                        denton.setMultiplicative(k % 2 == 0);
+                        denton.setModifiedDenton(k < 2);
+                        double[] r = denton.process(new DataBlock(x), new DataBlock(yl));
+                        double[] rd = dense(denton, x, yl);
+                        // the conditioning of D'D quickly deteriorates with the differencing order
+                        double eps = Math.pow(10, 3 * diff - 15);
+                        for (int i = 0; i < x.length; ++i) {
+                            assertEquals(rd[i], r[i], eps * Math.abs(rd[i]));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLongSeries() {
+        int n = 12000, c = 12;
+        double[] x = new double[n];
+        for (int i = 0; i < n; ++i) {
+            x[i] = 100 + 10 * Math.sin(i * Math.PI / 6) + 0.01 * i;
+        }
+        double[] y = new double[n / c];
+        for (int k = 0; k < y.length; ++k) {
+            for (int j = 0; j < c; ++j) {
+                y[k] += x[k * c + j];
+            }
+            y[k] *= 1 + 0.001 * (k % 7);
+        }
+        DentonMethod denton = new DentonMethod();
+        double[] r = denton.process(new DataBlock(x), new DataBlock(y));
+        for (int k = 0; k < y.length; ++k) {
+            double s = 0;
+            for (int j = 0; j < c; ++j) {
+                s += r[k * c + j];
+            }
+            assertEquals(y[k], s, 1e-9 * y[k]);
+        }
+    }
+
 }
@@ -81,4 +81,50 @@ public class TsMultiBenchmarkingTest {
 //        System.out.println(table);
     }
     
+    private static TsMultiBenchmarking create(TsData[] data, int ntables, boolean temporal, double rho, boolean blocks) {
+        TsMultiBenchmarking mb = new TsMultiBenchmarking();
+        mb.setRho(rho);
+        mb.setLambda(1);
+        mb.setBlockDecomposition(blocks);
+        String[] names = new String[]{"s11", "s12", "s21", "s22", "s_1", "s_2", "s2_"};
+        for (int t = 0, k = 0; t < ntables; ++t) {
+            for (String name : names) {
+                mb.addInput(name + "_" + t, data[k++]);
+            }
+            if (temporal) {
+                TsData y = data[k - 4].changeFrequency(TsFrequency.Yearly, ec.tstoolkit.timeseries.TsAggregationType.Sum, true);
+                mb.addInput("S22_" + t, y.times(1.01));
+                mb.addTemporalConstraint(TemporalConstraintDescriptor.parse("S22_" + t + "=sum(s22_" + t + ")"));
+            }
+            mb.addContemporaneousConstraint(ContemporaneousConstraintDescriptor.parse("s_1_" + t + "=s11_" + t + "+s21_" + t));
+            mb.addContemporaneousConstraint(ContemporaneousConstraintDescriptor.parse("s_2_" + t + "=s12_" + t + "+s22_" + t));
+            mb.addContemporaneousConstraint(ContemporaneousConstraintDescriptor.parse("s2__" + t + "=s21_" + t + "+s22_" + t));
+        }
+        assertTrue(mb.process());
+        return mb;
+    }
+
+    @Test
+    public void testBlocks() {
+        int ntables = 4;
+        TsData[] data = new TsData[7 * ntables];
+        for (int i = 0; i < data.length; ++i) {
+            data[i] = new TsData(TsFrequency.Monthly, 1980, 0, 120);
+            data[i].randomAirline();
+            data[i] = data[i].plus(1000);
+        }
+        for (boolean temporal : new boolean[]{false, true}) {
+            for (double rho : new double[]{0.8, 1}) {
+                TsMultiBenchmarking joint = create(data, ntables, temporal, rho, false);
+                TsMultiBenchmarking blocks = create(data, ntables, temporal, rho, true);
+                assertEquals(joint.endogenous(), blocks.endogenous());
+                for (String s : joint.endogenous()) {
+                    TsData j = joint.getResult(s), b = blocks.getResult(s);
+                    assertEquals(j.getDomain(), b.getDomain());
+                    assertTrue(j.distance(b) < 1e-6);
+                }
+            }
+        }
+    }
+
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.algorithm;
+
+import data.Data;
+import ec.satoolkit.algorithm.implementation.TramoSeatsProcessingFactory;
+import ec.satoolkit.algorithm.implementation.X13ProcessingFactory;
+import ec.satoolkit.tramoseats.TramoSeatsSpecification;
+import ec.satoolkit.x13.X13Specification;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class CompositeResultsTest {
+
+    public CompositeResultsTest() {
+    }
+
+    private static List<String> keys(CompositeResults rslts) {
+        List<String> keys = new ArrayList<>(rslts.getDictionary().keySet());
+        // unprefixed and unknown identifiers
+        keys.add("sa");
+        keys.add("d10");
+        keys.add("likelihood.aic");
+        keys.add("unknown");
+        keys.add("unknown.sa");
+        return keys;
+    }
+
+    // some results (regression items...) don't define equals
+    private static boolean same(Object expected, Object actual) {
+        if (expected == null || actual == null) {
+            return expected == actual;
+        }
+        return expected.getClass() == actual.getClass()
+                && (Objects.deepEquals(expected, actual) || expected.toString().equals(actual.toString()));
+    }
+
+    private static void check(CompositeResults template, CompositeResults rslts) {
+        for (String key : keys(template)) {
+            CompositeResults.Accessor<Object> accessor = template.compile(key, Object.class);
+            assertTrue(key, same(rslts.getData(key, Object.class), accessor.getData(rslts)));
+        }
+    }
+
+    @Test
+    public void testCompile() {
+        CompositeResults ts1 = TramoSeatsProcessingFactory.process(Data.X, TramoSeatsSpecification.RSA5);
+        CompositeResults ts2 = TramoSeatsProcessingFactory.process(Data.P, TramoSeatsSpecification.RSA5);
+        CompositeResults x13 = X13ProcessingFactory.process(Data.X, X13Specification.RSA5);
+        check(ts1, ts1);
+        check(ts1, ts2);
+        check(x13, x13);
+        // other structure
+        check(ts1, x13);
+        check(x13, ts2);
+    }
+}
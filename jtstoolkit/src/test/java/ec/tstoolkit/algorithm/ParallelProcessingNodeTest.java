@@ -21,7 +21,10 @@ import ec.tstoolkit.algorithm.IProcessing.Status;
 import ec.tstoolkit.information.InformationSet;
 import ec.tstoolkit.information.ProxyResults;
 import ec.tstoolkit.maths.matrices.Matrix;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.junit.AfterClass;
 import org.junit.Test;
 import static org.junit.Assert.*;
@@ -99,6 +102,53 @@ public class ParallelProcessingNodeTest {
 
     }
 
+    @Test
+    public void testExecutorAndTimings() {
+        Matrix M = new Matrix(100, 10);
+        M.randomize();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            ParallelProcessingNode<Matrix> cmps = new ParallelProcessingNode<>("sum", null, executor);
+            for (int i = 0; i < M.getColumnsCount(); ++i) {
+                cmps.add(createNode(i));
+            }
+            Map<String, IProcResults> results = new HashMap<>();
+            assertEquals(Status.Valid, cmps.process(M, results));
+            assertEquals(M.getColumnsCount(), cmps.getTimings().size());
+            assertTrue(cmps.getElapsedTime() > 0);
+            CompositeResults rslts = (CompositeResults) results.get("sum");
+            for (int i = 0; i < M.getColumnsCount(); ++i) {
+                assertEquals(M.column(i).ssq(), rslts.getData("column" + i + ".value", Double.class), 1e-9);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testInline() {
+        ParallelProcessingNode<Thread> cmps = new ParallelProcessingNode<>("threads", null);
+        cmps.add(new IProcessingNode<Thread>() {
+            @Override
+            public String getName() {
+                return "thread";
+            }
+
+            @Override
+            public String getPrefix() {
+                return null;
+            }
+
+            @Override
+            public Status process(Thread input, Map<String, IProcResults> results) {
+                assertSame(input, Thread.currentThread());
+                return Status.Valid;
+            }
+        });
+        assertEquals(Status.Valid, cmps.process(Thread.currentThread(), new HashMap<>()));
+        assertTrue(cmps.getTimings().containsKey("thread"));
+    }
+
     private static IProcessingNode<Matrix> createNode(final int pos) {
         return new IProcessingNode<Matrix>() {
 
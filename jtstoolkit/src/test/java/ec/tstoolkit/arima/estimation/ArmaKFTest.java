@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.arima.estimation;
+
+import ec.tstoolkit.data.DataBlock;
+import ec.tstoolkit.sarima.SarimaModel;
+import ec.tstoolkit.sarima.SarmaSpecification;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class ArmaKFTest {
+
+    /**
+     * First and last filtered values, sum of squares and BIC, computed with
+     * the original implementation (without workspace) for the models and the
+     * series of testReference
+     */
+    private static final double[][] REFERENCE = {
+        {0.18985720390659971, 0.09464580245129213, 33.44839774029426, -1.9021270515139073},
+        {0.18985720390659971, -0.3544256989991895, 21.0843363018973, -1.6192740397729766},
+        {0.210624492311485, 0.06455265525670772, 24.22094804072928, -2.2249130565540796},
+        {0.210624492311485, -0.07782409010437916, 12.858714946023111, -2.1137826618327726}
+    };
+
+    public ArmaKFTest() {
+    }
+
+    @Test
+    public void testReference() {
+        DataBlock y = new DataBlock(240);
+        y.randomize(0);
+        DataBlock ys = y.range(0, 120);
+
+        SarmaSpecification spec = new SarmaSpecification(12);
+        spec.setP(3);
+        spec.setQ(1);
+        spec.setBQ(1);
+        SarimaModel arma = new SarimaModel(spec);
+        arma.setPhi(1, -.3);
+        arma.setPhi(2, .2);
+        arma.setPhi(3, .1);
+        arma.setTheta(1, -.4);
+        arma.setBTheta(1, -.6);
+        spec = new SarmaSpecification(12);
+        spec.setQ(1);
+        SarimaModel ma = new SarimaModel(spec);
+        ma.setTheta(1, .45);
+
+        ArmaKF.Workspace ws = new ArmaKF.Workspace();
+        for (int k = 0; k < 2; ++k) {
+            int r = 0;
+            for (SarimaModel m : new SarimaModel[]{arma, ma}) {
+                for (DataBlock cur : new DataBlock[]{y, ys}) {
+                    double[] expected = REFERENCE[r++];
+                    ArmaKF kf = new ArmaKF(m);
+                    for (DataBlock yl : new DataBlock[]{kf.fastFilter(cur), kf.fastFilter(cur, ws)}) {
+                        assertEquals(cur.getLength(), yl.getLength());
+                        assertEquals(expected[0], yl.get(0), 1e-12);
+                        assertEquals(expected[1], yl.get(yl.getLength() - 1), 1e-12);
+                        assertEquals(expected[2], yl.ssq(), 1e-10);
+                    }
+                    assertEquals(expected[3], kf.fastProcessing(cur, 3), 1e-12);
+                    assertEquals(expected[3], kf.fastProcessing(cur, 3, ws), 1e-12);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testWorkspace() {
+        DataBlock y = new DataBlock(240);
+        y.randomize(0);
+        DataBlock ys = y.range(0, 120);
+
+        SarmaSpecification spec = new SarmaSpecification(12);
+        spec.setP(3);
+        spec.setQ(1);
+        spec.setBQ(1);
+        SarimaModel arma = new SarimaModel(spec);
+        spec = new SarmaSpecification(12);
+        spec.setQ(1);
+        SarimaModel ma = new SarimaModel(spec);
+
+        ArmaKF.Workspace ws = new ArmaKF.Workspace();
+        Random rnd = new Random(0);
+        for (int i = 0; i < 100; ++i) {
+            arma.setPhi(1, rnd.nextDouble() - .5);
+            arma.setTheta(1, rnd.nextDouble() - .5);
+            arma.setBTheta(1, rnd.nextDouble() - .5);
+            ma.setTheta(1, rnd.nextDouble() - .5);
+            // the buffers of the workspace are reused for models and series of different sizes
+            for (SarimaModel m : new SarimaModel[]{arma, ma}) {
+                for (DataBlock cur : new DataBlock[]{y, ys}) {
+                    ArmaKF kf = new ArmaKF(m);
+                    DataBlock ref = kf.fastFilter(cur);
+                    DataBlock yl = kf.fastFilter(cur, ws);
+                    assertEquals(0, ref.distance(yl), 0);
+                    int n = ref.getLength();
+                    double bic = Math.log(ref.ssq() / n) + 3 * Math.log(n) / n;
+                    assertEquals(bic, kf.fastProcessing(cur, 3, ws), 1e-15);
+                    assertEquals(bic, kf.fastProcessing(cur, 3), 1e-15);
+                }
+            }
+        }
+    }
+}
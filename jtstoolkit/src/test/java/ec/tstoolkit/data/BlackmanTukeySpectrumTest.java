@@ -89,6 +89,37 @@ public class BlackmanTukeySpectrumTest {
 //        }
     }
 
+    @Test
+    public void testDirect() {
+        double[] dx = new double[g_exports.length - 1];
+        for (int i = 0; i < dx.length; ++i) {
+            dx[i] = g_exports[i + 1] - g_exports[i];
+        }
+        for (int len = 10; len < 120; len += 7) {
+            for (WindowType type : WindowType.values()) {
+                BlackmanTukeySpectrum tukey = new BlackmanTukeySpectrum();
+                tukey.setWindowLength(len);
+                tukey.setWindowType(type);
+                tukey.setData(dx);
+                double[] spectrum = tukey.getSpectrum();
+                // direct computation
+                double[] cwnd = tukey.window();
+                for (int j = 0; j < len; ++j) {
+                    cwnd[j] *= tukey.getAutoCovariances(j);
+                }
+                assertEquals(1 + len / 2, spectrum.length);
+                for (int i = 0; i < spectrum.length; ++i) {
+                    double s = cwnd[0];
+                    for (int j = 1; j < len; j++) {
+                        s += 2 * cwnd[j] * Math.cos(Math.PI * 2.0 * i * j / len);
+                    }
+                    s = Math.max(s, 0) / tukey.getAutoCovariances(0);
+                    assertEquals(s, spectrum[i], 1e-9 * Math.max(1, s));
+                }
+            }
+        }
+    }
+
     //@Test
     public void testRandom() {
         int N = 360, M = 500;
@@ -31,4 +31,72 @@ public class PeriodogramTest {
         }
     }
 
+    /**
+     * Periodogram computed by the (former) direct evaluation of the Fourier
+     * coefficients
+     */
+    private static double[] directP(double[] data, boolean mean) {
+        int T = data.length, T1 = (1 + T) / 2, T2 = 1 + T / 2;
+        double[] x = data.clone();
+        double sy = 0, sy2 = 0;
+        int n = 0;
+        for (int i = 0; i < T; ++i) {
+            if (!Double.isNaN(x[i])) {
+                ++n;
+                sy += x[i];
+            }
+        }
+        if (mean) {
+            sy /= n;
+        }
+        for (int i = 0; i < T; ++i) {
+            if (!Double.isNaN(x[i])) {
+                if (mean) {
+                    x[i] -= sy;
+                }
+                sy2 += x[i] * x[i];
+            }
+        }
+        double[] p = new double[T2];
+        p[0] = mean ? 0 : sy * sy / sy2;
+        for (int i = 1; i < T1; ++i) {
+            double a = 0, b = 0;
+            for (int j = 0; j < T; ++j) {
+                if (!Double.isNaN(x[j])) {
+                    double w = 2 * Math.PI * i * (j + 1) / T;
+                    a += Math.cos(w) * x[j];
+                    b += Math.sin(w) * x[j];
+                }
+            }
+            p[i] = 2 * (a * a + b * b) / sy2;
+        }
+        if (T1 != T2) {
+            double a = 0;
+            for (int i = 0; i < T; ++i) {
+                if (!Double.isNaN(x[i])) {
+                    a += i % 2 == 0 ? x[i] : -x[i];
+                }
+            }
+            p[T2 - 1] = a * a / sy2;
+        }
+        return p;
+    }
+
+    @Test
+    public void testDirect() {
+        for (int K = 5; K < 400; K += K < 60 ? 1 : 37) {
+            DataBlock z = new DataBlock(K);
+            z.randomize(K);
+            z.add(10);
+            z.set(K / 3, Double.NaN);
+            for (boolean mean : new boolean[]{false, true}) {
+                double[] p = new Periodogram(z, mean).getP();
+                double[] q = directP(z.getData(), mean);
+                assertEquals(q.length, p.length);
+                for (int i = 0; i < p.length; ++i) {
+                    assertEquals(q[i], p[i], 1e-9 * Math.max(1, q[i]));
+                }
+            }
+        }
+    }
 }
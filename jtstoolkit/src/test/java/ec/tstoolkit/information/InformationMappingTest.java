@@ -8,6 +8,8 @@ package ec.tstoolkit.information;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import org.junit.Test;
 import static org.junit.Assert.*;
 import org.junit.Ignore;
@@ -58,6 +60,25 @@ public class InformationMappingTest {
         assertTrue(allInt.size() == 21);
     }
 
+    @Test
+    public void testCompile() {
+        for (String key : new String[]{"convert", "square", "squares(4)", "squares(25)", "arrays(3)", "unknown"}) {
+            for (Class c : new Class[]{Object.class, Integer.class, Double.class}) {
+                Function<Integer, Object> fn = mapping.compile(key, c);
+                Object expected = mapping.getData(5, key, c);
+                if (fn == null) {
+                    assertNull(expected);
+                } else {
+                    assertTrue(Objects.deepEquals(expected, fn.apply(5)));
+                }
+                // cached
+                assertTrue(Objects.deepEquals(expected, mapping.getData(5, key, c)));
+            }
+        }
+        assertNull(mapping.compile("squares(4)", Double.class));
+        assertEquals(Integer.valueOf(80), mapping.compile("squares(4)", Integer.class).apply(5));
+    }
+
    @Test
     public void testSearchId() {
         assertTrue(mapping.contains("squares(4)"));
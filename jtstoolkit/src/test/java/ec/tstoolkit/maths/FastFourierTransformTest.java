@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.maths;
+
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class FastFourierTransformTest {
+
+    public FastFourierTransformTest() {
+    }
+
+    private static double[] dft(double[] data) {
+        int n = data.length / 2;
+        double[] rslt = new double[data.length];
+        for (int k = 0; k < n; ++k) {
+            double re = 0, im = 0;
+            for (int j = 0; j < n; ++j) {
+                double a = -2 * Math.PI * (((long) j * k) % n) / n;
+                double c = Math.cos(a), s = Math.sin(a);
+                re += data[2 * j] * c - data[2 * j + 1] * s;
+                im += data[2 * j] * s + data[2 * j + 1] * c;
+            }
+            rslt[2 * k] = re;
+            rslt[2 * k + 1] = im;
+        }
+        return rslt;
+    }
+
+    private static double[] random(int n, Random rnd) {
+        double[] x = new double[n];
+        for (int i = 0; i < n; ++i) {
+            x[i] = rnd.nextGaussian();
+        }
+        return x;
+    }
+
+    private static void check(double[] expected, double[] actual, int n) {
+        for (int i = 0; i < expected.length; ++i) {
+            assertEquals(expected[i], actual[i], 1e-10 * n);
+        }
+    }
+
+    @Test
+    public void testTransform() {
+        Random rnd = new Random(0);
+        for (int n = 1; n <= 130; n = n < 70 ? n + 1 : 2 * n) {
+            double[] x = random(2 * n, rnd);
+            double[] y = x.clone();
+            FastFourierTransform.transform(y);
+            check(dft(x), y, n);
+            FastFourierTransform.backTransform(y);
+            check(x, y, n);
+        }
+    }
+
+    @Test
+    public void testRealTransform() {
+        Random rnd = new Random(1);
+        for (int n = 1; n <= 300; n = n < 70 ? n + 1 : 2 * n + 1) {
+            double[] x = random(n, rnd);
+            double[] c = new double[2 * n];
+            for (int i = 0; i < n; ++i) {
+                c[2 * i] = x[i];
+            }
+            double[] y = FastFourierTransform.realTransform(x);
+            assertEquals(2 * (n / 2 + 1), y.length);
+            double[] z = dft(c);
+            for (int i = 0; i < y.length; ++i) {
+                assertEquals(z[i], y[i], 1e-10 * n);
+            }
+        }
+    }
+}
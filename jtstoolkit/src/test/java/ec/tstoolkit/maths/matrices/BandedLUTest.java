@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.maths.matrices;
+
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class BandedLUTest {
+
+    public BandedLUTest() {
+    }
+
+    private static void check(int n, int kl, int ku, boolean zeroDiagonal) {
+        Random rnd = new Random(n + 10 * kl + 100 * ku);
+        BandedLU lu = new BandedLU(n, kl, ku);
+        Matrix M = new Matrix(n, n);
+        for (int j = 0; j < n; ++j) {
+            for (int i = Math.max(0, j - ku); i <= Math.min(n - 1, j + kl); ++i) {
+                double v = (i == j && zeroDiagonal && j % 3 == 2) ? 0 : rnd.nextDouble() - .5;
+                lu.set(i, j, v);
+                M.set(i, j, v);
+            }
+        }
+        assertEquals(M.get(n - 1, n - 1), lu.get(n - 1, n - 1), 0);
+        if (n > kl + 1) {
+            assertEquals(0, lu.get(n - 1, 0), 0);
+        }
+        double[] b = new double[n];
+        for (int i = 0; i < n; ++i) {
+            b[i] = rnd.nextDouble();
+        }
+        Householder qr = new Householder(true);
+        qr.decompose(M);
+        double[] x = qr.solve(b.clone());
+        lu.solve(b);
+        for (int i = 0; i < n; ++i) {
+            assertEquals(x[i], b[i], 1e-9 * (1 + Math.abs(x[i])));
+        }
+    }
+
+    @Test
+    public void testSolve() {
+        check(1, 0, 0, false);
+        check(50, 0, 0, false);
+        check(50, 3, 2, false);
+        check(50, 1, 4, false);
+        check(80, 5, 5, true);
+        check(10, 12, 12, true);
+    }
+
+    @Test(expected = MatrixException.class)
+    public void testSingular() {
+        BandedLU lu = new BandedLU(3, 1, 1);
+        lu.set(0, 0, 1);
+        lu.set(1, 1, 1);
+        lu.solve(new double[3]);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testOutOfBand() {
+        BandedLU lu = new BandedLU(10, 1, 2);
+        lu.set(0, 3, 1);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.maths.matrices;
+
+import java.util.function.Supplier;
+import org.junit.After;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class MatrixKernelsTest {
+
+    private final long threshold = MatrixKernels.getBlockingThreshold();
+
+    public MatrixKernelsTest() {
+    }
+
+    @After
+    public void tearDown() {
+        MatrixKernels.setBlockingThreshold(threshold);
+    }
+
+    private static Matrix random(int nrows, int ncols, int seed) {
+        Matrix m = new Matrix(nrows, ncols);
+        m.randomize(seed);
+        // some zeros, to check the special cases of the reference routines
+        for (int i = 0; i < m.data_.length; i += 7) {
+            m.data_[i] = 0;
+        }
+        return m;
+    }
+
+    /**
+     * Results with and without the blocked kernels
+     */
+    private static void assertSame(Supplier<Matrix> fn) {
+        MatrixKernels.setBlockingThreshold(Long.MAX_VALUE);
+        Matrix expected = fn.get();
+        MatrixKernels.setBlockingThreshold(0);
+        Matrix actual = fn.get();
+        assertIdentical(expected, actual);
+    }
+
+    private static void assertIdentical(Matrix expected, Matrix actual) {
+        assertEquals(expected.getRowsCount(), actual.getRowsCount());
+        assertEquals(expected.getColumnsCount(), actual.getColumnsCount());
+        for (int i = 0; i < expected.data_.length; ++i) {
+            assertEquals(Double.doubleToLongBits(expected.data_[i]), Double.doubleToLongBits(actual.data_[i]));
+        }
+    }
+
+    @Test
+    public void testTimes() {
+        for (int[] dim : new int[][]{{8, 8, 1}, {37, 53, 29}, {130, 9, 211}, {64, 300, 17}}) {
+            Matrix a = random(dim[0], dim[2], 1), b = random(dim[2], dim[1], 2);
+            assertSame(() -> a.times(b));
+        }
+    }
+
+    @Test
+    public void testProduct() {
+        Matrix big = random(150, 160, 3);
+        // column-oriented (axpy) and row-oriented (dot) versions
+        for (int[] dim : new int[][]{{40, 30, 70}, {11, 90, 140}}) {
+            SubMatrix a = big.subMatrix(3, 3 + dim[0], 5, 5 + dim[2]);
+            SubMatrix b = big.subMatrix(1, 1 + dim[1], 2, 2 + dim[2]).transpose();
+            assertSame(() -> {
+                Matrix c = new Matrix(dim[0], dim[1]);
+                c.subMatrix().product(a, b);
+                return c;
+            });
+        }
+    }
+
+    @Test
+    public void testXtX() {
+        Matrix x = random(120, 45, 4);
+        assertSame(() -> SymmetricMatrix.XtX(x));
+        assertSame(() -> SymmetricMatrix.XXt(x));
+        SubMatrix sx = x.subMatrix(10, 110, 3, 40);
+        assertSame(() -> {
+            Matrix m = new Matrix(37, 37);
+            SymmetricMatrix.XtX(sx, m.subMatrix());
+            return m;
+        });
+        assertSame(() -> {
+            Matrix m = new Matrix(100, 100);
+            SymmetricMatrix.XXt(sx, m.subMatrix());
+            return m;
+        });
+    }
+
+    @Test
+    public void testCholesky() {
+        for (int n : new int[]{128, 150, 259}) {
+            Matrix s = SymmetricMatrix.XXt(random(n, n + 10, n));
+            s.diagonal().add(1);
+            assertSame(() -> {
+                Matrix l = s.clone();
+                SymmetricMatrix.lcholesky(l);
+                return l;
+            });
+        }
+    }
+
+    @Test
+    public void testStripes() {
+        Matrix a = random(101, 60, 5), b = random(60, 70, 6);
+        Matrix expected = new Matrix(101, 70), actual = new Matrix(101, 70);
+        MatrixKernels.run(a.all(), b.all(), expected.all(), MatrixKernels.ZERO, false, 1);
+        MatrixKernels.run(a.all(), b.all(), actual.all(), MatrixKernels.ZERO, false, 3);
+        assertIdentical(expected, actual);
+        MatrixKernels.run(a.all(), b.all(), expected.all(), MatrixKernels.FIRST, true, 1);
+        MatrixKernels.run(a.all(), b.all(), actual.all(), MatrixKernels.FIRST, true, 4);
+        assertIdentical(expected, actual);
+    }
+}
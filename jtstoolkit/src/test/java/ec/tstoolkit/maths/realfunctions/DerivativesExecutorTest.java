@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.maths.realfunctions;
+
+import ec.tstoolkit.data.DataBlock;
+import ec.tstoolkit.data.IReadDataBlock;
+import ec.tstoolkit.maths.matrices.Matrix;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class DerivativesExecutorTest {
+
+    public DerivativesExecutorTest() {
+    }
+
+    /**
+     * e(t) = y(t) - p0 * exp(p1 * t) - p2 - p3 * t
+     */
+    private static class Fn implements IFunction, ISsqFunction {
+
+        private final double[] y = new double[60];
+
+        Fn() {
+            for (int t = 0; t < y.length; ++t) {
+                y[t] = 2 * Math.exp(.02 * t) + 1 + .1 * t + Math.sin(t);
+            }
+        }
+
+        @Override
+        public DefaultSsqFunctionInstance evaluate(IReadDataBlock p) {
+            double[] e = new double[y.length];
+            for (int t = 0; t < y.length; ++t) {
+                e[t] = y[t] - p.get(0) * Math.exp(p.get(1) * t) - p.get(2) - p.get(3) * t;
+            }
+            return new DefaultSsqFunctionInstance(p, e);
+        }
+
+        @Override
+        public IFunctionDerivatives getDerivatives(IFunctionInstance point) {
+            return new NumericalDerivatives(this, point, true, true);
+        }
+
+        @Override
+        public ISsqFunctionDerivatives getDerivatives(ISsqFunctionInstance point) {
+            return new SsqNumericalDerivatives(this, point, true, true);
+        }
+
+        @Override
+        public IParametersDomain getDomain() {
+            return new DefaultDomain(4, 1e-6);
+        }
+
+        @Override
+        public ISsqFunctionInstance ssqEvaluate(IReadDataBlock p) {
+            return evaluate(p);
+        }
+    }
+
+    @Test
+    public void testParallelIsSequential() {
+        Fn fn = new Fn();
+        DefaultSsqFunctionInstance pt = fn.evaluate(new DataBlock(new double[]{1.5, .03, .5, .2}));
+        for (boolean sym : new boolean[]{false, true}) {
+            NumericalDerivatives d1 = new NumericalDerivatives(fn, pt, sym, false);
+            SsqNumericalDerivatives s1 = new SsqNumericalDerivatives(fn, pt, sym, false);
+            ExecutorService exec = Executors.newFixedThreadPool(3);
+            DerivativesExecutor.setExecutor(exec);
+            DerivativesExecutor.setThreshold(0);
+            try {
+                NumericalDerivatives d3 = new NumericalDerivatives(fn, pt, sym, true);
+                SsqNumericalDerivatives s3 = new SsqNumericalDerivatives(fn, pt, sym, true);
+                assertArrayEquals(d1.getGradient(), d3.getGradient(), 0);
+                assertEquals(0, d1.getHessian().minus(d3.getHessian()).nrm2(), 0);
+                assertArrayEquals(s1.getGradient(), s3.getGradient(), 0);
+                assertEquals(0, s1.getHessian().minus(s3.getHessian()).nrm2(), 0);
+                Matrix j1 = new Matrix(60, 4), j3 = new Matrix(60, 4);
+                s1.getJacobian(j1.all());
+                s3.getJacobian(j3.all());
+                assertEquals(0, j1.minus(j3).nrm2(), 0);
+            } finally {
+                DerivativesExecutor.setExecutor(null);
+                DerivativesExecutor.setThreshold(4);
+                exec.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void testRun() {
+        double[] x = new double[50];
+        ExecutorService exec = Executors.newFixedThreadPool(2);
+        DerivativesExecutor.setExecutor(exec);
+        try {
+            DerivativesExecutor.run(x.length, true, i -> x[i] += i);
+        } finally {
+            DerivativesExecutor.setExecutor(null);
+            exec.shutdown();
+        }
+        for (int i = 0; i < x.length; ++i) {
+            assertEquals(i, x[i], 0);
+        }
+    }
+}
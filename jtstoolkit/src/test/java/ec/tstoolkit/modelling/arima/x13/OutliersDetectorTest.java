@@ -16,6 +16,7 @@
  */
 package ec.tstoolkit.modelling.arima.x13;
 
+import data.Data;
 import ec.tstoolkit.arima.ArimaModelBuilder;
 import ec.tstoolkit.modelling.arima.ModelDescription;
 import ec.tstoolkit.modelling.arima.ModelEstimation;
@@ -26,8 +27,11 @@ import ec.tstoolkit.sarima.SarimaModelBuilder;
 import ec.tstoolkit.sarima.estimation.SarimaMapping;
 import ec.tstoolkit.timeseries.simplets.TsData;
 import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import ec.tstoolkit.timeseries.regression.IOutlierVariable;
+import java.util.List;
 import java.util.Random;
 import org.junit.Test;
+import utilities.CompareOutliers;
 import static org.junit.Assert.*;
 import org.junit.Ignore;
 
@@ -64,4 +68,15 @@ public class OutliersDetectorTest {
         outliers.process(context);
     }
     
+    @Test
+    public void testParallel() {
+        TsData s = Data.rndAirlineWithOutliers(360, 5, 1234);
+        OutliersDetector seq = new OutliersDetector(), par = new OutliersDetector();
+        seq.setAll();
+        par.setAll();
+        par.setParallel(true);
+        List<IOutlierVariable> outliers = CompareOutliers.detect(seq, s);
+        assertFalse(outliers.isEmpty());
+        assertTrue(CompareOutliers.compareOutliers(outliers, CompareOutliers.detect(par, s)));
+    }
 }
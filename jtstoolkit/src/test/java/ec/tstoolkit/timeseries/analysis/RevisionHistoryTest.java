@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.timeseries.analysis;
+
+import data.Data;
+import ec.tstoolkit.data.DescriptiveStatistics;
+import ec.tstoolkit.information.InformationSet;
+import ec.tstoolkit.information.ProxyResults;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.timeseries.simplets.TsDomain;
+import ec.tstoolkit.timeseries.simplets.TsPeriod;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class RevisionHistoryTest {
+
+    static final AtomicInteger COUNT = new AtomicInteger();
+
+    static ProxyResults process(TsDomain domain) {
+        COUNT.incrementAndGet();
+        TsData s = Data.P.fittoDomain(domain);
+        InformationSet info = new InformationSet();
+        info.set("y", s);
+        info.set("t", s.log());
+        info.set("avg", new DescriptiveStatistics(s).getAverage());
+        return new ProxyResults(info, null);
+    }
+
+    public RevisionHistoryTest() {
+    }
+
+    @Test
+    public void testPrecompute() {
+        TsDomain domain = Data.P.getDomain();
+        TsPeriod start = domain.getLast().minus(36);
+        RevisionHistory<ProxyResults> seq = new RevisionHistory<>(RevisionHistoryTest::process, domain);
+        RevisionHistory<ProxyResults> par = new RevisionHistory<>(RevisionHistoryTest::process, domain);
+        Map<String, Class<?>> items = new HashMap<>();
+        items.put("t", TsData.class);
+        items.put("avg", double.class);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            par.precompute(start, items, executor);
+        } finally {
+            executor.shutdown();
+        }
+        COUNT.set(0);
+        TsData r1 = par.revision("avg", start);
+        TsData t1 = par.tsRevision("t", start, start);
+        assertEquals(0, COUNT.get());
+        assertEquals(seq.revision("avg", start), r1);
+        assertEquals(seq.tsRevision("t", start, start), t1);
+        assertArrayEquals(seq.laggedSeriesRevision("t", start, 1, 12, DiagnosticInfo.AbsoluteDifference, DiagnosticTarget.Final),
+                par.laggedSeriesRevision("t", start, 1, 12, DiagnosticInfo.AbsoluteDifference, DiagnosticTarget.Final), 0);
+    }
+
+    @Test
+    public void testBoundedCache() {
+        TsDomain domain = Data.P.getDomain();
+        TsPeriod start = domain.getLast().minus(24);
+        RevisionHistory<ProxyResults> history = new RevisionHistory<>(RevisionHistoryTest::process, domain);
+        history.setCacheSize(4);
+        TsData t0 = history.tsRevision("t", start, start);
+        COUNT.set(0);
+        // the queried outputs are retained
+        assertEquals(t0, history.tsRevision("t", start, start));
+        assertEquals(0, COUNT.get());
+        // the complete results are recomputed when they have been dropped
+        history.tsRevision("y", start, start);
+        assertEquals(24, COUNT.get());
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.timeseries.analysis;
+
+import data.Data;
+import ec.tstoolkit.information.ProxyResults;
+import ec.tstoolkit.timeseries.simplets.TsDomain;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class SlidingSpansTest {
+
+    public SlidingSpansTest() {
+    }
+
+    @Test
+    public void testParallel() {
+        TsDomain domain = Data.P.getDomain();
+        SlidingSpans<ProxyResults> seq = new SlidingSpans<>(RevisionHistoryTest::process, domain);
+        SlidingSpans<ProxyResults> par = new SlidingSpans<>(RevisionHistoryTest::process, domain);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            assertTrue(seq.process());
+            assertTrue(par.process(executor));
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(seq.getSpanCount(), par.getSpanCount());
+        for (int i = 0; i < seq.getSpanCount(); ++i) {
+            assertEquals(seq.getDomain(i), par.getDomain(i));
+        }
+        assertEquals(seq.Statistics("t", DiagnosticInfo.AbsoluteDifference), par.Statistics("t", DiagnosticInfo.AbsoluteDifference));
+    }
+}
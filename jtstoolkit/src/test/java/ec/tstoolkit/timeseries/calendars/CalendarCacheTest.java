@@ -0,0 +1,170 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.timeseries.calendars;
+
+import ec.tstoolkit.data.DataBlock;
+import ec.tstoolkit.maths.matrices.Matrix;
+import ec.tstoolkit.timeseries.DayClustering;
+import ec.tstoolkit.timeseries.Day;
+import ec.tstoolkit.timeseries.Month;
+import ec.tstoolkit.timeseries.ValidityPeriod;
+import ec.tstoolkit.timeseries.regression.EasterVariable;
+import ec.tstoolkit.timeseries.regression.GenericTradingDaysVariables;
+import ec.tstoolkit.timeseries.regression.LeapYearVariable;
+import ec.tstoolkit.timeseries.regression.ITsVariable;
+import ec.tstoolkit.timeseries.simplets.TsDomain;
+import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class CalendarCacheTest {
+
+    public CalendarCacheTest() {
+    }
+
+    private static NationalCalendarProvider national() {
+        List<SpecialDayEvent> events = new ArrayList<>();
+        SpecialDayEvent may = new SpecialDayEvent(new FixedDay(0, Month.May));
+        // the validity ends on the first day of a period
+        may.setValidityPeriod(new ValidityPeriod(Day.BEG, new Day(2000, Month.May, 0)));
+        events.add(may);
+        events.add(new SpecialDayEvent(new FixedDay(24, Month.December)));
+        events.add(new SpecialDayEvent(new EasterRelatedDay(1)));
+        return new NationalCalendarProvider(events);
+    }
+
+    private static Matrix direct(IGregorianCalendarProvider provider, TradingDaysType type, TsDomain domain) {
+        Matrix m = new Matrix(domain.getLength(), provider.count(type));
+        provider.calendarData(type, domain, m.columnList());
+        return m;
+    }
+
+    private static Matrix cached(CalendarCache cache, IGregorianCalendarProvider provider, TradingDaysType type, TsDomain domain) {
+        Matrix m = new Matrix(domain.getLength(), provider.count(type));
+        cache.calendarData(provider, type, domain, m.columnList());
+        return m;
+    }
+
+    @Test
+    public void testCalendarData() {
+        CalendarCache cache = new CalendarCache(8);
+        IGregorianCalendarProvider[] providers = new IGregorianCalendarProvider[]{
+            DefaultGregorianCalendarProvider.instance, national()};
+        TsDomain[] domains = new TsDomain[]{
+            new TsDomain(TsFrequency.Monthly, 1995, 3, 100),
+            new TsDomain(TsFrequency.Monthly, 2000, 4, 24),
+            new TsDomain(TsFrequency.Monthly, 1980, 11, 400),
+            new TsDomain(TsFrequency.Monthly, 1999, 0, 17),
+            new TsDomain(TsFrequency.Quarterly, 1990, 1, 60),
+            new TsDomain(TsFrequency.Quarterly, 2000, 1, 3)};
+        for (IGregorianCalendarProvider provider : providers) {
+            for (TradingDaysType type : new TradingDaysType[]{TradingDaysType.TradingDays, TradingDaysType.WorkingDays}) {
+                for (TsDomain domain : domains) {
+                    assertEquals(direct(provider, type, domain), cached(cache, provider, type, domain));
+                    // second call is served by the cache
+                    assertEquals(direct(provider, type, domain), cached(cache, provider, type, domain));
+                }
+            }
+        }
+        // (providers x types x frequencies)
+        assertEquals(8, cache.size());
+    }
+
+    @Test
+    public void testHolidays() {
+        CalendarCache cache = new CalendarCache(8);
+        NationalCalendarProvider provider = national();
+        TsDomain all = new TsDomain(TsFrequency.Monthly, 1990, 0, 240);
+        TsDomain window = new TsDomain(TsFrequency.Monthly, 2000, 4, 12);
+        for (TradingDaysType type : new TradingDaysType[]{TradingDaysType.TradingDays, TradingDaysType.WorkingDays}) {
+            assertNotNull(cache.holidays(provider, type, all));
+            List<DataBlock> h = cache.holidays(provider, type, window);
+            List<DataBlock> d = provider.holidays(type, window);
+            assertEquals(d.size(), h.size());
+            for (int i = 0; i < d.size(); ++i) {
+                assertArrayEquals(d.get(i).getData(), h.get(i).getData(), 0);
+            }
+            // the caller can't modify the cached data
+            h.get(0).set(-100);
+            assertArrayEquals(d.get(0).getData(), cache.holidays(provider, type, window).get(0).getData(), 0);
+        }
+        assertNull(cache.holidays(DefaultGregorianCalendarProvider.instance, TradingDaysType.TradingDays, window));
+    }
+
+    @Test
+    public void testInvalidation() {
+        GregorianCalendarManager mgr = new GregorianCalendarManager();
+        NationalCalendarProvider provider = national();
+        TsDomain domain = new TsDomain(TsFrequency.Monthly, 1990, 0, 240);
+        Matrix m = new Matrix(domain.getLength(), 1);
+        CalendarCache.instance.calendarData(provider, TradingDaysType.WorkingDays, domain, m.columnList());
+        CalendarCache.instance.data(CalendarCacheTest.class, "test", 1, domain, m.columnList(), (d, b) -> b.get(0).set(1));
+        int n = CalendarCache.instance.size();
+        assertTrue(n >= 2);
+        mgr.set("test", provider);
+        int nc = CalendarCache.instance.size();
+        assertTrue(nc < n);
+        assertTrue(nc >= 1);
+        CalendarCache.instance.clear();
+        assertEquals(0, CalendarCache.instance.size());
+    }
+
+    private static Matrix data(ITsVariable var, TsDomain domain) {
+        Matrix m = new Matrix(domain.getLength(), var.getDim());
+        var.data(domain, m.columnList());
+        return m;
+    }
+
+    @Test
+    public void testVariables() {
+        EasterVariable easter = new EasterVariable();
+        easter.setDuration(8);
+        easter.includeEaster(true);
+        EasterVariable easter2 = new EasterVariable();
+        easter2.setDuration(8);
+        easter2.includeEasterMonday(true);
+        easter2.setType(EasterVariable.Correction.Theoretical);
+        ITsVariable[] vars = new ITsVariable[]{easter, easter2,
+            new LeapYearVariable(LengthOfPeriodType.LeapYear),
+            new LeapYearVariable(LengthOfPeriodType.LengthOfPeriod),
+            new GenericTradingDaysVariables(GenericTradingDays.contrasts(DayClustering.TD3)),
+            new GenericTradingDaysVariables(GenericTradingDays.normalized(DayClustering.TD4))
+        };
+        TsDomain[] domains = new TsDomain[]{
+            new TsDomain(TsFrequency.Monthly, 1995, 3, 100),
+            new TsDomain(TsFrequency.Monthly, 1980, 11, 400),
+            new TsDomain(TsFrequency.Quarterly, 1990, 1, 60)};
+        int capacity = CalendarCache.instance.getCapacity();
+        try {
+            for (ITsVariable var : vars) {
+                for (TsDomain domain : domains) {
+                    CalendarCache.instance.setCapacity(0);
+                    Matrix m0 = data(var, domain);
+                    CalendarCache.instance.setCapacity(capacity);
+                    Matrix m1 = data(var, domain);
+                    Matrix m2 = data(var, domain);
+                    assertEquals(m0, m1);
+                    assertEquals(m0, m2);
+                }
+            }
+        } finally {
+            CalendarCache.instance.setCapacity(capacity);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.timeseries.simplets;
+
+import data.Data;
+import ec.tstoolkit.data.DataBlock;
+import ec.tstoolkit.timeseries.TsAggregationType;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class TsAlignedDataTest {
+
+    public TsAlignedDataTest() {
+    }
+
+    private static void check(TsData expected, TsData actual) {
+        assertEquals(expected.getDomain(), actual.getDomain());
+        for (int i = 0; i < expected.getLength(); ++i) {
+            double e = expected.get(i), a = actual.get(i);
+            if (Double.isFinite(e)) {
+                assertEquals(e, a, 1e-9 * Math.abs(e));
+            } else {
+                assertTrue(Double.isNaN(a));
+            }
+        }
+    }
+
+    private static TsData[] mixed() {
+        TsData p = Data.P.drop(10, 5);
+        p.set(20, Double.NaN);
+        return new TsData[]{p, Data.Q.drop(3, 7), null, Data.Y, Data.X.drop(0, 20)};
+    }
+
+    @Test
+    public void testUnion() {
+        TsData[] s = mixed();
+        TsAlignedData all = TsAlignedData.union(s);
+        TsDataTable table = new TsDataTable();
+        table.add(s);
+        assertEquals(table.getDomain(), all.getDomain());
+        for (int i = 0; i < all.getDomain().getLength(); ++i) {
+            for (int j = 0; j < s.length; ++j) {
+                TsDataTableInfo info = table.getDataInfo(i, j);
+                assertEquals(info, all.getDataInfo(i, j));
+                if (info == TsDataTableInfo.Valid) {
+                    assertEquals(table.getData(i, j), all.getData(i, j), 0);
+                } else {
+                    assertTrue(Double.isNaN(all.getData(i, j)));
+                }
+            }
+        }
+        assertEquals(Data.P.drop(10, 5).getDomain(), all.series(0).cleanExtremities().getDomain());
+    }
+
+    @Test
+    public void testEmptySeries() {
+        // an empty series is part of the union, as in TsDataTable
+        TsData empty = new TsData(new TsPeriod(TsFrequency.Monthly, 1960, 0), 0);
+        TsData[] s = new TsData[]{Data.X, empty, Data.P.drop(0, 24)};
+        TsAlignedData all = TsAlignedData.union(s);
+        TsDataTable table = new TsDataTable();
+        table.add(s);
+        assertEquals(table.getDomain(), all.getDomain());
+        assertEquals(empty.getStart(), all.getDomain().getStart());
+        for (int i = 0; i < all.getDomain().getLength(); ++i) {
+            for (int j = 0; j < s.length; ++j) {
+                assertEquals(table.getDataInfo(i, j), all.getDataInfo(i, j));
+            }
+        }
+        TsMatrix m = new TsMatrix(s);
+        assertEquals(table.getDomain(), m.getDomain());
+        assertTrue(TsAlignedData.intersection(s).isEmpty());
+    }
+
+    @Test
+    public void testIntersection() {
+        TsData x = Data.X, m = Data.M1.drop(12, 7);
+        TsAlignedData all = TsAlignedData.intersection(x, m);
+        TsDomain domain = x.getDomain().intersection(m.getDomain());
+        assertEquals(domain, all.getDomain());
+        check(x.fittoDomain(domain), all.series(0));
+        check(m.fittoDomain(domain), all.series(1));
+        // quarterly series on the last month of each quarter
+        TsData q = x.changeFrequency(TsFrequency.Quarterly, TsAggregationType.Sum, true);
+        all = TsAlignedData.intersection(x, m, q);
+        domain = all.getDomain();
+        assertEquals(m.getStart(), domain.getStart());
+        assertEquals(2, domain.getLast().getPosition() % 3);
+        for (int i = 0; i < domain.getLength(); ++i) {
+            TsPeriod p = domain.get(i);
+            if (p.getPosition() % 3 == 2) {
+                assertEquals(TsDataTableInfo.Valid, all.getDataInfo(i, 2));
+                assertEquals(q.get(new TsPeriod(TsFrequency.Quarterly, p)), all.getData(i, 2), 0);
+            } else {
+                assertEquals(TsDataTableInfo.Empty, all.getDataInfo(i, 2));
+            }
+        }
+        assertTrue(TsAlignedData.intersection(Data.X, Data.P.drop(0, 400)).isEmpty());
+    }
+
+    @Test
+    public void testViews() {
+        TsAlignedData all = TsAlignedData.union(Data.M1, Data.M2, Data.M3);
+        DataBlock col = all.column(1);
+        col.set(3, -1);
+        assertEquals(-1, all.getData(3, 1), 0);
+        assertEquals(-1, all.row(3).get(1), 0);
+        assertEquals(-1, all.tsMatrix().getMatrix().get(3, 1), 0);
+        assertEquals(-1, all.block(1).data.get(3), 0);
+    }
+
+    @Test
+    public void testCrossSectional() {
+        TsData m1 = Data.M1, m2 = Data.M2.drop(0, 12), m3 = Data.M3;
+        TsAlignedData all = TsAlignedData.union(m1, m2, m3);
+        TsData sum = m1.plus(m2).plus(m3).fittoDomain(all.getDomain());
+        check(sum, all.sum());
+        TsData wsum = m1.times(2).minus(m3).fittoDomain(all.getDomain());
+        check(wsum, all.aggregate(new double[]{2, 0, -1}));
+        TsData asum = all.sumOfAvailable();
+        assertEquals(m1.plus(m3).get(m1.getLength() - 1), asum.get(asum.getLength() - 1), 1e-9);
+        assertEquals(asum.get(0) / 3, all.average().get(0), 1e-9);
+        TsData ratio = m1.div(m3);
+        check(ratio, all.ratio(0, 2));
+        TsAlignedData shares = all.shares();
+        check(m2.fittoDomain(all.getDomain()).div(sum), shares.series(1));
+    }
+}
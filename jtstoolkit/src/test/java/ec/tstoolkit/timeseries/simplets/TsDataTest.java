@@ -21,7 +21,14 @@ import ec.tstoolkit.timeseries.Day;
 import ec.tstoolkit.timeseries.Month;
 import ec.tstoolkit.timeseries.TsAggregationType;
 import ec.tstoolkit.timeseries.TsPeriodSelector;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import org.junit.AfterClass;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -255,4 +262,72 @@ public class TsDataTest {
             }
         }
     }
+
+    @Test
+    public void testObservations() {
+        TsData s = new TsData(TsFrequency.Quarterly, 1990, 1, new double[]{Double.NaN, 1, 2, Double.NaN, Double.NaN, 5, Double.POSITIVE_INFINITY}, false);
+        List<TsObservation> obs = new ArrayList<>();
+        for (TsObservation o : s) {
+            obs.add(o);
+        }
+        assertEquals(3, obs.size());
+
+        // cursor
+        TsDataCursor cursor = s.cursor();
+        for (int k = 0; k < 2; ++k) {
+            for (TsObservation o : obs) {
+                assertTrue(cursor.next());
+                assertEquals(o.getPeriod(), cursor.getPeriod());
+                assertEquals(o.getPeriod().id(), cursor.getPeriodId());
+                assertEquals(o.getValue(), cursor.getValue(), 0);
+                assertEquals(o.getValue(), s.get(cursor.getIndex()), 0);
+            }
+            assertFalse(cursor.next());
+            cursor.reset();
+        }
+
+        // visitors
+        List<TsObservation> vobs = new ArrayList<>();
+        s.forEachObservation((id, v) -> vobs.add(new TsObservation(new TsPeriod(TsFrequency.Quarterly, id), v)));
+        assertEquals(obs, vobs);
+        double[] all = new double[s.getLength()];
+        s.forEachValue((i, v) -> all[i] = v);
+        assertArrayEquals(s.internalStorage(), all, 0);
+        assertArrayEquals(new double[]{1, 2, 5}, s.finiteValues().toArray(), 0);
+
+        // iterator without hasNext
+        Iterator<TsObservation> iter = s.iterator();
+        for (TsObservation o : obs) {
+            assertEquals(o, iter.next());
+        }
+        try {
+            iter.next();
+            assertTrue(false);
+        } catch (NoSuchElementException ex) {
+        }
+    }
+
+    @Test
+    public void testTableCopySeries() {
+        TsData m = new TsData(TsFrequency.Monthly, 1980, 5, 30);
+        m.randomAirline();
+        m.setMissing(3);
+        TsData q = new TsData(TsFrequency.Quarterly, 1979, 2, 10);
+        q.randomAirline();
+        TsDataTable table = new TsDataTable();
+        table.add(m, q);
+        int n = table.getDomain().getLength();
+        double[] buffer = new double[2 * n];
+        table.copySeries(0, buffer, 0);
+        table.copySeries(1, buffer, n);
+        for (int i = 0; i < 2; ++i) {
+            for (int j = 0; j < n; ++j) {
+                if (table.getDataInfo(j, i) == TsDataTableInfo.Valid) {
+                    assertEquals(table.getData(j, i), buffer[i * n + j], 0);
+                } else {
+                    assertTrue(Double.isNaN(buffer[i * n + j]));
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.ucarima;
+
+import static ec.tstoolkit.ucarima.WienerKolmogorovPreliminaryEstimatorPropertiesTest.ucmAirline;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class WienerKolmogorovCacheTest {
+
+    public WienerKolmogorovCacheTest() {
+    }
+
+    @Test
+    public void testSameModel() {
+        WienerKolmogorovCache cache = new WienerKolmogorovCache(2);
+        WienerKolmogorovEstimators wk = cache.estimators(ucmAirline(-.6, -.4));
+        assertSame(wk, cache.estimators(ucmAirline(-.6, -.4)));
+        assertNotSame(wk, cache.estimators(ucmAirline(-.6, -.5)));
+        assertEquals(2, cache.size());
+        cache.estimators(ucmAirline(-.5, -.5));
+        assertEquals(2, cache.size());
+        // the least recently used model has been removed
+        assertNotSame(wk, cache.estimators(ucmAirline(-.6, -.4)));
+    }
+
+    @Test
+    public void testSameResults() {
+        UcarimaModel ucm = ucmAirline(-.6, -.4);
+        WienerKolmogorovEstimators wk = WienerKolmogorovCache.instance.estimators(ucm);
+        WienerKolmogorovEstimators nwk = new WienerKolmogorovEstimators(ucm);
+        for (int i = 0; i < ucm.getComponentsCount(); ++i) {
+            assertArrayEquals(nwk.totalErrorVariance(i, true, -12, 24), wk.totalErrorVariance(i, true, -12, 24), 0);
+            assertArrayEquals(nwk.revisionVariance(i, true, 0, 24), wk.revisionVariance(i, true, 0, 24), 0);
+            // memoized variances
+            assertArrayEquals(nwk.totalErrorVariance(i, true, -12, 24), wk.totalErrorVariance(i, true, -12, 24), 0);
+        }
+    }
+
+    @Test
+    public void testNoCapacity() {
+        WienerKolmogorovCache cache = new WienerKolmogorovCache(1);
+        UcarimaModel ucm = ucmAirline(-.6, -.4);
+        cache.estimators(ucm);
+        cache.setCapacity(0);
+        assertEquals(0, cache.size());
+        assertNotSame(cache.estimators(ucm), cache.estimators(ucm));
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ * 
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * 
+ * http://ec.europa.eu/idabc/eupl
+ * 
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package utilities;
+
+import ec.tstoolkit.modelling.arima.IOutliersDetectionModule;
+import ec.tstoolkit.modelling.arima.ModelDescription;
+import ec.tstoolkit.modelling.arima.ModelEstimation;
+import ec.tstoolkit.modelling.arima.ModellingContext;
+import ec.tstoolkit.modelling.arima.RegArimaEstimator;
+import ec.tstoolkit.sarima.SarimaSpecification;
+import ec.tstoolkit.sarima.estimation.SarimaMapping;
+import ec.tstoolkit.timeseries.regression.IOutlierVariable;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import java.util.List;
+
+public class CompareOutliers {
+
+    /**
+     * Runs an outliers detection module on an airline model of the series
+     *
+     * @param module The outliers detection module
+     * @param s The monthly series
+     * @return The detected outliers
+     */
+    public static List<IOutlierVariable> detect(IOutliersDetectionModule module, TsData s) {
+        SarimaSpecification spec = new SarimaSpecification(12);
+        spec.airline();
+        ModelDescription desc = new ModelDescription(s, null);
+        desc.setAirline(true);
+        ModelEstimation est = new ModelEstimation(desc.buildRegArima());
+        est.compute(new RegArimaEstimator(new SarimaMapping(spec, true)), 2);
+        ModellingContext context = new ModellingContext();
+        context.description = desc;
+        context.estimation = est;
+        module.process(context);
+        return context.description.getOutliers();
+    }
+
+    public static boolean compareOutliers(List<IOutlierVariable> original, List<IOutlierVariable> test) {
+        if (original.size() != test.size()) {
+            return false;
+        }
+        for (int i = 0; i < original.size(); ++i) {
+            if (!original.get(i).getCode().equals(test.get(i).getCode())) {
+                return false;
+            }
+            if (!original.get(i).getPosition().equals(test.get(i).getPosition())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -30,6 +30,7 @@ import ec.tss.tsproviders.*;
 import static ec.tss.tsproviders.sdmx.SdmxBean.X_TITLE_ATTRIBUTE;
 import ec.tss.tsproviders.sdmx.engine.CunningPlanFactory;
 import ec.tss.tsproviders.sdmx.engine.ISdmxSourceFactory;
+import ec.tss.tsproviders.sdmx.engine.StreamingFactory;
 import ec.tss.tsproviders.sdmx.model.SdmxGroup;
 import ec.tss.tsproviders.sdmx.model.SdmxItem;
 import ec.tss.tsproviders.sdmx.model.SdmxSeries;
@@ -73,7 +74,7 @@ public class SdmxProvider extends AbstractFileLoader<SdmxSource, SdmxBean> {
 
     public SdmxProvider() {
         super(LOGGER, SOURCE, TsAsyncMode.None);
-        this.factories = new ISdmxSourceFactory[]{new CunningPlanFactory()};
+        this.factories = new ISdmxSourceFactory[]{new CunningPlanFactory(), new StreamingFactory()};
         this.legacyDataSourceParser = SdmxLegacy.dataSourceParser();
         this.legacyDataSetParser = SdmxLegacy.dataSetParser();
         this.keyValueSplitter = Splitter.on(',').trimResults().withKeyValueSeparator('=');
@@ -102,6 +103,28 @@ public class SdmxProvider extends AbstractFileLoader<SdmxSource, SdmxBean> {
         return id != null ? legacyDataSourceParser.parse(id) : null;
     }
 
+    @Override
+    protected int weigh(SdmxSource data) {
+        int w = 1;
+        for (SdmxItem o : data.items) {
+            w += weigh(o);
+        }
+        return w;
+    }
+
+    private static int weigh(SdmxItem item) {
+        if (item instanceof SdmxSeries) {
+            return weightOf(((SdmxSeries) item).data);
+        }
+        int w = 1;
+        if (item instanceof SdmxGroup) {
+            for (SdmxSeries o : ((SdmxGroup) item).series) {
+                w += weightOf(o.data);
+            }
+        }
+        return w;
+    }
+
     @Override
     protected SdmxSource loadFromBean(SdmxBean bean) throws Exception {
         File file = getRealFile(bean.getFile());
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tss.tsproviders.sdmx.engine;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
+import ec.tss.tsproviders.cursor.TsCursor;
+import ec.tss.tsproviders.sdmx.model.SdmxSeries;
+import ec.tss.tsproviders.utils.OptionalTsData;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.Nonnull;
+
+/**
+ * Cursor on the series of a SDMX-ML (generic or compact) file. The file is
+ * parsed incrementally: only the current series is kept in memory and its
+ * observations are only parsed if its data are requested. The series
+ * identifiers are the ones of SdmxSeries.
+ */
+public final class SdmxCursor implements TsCursor<String> {
+
+    @Nonnull
+    public static SdmxCursor open(@Nonnull File file) throws IOException {
+        return new SdmxCursor(SdmxXmlReader.open(file));
+    }
+
+    @Nonnull
+    public static SdmxCursor open(@Nonnull InputStream stream) throws IOException {
+        return new SdmxCursor(new SdmxXmlReader(stream));
+    }
+
+    private final SdmxXmlReader reader;
+    private boolean closed;
+    private String id;
+    private OptionalTsData data;
+
+    private SdmxCursor(SdmxXmlReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public Map<String, String> getMetaData() {
+        checkState();
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public boolean nextSeries() throws IOException {
+        checkState();
+        id = null;
+        data = null;
+        SdmxXmlReader.Event event;
+        while ((event = reader.next()) != null) {
+            if (event == SdmxXmlReader.Event.SERIES) {
+                id = ID_JOINER.join(reader.getSeriesKey());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String getSeriesId() {
+        checkSeriesState();
+        return id;
+    }
+
+    @Override
+    public Map<String, String> getSeriesMetaData() {
+        checkSeriesState();
+        Map<String, String> result = new LinkedHashMap<>();
+        reader.getSeriesAttributes().forEach(o -> result.put(o.getKey(), o.getValue()));
+        return result;
+    }
+
+    @Override
+    public OptionalTsData getSeriesData() throws IOException {
+        checkSeriesState();
+        if (data == null) {
+            data = reader.readData();
+        }
+        return data;
+    }
+
+    /**
+     * Gets the current series, with its observations
+     *
+     * @return
+     * @throws IOException
+     */
+    @Nonnull
+    public SdmxSeries getSeries() throws IOException {
+        checkSeriesState();
+        return new SdmxSeries(reader.getSeriesKey(), reader.getSeriesAttributes(), reader.getTimeFormat(), getSeriesData());
+    }
+
+    /**
+     * Gets the key of the group of the current series
+     *
+     * @return An empty list if the series doesn't belong to a group
+     */
+    @Nonnull
+    public ImmutableList<Map.Entry<String, String>> getGroupKey() {
+        checkSeriesState();
+        return reader.getGroupKey();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            reader.close();
+        }
+    }
+
+    private void checkState() throws IllegalStateException {
+        if (closed) {
+            throw new IllegalStateException("This cursor is closed");
+        }
+    }
+
+    private void checkSeriesState() throws IllegalStateException {
+        checkState();
+        if (id == null) {
+            throw new IllegalStateException("This cursor has no more series or has not been started");
+        }
+    }
+
+    static final Joiner.MapJoiner ID_JOINER = Joiner.on(", ").withKeyValueSeparator("=");
+}
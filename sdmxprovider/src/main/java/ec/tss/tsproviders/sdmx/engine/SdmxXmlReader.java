@@ -0,0 +1,471 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tss.tsproviders.sdmx.engine;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import ec.tss.tsproviders.sdmx.model.SdmxSource;
+import ec.tss.tsproviders.utils.DataFormat;
+import ec.tss.tsproviders.utils.IParser;
+import ec.tss.tsproviders.utils.ObsGathering;
+import ec.tss.tsproviders.utils.OptionalTsData;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Pull parser of SDMX-ML (generic or compact) data messages. The groups and
+ * the series of the first data set are read one by one; the observations of a
+ * series are only parsed when they are requested and are skipped otherwise.
+ * The items are identical to the ones produced by GenericDocFactory and
+ * GuessingCompactFactory.
+ */
+final class SdmxXmlReader implements Closeable {
+
+    enum Event {
+
+        GROUP, SERIES, END_GROUP
+    }
+
+    static SdmxXmlReader open(File file) throws IOException {
+        InputStream stream = new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE);
+        try {
+            return new SdmxXmlReader(stream);
+        } catch (IOException ex) {
+            stream.close();
+            throw ex;
+        }
+    }
+
+    private final InputStream stream;
+    private final XMLStreamReader reader;
+    private final Calendar cal = new GregorianCalendar();
+    private final IParser<Number> toValue = DEFAULT_DATA_FORMAT.numberParser();
+    private SdmxSource.Type type;
+    private boolean started, dataSet, done;
+    // true if the current event of the reader has not been handled yet
+    private boolean pending;
+    // group context
+    private boolean inGroup;
+    private ImmutableList<Map.Entry<String, String>> groupKey = ImmutableList.of(), groupAttributes = ImmutableList.of();
+    // series context
+    private boolean seriesOpen;
+    private ImmutableList<Map.Entry<String, String>> seriesKey, seriesAttributes;
+    private TimeFormat timeFormat;
+
+    SdmxXmlReader(InputStream stream) throws IOException {
+        this.stream = stream;
+        try {
+            this.reader = XML_FACTORY.createXMLStreamReader(stream);
+        } catch (XMLStreamException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    /**
+     * Type of the message. Only defined once the data set has been entered
+     * (null if the message doesn't contain any data set)
+     *
+     * @return
+     */
+    @Nullable
+    SdmxSource.Type getType() {
+        return type;
+    }
+
+    boolean isInGroup() {
+        return inGroup;
+    }
+
+    ImmutableList<Map.Entry<String, String>> getGroupKey() {
+        return groupKey;
+    }
+
+    ImmutableList<Map.Entry<String, String>> getGroupAttributes() {
+        return groupAttributes;
+    }
+
+    ImmutableList<Map.Entry<String, String>> getSeriesKey() {
+        return seriesKey;
+    }
+
+    ImmutableList<Map.Entry<String, String>> getSeriesAttributes() {
+        return seriesAttributes;
+    }
+
+    TimeFormat getTimeFormat() {
+        return timeFormat;
+    }
+
+    /**
+     * Moves to the next group or series. The observations of the current
+     * series that haven't been read are skipped.
+     *
+     * @return The next event or null at the end of the data set
+     * @throws IOException
+     */
+    @Nullable
+    Event next() throws IOException {
+        try {
+            if (seriesOpen) {
+                skipSeries();
+            }
+            if (!started) {
+                started = true;
+                dataSet = enterDataSet();
+                done = !dataSet;
+            }
+            while (!done && (pending || reader.hasNext())) {
+                int event = nextEvent();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = reader.getLocalName();
+                    if (type == null) {
+                        // the key family reference is the first element of a generic data set
+                        type = KEY_FAMILY_REF.equals(name) ? SdmxSource.Type.GENERIC : SdmxSource.Type.COMPACT;
+                    }
+                    if (type == SdmxSource.Type.GENERIC && !inGroup && GROUP.equals(name)) {
+                        readGroupHeader();
+                        return Event.GROUP;
+                    } else if (SERIES.equals(name) && (type == SdmxSource.Type.GENERIC || !inGroup)) {
+                        if (type == SdmxSource.Type.GENERIC) {
+                            readGenericSeriesHeader();
+                        } else {
+                            readCompactSeriesHeader();
+                        }
+                        return Event.SERIES;
+                    } else {
+                        skipElement();
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if (inGroup) {
+                        inGroup = false;
+                        groupKey = ImmutableList.of();
+                        groupAttributes = ImmutableList.of();
+                        return Event.END_GROUP;
+                    }
+                    // end of the data set
+                    done = true;
+                }
+            }
+            done = true;
+            if (type == null && dataSet) {
+                // empty data set
+                type = SdmxSource.Type.COMPACT;
+            }
+            return null;
+        } catch (XMLStreamException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    /**
+     * Reads the observations of the current series
+     *
+     * @return
+     * @throws IOException
+     */
+    OptionalTsData readData() throws IOException {
+        if (!seriesOpen) {
+            throw new IllegalStateException("The observations have already been read");
+        }
+        try {
+            IParser<Date> toPeriod = timeFormat.getParser();
+            ObsGathering gathering = ObsGathering.includingMissingValues(timeFormat.getFrequency(), timeFormat.getAggregationType());
+            OptionalTsData.Builder2<Date> data = OptionalTsData.builderByDate(cal, gathering);
+            boolean generic = type == SdmxSource.Type.GENERIC;
+            while (pending || reader.hasNext()) {
+                int event = nextEvent();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    if (OBS.equals(reader.getLocalName())) {
+                        if (generic) {
+                            readGenericObs(data, toPeriod);
+                        } else {
+                            readCompactObs(data, toPeriod);
+                        }
+                    } else {
+                        skipElement();
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    break;
+                }
+            }
+            seriesOpen = false;
+            return data.build();
+        } catch (XMLStreamException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            reader.close();
+        } catch (XMLStreamException ex) {
+            throw new IOException(ex);
+        } finally {
+            stream.close();
+        }
+    }
+
+    private int nextEvent() throws XMLStreamException {
+        if (pending) {
+            pending = false;
+            return reader.getEventType();
+        }
+        return reader.next();
+    }
+
+    private boolean enterDataSet() throws XMLStreamException {
+        // root element
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                break;
+            }
+        }
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (DATA_SET.equals(reader.getLocalName())) {
+                    return true;
+                }
+                skipElement();
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    // the reader is on a start element; moves to the corresponding end element
+    private void skipElement() throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                ++depth;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                --depth;
+            }
+        }
+    }
+
+    private void skipSeries() throws XMLStreamException {
+        while (pending || reader.hasNext()) {
+            int event = nextEvent();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                skipElement();
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                break;
+            }
+        }
+        seriesOpen = false;
+    }
+
+    private void readGroupHeader() throws XMLStreamException {
+        ImmutableList<Map.Entry<String, String>> key = ImmutableList.of(), attributes = ImmutableList.of();
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = reader.getLocalName();
+                if (GROUP_KEY.equals(name)) {
+                    key = readConcepts();
+                } else if (ATTRIBUTES.equals(name)) {
+                    attributes = readConcepts();
+                } else {
+                    pending = true;
+                    break;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                pending = true;
+                break;
+            }
+        }
+        inGroup = true;
+        groupKey = key;
+        groupAttributes = attributes;
+    }
+
+    private void readGenericSeriesHeader() throws XMLStreamException {
+        List<Map.Entry<String, String>> key = new ArrayList<>(), attributes = new ArrayList<>();
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = reader.getLocalName();
+                if (SERIES_KEY.equals(name)) {
+                    key = readConcepts();
+                } else if (ATTRIBUTES.equals(name)) {
+                    attributes = readConcepts();
+                } else {
+                    pending = true;
+                    break;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                pending = true;
+                break;
+            }
+        }
+        Map<String, String> concepts = new HashMap<>();
+        key.forEach(o -> concepts.put(o.getKey(), o.getValue()));
+        attributes.forEach(o -> concepts.put(o.getKey(), o.getValue()));
+        timeFormat = getTimeFormat(concepts.get(TIME_FORMAT), concepts.get(FREQ));
+        Predicate<Map.Entry<String, String>> keyFilter = inGroup ? o -> !groupKey.contains(o) : o -> true;
+        seriesKey = filter(key, keyFilter);
+        seriesAttributes = filter(attributes, keyFilter);
+        seriesOpen = true;
+    }
+
+    private void readCompactSeriesHeader() {
+        // same order as the attributes of a DOM element (sorted by name)
+        List<Map.Entry<String, String>> key = new ArrayList<>();
+        String tf = null, freq = null;
+        for (int i = 0; i < reader.getAttributeCount(); ++i) {
+            String prefix = reader.getAttributePrefix(i);
+            String local = reader.getAttributeLocalName(i);
+            String name = prefix == null || prefix.isEmpty() ? local : prefix + ":" + local;
+            String value = reader.getAttributeValue(i);
+            if (TIME_FORMAT.equals(name)) {
+                tf = value;
+            } else {
+                if (FREQ.equals(name)) {
+                    freq = value;
+                }
+                key.add(Maps.immutableEntry(name, value));
+            }
+        }
+        key.sort(Map.Entry.comparingByKey());
+        timeFormat = getTimeFormat(tf, freq);
+        seriesKey = ImmutableList.copyOf(key);
+        seriesAttributes = ImmutableList.of();
+        seriesOpen = true;
+    }
+
+    private void readGenericObs(OptionalTsData.Builder2<Date> data, IParser<Date> toPeriod) throws XMLStreamException {
+        String period = null, value = null;
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = reader.getLocalName();
+                if (TIME.equals(name)) {
+                    // moves to the end element
+                    period = reader.getElementText();
+                } else {
+                    if (OBS_VALUE.equals(name)) {
+                        value = reader.getAttributeValue(null, VALUE_ATTRIBUTE);
+                    }
+                    skipElement();
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                break;
+            }
+        }
+        data.add(period != null ? toPeriod.parse(period) : null, value != null ? toValue.parse(value) : null);
+    }
+
+    private void readCompactObs(OptionalTsData.Builder2<Date> data, IParser<Date> toPeriod) throws XMLStreamException {
+        String period = reader.getAttributeValue(null, TIME_PERIOD_ATTRIBUTE);
+        String value = reader.getAttributeValue(null, OBS_VALUE_ATTRIBUTE);
+        skipElement();
+        data.add(period != null ? toPeriod.parse(period) : null, value != null ? toValue.parse(value) : null);
+    }
+
+    // the reader is on the start element of a list of values
+    private ImmutableList<Map.Entry<String, String>> readConcepts() throws XMLStreamException {
+        ImmutableList.Builder<Map.Entry<String, String>> result = ImmutableList.builder();
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (VALUE.equals(reader.getLocalName())) {
+                    result.add(Maps.immutableEntry(reader.getAttributeValue(null, CONCEPT_ATTRIBUTE), reader.getAttributeValue(null, VALUE_ATTRIBUTE)));
+                }
+                skipElement();
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                break;
+            }
+        }
+        return result.build();
+    }
+
+    private static ImmutableList<Map.Entry<String, String>> filter(List<Map.Entry<String, String>> list, Predicate<Map.Entry<String, String>> filter) {
+        ImmutableList.Builder<Map.Entry<String, String>> result = ImmutableList.builder();
+        list.stream().filter(filter).forEach(result::add);
+        return result.build();
+    }
+
+    @Nonnull
+    private static TimeFormat getTimeFormat(@Nullable String timeFormat, @Nullable String freq) {
+        if (timeFormat != null) {
+            return TimeFormat.parseByTimeFormat(timeFormat);
+        }
+        if (freq != null) {
+            return TimeFormat.parseByFrequencyCodeId(freq);
+        }
+        return TimeFormat.UNDEFINED;
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Resources">
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final XMLInputFactory XML_FACTORY = newXmlFactory();
+
+    private static XMLInputFactory newXmlFactory() {
+        XMLInputFactory result = XMLInputFactory.newInstance();
+        result.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        result.setProperty(XMLInputFactory.IS_COALESCING, true);
+        result.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return result;
+    }
+
+    private static final String DATA_SET = "DataSet";
+    private static final String KEY_FAMILY_REF = "KeyFamilyRef";
+    private static final String GROUP = "Group";
+    private static final String GROUP_KEY = "GroupKey";
+    private static final String SERIES = "Series";
+    private static final String SERIES_KEY = "SeriesKey";
+    private static final String ATTRIBUTES = "Attributes";
+    private static final String VALUE = "Value";
+    private static final String OBS = "Obs";
+    private static final String TIME = "Time";
+    private static final String OBS_VALUE = "ObsValue";
+
+    private static final String CONCEPT_ATTRIBUTE = "concept";
+    private static final String VALUE_ATTRIBUTE = "value";
+    private static final String TIME_FORMAT = "TIME_FORMAT";
+    private static final String FREQ = "FREQ";
+    private static final String TIME_PERIOD_ATTRIBUTE = "TIME_PERIOD";
+    private static final String OBS_VALUE_ATTRIBUTE = "OBS_VALUE";
+
+    private static final DataFormat DEFAULT_DATA_FORMAT = new DataFormat(Locale.ROOT, null, null);
+    //</editor-fold>
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tss.tsproviders.sdmx.engine;
+
+import com.google.common.collect.ImmutableList;
+import ec.tss.tsproviders.sdmx.model.SdmxGroup;
+import ec.tss.tsproviders.sdmx.model.SdmxItem;
+import ec.tss.tsproviders.sdmx.model.SdmxSeries;
+import ec.tss.tsproviders.sdmx.model.SdmxSource;
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Creates the SDMX source of a generic or compact file with a pull (StAX)
+ * parser, without building the DOM of the file. The resulting items are
+ * identical to the ones of the CunningPlanFactory.
+ */
+public class StreamingFactory implements ISdmxSourceFactory {
+
+    public static final String NAME = "Streaming";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public SdmxSource create(File file) throws Exception {
+        try (SdmxXmlReader reader = SdmxXmlReader.open(file)) {
+            ImmutableList.Builder<SdmxItem> items = ImmutableList.builder();
+            ImmutableList.Builder<SdmxSeries> group = null;
+            ImmutableList<Map.Entry<String, String>> groupKey = null, groupAttributes = null;
+            SdmxXmlReader.Event event;
+            while ((event = reader.next()) != null) {
+                switch (event) {
+                    case GROUP:
+                        group = ImmutableList.builder();
+                        groupKey = reader.getGroupKey();
+                        groupAttributes = reader.getGroupAttributes();
+                        break;
+                    case SERIES:
+                        SdmxSeries series = new SdmxSeries(reader.getSeriesKey(), reader.getSeriesAttributes(), reader.getTimeFormat(), reader.readData());
+                        if (group != null) {
+                            group.add(series);
+                        } else {
+                            items.add(series);
+                        }
+                        break;
+                    case END_GROUP:
+                        items.add(new SdmxGroup(groupKey, groupAttributes, group.build()));
+                        group = null;
+                        break;
+                }
+            }
+            if (reader.getType() == null) {
+                throw new IOException("Cannot find a SDMX data set in '" + file.getPath() + "'");
+            }
+            return new SdmxSource(reader.getType(), items.build());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tss.tsproviders.sdmx.engine;
+
+import ec.tss.tsproviders.sdmx.model.SdmxGroup;
+import ec.tss.tsproviders.sdmx.model.SdmxItem;
+import ec.tss.tsproviders.sdmx.model.SdmxSeries;
+import ec.tss.tsproviders.sdmx.model.SdmxSource;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class StreamingFactoryTest {
+
+    static File file(String name) throws Exception {
+        return new File(StreamingFactoryTest.class.getResource(name).toURI());
+    }
+
+    @Test
+    public void testCreate() throws Exception {
+        for (String name : new String[]{"/sdmx-generic-sample.xml", "/sdmx-compact-sample.xml", "generic-P1M.xml", "generic-P1Y.xml"}) {
+            File file = file(name);
+            assertSameSource(new CunningPlanFactory().create(file), new StreamingFactory().create(file));
+        }
+    }
+
+    @Test
+    public void testCursor() throws Exception {
+        SdmxSource source = new CunningPlanFactory().create(file("/sdmx-generic-sample.xml"));
+        List<SdmxSeries> expected = new ArrayList<>();
+        for (SdmxItem o : source.items) {
+            expected.addAll(((SdmxGroup) o).series);
+        }
+        try (SdmxCursor cursor = SdmxCursor.open(file("/sdmx-generic-sample.xml"))) {
+            for (SdmxSeries o : expected) {
+                assertTrue(cursor.nextSeries());
+                assertEquals(o.id, cursor.getSeriesId());
+                assertEquals("JD_TYPE=P, JD_CATEGORY=A, VIS_CTY=MX", SdmxCursor.ID_JOINER.join(cursor.getGroupKey()));
+                assertSameSeries(o, cursor.getSeries());
+            }
+            assertFalse(cursor.nextSeries());
+        }
+        // only the selected series are parsed
+        try (SdmxCursor cursor = SdmxCursor.open(file("/sdmx-generic-sample.xml"))) {
+            assertTrue(cursor.nextSeries());
+            assertTrue(cursor.nextSeries());
+            assertEquals(expected.get(1).data, cursor.getSeriesData());
+            assertFalse(cursor.nextSeries());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalid() throws Exception {
+        new StreamingFactory().create(file("/ec/tss/tsproviders/sdmx/engine/invalid.xml"));
+    }
+
+    static void assertSameSource(SdmxSource expected, SdmxSource found) {
+        assertEquals(expected.type, found.type);
+        assertEquals(expected.items.size(), found.items.size());
+        for (int i = 0; i < expected.items.size(); ++i) {
+            SdmxItem e = expected.items.get(i), f = found.items.get(i);
+            assertEquals(e.getClass(), f.getClass());
+            assertEquals(e.id, f.id);
+            assertEquals(toString(e.attributes), toString(f.attributes));
+            if (e instanceof SdmxGroup) {
+                List<SdmxSeries> es = ((SdmxGroup) e).series, fs = ((SdmxGroup) f).series;
+                assertEquals(es.size(), fs.size());
+                for (int j = 0; j < es.size(); ++j) {
+                    assertSameSeries(es.get(j), fs.get(j));
+                }
+            } else {
+                assertSameSeries((SdmxSeries) e, (SdmxSeries) f);
+            }
+        }
+    }
+
+    static void assertSameSeries(SdmxSeries expected, SdmxSeries found) {
+        assertEquals(expected.id, found.id);
+        assertEquals(toString(expected.key), toString(found.key));
+        assertEquals(toString(expected.attributes), toString(found.attributes));
+        assertEquals(expected.timeFormat, found.timeFormat);
+        assertEquals(expected.data, found.data);
+    }
+
+    // the entries of the DOM factories don't implement Map.Entry.equals
+    static List<String> toString(List<? extends Map.Entry<String, String>> entries) {
+        return entries.stream().map(o -> o.getKey() + "=" + o.getValue()).collect(Collectors.toList());
+    }
+}
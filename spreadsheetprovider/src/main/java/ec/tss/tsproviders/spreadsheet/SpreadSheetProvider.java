@@ -84,6 +84,17 @@ public class SpreadSheetProvider extends AbstractFileLoader<SpreadSheetSource, S
         }
     }
 
+    @Override
+    protected int weigh(SpreadSheetSource data) {
+        int w = 1;
+        for (SpreadSheetCollection c : data.collections.values()) {
+            for (SpreadSheetSeries o : c.series) {
+                w += weightOf(o.data);
+            }
+        }
+        return w;
+    }
+
     @Override
     protected SpreadSheetSource loadFromBean(SpreadSheetBean bean) throws Exception {
         File file = getRealFile(bean.getFile());
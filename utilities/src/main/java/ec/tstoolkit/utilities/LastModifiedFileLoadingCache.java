@@ -0,0 +1,199 @@
+/*
+* Copyright 2017 National Bank of Belgium
+*
+* Licensed under the EUPL, Version 1.1 or – as soon they will be approved 
+* by the European Commission - subsequent versions of the EUPL (the "Licence");
+* You may not use this work except in compliance with the Licence.
+* You may obtain a copy of the Licence at:
+*
+* http://ec.europa.eu/idabc/eupl
+*
+* Unless required by applicable law or agreed to in writing, software 
+* distributed under the Licence is distributed on an "AS IS" basis,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the Licence for the specific language governing permissions and 
+* limitations under the Licence.
+*/
+package ec.tstoolkit.utilities;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.ForwardingLoadingCache;
+import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalListener;
+import com.google.common.collect.ImmutableMap;
+import java.io.File;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Loading cache whose entries are backed by files, each key having its own
+ * file. An entry is invalidated when the last modification time of its file
+ * has changed since the entry has been loaded. This is the per-key version of
+ * LastModifiedFileCache.
+ * <br>The stamp of an entry is bound to its value, so that the eviction of an
+ * entry never removes the stamp of a newer entry of the same key. The loader
+ * is expected to return a new value at each loading.
+ *
+ * @param <K>
+ * @param <V>
+ */
+public final class LastModifiedFileLoadingCache<K, V> extends ForwardingLoadingCache<K, V> {
+
+    /**
+     * Creates a new cache
+     *
+     * @param <K>
+     * @param <V>
+     * @param builder The builder of the underlying cache; its removal
+     * listener is set by this method
+     * @param loader The loader of the values
+     * @param toFile The function that gives the file of a key. It may return
+     * null when a key is not related to a file (such entries are never
+     * invalidated)
+     * @return
+     */
+    @Nonnull
+    public static <K, V> LastModifiedFileLoadingCache<K, V> build(@Nonnull CacheBuilder<? super K, ? super V> builder,
+            @Nonnull CacheLoader<? super K, V> loader, @Nonnull Function<? super K, File> toFile) {
+        Map<K, Stamp> stamps = new ConcurrentHashMap<>();
+        RemovalListener<K, V> listener = o -> {
+            // evicted entries must not leave their stamps behind; the key may
+            // already have been reloaded, with a new stamp
+            if (o.wasEvicted() && o.getKey() != null) {
+                stamps.computeIfPresent(o.getKey(), (k, stamp) -> stamp.isValue(o.getValue()) ? null : stamp);
+            }
+        };
+        LoadingCache<K, V> cache = builder.<K, V>removalListener(listener).build(new CacheLoader<K, V>() {
+            @Override
+            public V load(K key) throws Exception {
+                File file = toFile.apply(key);
+                if (file == null) {
+                    stamps.remove(key);
+                    return loader.load(key);
+                }
+                // read before loading: a modification during the loading invalidates the entry
+                Stamp stamp = new Stamp(file, file.lastModified());
+                stamps.put(key, stamp);
+                V result = loader.load(key);
+                stamp.value = new WeakReference<>(result);
+                return result;
+            }
+        });
+        return new LastModifiedFileLoadingCache<>(cache, stamps);
+    }
+
+    private static final class Stamp {
+
+        private final File file;
+        private final long lastModified;
+        // the value loaded with this stamp (null while loading); weak, so
+        // that soft or weak values can still be collected
+        private volatile WeakReference<Object> value;
+
+        private Stamp(File file, long lastModified) {
+            this.file = file;
+            this.lastModified = lastModified;
+        }
+
+        private boolean isModified() {
+            return file.lastModified() != lastModified;
+        }
+
+        private boolean isValue(@Nullable Object o) {
+            WeakReference<Object> ref = value;
+            return ref != null && ref.get() == o;
+        }
+    }
+
+    private final LoadingCache<K, V> cache;
+    private final Map<K, Stamp> stamps;
+
+    private LastModifiedFileLoadingCache(LoadingCache<K, V> cache, Map<K, Stamp> stamps) {
+        this.cache = cache;
+        this.stamps = stamps;
+    }
+
+    @Override
+    protected LoadingCache<K, V> delegate() {
+        return cache;
+    }
+
+    private void cleanIfFileModified(@Nullable Object key) {
+        if (key == null) {
+            return;
+        }
+        Stamp stamp = stamps.get(key);
+        if (stamp != null && stamp.isModified() && stamps.remove(key, stamp)) {
+            cache.invalidate(key);
+        }
+    }
+
+    private void cleanIfFilesModified(Iterable<?> keys) {
+        for (Object key : keys) {
+            cleanIfFileModified(key);
+        }
+    }
+
+    @Override
+    public V get(K key) throws ExecutionException {
+        cleanIfFileModified(key);
+        return super.get(key);
+    }
+
+    @Override
+    public V getUnchecked(K key) {
+        cleanIfFileModified(key);
+        return super.getUnchecked(key);
+    }
+
+    @Override
+    public ImmutableMap<K, V> getAll(Iterable<? extends K> keys) throws ExecutionException {
+        cleanIfFilesModified(keys);
+        return super.getAll(keys);
+    }
+
+    @Override
+    public V get(K key, Callable<? extends V> valueLoader) throws ExecutionException {
+        cleanIfFileModified(key);
+        return super.get(key, valueLoader);
+    }
+
+    @Override
+    public V getIfPresent(Object key) {
+        cleanIfFileModified(key);
+        return super.getIfPresent(key);
+    }
+
+    @Override
+    public ImmutableMap<K, V> getAllPresent(Iterable<?> keys) {
+        cleanIfFilesModified(keys);
+        return super.getAllPresent(keys);
+    }
+
+    @Override
+    public void invalidate(Object key) {
+        stamps.remove(key);
+        super.invalidate(key);
+    }
+
+    @Override
+    public void invalidateAll(Iterable<?> keys) {
+        for (Object key : keys) {
+            stamps.remove(key);
+        }
+        super.invalidateAll(keys);
+    }
+
+    @Override
+    public void invalidateAll() {
+        stamps.clear();
+        super.invalidateAll();
+    }
+}
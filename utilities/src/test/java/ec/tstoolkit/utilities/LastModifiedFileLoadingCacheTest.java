@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.utilities;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LastModifiedFileLoadingCacheTest {
+
+    @Test
+    public void test() throws IOException {
+        Path p1 = Files.createTempFile("cache", ""), p2 = Files.createTempFile("cache", "");
+        try {
+            AtomicInteger loads = new AtomicInteger();
+            LoadingCache<File, Integer> cache = LastModifiedFileLoadingCache.build(CacheBuilder.newBuilder(), new CacheLoader<File, Integer>() {
+                @Override
+                public Integer load(File key) {
+                    return loads.incrementAndGet();
+                }
+            }, o -> o);
+            File f1 = p1.toFile(), f2 = p2.toFile();
+            Assert.assertEquals(1, (int) cache.getUnchecked(f1));
+            Assert.assertEquals(2, (int) cache.getUnchecked(f2));
+            Assert.assertEquals(1, (int) cache.getUnchecked(f1));
+            Assert.assertTrue(f1.setLastModified(f1.lastModified() - 10000));
+            Assert.assertNull(cache.getIfPresent(f1));
+            Assert.assertEquals(3, (int) cache.getUnchecked(f1));
+            Assert.assertEquals(2, (int) cache.getUnchecked(f2));
+            cache.invalidateAll();
+            Assert.assertEquals(4, (int) cache.getUnchecked(f2));
+        } finally {
+            Files.delete(p1);
+            Files.delete(p2);
+        }
+    }
+
+    @Test
+    public void testEvictThenReload() throws IOException {
+        Path p1 = Files.createTempFile("cache", ""), p2 = Files.createTempFile("cache", "");
+        try {
+            File f1 = p1.toFile(), f2 = p2.toFile();
+            AtomicInteger loads = new AtomicInteger();
+            AtomicReference<LoadingCache<File, Integer>> ref = new AtomicReference<>();
+            AtomicBoolean evict = new AtomicBoolean();
+            LoadingCache<File, Integer> cache = LastModifiedFileLoadingCache.build(CacheBuilder.newBuilder().maximumSize(1), new CacheLoader<File, Integer>() {
+                @Override
+                public Integer load(File key) {
+                    if (key.equals(f1) && evict.getAndSet(false)) {
+                        // the previous entry of f1 is evicted while f1 is reloaded
+                        ref.get().getUnchecked(f2);
+                    }
+                    return loads.incrementAndGet();
+                }
+            }, o -> o);
+            ref.set(cache);
+            Assert.assertEquals(1, (int) cache.getUnchecked(f1));
+            evict.set(true);
+            cache.refresh(f1);
+            Assert.assertEquals(3, (int) cache.getUnchecked(f1));
+            // the stamp of the reloaded entry is still there
+            Assert.assertTrue(f1.setLastModified(f1.lastModified() - 10000));
+            Assert.assertNull(cache.getIfPresent(f1));
+            Assert.assertEquals(4, (int) cache.getUnchecked(f1));
+        } finally {
+            Files.delete(p1);
+            Files.delete(p2);
+        }
+    }
+}
\ No newline at end of file